@@ -0,0 +1,30 @@
+package com.evoting.evoting_backend.config;
+
+import com.evoting.evoting_backend.service.ElectionLookupCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes this node to lookup-cache evictions published by the others
+ */
+@Configuration
+@ConditionalOnProperty(name = "lookup.cache.redis-invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public RedisMessageListenerContainer lookupCacheInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                          ElectionLookupCache lookupCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> lookupCache.onInvalidationMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(ElectionLookupCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
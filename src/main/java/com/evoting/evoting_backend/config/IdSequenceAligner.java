@@ -0,0 +1,40 @@
+package com.evoting.evoting_backend.config;
+
+import com.evoting.evoting_backend.model.Vote;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Votes moved from IDENTITY to a pooled sequence. On MySQL Hibernate emulates the
+ * sequence with a one-row vote_seq table that starts at 1, so on an existing database
+ * it is moved past the ids AUTO_INCREMENT already handed out. It only ever moves
+ * forward, so running it on several nodes at once is harmless.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignVoteSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM vote", Long.class);
+        // A pooled block hands out (next_val - allocation, next_val], so the first block lands above maxId
+        long floor = maxId + Vote.ID_ALLOCATION_SIZE + 1;
+        try {
+            int updated = jdbcTemplate.update("UPDATE " + Vote.ID_SEQUENCE + " SET next_val = ? WHERE next_val < ?",
+                floor, floor);
+            if (updated > 0) {
+                System.out.println("Vote id sequence moved to " + floor + " (highest existing vote id " + maxId + ")");
+            }
+        } catch (DataAccessException e) {
+            // Databases with native sequences (H2 benchmark profile) have no table to align
+            System.out.println("Vote id sequence not table-backed, skipping alignment: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.evoting.evoting_backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read path (controller or service method, or a whole class) whose reads may be
+ * served by the read replica. Inside it, connections outside a read-write transaction go
+ * to the replica pool; writes still go to the primary. See ReplicaRoutingDataSource.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadReplica {
+}
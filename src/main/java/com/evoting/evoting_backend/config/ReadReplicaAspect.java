@@ -0,0 +1,40 @@
+package com.evoting.evoting_backend.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens the replica routing scope around @ReadReplica classes and methods
+ */
+@Aspect
+@Component
+public class ReadReplicaAspect {
+
+    @Around("@within(com.evoting.evoting_backend.config.ReadReplica) || " +
+            "@annotation(com.evoting.evoting_backend.config.ReadReplica)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        // An explicit onPrimary() around the call wins
+        if (ReplicaRoutingDataSource.currentScope() == ReplicaRoutingDataSource.Target.PRIMARY) {
+            return joinPoint.proceed();
+        }
+        try {
+            return ReplicaRoutingDataSource.onReplica(() -> {
+                try {
+                    return joinPoint.proceed();
+                } catch (Throwable t) {
+                    throw new ProceedFailure(t);
+                }
+            });
+        } catch (ProceedFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ProceedFailure extends RuntimeException {
+        ProceedFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.evoting.evoting_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * ✅ Primary and replica Hikari pools behind one routing DataSource (datasource.replica.enabled).
+ * JPA, Flyway and JdbcTemplate all use the routing bean; outside @ReadReplica scopes it
+ * always hands out primary connections. Both pools are beans, so Actuator publishes
+ * hikaricp.* metrics for each, tagged pool=primary / pool=replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaPool(@Value("${datasource.replica.url}") String url,
+                                       @Value("${datasource.replica.username:}") String username,
+                                       @Value("${datasource.replica.password:}") String password,
+                                       @Value("${datasource.replica.driver-class-name:}") String driverClassName) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (!driverClassName.isEmpty()) {
+            pool.setDriverClassName(driverClassName);
+        }
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryPool, HikariDataSource replicaPool) {
+        return new ReplicaRoutingDataSource(primaryPool, replicaPool);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,105 @@
+package com.evoting.evoting_backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends a connection to the replica pool when it is requested inside a @ReadReplica scope
+ * and not for a read-write transaction; everything else goes to the primary.
+ *
+ * Read-only transactions alone do not select the replica: Spring Data runs every
+ * repository finder read-only, including the token and election checks on the vote path,
+ * which must see their own writes. Wrapped in a LazyConnectionDataSourceProxy, so the
+ * transaction's read-only flag is known by the time the real connection is picked.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Target> scope = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    // Cleared by ReplicaStalenessGuard while the replica lags too far or is unreachable
+    private volatile boolean replicaUsable = true;
+
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong staleFallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readWriteTransaction = TransactionSynchronizationManager.isActualTransactionActive() &&
+            !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (scope.get() != Target.REPLICA || readWriteTransaction) {
+            primaryConnections.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        if (!replicaUsable) {
+            staleFallbacks.incrementAndGet();
+            primaryConnections.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        replicaConnections.incrementAndGet();
+        return Target.REPLICA;
+    }
+
+    public static <T> T onReplica(Supplier<T> work) {
+        return within(Target.REPLICA, work);
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        return within(Target.PRIMARY, work);
+    }
+
+    public static <T> T within(Target target, Supplier<T> work) {
+        Target previous = scope.get();
+        scope.set(target);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                scope.remove();
+            } else {
+                scope.set(previous);
+            }
+        }
+    }
+
+    public static Target currentScope() {
+        return scope.get();
+    }
+
+    public DataSource getPrimary() { return primary; }
+    public DataSource getReplica() { return replica; }
+
+    public boolean isReplicaUsable() { return replicaUsable; }
+    public void setReplicaUsable(boolean replicaUsable) { this.replicaUsable = replicaUsable; }
+
+    public Map<String, Object> getRoutingStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("primaryConnections", primaryConnections.get());
+        stats.put("replicaConnections", replicaConnections.get());
+        stats.put("staleFallbacks", staleFallbacks.get());
+        stats.put("replicaUsable", replicaUsable);
+        return stats;
+    }
+}
@@ -0,0 +1,156 @@
+package com.evoting.evoting_backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Times every Spring Data repository call: a repository.query timer and a
+ * repository.query.rows summary per method, tagged with repository, method, entity and
+ * operation. Calls slower than repository.metrics.slow-query-ms are logged with their SQL
+ * (captured by RepositorySqlCapture).
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    public static final String TIMER = "repository.query";
+    public static final String ROWS = "repository.query.rows";
+
+    private static final int MAX_LOGGED_SQL = 500;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${repository.metrics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${repository.metrics.slow-query-ms:200}")
+    private long slowQueryMs;
+
+    private record Meters(String name, Tags tags, Timer success, Timer error, DistributionSummary rows,
+                          boolean modifying) {}
+
+    // Inherited methods (save, findById...) share one Method across repositories, hence the proxy type
+    private record CallSite(Class<?> proxyType, Method method) {}
+
+    // The set of repository methods is fixed, so this stays small
+    private final Map<CallSite, Meters> meters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Class<?>>> repositoryInterfaces = new ConcurrentHashMap<>();
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        boolean capturing = RepositorySqlCapture.begin();
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            List<String> statements = capturing ? RepositorySqlCapture.end() : List.of();
+            Meters meter = meters(joinPoint);
+            (failed ? meter.error() : meter.success()).record(nanos, TimeUnit.NANOSECONDS);
+            long rows = failed ? 0 : rowCount(result, meter.modifying());
+            if (!failed) {
+                meter.rows().record(rows);
+            }
+            long millis = nanos / 1_000_000;
+            if (millis >= slowQueryMs) {
+                meterRegistry.counter(TIMER + ".slow", meter.tags()).increment();
+                System.out.println("🐢 Slow repository call " + meter.name() + ": " + millis + " ms, rows: " +
+                    rows + (failed ? " (failed)" : "") + sqlSummary(statements));
+            }
+        }
+    }
+
+    private Meters meters(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters.computeIfAbsent(new CallSite(joinPoint.getThis().getClass(), method), site -> {
+            Method m = site.method();
+            Class<?> repository = repositoryInterface(joinPoint.getThis());
+            String entity = repository != null
+                ? AbstractRepositoryMetadata.getMetadata(repository).getDomainType().getSimpleName()
+                : "unknown";
+            String repositoryName = repository != null ? repository.getSimpleName() : m.getDeclaringClass().getSimpleName();
+            boolean modifying = m.isAnnotationPresent(Modifying.class);
+            Tags tags = Tags.of("repository", repositoryName, "method", m.getName(),
+                "entity", entity, "operation", operation(m, modifying));
+            return new Meters(repositoryName + "." + m.getName(), tags,
+                Timer.builder(TIMER).tags(tags).tag("outcome", "success")
+                    .publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry),
+                Timer.builder(TIMER).tags(tags).tag("outcome", "error").register(meterRegistry),
+                DistributionSummary.builder(ROWS).tags(tags).register(meterRegistry),
+                modifying);
+        });
+    }
+
+    private Class<?> repositoryInterface(Object proxy) {
+        return repositoryInterfaces.computeIfAbsent(proxy.getClass(), type ->
+            Arrays.stream(AopProxyUtils.proxiedUserInterfaces(proxy))
+                .filter(candidate -> Repository.class.isAssignableFrom(candidate) &&
+                    candidate.getPackageName().startsWith("com.evoting"))
+                .findFirst()
+        ).orElse(null);
+    }
+
+    private String operation(Method method, boolean modifying) {
+        if (modifying) return "update";
+        if (method.isAnnotationPresent(Lock.class)) return "lock";
+        String name = method.getName();
+        if (name.startsWith("save")) return "save";
+        if (name.startsWith("delete") || name.startsWith("remove")) return "delete";
+        if (name.startsWith("count")) return "count";
+        if (name.startsWith("exists")) return "exists";
+        return "find";
+    }
+
+    // Rows returned, or affected for @Modifying queries; aggregates count as one row
+    private long rowCount(Object result, boolean modifying) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        if (result instanceof Slice<?> slice) return slice.getNumberOfElements();
+        if (modifying && result instanceof Number affected) return affected.longValue();
+        return 1;
+    }
+
+    private String sqlSummary(List<String> statements) {
+        if (statements.isEmpty()) {
+            return "";
+        }
+        StringBuilder summary = new StringBuilder();
+        for (String sql : statements) {
+            summary.append("\n    ").append(sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql);
+        }
+        return summary.toString();
+    }
+}
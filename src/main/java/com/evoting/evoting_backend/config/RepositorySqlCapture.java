@@ -0,0 +1,42 @@
+package com.evoting.evoting_backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate StatementInspector (hibernate.session_factory.statement_inspector) that keeps the
+ * SQL of the repository call running on this thread, so RepositoryMetricsAspect can log it
+ * for slow calls. Outside a repository call it does nothing.
+ */
+public class RepositorySqlCapture implements StatementInspector {
+
+    private static final int MAX_STATEMENTS = 10;
+
+    private static final ThreadLocal<List<String>> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = current.get();
+        if (statements != null && statements.size() < MAX_STATEMENTS) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    // False when an outer repository call on this thread is already capturing
+    static boolean begin() {
+        if (current.get() != null) {
+            return false;
+        }
+        current.set(new ArrayList<>());
+        return true;
+    }
+
+    static List<String> end() {
+        List<String> statements = current.get();
+        current.remove();
+        return statements != null ? statements : List.of();
+    }
+}
@@ -55,6 +55,7 @@ public class SecurityConfig {
                   "/api/token/**",
                   "/api/hsm/health",
                   "/api/audit/merkle-root",
+                  "/bulletin-segments/**",
                   "/actuator/**"
                 ).permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
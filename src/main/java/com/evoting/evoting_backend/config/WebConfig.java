@@ -1,20 +1,42 @@
 package com.evoting.evoting_backend.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
     
+    @Value("${bulletin.segments.dir:./bulletin-segments}")
+    private String segmentsDir;
+    
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/api/test/**", "/api/public/**", "/actuator/**");
     }
+    
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        String location = Paths.get(segmentsDir).toAbsolutePath().toUri().toString();
+        // Manifests grow while an election is open: always revalidate
+        registry.addResourceHandler("/bulletin-segments/*/manifest.json")
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.noCache());
+        // Segment files are named by their SHA-256 and never change
+        registry.addResourceHandler("/bulletin-segments/**")
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+    }
 }
\ No newline at end of file
@@ -1,22 +1,63 @@
 package com.evoting.evoting_backend.controller;
 
+import com.evoting.evoting_backend.config.ReadReplica;
 import com.evoting.evoting_backend.model.BulletinBoardEntry;
 import com.evoting.evoting_backend.service.BulletinBoardService;
+import com.evoting.evoting_backend.service.BulletinSegmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/bulletin-board")
 public class BulletinBoardController {
     @Autowired private BulletinBoardService bulletinBoardService;
+    @Autowired private BulletinSegmentService segmentService;
 
+    @ReadReplica
     @GetMapping("/election/{electionId}")
     public List<BulletinBoardEntry> getElectionEntries(@PathVariable Long electionId) {
         return bulletinBoardService.getElectionEntries(electionId);
     }
 
+    // ✅ Keyset page of raw entries; for whole-board downloads use /api/verification/bulletin-board/{id}/export
+    @ReadReplica
+    @GetMapping("/election/{electionId}/page")
+    public Map<String, Object> getElectionEntriesPage(@PathVariable Long electionId,
+                                                      @RequestParam(defaultValue = "0") Long after,
+                                                      @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 5000));
+        List<BulletinBoardEntry> entries = bulletinBoardService.getEntriesPage(electionId, after, pageSize);
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("electionId", electionId);
+        page.put("entries", entries);
+        page.put("nextCursor", entries.size() < pageSize ? null : entries.get(entries.size() - 1).getId());
+        return page;
+    }
+
+    // ✅ Sealed segment files for offline audit; downloads are under /bulletin-segments/{electionId}/
+    @GetMapping("/election/{electionId}/segments")
+    public Map<String, Object> getSegments(@PathVariable Long electionId) {
+        return segmentService.getSegmentStatus(electionId);
+    }
+
+    @PostMapping("/election/{electionId}/segments/seal")
+    public Map<String, Object> sealSegments(@PathVariable Long electionId) {
+        try {
+            int written = segmentService.sealElection(electionId);
+            Map<String, Object> result = new HashMap<>(segmentService.getSegmentStatus(electionId));
+            result.put("written", written);
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Sealing segments failed: " + e.getMessage());
+        }
+    }
+
+    @ReadReplica
     @GetMapping("/verify")
     public String verifyIntegrity() {
         boolean valid = bulletinBoardService.verifyBoardIntegrity();
@@ -4,6 +4,7 @@ import com.evoting.evoting_backend.dto.ApiResponse;
 import com.evoting.evoting_backend.model.Candidate;
 import com.evoting.evoting_backend.repository.CandidateRepository;
 import com.evoting.evoting_backend.service.CandidateService;
+import com.evoting.evoting_backend.service.SealedResultsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,12 +21,24 @@ public class CandidateController {
     
     @Autowired
     private CandidateService candidateService;
+    
+    @Autowired
+    private SealedResultsCache sealedResultsCache;
 
     // ✅ PUBLIC: Get candidates for a specific election
     @GetMapping("/election/{electionId}")
-    public ResponseEntity<ApiResponse<List<Candidate>>> getCandidatesByElection(@PathVariable Long electionId) {
+    public ResponseEntity<?> getCandidatesByElection(@PathVariable Long electionId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<Candidate> candidates = candidateRepository.findByElectionId(electionId);
+            // ✅ Sealed elections: serialized once, then ETag/304
+            SealedResultsCache.CachedBody sealed = sealedResultsCache.getOrBuild(electionId, "candidates",
+                () -> new ApiResponse<>(true, "Candidates retrieved successfully",
+                    candidateService.getCandidatesByElection(electionId)));
+            if (sealed != null) {
+                return sealedResultsCache.respond(sealed, ifNoneMatch);
+            }
+            
+            List<Candidate> candidates = candidateService.getCandidatesByElection(electionId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Candidates retrieved successfully", candidates));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, "Failed to retrieve candidates: " + e.getMessage()));
@@ -95,7 +108,7 @@ public class CandidateController {
     @PreAuthorize("hasRole('ELECTION_OFFICER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<Candidate>>> getCandidatesForManagement(@PathVariable Long electionId) {
         try {
-            List<Candidate> candidates = candidateRepository.findByElectionId(electionId);
+            List<Candidate> candidates = candidateService.getCandidatesByElection(electionId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Candidates for management retrieved successfully", candidates));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, "Failed to retrieve candidates for management: " + e.getMessage()));
@@ -3,7 +3,7 @@ package com.evoting.evoting_backend.controller;
 import com.evoting.evoting_backend.dto.ApiResponse;
 import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.service.ElectionService;
-import com.evoting.evoting_backend.service.TallyService;
+import com.evoting.evoting_backend.service.PaillierKeyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,7 +18,7 @@ public class ElectionController {
     private ElectionService electionService;
 
     @Autowired
-    private TallyService tallyService;
+    private PaillierKeyService paillierKeyService;
 
     /**
      * ✅ EXISTING ENDPOINT - Get all elections
@@ -46,6 +46,23 @@ public class ElectionController {
         }
     }
 
+    /**
+     * ✅ Paillier public key (n, Base64) that ballots for this election must be encrypted under
+     */
+    @GetMapping("/public-key")
+    public ApiResponse getPublicKey(@RequestParam(required = false) Long electionId) {
+        try {
+            Map<String, Object> data = Map.of(
+                "electionId", electionId != null ? electionId : PaillierKeyService.DEFAULT_KEY_ID,
+                "dedicatedKey", paillierKeyService.hasElectionKey(electionId),
+                "publicKey", paillierKeyService.getPublicKey(electionId)
+            );
+            return new ApiResponse(true, "Public key retrieved successfully", data);
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to retrieve public key: " + e.getMessage());
+        }
+    }
+
     /**
      * ✅ EXISTING ENDPOINT - Open election
      */
@@ -65,24 +82,9 @@ public class ElectionController {
     @PostMapping("/{id}/close")
     public ApiResponse closeElection(@PathVariable Long id) {
         try {
-            // ✅ EXISTING: Close election first
+            // ✅ Closing queues the tally job (TallyJobService listens for ElectionClosedEvent)
             Election election = electionService.closeElection(id);
             
-            // ✅ NEW: Trigger automatic detailed tally in background
-            new Thread(() -> {
-                try {
-                    Thread.sleep(2000); // Wait 2 seconds for election closure to complete
-                    Map<String, Object> results = tallyService.tallyVotesWithWinner(id);
-                    System.out.println("✅ Automatic detailed tally completed for election: " + id);
-                    System.out.println("✅ Results computed for " + ((Map)results.get("candidateResults")).size() + " candidates");
-                    System.out.println("✅ Winner: " + results.get("winner"));
-                    System.out.println("✅ Final Results: " + results);
-                } catch (Exception tallyException) {
-                    System.err.println("❌ Automatic tally failed for election " + id + ": " + tallyException.getMessage());
-                    // Don't throw error - election closure should still succeed
-                }
-            }).start();
-            
             return new ApiResponse(true, "Election closed successfully. Tally computation started.", election);
             
         } catch (Exception e) {
@@ -1,9 +1,11 @@
 package com.evoting.evoting_backend.controller;
 
+import com.evoting.evoting_backend.config.ReadReplica;
 import com.evoting.evoting_backend.dto.ApiResponse;
 import com.evoting.evoting_backend.service.ElectionService;
 import com.evoting.evoting_backend.service.EnhancedTokenService;
 import com.evoting.evoting_backend.service.ImmutableAuditService;
+import com.evoting.evoting_backend.service.TurnoutCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -24,8 +26,12 @@ public class ElectionOfficerController {
     
     @Autowired
     private ImmutableAuditService auditService;
+    
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
 
     // ✅ ELECTION OFFICER: Get dashboard stats
+    @ReadReplica
     @GetMapping("/dashboard/stats")
     public ApiResponse<Map<String, Object>> getOfficerStats() {
         try {
@@ -39,9 +45,11 @@ public class ElectionOfficerController {
             stats.put("totalElections", totalElections);
             stats.put("activeElections", activeElections);
             stats.put("closedElections", closedElections);
-            stats.put("totalVotesCast", 1247); // This would come from tally service
-            stats.put("tokensIssued", 1500);
-            stats.put("tokensUsed", 1247);
+            // ✅ Live counters, O(1) per election
+            Map<String, Object> turnout = turnoutCounters.getTotals();
+            stats.put("totalVotesCast", turnout.get("votesCast"));
+            stats.put("tokensIssued", turnout.get("tokensIssued"));
+            stats.put("tokensUsed", turnout.get("tokensSpent"));
             stats.put("systemStatus", "OPERATIONAL");
             stats.put("lastActivity", java.time.LocalDateTime.now().toString());
             stats.put("officer", getCurrentUsername());
@@ -53,6 +61,7 @@ public class ElectionOfficerController {
     }
 
     // ✅ ELECTION OFFICER: Get detailed election statistics
+    @ReadReplica
     @GetMapping("/elections/{electionId}/detailed-stats")
     public ApiResponse<Map<String, Object>> getElectionDetailedStats(@PathVariable Long electionId) {
         try {
@@ -66,7 +75,10 @@ public class ElectionOfficerController {
                 "Candidate D", 130
             ));
             stats.put("voterTurnout", "83.1%");
-            stats.put("tokenUtilization", "89.7%");
+            Map<String, Object> turnout = turnoutCounters.getTurnout(electionId);
+            stats.put("votesCast", turnout.get("votesCast"));
+            stats.put("bulletinBoardEntries", turnout.get("bulletinEntries"));
+            stats.put("tokenUtilization", utilization((long) turnout.get("tokensSpent"), (long) turnout.get("tokensIssued")));
             stats.put("verificationRate", "99.2%");
             stats.put("lastVoteCast", java.time.LocalDateTime.now().minusMinutes(15).toString());
             stats.put("generated_by", getCurrentUsername());
@@ -86,11 +98,14 @@ public class ElectionOfficerController {
     public ApiResponse<Map<String, Object>> getTokenAnalytics() {
         try {
             Map<String, Object> analytics = new HashMap<>();
-            analytics.put("totalTokensIssued", 1500);
-            analytics.put("tokensUsed", 1247);
+            Map<String, Object> turnout = turnoutCounters.getTotals();
+            long issued = (long) turnout.get("tokensIssued");
+            long used = (long) turnout.get("tokensSpent");
+            analytics.put("totalTokensIssued", issued);
+            analytics.put("tokensUsed", used);
             analytics.put("tokensExpired", 53);
-            analytics.put("tokensRemaining", 200);
-            analytics.put("utilizationRate", "89.7%");
+            analytics.put("tokensRemaining", issued - used);
+            analytics.put("utilizationRate", utilization(used, issued));
             analytics.put("avgTokensPerHour", 45);
             analytics.put("peakUsageTime", "14:00-16:00");
             analytics.put("analytics_for", getCurrentUsername());
@@ -145,6 +160,10 @@ public class ElectionOfficerController {
         }
     }
 
+    private String utilization(long used, long issued) {
+        return issued == 0 ? "0.0%" : String.format("%.1f%%", used * 100.0 / issued);
+    }
+
     private String getCurrentUsername() {
         try {
             org.springframework.security.core.context.SecurityContext context = 
@@ -3,6 +3,8 @@ package com.evoting.evoting_backend.controller;
 import com.evoting.evoting_backend.dto.ApiResponse;
 import com.evoting.evoting_backend.service.BlindSignatureService;
 import com.evoting.evoting_backend.service.HSMService;
+import com.evoting.evoting_backend.service.KeyMaterialService;
+import com.evoting.evoting_backend.service.PaillierKeyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,12 @@ public class HSMController {
     @Autowired
     private HSMService hsmService;
     
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+    
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+    
     @GetMapping("/status")
     public ApiResponse getHSMStatus() {
         try {
@@ -38,14 +46,37 @@ public class HSMController {
     @PostMapping("/rotate-keys")
     public ApiResponse rotateKeys() {
         try {
-            blindSignatureService.rotateHSMKeys();
-            return new ApiResponse(true, "HSM keys rotated successfully");
+            KeyMaterialService.KeyCeremonyJob job = keyMaterialService.submitCeremony("HSM_KEY_ROTATION", () -> {
+                blindSignatureService.rotateHSMKeys();
+                Map<String, Object> result = new HashMap<>();
+                result.put("rotated", true);
+                result.put("keysInStore", hsmService.getKeyCount());
+                return result;
+            });
+            return new ApiResponse(true, "HSM key rotation started", job);
             
         } catch (Exception e) {
             return new ApiResponse(false, "Key rotation failed: " + e.getMessage());
         }
     }
     
+    @GetMapping("/ceremonies/{jobId}")
+    public ApiResponse getCeremonyStatus(@PathVariable String jobId) {
+        return keyMaterialService.getCeremonyJob(jobId)
+            .map(job -> new ApiResponse(true, "Key ceremony status retrieved", job))
+            .orElseGet(() -> new ApiResponse(false, "Key ceremony job not found: " + jobId));
+    }
+    
+    @GetMapping("/keyring")
+    public ApiResponse getKeyringStatus() {
+        return new ApiResponse(true, "Paillier keyring status retrieved", paillierKeyService.getKeyringStatistics());
+    }
+    
+    @GetMapping("/prime-pool")
+    public ApiResponse getPrimePoolStatus() {
+        return new ApiResponse(true, "Prime pool status retrieved", keyMaterialService.getPoolStatus());
+    }
+    
     @GetMapping("/health")
     public ApiResponse healthCheck() {
         try {
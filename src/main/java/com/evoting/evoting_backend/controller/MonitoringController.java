@@ -1,8 +1,24 @@
 package com.evoting.evoting_backend.controller;
 
 import com.evoting.evoting_backend.dto.ApiResponse;
+import com.evoting.evoting_backend.service.CiphertextMigrationService;
+import com.evoting.evoting_backend.service.CryptoBenchmarkService;
+import com.evoting.evoting_backend.exception.ResourceNotFoundException;
+import com.evoting.evoting_backend.service.ElectionLookupCache;
+import com.evoting.evoting_backend.service.ElectionPartitionService;
+import com.evoting.evoting_backend.service.ImmutableAuditService;
+import com.evoting.evoting_backend.service.MetricsBenchmarkService;
 import com.evoting.evoting_backend.service.MonitoringService;
+import com.evoting.evoting_backend.service.PersistenceBenchmarkService;
+import com.evoting.evoting_backend.service.PersistenceMetricsService;
+import com.evoting.evoting_backend.service.ReplicaStalenessGuard;
+import com.evoting.evoting_backend.service.TurnoutCounterService;
+import com.evoting.evoting_backend.service.TurnoutStreamService;
+import com.evoting.evoting_backend.service.VoteLatencyTracer;
+import com.evoting.evoting_backend.service.VoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,16 +33,276 @@ public class MonitoringController {
     @Autowired
     private MonitoringService monitoringService;
     
+    @Autowired
+    private CryptoBenchmarkService cryptoBenchmarkService;
+    
+    @Autowired
+    private ElectionLookupCache lookupCache;
+    
+    @Autowired
+    private VoteService voteService;
+    
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
+    
+    @Autowired
+    private TurnoutStreamService turnoutStreamService;
+    
+    @Autowired
+    private CiphertextMigrationService ciphertextMigrationService;
+    
+    @Autowired
+    private PersistenceBenchmarkService persistenceBenchmarkService;
+    
+    @Autowired
+    private ElectionPartitionService electionPartitionService;
+    
+    @Autowired
+    private ReplicaStalenessGuard replicaStalenessGuard;
+    
+    @Autowired
+    private PersistenceMetricsService persistenceMetricsService;
+    
+    @Autowired
+    private VoteLatencyTracer voteTracer;
+    
+    @Autowired
+    private MetricsBenchmarkService metricsBenchmarkService;
+    
+    @Autowired
+    private ImmutableAuditService auditService;
+    
     @GetMapping("/metrics")
     public ApiResponse getMetricsSnapshot() {
         try {
             Map<String, Object> metrics = monitoringService.getMetricsSnapshot();
+            // Repository timings, Hibernate statistics and connection pool waits
+            metrics.put("persistence", persistenceMetricsService.getSnapshot());
             return new ApiResponse(true, "Metrics snapshot retrieved", metrics);
         } catch (Exception e) {
             return new ApiResponse(false, "Failed to get metrics: " + e.getMessage());
         }
     }
     
+    @PostMapping("/benchmark/crypto")
+    public ApiResponse benchmarkCrypto(@RequestParam(defaultValue = "50") int iterations) {
+        try {
+            return new ApiResponse(true, "Crypto benchmark completed", cryptoBenchmarkService.runAll(iterations));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Crypto benchmark failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Recording cost of the typed meters vs the string-named calls they replaced
+     */
+    @PostMapping("/benchmark/metrics")
+    public ApiResponse benchmarkMetrics(@RequestParam(defaultValue = "1000000") int iterations,
+                                        @RequestParam(defaultValue = "10000") int distinctElections) {
+        try {
+            return new ApiResponse(true, "Metrics benchmark completed",
+                metricsBenchmarkService.runAll(iterations, distinctElections));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Metrics benchmark failed: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/turnout")
+    public ApiResponse getTurnoutTotals() {
+        try {
+            return new ApiResponse(true, "Turnout counters retrieved", turnoutCounters.getStatistics());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get turnout counters: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/turnout/{electionId}")
+    public ApiResponse getElectionTurnout(@PathVariable Long electionId) {
+        try {
+            return new ApiResponse(true, "Election turnout retrieved", turnoutCounters.getTurnout(electionId));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get election turnout: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Live turnout as server-sent events (event "turnout", one per tick); replaces
+     * polling the dashboard stats endpoints. Audited once per subscription.
+     */
+    @GetMapping("/turnout/{electionId}/stream")
+    public ResponseEntity<?> streamElectionTurnout(@PathVariable Long electionId) {
+        try {
+            ResponseEntity<?> response = ResponseEntity.ok(turnoutStreamService.subscribe(electionId));
+            auditService.logEvent("TURNOUT_STREAM_OPENED", "MonitoringController",
+                "streamElectionTurnout", "election:" + electionId + ", subscriber:" + getCurrentUsername());
+            return response;
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse(false, "Turnout stream unavailable: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/turnout/streams")
+    public ApiResponse getTurnoutStreamStatistics() {
+        try {
+            return new ApiResponse(true, "Turnout stream statistics retrieved", turnoutStreamService.getStatistics());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get turnout stream statistics: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/lookup-cache")
+    public ApiResponse getLookupCacheStatistics() {
+        try {
+            return new ApiResponse(true, "Lookup cache statistics retrieved", lookupCache.getStatistics());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get lookup cache statistics: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Vote-cast election lookup p50/p99 with the lookup cache on vs off
+     * (needs an OPEN election)
+     */
+    @PostMapping("/benchmark/vote-lookup/{electionId}")
+    public ApiResponse benchmarkVoteLookup(@PathVariable Long electionId,
+                                           @RequestParam(defaultValue = "1000") int iterations) {
+        try {
+            return new ApiResponse(true, "Vote lookup benchmark completed",
+                voteService.benchmarkCastLookup(electionId, Math.max(iterations, 1)));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Vote lookup benchmark failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Ballot request decoding cost and payload size: JSON (map and typed) vs binary
+     */
+    @PostMapping("/benchmark/ballot-decoding")
+    public ApiResponse benchmarkBallotDecoding(@RequestParam(defaultValue = "10000") int iterations) {
+        try {
+            return new ApiResponse(true, "Ballot decoding benchmark completed",
+                voteService.benchmarkBallotDecoding(Math.max(iterations, 1)));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Ballot decoding benchmark failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Vote and audit-row insert throughput with JDBC batching off vs on
+     */
+    @PostMapping("/benchmark/persistence")
+    public ApiResponse benchmarkPersistence(@RequestParam(defaultValue = "5000") int rows) {
+        try {
+            return new ApiResponse(true, "Persistence benchmark completed",
+                persistenceBenchmarkService.benchmarkInserts(Math.max(rows, 1)));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Persistence benchmark failed: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/ciphertext-migration")
+    public ApiResponse getCiphertextMigrationStatus() {
+        try {
+            return new ApiResponse(true, "Ciphertext migration status retrieved", ciphertextMigrationService.getStatus());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get ciphertext migration status: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/ciphertext-migration/run")
+    public ApiResponse runCiphertextMigrationBatch() {
+        try {
+            Map<String, Object> result = ciphertextMigrationService.runBatch();
+            auditService.logEvent("CIPHERTEXT_MIGRATION_BATCH", "MonitoringController",
+                "runCiphertextMigrationBatch", "votes:" + result.get("votesMigrated") +
+                ", entries:" + result.get("entriesMigrated") + ", operator:" + getCurrentUsername());
+            return new ApiResponse(true, "Ciphertext migration batch completed", result);
+        } catch (Exception e) {
+            return new ApiResponse(false, "Ciphertext migration batch failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Decimal TEXT vs binary ciphertext storage: bytes per row, insert rate, parse time
+     */
+    @PostMapping("/benchmark/ciphertext-storage")
+    public ApiResponse benchmarkCiphertextStorage(@RequestParam(defaultValue = "10000") int rows) {
+        try {
+            return new ApiResponse(true, "Ciphertext storage benchmark completed",
+                ciphertextMigrationService.benchmarkStorageFormat(Math.max(rows, 1)));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Ciphertext storage benchmark failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Per-pool Hikari usage, primary/replica routing counts and replica lag
+     */
+    @GetMapping("/datasource-pools")
+    public ApiResponse getDatasourcePools() {
+        try {
+            return new ApiResponse(true, "Datasource pool status retrieved", replicaStalenessGuard.getPoolStatus());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get datasource pool status: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Vote-path stage latencies and the slowest recent vote requests, stage by stage
+     */
+    @GetMapping("/vote-traces")
+    public ApiResponse getVoteTraces() {
+        try {
+            return new ApiResponse(true, "Vote traces retrieved", voteTracer.getSnapshot());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get vote traces: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/partitions")
+    public ApiResponse getPartitionStatus() {
+        try {
+            return new ApiResponse(true, "Partition status retrieved", electionPartitionService.getStatus());
+        } catch (Exception e) {
+            return new ApiResponse(false, "Failed to get partition status: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Move a closed, tallied election's votes, board entries and tokens out of the live tables
+     */
+    @PostMapping("/partitions/{electionId}/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse archiveElectionPartitions(@PathVariable Long electionId) {
+        try {
+            Map<String, Object> result = electionPartitionService.archiveElection(electionId);
+            auditService.logEvent("ELECTION_PARTITIONS_ARCHIVED", "MonitoringController",
+                "archiveElectionPartitions", "election:" + electionId + ", operator:" + getCurrentUsername());
+            return new ApiResponse(true, "Election partitions archived", result);
+        } catch (Exception e) {
+            return new ApiResponse(false, "Archiving election partitions failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Hot-election query latency with historic elections loaded, partitioned vs one table
+     */
+    @PostMapping("/benchmark/partitions")
+    public ApiResponse benchmarkPartitions(@RequestParam(defaultValue = "50") int historicElections,
+                                           @RequestParam(defaultValue = "2000") int rowsPerElection,
+                                           @RequestParam(defaultValue = "20") int repeats) {
+        try {
+            return new ApiResponse(true, "Partition benchmark completed",
+                electionPartitionService.benchmarkHistoricElections(Math.max(historicElections, 1),
+                    Math.max(rowsPerElection, 1), Math.max(repeats, 1)));
+        } catch (Exception e) {
+            return new ApiResponse(false, "Partition benchmark failed: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/health")
     public Map<String, Object> getHealthStatus() {
         Map<String, Object> health = new HashMap<>();
@@ -55,4 +331,17 @@ public class MonitoringController {
         // Prometheus will automatically scrape from /actuator/prometheus
         return "Prometheus metrics available at /actuator/prometheus";
     }
+    
+    private String getCurrentUsername() {
+        try {
+            org.springframework.security.core.context.SecurityContext context = 
+                org.springframework.security.core.context.SecurityContextHolder.getContext();
+            if (context != null && context.getAuthentication() != null) {
+                return context.getAuthentication().getName();
+            }
+        } catch (Exception e) {
+            // Ignore - return default
+        }
+        return "unknown";
+    }
 }
\ No newline at end of file
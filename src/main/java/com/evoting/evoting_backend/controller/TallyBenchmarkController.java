@@ -0,0 +1,106 @@
+package com.evoting.evoting_backend.controller;
+
+import com.evoting.evoting_backend.service.SealedResultsCache;
+import com.evoting.evoting_backend.service.TallyBenchmarkService;
+import com.evoting.evoting_backend.service.TallyJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tally benchmarks; mapped only under the benchmark profile and for administrators
+ */
+@RestController
+@RequestMapping("/api/tally/benchmark")
+@Profile("benchmark")
+@PreAuthorize("hasRole('ADMIN')")
+public class TallyBenchmarkController {
+
+    @Autowired
+    private TallyBenchmarkService tallyBenchmarkService;
+
+    @Autowired
+    private TallyJobService tallyJobService;
+
+    @Autowired
+    private SealedResultsCache sealedResultsCache;
+
+    @Value("${tally.benchmark.results-night.max-requests:100000}")
+    private int maxResultsNightRequests;
+
+    @Value("${tally.benchmark.results-night.max-concurrency:64}")
+    private int maxResultsNightConcurrency;
+
+    /**
+     * Benchmark packed vs per-candidate homomorphic tally on synthetic ballots
+     */
+    @PostMapping("/packed")
+    public ResponseEntity<Map<String, Object>> benchmarkPackedTally(
+            @RequestParam(defaultValue = "5,20,100") List<Integer> candidates,
+            @RequestParam(defaultValue = "100") int ballots) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("results", tallyBenchmarkService.benchmarkPackedTally(candidates, ballots));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Packed tally benchmark failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Benchmark GROUP BY plaintext tally vs entity loading
+     */
+    @PostMapping("/plaintext")
+    public ResponseEntity<Map<String, Object>> benchmarkPlaintextTally(
+            @RequestParam(defaultValue = "100000,1000000,10000000") List<Integer> votes,
+            @RequestParam(defaultValue = "10") int candidates) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("results", tallyBenchmarkService.benchmarkPlaintextTally(votes, candidates));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Plaintext tally benchmark failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Requests per second for detailed results of a sealed election, with and without the cache
+     */
+    @PostMapping("/results-night")
+    public ResponseEntity<Map<String, Object>> benchmarkResultsNight(
+            @RequestParam Long electionId,
+            @RequestParam(defaultValue = "10000") int requests,
+            @RequestParam(defaultValue = "32") int concurrency) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            if (requests < 1 || requests > maxResultsNightRequests) {
+                throw new IllegalArgumentException("requests must be between 1 and " + maxResultsNightRequests);
+            }
+            if (concurrency < 1 || concurrency > maxResultsNightConcurrency) {
+                throw new IllegalArgumentException("concurrency must be between 1 and " + maxResultsNightConcurrency);
+            }
+            response.put("success", true);
+            response.put("results", sealedResultsCache.benchmarkResultsNight(electionId, "detailed",
+                () -> tallyJobService.getDetailedResult(electionId), requests, concurrency));
+            response.put("cache", sealedResultsCache.getStatistics());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Results-night benchmark failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.evoting.evoting_backend.controller;
 
+import com.evoting.evoting_backend.config.ReadReplica;
+import com.evoting.evoting_backend.service.SealedResultsCache;
+import com.evoting.evoting_backend.service.TallyJobService;
 import com.evoting.evoting_backend.service.TallyService;
 import com.evoting.evoting_backend.service.ElectionService;
 import com.evoting.evoting_backend.service.VoteService;
 import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.TallyJob;
+import com.evoting.evoting_backend.model.TallyJobStatus;
 import com.evoting.evoting_backend.model.Vote;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tally")
@@ -26,15 +32,36 @@ public class TallyController {
     @Autowired
     private VoteService voteService;
 
+    @Autowired
+    private TallyJobService tallyJobService;
+
+    @Autowired
+    private SealedResultsCache sealedResultsCache;
+
     /**
-     * Get tally results for an election - Uses simple tally for immediate results
+     * Get tally results for an election - served from the stored tally job result;
+     * 202 with job progress while the tally is still running
      */
     @GetMapping("/{electionId}")
-    public ResponseEntity<Map<String, Integer>> getTallyResults(@PathVariable Long electionId) {
+    public ResponseEntity<?> getTallyResults(@PathVariable Long electionId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            // Use simple tally to get immediate correct results
-            Map<String, Integer> results = tallyService.simpleTallyVotes(electionId);
-            return ResponseEntity.ok(results);
+            SealedResultsCache.CachedBody sealed = sealedResultsCache.getOrBuild(electionId, "tally",
+                () -> storedResult(electionId).get("candidateResults"));
+            if (sealed != null) {
+                return sealedResultsCache.respond(sealed, ifNoneMatch);
+            }
+            
+            // Reads never queue work; jobs come from closing the election or POST /compute
+            TallyJob job = tallyJobService.getJob(electionId)
+                .orElseThrow(() -> new IllegalStateException("No tally job for election " + electionId));
+            Map<String, Object> stored = tallyJobService.getStoredResult(job);
+            if (stored == null) {
+                return ResponseEntity.accepted().body(tallyJobService.getJobStatus(job));
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> candidateResults = (Map<String, Object>) stored.get("candidateResults");
+            return ResponseEntity.ok(candidateResults);
         } catch (Exception e) {
             // Return empty map instead of error to maintain compatibility
             System.err.println("Tally error: " + e.getMessage());
@@ -46,25 +73,66 @@ public class TallyController {
      * NEW: Get detailed results with winner information
      */
     @GetMapping("/{electionId}/detailed")
-    public ResponseEntity<Map<String, Object>> getDetailedResults(@PathVariable Long electionId) {
+    public ResponseEntity<?> getDetailedResults(@PathVariable Long electionId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            Map<String, Object> results = tallyService.tallyVotesWithWinner(electionId);
-            return ResponseEntity.ok(results);
+            SealedResultsCache.CachedBody sealed = sealedResultsCache.getOrBuild(electionId, "detailed",
+                () -> tallyJobService.getDetailedResult(electionId));
+            if (sealed != null) {
+                return sealedResultsCache.respond(sealed, ifNoneMatch);
+            }
+            
+            TallyJob job = tallyJobService.getJob(electionId)
+                .orElseThrow(() -> new IllegalStateException("No tally job for election " + electionId));
+            if (tallyJobService.getStoredResult(job) == null) {
+                return ResponseEntity.accepted().body(tallyJobService.getJobStatus(job));
+            }
+            return ResponseEntity.ok(tallyJobService.getDetailedResult(electionId));
         } catch (Exception e) {
             System.err.println("Detailed tally error: " + e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    private Map<String, Object> storedResult(Long electionId) {
+        TallyJob job = tallyJobService.getJob(electionId)
+            .orElseThrow(() -> new IllegalStateException("No tally job for election " + electionId));
+        return tallyJobService.getStoredResult(job);
+    }
+
     /**
-     * Manually trigger tally computation
+     * Tally job status: percent complete and ETA while running, signature once done
+     */
+    @ReadReplica
+    @GetMapping("/{electionId}/job")
+    public ResponseEntity<Map<String, Object>> getTallyJob(@PathVariable Long electionId) {
+        Optional<TallyJob> job = tallyJobService.getJob(electionId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> status = tallyJobService.getJobStatus(job.get());
+        if (job.get().getStatus() == TallyJobStatus.COMPLETED) {
+            status.put("signatureValid", tallyJobService.verifyResultSignature(job.get()));
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Manually trigger tally computation (queues the job, or re-queues a failed one)
      */
     @PostMapping("/{electionId}/compute")
     public ResponseEntity<Map<String, Object>> computeTally(@PathVariable Long electionId) {
         Map<String, Object> response = new HashMap<>();
         try {
-            Map<String, Integer> results = tallyService.simpleTallyVotes(electionId);
+            TallyJob job = tallyJobService.submitTally(electionId);
+            Map<String, Object> stored = tallyJobService.getStoredResult(job);
             response.put("success", true);
+            response.put("job", tallyJobService.getJobStatus(job));
+            if (stored == null) {
+                response.put("message", "Tally job queued");
+                return ResponseEntity.accepted().body(response);
+            }
+            Map<?, ?> results = (Map<?, ?>) stored.get("candidateResults");
             response.put("message", "Tally computed successfully");
             response.put("results", results);
             response.put("candidatesCount", results.size());
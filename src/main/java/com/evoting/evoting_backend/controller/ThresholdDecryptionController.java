@@ -1,6 +1,8 @@
 package com.evoting.evoting_backend.controller;
 
 import com.evoting.evoting_backend.service.EnhancedThresholdPaillierService;
+import com.evoting.evoting_backend.service.KeyMaterialService;
+import com.evoting.evoting_backend.service.PaillierKeyService;
 import com.evoting.evoting_backend.service.TallyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,6 +23,47 @@ public class ThresholdDecryptionController {
     @Autowired
     private TallyService tallyService;
     
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+    
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+    
+    /**
+     * Starts a threshold key ceremony in the background and returns its job handle;
+     * with an electionId the trustees share that election's ballot key
+     */
+    @PostMapping("/keys/ceremony")
+    public KeyMaterialService.KeyCeremonyJob startKeyCeremony(
+            @RequestParam(defaultValue = "5") int trustees,
+            @RequestParam(defaultValue = "3") int threshold,
+            @RequestParam(required = false) Long electionId) {
+        if (electionId != null) {
+            return keyMaterialService.submitCeremony("THRESHOLD_PAILLIER_KEYS",
+                () -> thresholdPaillierService.generateThresholdKeys(trustees, threshold,
+                    paillierKeyService.getPaillierUtil(electionId)));
+        }
+        return keyMaterialService.submitCeremony("THRESHOLD_PAILLIER_KEYS",
+            () -> thresholdPaillierService.generateThresholdKeys(trustees, threshold));
+    }
+    
+    @GetMapping("/keys/ceremony/{jobId}")
+    public Map<String, Object> getKeyCeremony(@PathVariable String jobId) {
+        return keyMaterialService.getCeremonyJob(jobId)
+            .map(job -> {
+                Map<String, Object> response = new HashMap<>();
+                response.put("job", job);
+                response.put("success", true);
+                return response;
+            })
+            .orElseGet(() -> {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Key ceremony job not found: " + jobId);
+                error.put("success", false);
+                return error;
+            });
+    }
+    
     @PostMapping("/election/{electionId}/tally")
     public Map<String, Object> performThresholdTally(
             @PathVariable Long electionId,
@@ -43,6 +86,105 @@ public class ThresholdDecryptionController {
         }
     }
     
+    /**
+     * Trustee-side batch: applies one trustee's share to every candidate tally of the election
+     */
+    @PostMapping("/election/{electionId}/trustee/{trusteeId}/partial-decrypt")
+    public Map<String, Object> computeTrusteePartials(
+            @PathVariable Long electionId,
+            @PathVariable String trusteeId,
+            @RequestBody PartialDecryptionRequest request) {
+        
+        try {
+            Map<String, BigInteger> partials = tallyService.computeTrusteePartials(
+                electionId, trusteeId, new BigInteger(request.getShare()));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("electionId", electionId);
+            response.put("trusteeId", trusteeId);
+            response.put("partials", toStringValues(partials));
+            response.put("timestamp", java.time.LocalDateTime.now());
+            return response;
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Partial decryption failed: " + e.getMessage());
+            error.put("success", false);
+            return error;
+        }
+    }
+    
+    /**
+     * Trustee-side batch over arbitrary ciphertexts, for trustees decrypting offline exports
+     */
+    @PostMapping("/trustee/{trusteeId}/partial-decrypt-batch")
+    public Map<String, Object> computePartialBatch(
+            @PathVariable String trusteeId,
+            @RequestBody PartialDecryptionRequest request) {
+        
+        try {
+            Map<String, BigInteger> ciphertexts = new HashMap<>();
+            for (Map.Entry<String, String> entry : request.getCiphertexts().entrySet()) {
+                ciphertexts.put(entry.getKey(), new BigInteger(entry.getValue()));
+            }
+            
+            Map<String, BigInteger> partials = thresholdPaillierService.computePartialDecryptions(
+                trusteeId, new BigInteger(request.getShare()), ciphertexts);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("trusteeId", trusteeId);
+            response.put("partials", toStringValues(partials));
+            response.put("timestamp", java.time.LocalDateTime.now());
+            return response;
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Partial decryption failed: " + e.getMessage());
+            error.put("success", false);
+            return error;
+        }
+    }
+    
+    /**
+     * Combines trustee partials ({trusteeId: {candidate: partial}}) into the final tally
+     */
+    @PostMapping("/election/{electionId}/combine")
+    public Map<String, Object> combinePartials(
+            @PathVariable Long electionId,
+            @RequestBody Map<String, Map<String, String>> trusteePartials) {
+        
+        try {
+            Map<String, Map<String, BigInteger>> partials = new HashMap<>();
+            for (Map.Entry<String, Map<String, String>> trustee : trusteePartials.entrySet()) {
+                Map<String, BigInteger> values = new HashMap<>();
+                for (Map.Entry<String, String> entry : trustee.getValue().entrySet()) {
+                    values.put(entry.getKey(), new BigInteger(entry.getValue()));
+                }
+                partials.put(trustee.getKey(), values);
+            }
+            
+            return tallyService.tallyVotesWithPartials(electionId, partials);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Partial decryption tally failed: " + e.getMessage());
+            error.put("success", false);
+            return error;
+        }
+    }
+    
+    @PostMapping("/benchmark/partial-decryption")
+    public Map<String, Object> benchmarkPartialDecryption(@RequestParam(defaultValue = "20") int candidates) {
+        try {
+            return thresholdPaillierService.benchmarkPartialDecryption(candidates);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Benchmark failed: " + e.getMessage());
+            error.put("success", false);
+            return error;
+        }
+    }
+    
     @GetMapping("/election/{electionId}/readiness")
     public EnhancedThresholdPaillierService.DecryptionStatus getTallyReadiness(@PathVariable Long electionId) {
         return tallyService.getTallyReadiness(electionId);
@@ -70,6 +212,14 @@ public class ThresholdDecryptionController {
         return thresholdPaillierService.getDecryptionStatus();
     }
     
+    private Map<String, String> toStringValues(Map<String, BigInteger> values) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, BigInteger> entry : values.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toString());
+        }
+        return result;
+    }
+    
     public static class ShareVerificationRequest {
         private String trusteeId;
         private String share;
@@ -79,4 +229,14 @@ public class ThresholdDecryptionController {
         public String getShare() { return share; }
         public void setShare(String share) { this.share = share; }
     }
+    
+    public static class PartialDecryptionRequest {
+        private String share;
+        private Map<String, String> ciphertexts;
+        
+        public String getShare() { return share; }
+        public void setShare(String share) { this.share = share; }
+        public Map<String, String> getCiphertexts() { return ciphertexts; }
+        public void setCiphertexts(Map<String, String> ciphertexts) { this.ciphertexts = ciphertexts; }
+    }
 }
\ No newline at end of file
@@ -1,19 +1,35 @@
 package com.evoting.evoting_backend.controller;
 
+import com.evoting.evoting_backend.config.ReadReplica;
+import com.evoting.evoting_backend.config.ReplicaRoutingDataSource;
 import com.evoting.evoting_backend.model.BulletinBoardEntry;
+import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.model.Vote;
 import com.evoting.evoting_backend.repository.BulletinBoardRepository;
 import com.evoting.evoting_backend.repository.VoteRepository;
+import com.evoting.evoting_backend.service.BulletinBoardExportService;
 import com.evoting.evoting_backend.service.BulletinBoardService;
 import com.evoting.evoting_backend.service.CandidateService;
 import com.evoting.evoting_backend.service.ElectionService;
+import com.evoting.evoting_backend.service.ReplicaStalenessGuard;
+import com.evoting.evoting_backend.service.SealedResultsCache;
+import com.evoting.evoting_backend.service.ZeroKnowledgeProofService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+// Read-only endpoints: served by the read replica when one is configured
+@ReadReplica
 @RestController
 @RequestMapping("/api/verification")
 public class VerificationController {
@@ -23,6 +39,12 @@ public class VerificationController {
     @Autowired private BulletinBoardService bulletinBoardService;
     @Autowired private ElectionService electionService;
     @Autowired private CandidateService candidateService;
+    @Autowired private ZeroKnowledgeProofService zkpService;
+    @Autowired private SealedResultsCache sealedResultsCache;
+    @Autowired private BulletinBoardExportService exportService;
+    @Autowired private ReplicaStalenessGuard replicaStalenessGuard;
+
+    private static final int MAX_PAGE_SIZE = 5000;
 
     @GetMapping("/vote/{trackingCode}")
     public Map<String, Object> verifyVote(@PathVariable String trackingCode) {
@@ -31,10 +53,13 @@ public class VerificationController {
         System.out.println("Verifying tracking code: " + trackingCode);
         System.out.println("Code length: " + trackingCode.length());
         
-        Optional<Vote> voteOpt = voteRepository.findByTrackingCode(trackingCode);
+        // A just-cast ballot may not have reached the replica yet
+        Optional<Vote> voteOpt = replicaStalenessGuard.lookup(trackingCode,
+            () -> voteRepository.findByTrackingCode(trackingCode));
         System.out.println("Vote found in database: " + voteOpt.isPresent());
         
-        Optional<BulletinBoardEntry> bbEntryOpt = bulletinBoardRepository.findByTrackingCode(trackingCode);
+        Optional<BulletinBoardEntry> bbEntryOpt = replicaStalenessGuard.lookup(trackingCode,
+            () -> bulletinBoardRepository.findByTrackingCode(trackingCode));
         System.out.println("Entry found in bulletin board: " + bbEntryOpt.isPresent());
         System.out.println("=== END DEBUG ===");
 
@@ -51,9 +76,16 @@ public class VerificationController {
 
         String electionTitle = "Unknown";
         String candidateName = "Unknown";
+        String proofStatus = "NOT_PROVIDED";
         
         try {
-            electionTitle = electionService.getElectionById(vote.getElectionId()).getTitle();
+            Election election = electionService.getElectionById(vote.getElectionId());
+            electionTitle = election.getTitle();
+            if (vote.getValidityProof() != null && !vote.getValidityProof().isEmpty()) {
+                // ✅ Cached: repeat self-checks of the same ballot cost one hash
+                proofStatus = zkpService.verifyBallotProof(election, vote.getEncryptedVote(),
+                    vote.getValidityProof()) ? "VALID" : "INVALID";
+            }
             candidateName = candidateService.getCandidateById(vote.getCandidateId()).getName();
         } catch (Exception e) {
             System.out.println("Error getting election/candidate details: " + e.getMessage());
@@ -66,13 +98,24 @@ public class VerificationController {
                 "voteMatches", voteMatches,
                 "election", electionTitle,
                 "candidate", candidateName,
+                "validityProof", proofStatus,
                 "trackingCode", trackingCode,
                 "verificationTime", java.time.LocalDateTime.now().toString()
         );
     }
 
     @GetMapping("/bulletin-board/{electionId}")
-    public Map<String, Object> getBulletinBoard(@PathVariable Long electionId) {
+    public ResponseEntity<?> getBulletinBoard(@PathVariable Long electionId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        SealedResultsCache.CachedBody sealed = sealedResultsCache.getOrBuild(electionId, "bulletin-board",
+            () -> bulletinBoard(electionId));
+        if (sealed != null) {
+            return sealedResultsCache.respond(sealed, ifNoneMatch);
+        }
+        return ResponseEntity.ok(bulletinBoard(electionId));
+    }
+
+    private Map<String, Object> bulletinBoard(Long electionId) {
         List<BulletinBoardEntry> entries = bulletinBoardService.getElectionEntries(electionId);
         boolean integrityValid = bulletinBoardService.verifyBoardIntegrity();
 
@@ -85,6 +128,38 @@ public class VerificationController {
         );
     }
 
+    /**
+     * ✅ Keyset page: pass the returned nextCursor as "after" to get the next page
+     */
+    @GetMapping("/bulletin-board/{electionId}/page")
+    public Map<String, Object> getBulletinBoardPage(@PathVariable Long electionId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        List<BulletinBoardEntry> entries = bulletinBoardService.getEntriesPage(electionId, after, pageSize(limit));
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("electionId", electionId);
+        page.put("after", after);
+        page.put("entries", entries.stream().map(entry -> {
+            Map<String, Object> row = new HashMap<>(entryToMap(entry));
+            row.put("id", entry.getId());
+            return row;
+        }).toList());
+        page.put("count", entries.size());
+        page.put("nextCursor", entries.size() < pageSize(limit) ? null : entries.get(entries.size() - 1).getId());
+        return page;
+    }
+
+    /**
+     * ✅ Whole board as NDJSON streamed from a database cursor (gzip when accepted)
+     */
+    @GetMapping("/bulletin-board/{electionId}/export")
+    public ResponseEntity<StreamingResponseBody> exportBulletinBoard(@PathVariable Long electionId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return ndjson(gzip, out -> exportService.exportEntries(electionId, out, gzip));
+    }
+
     @GetMapping("/bulletin-board/integrity")
     public Map<String, Object> verifyBulletinBoardIntegrity() {
         boolean integrityValid = bulletinBoardService.verifyBoardIntegrity();
@@ -103,7 +178,40 @@ public class VerificationController {
     }
 
     @GetMapping("/tracking-codes/{electionId}")
-    public Map<String, Object> getTrackingCodes(@PathVariable Long electionId) {
+    public ResponseEntity<?> getTrackingCodes(@PathVariable Long electionId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        SealedResultsCache.CachedBody sealed = sealedResultsCache.getOrBuild(electionId, "tracking-codes",
+            () -> trackingCodes(electionId));
+        if (sealed != null) {
+            return sealedResultsCache.respond(sealed, ifNoneMatch);
+        }
+        return ResponseEntity.ok(trackingCodes(electionId));
+    }
+
+    @GetMapping("/tracking-codes/{electionId}/page")
+    public Map<String, Object> getTrackingCodesPage(@PathVariable Long electionId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        List<BulletinBoardRepository.TrackingCodeRow> rows =
+            bulletinBoardService.getTrackingCodesPage(electionId, after, pageSize(limit));
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("electionId", electionId);
+        page.put("after", after);
+        page.put("trackingCodes", rows.stream().map(BulletinBoardRepository.TrackingCodeRow::getTrackingCode).toList());
+        page.put("count", rows.size());
+        page.put("nextCursor", rows.size() < pageSize(limit) ? null : rows.get(rows.size() - 1).getId());
+        return page;
+    }
+
+    @GetMapping("/tracking-codes/{electionId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTrackingCodes(@PathVariable Long electionId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return ndjson(gzip, out -> exportService.exportTrackingCodes(electionId, out, gzip));
+    }
+
+    private Map<String, Object> trackingCodes(Long electionId) {
         List<BulletinBoardEntry> entries = bulletinBoardService.getElectionEntries(electionId);
         List<String> trackingCodes = entries.stream().map(BulletinBoardEntry::getTrackingCode).toList();
 
@@ -115,6 +223,42 @@ public class VerificationController {
         );
     }
 
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(boolean gzip, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(BulletinBoardExportService.NDJSON))
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(onReplica(body));
+    }
+
+    // The body is written after this handler returns, on another thread, so it opens its own scope
+    private StreamingResponseBody onReplica(StreamingResponseBody body) {
+        return out -> {
+            try {
+                ReplicaRoutingDataSource.onReplica(() -> {
+                    try {
+                        body.writeTo(out);
+                        return null;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
     private Map<String, Object> entryToMap(BulletinBoardEntry entry) {
         return Map.of(
                 "entryHash", entry.getEntryHash(),
@@ -1,13 +1,22 @@
 package com.evoting.evoting_backend.controller;
 
+import com.evoting.evoting_backend.config.ReadReplica;
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
 import com.evoting.evoting_backend.dto.ApiResponse;
+import com.evoting.evoting_backend.dto.BallotRequest;
+import com.evoting.evoting_backend.exception.ElectionException;
 import com.evoting.evoting_backend.model.Vote;
 import com.evoting.evoting_backend.service.VoteService;
 import com.evoting.evoting_backend.service.AnonymousTokenService;
 import com.evoting.evoting_backend.service.BulletinBoardService;
+import com.evoting.evoting_backend.service.ReplicaStalenessGuard;
+import com.evoting.evoting_backend.service.VoteLatencyTracer;
+import com.evoting.evoting_backend.service.VoteLatencyTracer.Stage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,38 +33,86 @@ public class VoteController {
     @Autowired
     private BulletinBoardService bulletinBoardService;
     
+    @Autowired
+    private ReplicaStalenessGuard replicaStalenessGuard;
+    
+    @Autowired
+    private VoteLatencyTracer voteTracer;
+    
     /**
-     * ✅ Cast Secure Vote
+     * ✅ Cast Secure Vote (JSON; encryptedVote as a decimal string)
      */
     @PostMapping
-    public ApiResponse castSecureVote(@RequestBody Map<String, Object> request) {
+    public ApiResponse castSecureVote(@RequestBody BallotRequest request) {
+        voteTracer.begin();
+        return castBallot(request);
+    }
+    
+    /**
+     * ✅ Cast Secure Vote in the compact binary encoding (see BallotRequest)
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ApiResponse castSecureVoteBinary(@RequestBody byte[] body) {
+        voteTracer.begin();
+        BallotRequest request;
         try {
-            String anonymousToken = (String) request.get("anonymousToken");
-            Long electionId = Long.valueOf(request.get("electionId").toString());
-            Long candidateId = Long.valueOf(request.get("candidateId").toString());
-            String encryptedVote = (String) request.get("encryptedVote");
+            request = voteTracer.stage(Stage.DECODE, () -> BallotRequest.fromBinary(body));
+        } catch (IllegalArgumentException e) {
+            voteTracer.finish(null, "rejected");
+            return new ApiResponse(false, "Malformed binary ballot: " + e.getMessage());
+        }
+        return castBallot(request);
+    }
+    
+    // Runs inside the trace opened by the endpoint; every exit closes it with its outcome
+    private ApiResponse castBallot(BallotRequest request) {
+        Long electionId = request.getElectionId();
+        String outcome = "error";
+        try {
+            String anonymousToken = request.getAnonymousToken();
+            Long candidateId = request.getCandidateId();
+            
+            // Create vote first: a malformed ciphertext must not burn the token
+            Vote vote = new Vote();
+            try {
+                voteTracer.stage(Stage.DECODE, () -> {
+                    BigInteger ciphertext = request.getCiphertext();
+                    // The column width is only enforced on insert, after the token is spent
+                    CiphertextCodec.checkEncodable(ciphertext);
+                    vote.setCiphertext(ciphertext);
+                });
+            } catch (NumberFormatException e) {
+                outcome = "rejected";
+                return new ApiResponse(false, "Malformed encrypted vote");
+            } catch (IllegalArgumentException e) {
+                outcome = "rejected";
+                return new ApiResponse(false, "Malformed encrypted vote: " + e.getMessage());
+            }
+            vote.setElectionId(electionId);
+            vote.setCandidateId(candidateId);
+            vote.setValidityProof(request.getValidityProof());
+            voteService.checkBallot(vote);
             
             // Validate and consume token
-            boolean tokenValid = anonymousTokenService.validateAndConsumeToken(anonymousToken, electionId);
+            boolean tokenValid = voteTracer.stage(Stage.TOKEN_CONSUME,
+                () -> anonymousTokenService.validateAndConsumeToken(anonymousToken, electionId));
             
             if (!tokenValid) {
+                outcome = "rejected";
                 return new ApiResponse(false, "Invalid or used token");
             }
             
-            // Create vote
-            Vote vote = new Vote();
-            vote.setEncryptedVote(encryptedVote);
-            vote.setElectionId(electionId);
-            vote.setCandidateId(candidateId);
-            
             Vote savedVote = voteService.saveVote(vote);
             
             // ✅ CRITICAL: Add to bulletin board
-            boolean addedToBulletinBoard = bulletinBoardService.addVoteToBulletinBoard(savedVote);
+            boolean addedToBulletinBoard = voteTracer.stage(Stage.BULLETIN_APPEND,
+                () -> bulletinBoardService.addVoteToBulletinBoard(savedVote));
             
             if (!addedToBulletinBoard) {
                 System.out.println("WARNING: Vote saved but failed to add to bulletin board!");
             }
+            // The voter usually verifies right away; read this code from the primary for a while
+            replicaStalenessGuard.recordWrite(savedVote.getTrackingCode());
             
             // ✅ ADDED: Response debugging
             System.out.println("=== VOTE CONTROLLER DEBUG ===");
@@ -70,16 +127,23 @@ public class VoteController {
             responseData.put("timestamp", java.time.LocalDateTime.now());
             responseData.put("addedToBulletinBoard", addedToBulletinBoard);
             
+            outcome = "success";
             return new ApiResponse(true, "Secure vote cast successfully", responseData);
             
+        } catch (ElectionException e) {
+            outcome = "rejected";
+            return new ApiResponse(false, e.getMessage());
         } catch (Exception e) {
             return new ApiResponse(false, "Vote casting failed: " + e.getMessage());
+        } finally {
+            voteTracer.finish(electionId, outcome);
         }
     }
     
     /**
      * ✅ Token Statistics
      */
+    @ReadReplica
     @GetMapping("/token-stats/{electionId}")
     public ApiResponse getTokenStatistics(@PathVariable Long electionId) {
         try {
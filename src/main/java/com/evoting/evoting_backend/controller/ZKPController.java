@@ -1,12 +1,22 @@
 package com.evoting.evoting_backend.controller;
 
+import com.evoting.evoting_backend.crypto.PaillierMembershipProof;
 import com.evoting.evoting_backend.dto.ApiResponse;
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.service.ElectionService;
+import com.evoting.evoting_backend.service.PaillierKeyService;
+import com.evoting.evoting_backend.service.ProofVerificationCache;
+import com.evoting.evoting_backend.service.TallyService;
 import com.evoting.evoting_backend.service.ZeroKnowledgeProofService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,6 +26,103 @@ public class ZKPController {
     @Autowired
     private ZeroKnowledgeProofService zkpService;
     
+    @Autowired
+    private ElectionService electionService;
+    
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+    
+    @Autowired
+    private TallyService tallyService;
+    
+    @Autowired
+    private ProofVerificationCache verificationCache;
+    
+    @Value("${zkp.batch.max-ballots:1000}")
+    private int maxBatchBallots;
+    
+    /**
+     * ✅ Bulk verification of client-supplied ballot validity proofs against an election's key
+     */
+    @PostMapping("/verify-vote-validity/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ELECTION_OFFICER')")
+    public ApiResponse<Map<String, Object>> verifyVoteValidityBatch(@RequestBody BatchVerificationRequest request) {
+        try {
+            if (request.getBallots() == null || request.getBallots().isEmpty()) {
+                return new ApiResponse<>(false, "Batch ZKP verification failed: no ballots given");
+            }
+            if (request.getBallots().size() > maxBatchBallots) {
+                return new ApiResponse<>(false, "Batch ZKP verification failed: at most " +
+                    maxBatchBallots + " ballots per batch");
+            }
+            
+            Election election = electionService.getElectionById(request.getElectionId());
+            BigInteger n = paillierKeyService.getPaillierUtil(election.getId()).getN();
+            
+            List<BigInteger> ciphertexts = new ArrayList<>();
+            List<PaillierMembershipProof> proofs = new ArrayList<>();
+            for (BallotProof ballot : request.getBallots()) {
+                ciphertexts.add(new BigInteger(ballot.getEncryptedVote()));
+                proofs.add(PaillierMembershipProof.decode(ballot.getValidityProof()));
+            }
+            
+            ZeroKnowledgeProofService.BatchVerificationResult verification =
+                zkpService.batchVerifyVoteValidityProofs(n, zkpService.allowedPlaintexts(election), ciphertexts, proofs);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("totalProofs", verification.getTotalProofs());
+            result.put("validProofs", verification.getValidProofs());
+            result.put("invalidIndexes", verification.getInvalidIndexes());
+            result.put("cachedVerdicts", verification.getCacheHits());
+            result.put("batchChecks", verification.getBatchChecks());
+            result.put("verificationMs", verification.getElapsedMs());
+            result.put("proofsPerSecond", verification.getProofsPerSecond());
+            result.put("timestamp", System.currentTimeMillis());
+            
+            boolean allValid = verification.getValidProofs() == verification.getTotalProofs();
+            return new ApiResponse<>(true,
+                allValid ? "All vote validity proofs verified" : "Some vote validity proofs failed",
+                result);
+            
+        } catch (Exception e) {
+            return new ApiResponse<>(false, "Batch ZKP verification failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * ✅ Run the tally pre-pass over an election's stored ballots
+     */
+    @PostMapping("/election/{electionId}/verify-ballots")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ELECTION_OFFICER')")
+    public ApiResponse<Map<String, Object>> verifyElectionBallots(@PathVariable Long electionId) {
+        try {
+            return new ApiResponse<>(true, "Ballot proofs verified", tallyService.verifyBallotProofs(electionId));
+        } catch (Exception e) {
+            return new ApiResponse<>(false, "Ballot proof verification failed: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/benchmark/batch-verification")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ELECTION_OFFICER')")
+    public ApiResponse<Map<String, Object>> benchmarkBatchVerification(
+            @RequestParam(defaultValue = "100") int ballots,
+            @RequestParam(defaultValue = "2") int branches) {
+        try {
+            if (ballots < 2 || ballots > maxBatchBallots) {
+                return new ApiResponse<>(false, "Batch verification benchmark failed: ballots must be between 2 and " +
+                    maxBatchBallots);
+            }
+            if (branches < 2 || branches > 64) {
+                return new ApiResponse<>(false, "Batch verification benchmark failed: branches must be between 2 and 64");
+            }
+            
+            return new ApiResponse<>(true, "Batch verification benchmark completed",
+                zkpService.benchmarkBatchVerification(ballots, branches));
+        } catch (Exception e) {
+            return new ApiResponse<>(false, "Batch verification benchmark failed: " + e.getMessage());
+        }
+    }
+    
     @PostMapping("/verify-vote-validity")
     public ApiResponse<Map<String, Object>> verifyVoteValidity(@RequestBody ZKPVerificationRequest request) {
         try {
@@ -70,6 +177,14 @@ public class ZKPController {
         }
     }
     
+    /**
+     * ✅ Hit rate of the proof/signature verdict cache
+     */
+    @GetMapping("/cache-stats")
+    public ApiResponse<Map<String, Object>> getCacheStatistics() {
+        return new ApiResponse<>(true, "Verification cache statistics", verificationCache.getStatistics());
+    }
+    
     @GetMapping("/health")
     public ApiResponse<Map<String, Object>> healthCheck() {
         try {
@@ -103,6 +218,28 @@ public class ZKPController {
         public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
     }
     
+    public static class BatchVerificationRequest {
+        private Long electionId;
+        private java.util.List<BallotProof> ballots;
+        
+        public Long getElectionId() { return electionId; }
+        public void setElectionId(Long electionId) { this.electionId = electionId; }
+        
+        public java.util.List<BallotProof> getBallots() { return ballots; }
+        public void setBallots(java.util.List<BallotProof> ballots) { this.ballots = ballots; }
+    }
+    
+    public static class BallotProof {
+        private String encryptedVote;
+        private String validityProof;
+        
+        public String getEncryptedVote() { return encryptedVote; }
+        public void setEncryptedVote(String encryptedVote) { this.encryptedVote = encryptedVote; }
+        
+        public String getValidityProof() { return validityProof; }
+        public void setValidityProof(String validityProof) { this.validityProof = validityProof; }
+    }
+    
     public static class TokenOwnershipRequest {
         private String anonymousToken;
         private String publicModulus;
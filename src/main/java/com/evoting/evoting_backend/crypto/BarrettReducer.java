@@ -0,0 +1,51 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Modular multiplication with Barrett reduction: two multiplications and a shift
+ * replace the long division behind BigInteger.mod, which dominates the cost of
+ * long multiply chains over a fixed modulus.
+ */
+public final class BarrettReducer {
+
+    private final BigInteger modulus;
+    private final int shift;
+    private final BigInteger factor;
+
+    public BarrettReducer(BigInteger modulus) {
+        if (modulus.signum() <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
+        }
+        this.modulus = modulus;
+        this.shift = modulus.bitLength();
+        this.factor = BigInteger.ONE.shiftLeft(2 * shift).divide(modulus);
+    }
+
+    public BigInteger getModulus() {
+        return modulus;
+    }
+
+    /**
+     * a * b mod m for 0 <= a, b < m
+     */
+    public BigInteger multiply(BigInteger a, BigInteger b) {
+        return reduce(a.multiply(b));
+    }
+
+    public BigInteger square(BigInteger a) {
+        return reduce(a.multiply(a));
+    }
+
+    /**
+     * x mod m for 0 <= x < m^2
+     */
+    public BigInteger reduce(BigInteger x) {
+        BigInteger quotient = x.shiftRight(shift - 1).multiply(factor).shiftRight(shift + 1);
+        BigInteger remainder = x.subtract(quotient.multiply(modulus));
+        while (remainder.compareTo(modulus) >= 0) {
+            remainder = remainder.subtract(modulus);
+        }
+        return remainder;
+    }
+}
@@ -154,6 +154,11 @@ public class BlindSignatureUtil {
             q = BigInteger.probablePrime(bitLength / 2, random);
         }
         
+        return fromPrimes(p, q);
+    }
+
+    // Build RSA keys from distinct primes supplied by the caller (e.g. a shared prime pool)
+    public static BlindSignatureUtil fromPrimes(BigInteger p, BigInteger q) {
         BigInteger n = p.multiply(q);
         BigInteger phi = p.subtract(BigInteger.ONE).multiply(q.subtract(BigInteger.ONE));
         BigInteger e = new BigInteger("65537"); // Common public exponent
@@ -0,0 +1,270 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable bulletin board segment file: a fixed run of one election's entries plus
+ * the Merkle frontier after its last entry. Files are named by the SHA-256 of their
+ * bytes, and each header names the previous segment's hash, so the segments of an
+ * election form a hash chain.
+ *
+ * Layout (all integers big-endian):
+ *   header: magic "BBSG" | u16 version | u16 flags | i64 electionId | i64 segmentIndex
+ *           | i64 firstSequence | i32 entryCount | i64 firstEntryId | i64 lastEntryId
+ *           | 32B previousSegmentHash (zeros for the first) | str lastEntryHash
+ *           | i32 peakCount | peaks (32B each) | 32B merkleRoot
+ *           | i32 bodyLength | i32 compressedLength
+ *   body:   deflate(record*), record = i64 id | str timestamp | str trackingCode
+ *           | str entryHash | str previousHash | str encryptedVote
+ *   str:    i32 length (-1 for null) + UTF-8 bytes
+ *
+ * Each Merkle leaf is one record's bytes, so the root commits to the ciphertexts too.
+ * The frontier covers firstSequence + entryCount leaves.
+ */
+public final class BulletinSegment {
+
+    public static final int VERSION = 1;
+    public static final int FLAG_FINAL = 1;
+    public static final String FILE_SUFFIX = ".seg";
+
+    private static final byte[] MAGIC = { 'B', 'B', 'S', 'G' };
+
+    private BulletinSegment() {}
+
+    public static class Entry {
+        public final long id;
+        public final String timestamp;
+        public final String trackingCode;
+        public final String entryHash;
+        public final String previousHash;
+        public final String encryptedVote;
+
+        public Entry(long id, String timestamp, String trackingCode, String entryHash,
+                     String previousHash, String encryptedVote) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.trackingCode = trackingCode;
+            this.entryHash = entryHash;
+            this.previousHash = previousHash;
+            this.encryptedVote = encryptedVote;
+        }
+    }
+
+    public static class Header {
+        public int flags;
+        public long electionId;
+        public long segmentIndex;
+        public long firstSequence;
+        public int entryCount;
+        public long firstEntryId;
+        public long lastEntryId;
+        public byte[] previousSegmentHash;
+        public String lastEntryHash;
+        public MerkleFrontier frontier;
+        public byte[] merkleRoot;
+        public int bodyLength;
+        public int compressedLength;
+        // Offset of the compressed body within the file
+        public int bodyOffset;
+
+        public boolean isFinal() {
+            return (flags & FLAG_FINAL) != 0;
+        }
+    }
+
+    /**
+     * Encodes a segment and advances {@code frontier} past its entries
+     */
+    public static byte[] write(long electionId, long segmentIndex, boolean isFinal, byte[] previousSegmentHash,
+                               List<Entry> entries, MerkleFrontier frontier) {
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one entry");
+        }
+        long firstSequence = frontier.getLeafCount();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(entries.size() * 512);
+        for (Entry entry : entries) {
+            byte[] record = encodeRecord(entry);
+            frontier.appendData(record);
+            body.writeBytes(record);
+        }
+        byte[] bodyBytes = body.toByteArray();
+        byte[] compressed = deflate(bodyBytes);
+
+        byte[] lastEntryHash = utf8(entries.get(entries.size() - 1).entryHash);
+        byte[] peaks = frontier.encodePeaks();
+        ByteBuffer file = ByteBuffer.allocate(4 + 2 + 2 + 8 + 8 + 8 + 4 + 8 + 8 + 32
+            + 4 + (lastEntryHash != null ? lastEntryHash.length : 0)
+            + 4 + peaks.length + 32 + 4 + 4 + compressed.length);
+        file.put(MAGIC).putShort((short) VERSION).putShort((short) (isFinal ? FLAG_FINAL : 0));
+        file.putLong(electionId).putLong(segmentIndex).putLong(firstSequence).putInt(entries.size());
+        file.putLong(entries.get(0).id).putLong(entries.get(entries.size() - 1).id);
+        file.put(previousSegmentHash != null ? previousSegmentHash : new byte[32]);
+        putBytes(file, lastEntryHash);
+        file.putInt(peaks.length / MerkleFrontier.HASH_LENGTH).put(peaks);
+        file.put(frontier.root());
+        file.putInt(bodyBytes.length).putInt(compressed.length).put(compressed);
+        return file.array();
+    }
+
+    public static Header readHeader(ByteBuffer file) {
+        ByteBuffer buffer = file.duplicate();
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalStateException("Not a bulletin board segment");
+            }
+            int version = Short.toUnsignedInt(buffer.getShort());
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported segment version " + version);
+            }
+            Header header = new Header();
+            header.flags = Short.toUnsignedInt(buffer.getShort());
+            header.electionId = buffer.getLong();
+            header.segmentIndex = buffer.getLong();
+            header.firstSequence = buffer.getLong();
+            header.entryCount = buffer.getInt();
+            header.firstEntryId = buffer.getLong();
+            header.lastEntryId = buffer.getLong();
+            header.previousSegmentHash = new byte[32];
+            buffer.get(header.previousSegmentHash);
+            header.lastEntryHash = getString(buffer);
+            int peakCount = buffer.getInt();
+            byte[] peaks = new byte[peakCount * MerkleFrontier.HASH_LENGTH];
+            buffer.get(peaks);
+            header.frontier = MerkleFrontier.decode(header.firstSequence + header.entryCount, peaks);
+            header.merkleRoot = new byte[32];
+            buffer.get(header.merkleRoot);
+            header.bodyLength = buffer.getInt();
+            header.compressedLength = buffer.getInt();
+            header.bodyOffset = buffer.position();
+            if (header.bodyOffset + header.compressedLength != buffer.limit()) {
+                throw new IllegalStateException("Segment body length does not match the file size");
+            }
+            return header;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IllegalStateException("Truncated or corrupt segment header: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Inflates the body straight from the (possibly memory-mapped) file buffer
+     */
+    public static ByteBuffer readBody(ByteBuffer file, Header header) {
+        ByteBuffer compressed = file.duplicate();
+        compressed.position(header.bodyOffset).limit(header.bodyOffset + header.compressedLength);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteBuffer body = ByteBuffer.allocate(header.bodyLength);
+            while (body.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(body) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            if (body.hasRemaining() || !inflater.finished()) {
+                throw new IllegalStateException("Segment body does not inflate to " + header.bodyLength + " bytes");
+            }
+            return body.flip();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt segment body: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Next record from the body; the buffer's position moves past it. The raw record
+     * bytes (the Merkle leaf) are body[start, position).
+     */
+    public static Entry readRecord(ByteBuffer body) {
+        return new Entry(body.getLong(), getString(body), getString(body), getString(body),
+            getString(body), getString(body));
+    }
+
+    public static byte[] encodeRecord(Entry entry) {
+        byte[][] fields = {
+            utf8(entry.timestamp), utf8(entry.trackingCode), utf8(entry.entryHash),
+            utf8(entry.previousHash), utf8(entry.encryptedVote)
+        };
+        int length = 8;
+        for (byte[] field : fields) {
+            length += 4 + (field != null ? field.length : 0);
+        }
+        ByteBuffer record = ByteBuffer.allocate(length).putLong(entry.id);
+        for (byte[] field : fields) {
+            putBytes(record, field);
+        }
+        return record.array();
+    }
+
+    public static String contentHash(byte[] file) {
+        return contentHash(ByteBuffer.wrap(file));
+    }
+
+    public static String contentHash(ByteBuffer file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(file.duplicate());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hash computation failed", e);
+        }
+    }
+
+    public static String fileName(String contentHash) {
+        return contentHash + FILE_SUFFIX;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
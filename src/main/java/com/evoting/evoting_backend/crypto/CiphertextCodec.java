@@ -0,0 +1,67 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Storage form for Paillier ciphertexts: the unsigned big-endian magnitude, left-padded
+ * with zeros to a whole number of 64-byte words. Ciphertexts live in [1, n^2), so every
+ * ballot under one key has the same width (n^2 rounded up to a word), and decoding is an
+ * array copy instead of the base-10 parse the old decimal TEXT columns needed.
+ */
+public final class CiphertextCodec {
+
+    public static final int WORD_BYTES = 64;
+
+    // Column width: room for n up to 4096 bits
+    public static final int MAX_BYTES = 1024;
+
+    private CiphertextCodec() {}
+
+    /**
+     * Throws IllegalArgumentException unless encode accepts the value, so callers can
+     * reject a ballot before anything irreversible happens; null passes
+     */
+    public static void checkEncodable(BigInteger value) {
+        if (value == null) {
+            return;
+        }
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("Ciphertexts are non-negative");
+        }
+        int length = (value.bitLength() + 7) / 8;
+        if (width(length) > MAX_BYTES) {
+            throw new IllegalArgumentException("Ciphertext of " + length + " bytes exceeds " + MAX_BYTES);
+        }
+    }
+
+    public static byte[] encode(BigInteger value) {
+        if (value == null) {
+            return null;
+        }
+        checkEncodable(value);
+        byte[] raw = value.toByteArray();
+        // toByteArray adds a leading zero byte when the top bit of the magnitude is set
+        int offset = raw.length > 1 && raw[0] == 0 ? 1 : 0;
+        int length = raw.length - offset;
+        int width = width(length);
+
+        byte[] encoded = new byte[width];
+        System.arraycopy(raw, offset, encoded, width - length, length);
+        return encoded;
+    }
+
+    public static BigInteger decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return null;
+        }
+        return new BigInteger(1, encoded);
+    }
+
+    /**
+     * Encoded width of a value whose magnitude takes the given number of bytes
+     */
+    public static int width(int magnitudeBytes) {
+        int words = Math.max(1, (magnitudeBytes + WORD_BYTES - 1) / WORD_BYTES);
+        return words * WORD_BYTES;
+    }
+}
@@ -0,0 +1,73 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed powers of a long-lived base: table[i][d] = base^(d * 2^(w*i)). An
+ * exponent is split into w-bit digits and base^e becomes one table lookup and one
+ * multiplication per digit, with no squarings at exponentiation time.
+ */
+public final class FixedBaseWindowTable {
+
+    private final BigInteger base;
+    private final BarrettReducer reducer;
+    private final int windowBits;
+    private final int maxExponentBits;
+    private final BigInteger[][] table;
+
+    public FixedBaseWindowTable(BigInteger base, BigInteger modulus, int maxExponentBits, int windowBits) {
+        if (windowBits < 1 || windowBits > 16) {
+            throw new IllegalArgumentException("Window must be between 1 and 16 bits");
+        }
+        this.reducer = new BarrettReducer(modulus);
+        this.base = base.mod(modulus);
+        this.windowBits = windowBits;
+        this.maxExponentBits = maxExponentBits;
+
+        int windows = (maxExponentBits + windowBits - 1) / windowBits;
+        int digits = 1 << windowBits;
+        this.table = new BigInteger[windows][digits];
+
+        BigInteger windowBase = this.base;
+        for (int i = 0; i < windows; i++) {
+            table[i][0] = BigInteger.ONE;
+            table[i][1] = windowBase;
+            for (int d = 2; d < digits; d++) {
+                table[i][d] = reducer.multiply(table[i][d - 1], windowBase);
+            }
+            // Next window's base is this one raised to 2^w
+            windowBase = reducer.multiply(table[i][digits - 1], windowBase);
+        }
+    }
+
+    public BigInteger getBase() {
+        return base;
+    }
+
+    public int getMaxExponentBits() {
+        return maxExponentBits;
+    }
+
+    public BigInteger pow(BigInteger exponent) {
+        if (exponent.signum() < 0) {
+            return pow(exponent.negate()).modInverse(reducer.getModulus());
+        }
+        if (exponent.bitLength() > maxExponentBits) {
+            return base.modPow(exponent, reducer.getModulus());
+        }
+
+        BigInteger result = null;
+        for (int i = 0, bit = 0; bit < exponent.bitLength(); i++, bit += windowBits) {
+            int digit = 0;
+            for (int b = 0; b < windowBits; b++) {
+                if (exponent.testBit(bit + b)) {
+                    digit |= 1 << b;
+                }
+            }
+            if (digit != 0) {
+                result = result == null ? table[i][digit] : reducer.multiply(result, table[i][digit]);
+            }
+        }
+        return result == null ? BigInteger.ONE.mod(reducer.getModulus()) : result;
+    }
+}
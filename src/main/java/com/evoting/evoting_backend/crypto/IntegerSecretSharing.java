@@ -0,0 +1,114 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shamir sharing over the integers, for secrets used as exponents in a group whose order
+ * the trustees do not know (Paillier's Z*_{n^2}), so shares cannot be reduced modulo a field.
+ *
+ * With delta = trustees!, the dealer shares f(0) = delta * secret. For any coalition S below
+ * the threshold, delta * prod_{j in S} (1 - x / x_j) has integer coefficients, so a shift of
+ * the secret is a shift of the other coefficients by an integer polynomial. Those
+ * coefficients are drawn from a range 2^STATISTICAL_SECURITY_BITS times wider than any such
+ * shift, so the coalition's shares are statistically independent of the secret.
+ *
+ * Any quorum combines its shares with the integer exponents delta * lambda_i(0) into
+ * delta * f(0) = delta^2 * secret, exactly.
+ */
+public final class IntegerSecretSharing {
+
+    public static final int STATISTICAL_SECURITY_BITS = 128;
+
+    private IntegerSecretSharing() {}
+
+    public static BigInteger delta(int trustees) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= trustees; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * Bit length of the random coefficients: the shifted secret (delta^2 * |secret|, times
+     * the shift polynomial's coefficients, at most (trustees + 1)^threshold) plus the
+     * statistical security margin
+     */
+    public static int coefficientBits(BigInteger secret, int trustees, int threshold) {
+        int deltaBits = delta(trustees).bitLength();
+        int shiftPolynomialBits = threshold * BigInteger.valueOf(trustees + 1).bitLength();
+        return secret.bitLength() + 2 * deltaBits + shiftPolynomialBits + STATISTICAL_SECURITY_BITS;
+    }
+
+    /**
+     * Shares for x = 1..trustees, keyed by x; any threshold of them recover the secret
+     */
+    public static Map<Integer, BigInteger> split(BigInteger secret, int trustees, int threshold, SecureRandom random) {
+        if (secret.signum() < 0) {
+            throw new IllegalArgumentException("Secret must be non-negative");
+        }
+        if (threshold < 1 || threshold > trustees) {
+            throw new IllegalArgumentException("Threshold must be between 1 and the number of trustees");
+        }
+
+        BigInteger[] coefficients = new BigInteger[threshold];
+        coefficients[0] = delta(trustees).multiply(secret);
+        int bits = coefficientBits(secret, trustees, threshold);
+        for (int i = 1; i < threshold; i++) {
+            coefficients[i] = new BigInteger(bits, random);
+        }
+
+        Map<Integer, BigInteger> shares = new LinkedHashMap<>();
+        for (int x = 1; x <= trustees; x++) {
+            // Horner's method
+            BigInteger y = BigInteger.ZERO;
+            BigInteger point = BigInteger.valueOf(x);
+            for (int i = coefficients.length - 1; i >= 0; i--) {
+                y = y.multiply(point).add(coefficients[i]);
+            }
+            shares.put(x, y);
+        }
+        return shares;
+    }
+
+    /**
+     * delta * lambda_i(0) for the quorum xs; every one is an integer because delta is
+     * divisible by each Lagrange denominator
+     */
+    public static BigInteger[] lagrangeExponents(int[] xs, int trustees) {
+        BigInteger delta = delta(trustees);
+        BigInteger[] exponents = new BigInteger[xs.length];
+
+        for (int i = 0; i < xs.length; i++) {
+            BigInteger numerator = delta;
+            BigInteger denominator = BigInteger.ONE;
+            for (int j = 0; j < xs.length; j++) {
+                if (i != j) {
+                    if (xs[i] == xs[j]) {
+                        throw new IllegalArgumentException("Duplicate share index: " + xs[i]);
+                    }
+                    numerator = numerator.multiply(BigInteger.valueOf(-xs[j]));
+                    denominator = denominator.multiply(BigInteger.valueOf(xs[i] - xs[j]));
+                }
+            }
+            exponents[i] = numerator.divide(denominator);
+        }
+
+        return exponents;
+    }
+
+    /**
+     * delta^2 * secret from a quorum's shares (sum of exponent_i * share_i)
+     */
+    public static BigInteger combine(int[] xs, BigInteger[] shares, int trustees) {
+        BigInteger[] exponents = lagrangeExponents(xs, trustees);
+        BigInteger result = BigInteger.ZERO;
+        for (int i = 0; i < xs.length; i++) {
+            result = result.add(exponents[i].multiply(shares[i]));
+        }
+        return result;
+    }
+}
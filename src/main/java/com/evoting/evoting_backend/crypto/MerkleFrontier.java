@@ -0,0 +1,132 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only Merkle accumulator that keeps only its frontier: the roots of the
+ * perfect subtrees covering the leaves so far, one per set bit of the leaf count.
+ * Appending is O(log n) and the frontier is enough to continue the tree later,
+ * which is what lets each bulletin board segment be checked on its own.
+ *
+ * Leaves and inner nodes are domain-separated: leaf = H(0x00 || data),
+ * node = H(0x01 || left || right). The root folds the frontier from the smallest
+ * subtree upwards; the empty tree's root is H("").
+ */
+public class MerkleFrontier {
+
+    public static final int HASH_LENGTH = 32;
+
+    // peaks.get(h) is the root of a 2^h-leaf subtree, or null
+    private final List<byte[]> peaks = new ArrayList<>();
+    private long leafCount;
+    private final MessageDigest digest = newDigest();
+
+    public long getLeafCount() {
+        return leafCount;
+    }
+
+    public static byte[] leafHash(byte[] data) {
+        MessageDigest digest = newDigest();
+        digest.update((byte) 0x00);
+        return digest.digest(data);
+    }
+
+    public void appendData(byte[] data) {
+        digest.update((byte) 0x00);
+        append(digest.digest(data));
+    }
+
+    public void appendData(ByteBuffer data) {
+        digest.update((byte) 0x00);
+        digest.update(data);
+        append(digest.digest());
+    }
+
+    public void append(byte[] leafHash) {
+        byte[] carry = leafHash;
+        int height = 0;
+        while (height < peaks.size() && peaks.get(height) != null) {
+            carry = node(peaks.get(height), carry);
+            peaks.set(height, null);
+            height++;
+        }
+        if (height == peaks.size()) {
+            peaks.add(carry);
+        } else {
+            peaks.set(height, carry);
+        }
+        leafCount++;
+    }
+
+    public byte[] root() {
+        byte[] accumulator = null;
+        for (byte[] peak : peaks) {
+            if (peak != null) {
+                accumulator = accumulator == null ? peak : node(peak, accumulator);
+            }
+        }
+        return accumulator != null ? accumulator : newDigest().digest(new byte[0]);
+    }
+
+    public MerkleFrontier copy() {
+        MerkleFrontier copy = new MerkleFrontier();
+        copy.peaks.addAll(peaks);
+        copy.leafCount = leafCount;
+        return copy;
+    }
+
+    /**
+     * Non-empty peaks from the lowest height up, 32 bytes each
+     */
+    public byte[] encodePeaks() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.bitCount(leafCount) * HASH_LENGTH);
+        for (byte[] peak : peaks) {
+            if (peak != null) {
+                buffer.put(peak);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static MerkleFrontier decode(long leafCount, byte[] encodedPeaks) {
+        if (encodedPeaks.length != Long.bitCount(leafCount) * HASH_LENGTH) {
+            throw new IllegalArgumentException("Frontier of " + leafCount + " leaves needs " +
+                Long.bitCount(leafCount) + " peaks");
+        }
+        MerkleFrontier frontier = new MerkleFrontier();
+        int offset = 0;
+        for (int height = 0; height < 64 && (leafCount >>> height) != 0; height++) {
+            if ((leafCount & (1L << height)) != 0) {
+                frontier.peaks.add(Arrays.copyOfRange(encodedPeaks, offset, offset + HASH_LENGTH));
+                offset += HASH_LENGTH;
+            } else {
+                frontier.peaks.add(null);
+            }
+        }
+        frontier.leafCount = leafCount;
+        return frontier;
+    }
+
+    public boolean sameAs(MerkleFrontier other) {
+        return leafCount == other.leafCount && Arrays.equals(encodePeaks(), other.encodePeaks());
+    }
+
+    private byte[] node(byte[] left, byte[] right) {
+        digest.update((byte) 0x01);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hash computation failed", e);
+        }
+    }
+}
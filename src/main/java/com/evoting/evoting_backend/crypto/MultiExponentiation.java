@@ -0,0 +1,82 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+
+public final class MultiExponentiation {
+
+    // Subset table has 2^GROUP_SIZE entries, so keep groups small
+    private static final int GROUP_SIZE = 6;
+
+    private MultiExponentiation() {}
+
+    /**
+     * Computes prod(bases[i]^exponents[i]) mod modulus with Shamir's trick:
+     * one shared square chain instead of one per base. Negative exponents are
+     * handled by inverting the base.
+     */
+    public static BigInteger simultaneous(BigInteger[] bases, BigInteger[] exponents, BigInteger modulus) {
+        return simultaneous(bases, exponents, new BarrettReducer(modulus));
+    }
+
+    /**
+     * Same as above with a caller-held reducer, so repeated calls over one modulus
+     * (e.g. a key's n^2) skip the reducer setup
+     */
+    public static BigInteger simultaneous(BigInteger[] bases, BigInteger[] exponents, BarrettReducer reducer) {
+        if (bases.length != exponents.length) {
+            throw new IllegalArgumentException("Bases and exponents must have the same length");
+        }
+
+        BigInteger result = BigInteger.ONE;
+        for (int start = 0; start < bases.length; start += GROUP_SIZE) {
+            int end = Math.min(start + GROUP_SIZE, bases.length);
+            result = reducer.multiply(result, simultaneousGroup(bases, exponents, start, end, reducer));
+        }
+        return result.mod(reducer.getModulus());
+    }
+
+    private static BigInteger simultaneousGroup(BigInteger[] bases, BigInteger[] exponents,
+                                                int start, int end, BarrettReducer reducer) {
+        BigInteger modulus = reducer.getModulus();
+        int size = end - start;
+        BigInteger[] groupBases = new BigInteger[size];
+        BigInteger[] groupExponents = new BigInteger[size];
+        int maxBits = 0;
+
+        for (int i = 0; i < size; i++) {
+            BigInteger base = bases[start + i].mod(modulus);
+            BigInteger exponent = exponents[start + i];
+            if (exponent.signum() < 0) {
+                base = base.modInverse(modulus);
+                exponent = exponent.negate();
+            }
+            groupBases[i] = base;
+            groupExponents[i] = exponent;
+            maxBits = Math.max(maxBits, exponent.bitLength());
+        }
+
+        // table[mask] = product of the bases selected by mask
+        BigInteger[] table = new BigInteger[1 << size];
+        table[0] = BigInteger.ONE;
+        for (int mask = 1; mask < table.length; mask++) {
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            table[mask] = reducer.multiply(table[mask & (mask - 1)], groupBases[lowest]);
+        }
+
+        BigInteger result = BigInteger.ONE;
+        for (int bit = maxBits - 1; bit >= 0; bit--) {
+            result = reducer.square(result);
+
+            int index = 0;
+            for (int i = 0; i < size; i++) {
+                if (groupExponents[i].testBit(bit)) {
+                    index |= 1 << i;
+                }
+            }
+            if (index != 0) {
+                result = reducer.multiply(result, table[index]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Packs a one-hot ballot into a single Paillier plaintext. Candidate i owns the
+ * digit slot [i * slotBits, (i + 1) * slotBits), i.e. base B = 2^slotBits, and B is
+ * chosen larger than the electorate so homomorphic addition never carries between
+ * slots. The sum of all ballots then decrypts to every candidate's count at once.
+ */
+public final class PackedBallotCodec {
+
+    private PackedBallotCodec() {}
+
+    /**
+     * Smallest slot width whose base 2^slotBits exceeds the electorate size
+     */
+    public static int slotBits(long maxVoters) {
+        if (maxVoters < 1) {
+            throw new IllegalArgumentException("Electorate size must be positive");
+        }
+        return 64 - Long.numberOfLeadingZeros(maxVoters);
+    }
+
+    public static int requiredPlaintextBits(int candidates, int slotBits) {
+        return candidates * slotBits;
+    }
+
+    /**
+     * A full tally must stay below n, so every slot has to fit in n's bit length minus one
+     */
+    public static boolean fits(int candidates, int slotBits, BigInteger modulus) {
+        return requiredPlaintextBits(candidates, slotBits) <= modulus.bitLength() - 1;
+    }
+
+    public static BigInteger encode(int slot, int slotBits) {
+        return BigInteger.ONE.shiftLeft(slot * slotBits);
+    }
+
+    /**
+     * Counts of a tally over the given number of one-hot ballots. A slot that reached
+     * 2^slotBits has carried into its neighbour, leaving bits above the top slot or counts
+     * that no longer add up to the ballots, and the tally is refused rather than misread.
+     */
+    public static long[] unpack(BigInteger packed, int slots, int slotBits, long ballots) {
+        if (slotBits < 63 && ballots >= 1L << slotBits) {
+            throw new IllegalStateException("Packed tally of " + ballots + " ballots overflows " +
+                slotBits + "-bit slots");
+        }
+        if (packed.shiftRight(requiredPlaintextBits(slots, slotBits)).signum() != 0) {
+            throw new IllegalStateException("Packed tally overflows its " + slots + " slots");
+        }
+        long[] counts = unpack(packed, slots, slotBits);
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total != ballots) {
+            throw new IllegalStateException("Packed tally counts " + total + " votes for " + ballots +
+                " ballots; a slot overflowed or a ballot was not one-hot");
+        }
+        return counts;
+    }
+
+    public static long[] unpack(BigInteger packed, int slots, int slotBits) {
+        long[] counts = new long[slots];
+        BigInteger mask = BigInteger.ONE.shiftLeft(slotBits).subtract(BigInteger.ONE);
+        for (int i = 0; i < slots; i++) {
+            counts[i] = packed.shiftRight(i * slotBits).and(mask).longValue();
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,236 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary keyring holding one Paillier key per election.
+ *
+ * Layout (all integers big-endian):
+ *   header: magic "PKRG" | u16 version | u16 reserved | u32 entryCount
+ *   entry:  i64 electionId | u32 bodyLength | body | u32 crc32(electionId..body)
+ *   body:   p, q, n, g, lambda, mu, each as u32 length + two's-complement bytes
+ *
+ * Opening the file only walks entry headers; key bodies are decoded on demand
+ * from the memory-mapped region and their checksum is checked at that point.
+ */
+public class PaillierKeyring {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 'P', 'K', 'R', 'G' };
+    private static final int HEADER_SIZE = 12;
+    private static final int ENTRY_OVERHEAD = 8 + 4 + 4;
+
+    private final Path path;
+    // Swapped wholesale on re-index so concurrent readers never see a half-built view
+    private volatile Map<Long, Integer> entryOffsets = Collections.emptyMap();
+    private volatile MappedByteBuffer mapped;
+    private volatile long validLength;
+
+    private PaillierKeyring(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens an existing keyring, or creates an empty one when the file is missing
+     */
+    public static PaillierKeyring open(Path path) throws IOException {
+        PaillierKeyring keyring = new PaillierKeyring(path);
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC).putShort((short) VERSION).putShort((short) 0).putInt(0).flip();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(header);
+                channel.force(true);
+            }
+        }
+        keyring.index();
+        return keyring;
+    }
+
+    /**
+     * Builds a keyring holding the given keys next to path and moves it into place only
+     * once every key is written, so a failure leaves no keyring behind to be opened later
+     */
+    public static PaillierKeyring create(Path path, Map<Long, PaillierUtil> keys) throws IOException {
+        Path staging = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(staging);
+        try {
+            PaillierKeyring building = open(staging);
+            for (Map.Entry<Long, PaillierUtil> key : keys.entrySet()) {
+                building.append(key.getKey(), key.getValue());
+            }
+            Files.move(staging, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staging);
+            throw e;
+        }
+        return open(path);
+    }
+
+    public boolean contains(long electionId) {
+        return entryOffsets.containsKey(electionId);
+    }
+
+    public Set<Long> electionIds() {
+        return Collections.unmodifiableSet(entryOffsets.keySet());
+    }
+
+    public int size() {
+        return entryOffsets.size();
+    }
+
+    public long fileSize() {
+        return validLength;
+    }
+
+    /**
+     * Decodes one key from the mapped file, or returns null if the election has none
+     */
+    public PaillierUtil read(long electionId) {
+        MappedByteBuffer mapped = this.mapped;
+        Integer offset = entryOffsets.get(electionId);
+        if (offset == null || offset >= mapped.limit()) {
+            return null;
+        }
+
+        ByteBuffer entry = mapped.duplicate();
+        entry.position(offset);
+        entry.getLong();
+        int bodyLength = entry.getInt();
+        int bodyStart = entry.position();
+
+        CRC32 crc = new CRC32();
+        ByteBuffer checked = mapped.duplicate();
+        checked.position(offset).limit(bodyStart + bodyLength);
+        crc.update(checked);
+        entry.position(bodyStart + bodyLength);
+        if ((int) crc.getValue() != entry.getInt()) {
+            throw new IllegalStateException("Keyring checksum mismatch for election " + electionId);
+        }
+
+        entry.position(bodyStart);
+        BigInteger p = readInteger(entry);
+        BigInteger q = readInteger(entry);
+        BigInteger n = readInteger(entry);
+        BigInteger g = readInteger(entry);
+        BigInteger lambda = readInteger(entry);
+        BigInteger mu = readInteger(entry);
+
+        PaillierUtil key = new PaillierUtil();
+        key.setP(p);
+        key.setQ(q);
+        key.setN(n);
+        key.setG(g);
+        key.setNsquare(n.multiply(n));
+        key.setLambda(lambda);
+        key.setMu(mu);
+        return key;
+    }
+
+    /**
+     * Appends a key and then bumps the entry count, so a torn write leaves the
+     * previous count pointing at intact entries only.
+     */
+    public synchronized void append(long electionId, PaillierUtil key) throws IOException {
+        if (contains(electionId)) {
+            throw new IllegalArgumentException("Keyring already holds a key for election " + electionId);
+        }
+
+        byte[][] parts = {
+            toBytes(key.getP()), toBytes(key.getQ()), toBytes(key.getN()),
+            toBytes(key.getG()), toBytes(key.getLambda()), toBytes(key.getMu())
+        };
+        int bodyLength = 0;
+        for (byte[] part : parts) {
+            bodyLength += 4 + part.length;
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_OVERHEAD + bodyLength);
+        entry.putLong(electionId).putInt(bodyLength);
+        for (byte[] part : parts) {
+            entry.putInt(part.length).put(part);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(entry.array(), 0, entry.position());
+        entry.putInt((int) crc.getValue()).flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Drop anything past the last committed entry (an earlier torn append)
+            channel.truncate(validLength);
+            channel.position(validLength);
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+            channel.force(true);
+
+            ByteBuffer count = ByteBuffer.allocate(4).putInt(entryOffsets.size() + 1).flip();
+            channel.write(count, 8);
+            channel.force(true);
+        }
+        index();
+    }
+
+    private void index() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r");
+             FileChannel channel = file.getChannel()) {
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (mapped.limit() < HEADER_SIZE) {
+            throw new IllegalStateException("Keyring file is truncated: " + path);
+        }
+        byte[] magic = new byte[MAGIC.length];
+        mapped.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalStateException("Not a Paillier keyring file: " + path);
+        }
+        int version = Short.toUnsignedInt(mapped.getShort(4));
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported keyring version " + version + " in " + path);
+        }
+
+        int entryCount = mapped.getInt(8);
+        Map<Long, Integer> offsets = new LinkedHashMap<>();
+        int offset = HEADER_SIZE;
+        for (int i = 0; i < entryCount; i++) {
+            if (offset + ENTRY_OVERHEAD > mapped.limit()) {
+                throw new IllegalStateException("Keyring entry " + i + " is truncated in " + path);
+            }
+            long electionId = mapped.getLong(offset);
+            int bodyLength = mapped.getInt(offset + 8);
+            offsets.put(electionId, offset);
+            offset += ENTRY_OVERHEAD + bodyLength;
+        }
+        if (offset > mapped.limit()) {
+            throw new IllegalStateException("Keyring entry " + (entryCount - 1) + " is truncated in " + path);
+        }
+        this.entryOffsets = offsets;
+        this.validLength = offset;
+    }
+
+    private static BigInteger readInteger(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new BigInteger(bytes);
+    }
+
+    private static byte[] toBytes(BigInteger value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Keyring entries need p, q, n, g, lambda and mu");
+        }
+        return value.toByteArray();
+    }
+}
@@ -0,0 +1,200 @@
+package com.evoting.evoting_backend.crypto;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * Non-interactive OR-proof that a Paillier ciphertext c (with g = n + 1) encrypts one
+ * of an allowed list of plaintexts m_1..m_k, without revealing which one.
+ *
+ * For every branch j with u_j = c * g^(-m_j) mod n^2 the verifier checks
+ *   z_j^n = a_j * u_j^(e_j)  (mod n^2)
+ * and that the e_j sum to the Fiat-Shamir challenge modulo 2^CHALLENGE_BITS.
+ */
+public class PaillierMembershipProof {
+
+    public static final int CHALLENGE_BITS = 128;
+
+    private static final byte[] DOMAIN = "evoting/paillier-membership/v1".getBytes(StandardCharsets.UTF_8);
+    private static final BigInteger CHALLENGE_MODULUS = BigInteger.ONE.shiftLeft(CHALLENGE_BITS);
+
+    private final BigInteger[] commitments;
+    private final BigInteger[] challenges;
+    private final BigInteger[] responses;
+
+    public PaillierMembershipProof(BigInteger[] commitments, BigInteger[] challenges, BigInteger[] responses) {
+        if (commitments.length != challenges.length || commitments.length != responses.length) {
+            throw new IllegalArgumentException("Proof branches must have matching lengths");
+        }
+        this.commitments = commitments;
+        this.challenges = challenges;
+        this.responses = responses;
+    }
+
+    public BigInteger[] getCommitments() { return commitments; }
+    public BigInteger[] getChallenges() { return challenges; }
+    public BigInteger[] getResponses() { return responses; }
+
+    public int branches() {
+        return commitments.length;
+    }
+
+    /**
+     * Prover side: c = g^m * r^n mod n^2 with m = allowed.get(index)
+     */
+    public static PaillierMembershipProof prove(BigInteger n, BigInteger ciphertext, BigInteger r,
+                                                List<BigInteger> allowed, int index, SecureRandom random) {
+        BigInteger nsquare = n.multiply(n);
+        int k = allowed.size();
+        BigInteger[] a = new BigInteger[k];
+        BigInteger[] e = new BigInteger[k];
+        BigInteger[] z = new BigInteger[k];
+
+        BigInteger simulatedChallengeSum = BigInteger.ZERO;
+        for (int j = 0; j < k; j++) {
+            if (j == index) {
+                continue;
+            }
+            // Simulated branch: pick e and z, solve for a
+            e[j] = new BigInteger(CHALLENGE_BITS, random);
+            z[j] = randomUnit(n, random);
+            BigInteger u = shiftedCiphertext(ciphertext, allowed.get(j), n, nsquare);
+            a[j] = z[j].modPow(n, nsquare).multiply(u.modPow(e[j], nsquare).modInverse(nsquare)).mod(nsquare);
+            simulatedChallengeSum = simulatedChallengeSum.add(e[j]);
+        }
+
+        BigInteger omega = randomUnit(n, random);
+        a[index] = omega.modPow(n, nsquare);
+
+        BigInteger challenge = fiatShamirChallenge(n, ciphertext, allowed, a);
+        e[index] = challenge.subtract(simulatedChallengeSum).mod(CHALLENGE_MODULUS);
+        z[index] = omega.multiply(r.modPow(e[index], n)).mod(n);
+
+        return new PaillierMembershipProof(a, e, z);
+    }
+
+    /**
+     * Cheap structural part of verification: ranges and the challenge sum. The
+     * exponentiation check is left to the caller so it can be batched.
+     */
+    public boolean checkChallenges(BigInteger n, BigInteger ciphertext, List<BigInteger> allowed) {
+        if (branches() != allowed.size()) {
+            return false;
+        }
+        BigInteger nsquare = n.multiply(n);
+        if (ciphertext.signum() <= 0 || ciphertext.compareTo(nsquare) >= 0) {
+            return false;
+        }
+
+        BigInteger sum = BigInteger.ZERO;
+        for (int j = 0; j < branches(); j++) {
+            if (commitments[j].signum() <= 0 || commitments[j].compareTo(nsquare) >= 0 ||
+                responses[j].signum() <= 0 || responses[j].compareTo(n) >= 0 ||
+                challenges[j].signum() < 0 || challenges[j].compareTo(CHALLENGE_MODULUS) >= 0) {
+                return false;
+            }
+            sum = sum.add(challenges[j]);
+        }
+        return sum.mod(CHALLENGE_MODULUS).equals(fiatShamirChallenge(n, ciphertext, allowed, commitments));
+    }
+
+    /**
+     * Full single-proof verification, one equation per branch
+     */
+    public boolean verify(BigInteger n, BigInteger ciphertext, List<BigInteger> allowed) {
+        if (!checkChallenges(n, ciphertext, allowed)) {
+            return false;
+        }
+        BigInteger nsquare = n.multiply(n);
+        for (int j = 0; j < branches(); j++) {
+            BigInteger u = shiftedCiphertext(ciphertext, allowed.get(j), n, nsquare);
+            BigInteger left = responses[j].modPow(n, nsquare);
+            BigInteger right = commitments[j].multiply(u.modPow(challenges[j], nsquare)).mod(nsquare);
+            if (!left.equals(right)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * c * g^(-m) mod n^2; with g = n + 1, g^x = 1 + x*n mod n^2
+     */
+    public static BigInteger shiftedCiphertext(BigInteger ciphertext, BigInteger message,
+                                               BigInteger n, BigInteger nsquare) {
+        BigInteger gInverse = BigInteger.ONE.subtract(message.multiply(n)).mod(nsquare);
+        return ciphertext.multiply(gInverse).mod(nsquare);
+    }
+
+    public static BigInteger fiatShamirChallenge(BigInteger n, BigInteger ciphertext,
+                                                 List<BigInteger> allowed, BigInteger[] commitments) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(DOMAIN);
+            absorb(digest, n);
+            absorb(digest, ciphertext);
+            for (BigInteger message : allowed) {
+                absorb(digest, message);
+            }
+            for (BigInteger commitment : commitments) {
+                absorb(digest, commitment);
+            }
+            return new BigInteger(1, digest.digest()).mod(CHALLENGE_MODULUS);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hash computation failed", e);
+        }
+    }
+
+    /**
+     * Compact text form for storage: branches separated by ';', each "a:e:z" in hex
+     */
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (int j = 0; j < branches(); j++) {
+            if (j > 0) {
+                encoded.append(';');
+            }
+            encoded.append(commitments[j].toString(16)).append(':')
+                   .append(challenges[j].toString(16)).append(':')
+                   .append(responses[j].toString(16));
+        }
+        return encoded.toString();
+    }
+
+    public static PaillierMembershipProof decode(String encoded) {
+        String[] branches = encoded.split(";");
+        BigInteger[] a = new BigInteger[branches.length];
+        BigInteger[] e = new BigInteger[branches.length];
+        BigInteger[] z = new BigInteger[branches.length];
+        for (int j = 0; j < branches.length; j++) {
+            String[] parts = branches[j].split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed proof branch " + j);
+            }
+            a[j] = new BigInteger(parts[0], 16);
+            e[j] = new BigInteger(parts[1], 16);
+            z[j] = new BigInteger(parts[2], 16);
+        }
+        return new PaillierMembershipProof(a, e, z);
+    }
+
+    // Length-prefixed so that distinct integer sequences never hash the same
+    private static void absorb(MessageDigest digest, BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static BigInteger randomUnit(BigInteger n, SecureRandom random) {
+        BigInteger value;
+        do {
+            value = new BigInteger(n.bitLength(), random);
+        } while (value.signum() == 0 || value.compareTo(n) >= 0 || !value.gcd(n).equals(BigInteger.ONE));
+        return value;
+    }
+}
@@ -7,13 +7,20 @@ import java.security.SecureRandom;
 public class PaillierUtil implements Serializable {
     private BigInteger p, q, n, nsquare, g, lambda, mu;
     private int bitLength = 512;
+    // Only needed for keys whose g is not n + 1; built on first use
+    private transient volatile FixedBaseWindowTable generatorTable;
 
     public PaillierUtil() {}
 
     public void generateKeys() {
         SecureRandom random = new SecureRandom();
-        p = BigInteger.probablePrime(bitLength, random);
-        q = BigInteger.probablePrime(bitLength, random);
+        generateKeys(BigInteger.probablePrime(bitLength, random), BigInteger.probablePrime(bitLength, random));
+    }
+
+    // Derive the key pair from primes supplied by the caller (e.g. a shared prime pool)
+    public void generateKeys(BigInteger p, BigInteger q) {
+        this.p = p;
+        this.q = q;
         n = p.multiply(q);
         nsquare = n.multiply(n);
         g = n.add(BigInteger.ONE);
@@ -24,7 +31,29 @@ public class PaillierUtil implements Serializable {
     public BigInteger encrypt(BigInteger m) {
         SecureRandom random = new SecureRandom();
         BigInteger r = new BigInteger(bitLength, random);
-        return g.modPow(m, nsquare).multiply(r.modPow(n, nsquare)).mod(nsquare);
+        return encrypt(m, r);
+    }
+
+    // Encrypt with caller-chosen randomness, needed when the caller also proves what it encrypted
+    public BigInteger encrypt(BigInteger m, BigInteger r) {
+        // r changes on every call, so r^n stays a plain modPow
+        return generatorPow(m).multiply(r.modPow(n, nsquare)).mod(nsquare);
+    }
+
+    /**
+     * g^m mod n^2. For the standard g = n + 1 this is exactly 1 + m*n by the binomial
+     * theorem; any other long-lived g goes through a precomputed window table.
+     */
+    public BigInteger generatorPow(BigInteger m) {
+        if (g.equals(n.add(BigInteger.ONE))) {
+            return BigInteger.ONE.add(m.mod(n).multiply(n)).mod(nsquare);
+        }
+        FixedBaseWindowTable table = generatorTable;
+        if (table == null || !table.getBase().equals(g)) {
+            table = new FixedBaseWindowTable(g, nsquare, n.bitLength(), 4);
+            generatorTable = table;
+        }
+        return table.pow(m);
     }
 
     public BigInteger add(BigInteger c1, BigInteger c2) {
@@ -36,6 +65,10 @@ public class PaillierUtil implements Serializable {
         return u;
     }
 
+    public int getBitLength() {
+        return bitLength;
+    }
+
     public BigInteger getN() {
         return n;
     }
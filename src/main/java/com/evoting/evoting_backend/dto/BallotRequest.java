@@ -0,0 +1,152 @@
+package com.evoting.evoting_backend.dto;
+
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ballot submitted to /api/secure-votes, either as the JSON object (encryptedVote as a
+ * decimal string) or as application/octet-stream in the compact binary form below.
+ *
+ * Binary layout (big-endian):
+ *   u8 version | u8 flags (bit 0: candidateId present) | i64 electionId | [i64 candidateId]
+ *   | u16 tokenLength | token (UTF-8) | u16 ciphertextLength | ciphertext (unsigned magnitude)
+ *   | u32 proofLength | validityProof (UTF-8, empty when absent)
+ */
+// The old Map-based endpoint ignored extra fields; keep accepting them
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BallotRequest {
+
+    public static final int BINARY_VERSION = 1;
+
+    private static final int FLAG_CANDIDATE = 1;
+    private static final int MAX_TOKEN_BYTES = 4096;
+    private static final int MAX_PROOF_BYTES = 1 << 20;
+
+    private String anonymousToken;
+    private Long electionId;
+    // Packed ballots encode the choice inside the ciphertext and carry no candidateId
+    private Long candidateId;
+    private String encryptedVote;
+    private String validityProof;
+
+    // Set by the binary decoder; JSON requests parse encryptedVote on first use
+    private BigInteger ciphertext;
+
+    public BallotRequest() {}
+
+    public String getAnonymousToken() { return anonymousToken; }
+    public void setAnonymousToken(String anonymousToken) { this.anonymousToken = anonymousToken; }
+
+    public Long getElectionId() { return electionId; }
+    public void setElectionId(Long electionId) { this.electionId = electionId; }
+
+    public Long getCandidateId() { return candidateId; }
+    public void setCandidateId(Long candidateId) { this.candidateId = candidateId; }
+
+    public String getEncryptedVote() { return encryptedVote; }
+    public void setEncryptedVote(String encryptedVote) {
+        this.encryptedVote = encryptedVote;
+        this.ciphertext = null;
+    }
+
+    public String getValidityProof() { return validityProof; }
+    public void setValidityProof(String validityProof) { this.validityProof = validityProof; }
+
+    /**
+     * Ciphertext as a number, or null when none was sent (NumberFormatException for a
+     * malformed decimal string)
+     */
+    @JsonIgnore
+    public BigInteger getCiphertext() {
+        if (ciphertext == null && encryptedVote != null && !encryptedVote.isEmpty()) {
+            ciphertext = new BigInteger(encryptedVote);
+        }
+        return ciphertext;
+    }
+
+    @JsonIgnore
+    public void setCiphertext(BigInteger ciphertext) {
+        this.ciphertext = ciphertext;
+        this.encryptedVote = null;
+    }
+
+    public static BallotRequest fromBinary(byte[] body) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            int version = Byte.toUnsignedInt(buffer.get());
+            if (version != BINARY_VERSION) {
+                throw new IllegalArgumentException("Unsupported binary ballot version " + version);
+            }
+            int flags = Byte.toUnsignedInt(buffer.get());
+
+            BallotRequest request = new BallotRequest();
+            request.electionId = buffer.getLong();
+            if ((flags & FLAG_CANDIDATE) != 0) {
+                request.candidateId = buffer.getLong();
+            }
+            request.anonymousToken = readString(buffer, Short.toUnsignedInt(buffer.getShort()), MAX_TOKEN_BYTES);
+
+            int ciphertextLength = Short.toUnsignedInt(buffer.getShort());
+            if (ciphertextLength == 0 || ciphertextLength > CiphertextCodec.MAX_BYTES) {
+                throw new IllegalArgumentException("Ciphertext length " + ciphertextLength + " out of range");
+            }
+            byte[] magnitude = new byte[ciphertextLength];
+            buffer.get(magnitude);
+            request.ciphertext = new BigInteger(1, magnitude);
+
+            String proof = readString(buffer, buffer.getInt(), MAX_PROOF_BYTES);
+            request.validityProof = proof.isEmpty() ? null : proof;
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException(buffer.remaining() + " trailing bytes");
+            }
+            return request;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Binary ballot is truncated");
+        }
+    }
+
+    public byte[] toBinary() {
+        byte[] token = anonymousToken != null ? anonymousToken.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] proof = validityProof != null ? validityProof.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        BigInteger value = getCiphertext();
+        if (electionId == null || value == null) {
+            throw new IllegalArgumentException("Binary ballots need an electionId and a ciphertext");
+        }
+        byte[] raw = value.toByteArray();
+        int offset = raw.length > 1 && raw[0] == 0 ? 1 : 0;
+        int ciphertextLength = raw.length - offset;
+        if (token.length > MAX_TOKEN_BYTES || ciphertextLength > CiphertextCodec.MAX_BYTES ||
+            proof.length > MAX_PROOF_BYTES) {
+            throw new IllegalArgumentException("Ballot field exceeds the binary format limits");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 8 + (candidateId != null ? 8 : 0) +
+            2 + token.length + 2 + ciphertextLength + 4 + proof.length);
+        buffer.put((byte) BINARY_VERSION).put((byte) (candidateId != null ? FLAG_CANDIDATE : 0));
+        buffer.putLong(electionId);
+        if (candidateId != null) {
+            buffer.putLong(candidateId);
+        }
+        buffer.putShort((short) token.length).put(token);
+        buffer.putShort((short) ciphertextLength).put(raw, offset, ciphertextLength);
+        buffer.putInt(proof.length).put(proof);
+        return buffer.array();
+    }
+
+    private static String readString(ByteBuffer buffer, int length, int maxLength) {
+        if (length < 0 || length > maxLength || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Field length " + length + " out of range");
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+            StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,6 @@
+package com.evoting.evoting_backend.model;
+
+public enum BallotEncoding {
+    PER_CANDIDATE,  // One ciphertext per ballot, tallied under its candidateId
+    PACKED          // One ciphertext holding a one-hot vector in fixed-width digit slots
+}
@@ -1,10 +1,17 @@
 package com.evoting.evoting_backend.model;
 
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Formula;
+import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bulletin_board_entry")
+@Table(name = "bulletin_board_entry", indexes = {
+    // Keyset pagination and exports walk one election in id order
+    @Index(name = "idx_bulletin_election_id", columnList = "election_id, id")
+})
 public class BulletinBoardEntry {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -13,13 +20,35 @@ public class BulletinBoardEntry {
     private String entryHash;
     private String previousHash;
     private String trackingCode;
+    @Column(nullable = false)
     private Long electionId;
     
-    @Column(columnDefinition = "TEXT") // ✅ ADD THIS LINE
-    private String encryptedVote;
+    // Ballot whose ciphertext this entry publishes; the bytes are stored once, in the vote row
+    @Column(name = "vote_id")
+    private Long voteId;
+    
+    // election_id lets MySQL prune the lookup to the election's vote partition
+    @Formula("(SELECT v.ciphertext FROM vote v WHERE v.id = vote_id AND v.election_id = election_id)")
+    private byte[] voteCiphertext;
+    
+    // Entries without a vote row (EnhancedBulletinBoardService) keep their own binary copy
+    @Convert(converter = CiphertextConverter.class)
+    @Column(name = "ciphertext", length = CiphertextCodec.MAX_BYTES)
+    private BigInteger ciphertext;
+    
+    // Decimal TEXT copy written before entries referenced votes; emptied by CiphertextMigrationService
+    @Column(name = "encrypted_vote", columnDefinition = "TEXT")
+    private String legacyEncryptedVote;
     
     private LocalDateTime timestamp;
 
+    // Last validity-proof check: cache key of (ciphertext, proof, public key) and its verdict
+    @Column(length = 64)
+    private String proofDigest;
+    @Column(length = 16)
+    private String proofVerdict;
+    private LocalDateTime proofVerifiedAt;
+
     public BulletinBoardEntry() {}
 
     public BulletinBoardEntry(Long id, String entryHash, String previousHash, String trackingCode, Long electionId, String encryptedVote, LocalDateTime timestamp) {
@@ -28,7 +57,7 @@ public class BulletinBoardEntry {
         this.previousHash = previousHash;
         this.trackingCode = trackingCode;
         this.electionId = electionId;
-        this.encryptedVote = encryptedVote;
+        setEncryptedVote(encryptedVote);
         this.timestamp = timestamp;
     }
 
@@ -47,9 +76,52 @@ public class BulletinBoardEntry {
     public Long getElectionId() { return electionId; }
     public void setElectionId(Long electionId) { this.electionId = electionId; }
 
-    public String getEncryptedVote() { return encryptedVote; }
-    public void setEncryptedVote(String encryptedVote) { this.encryptedVote = encryptedVote; }
+    /**
+     * ✅ Publish a vote's ciphertext by reference instead of copying it
+     */
+    public void setVote(Vote vote) {
+        this.voteId = vote.getId();
+        // Not written (the column is a formula); saves a reload for callers that keep this instance
+        this.voteCiphertext = CiphertextCodec.encode(vote.getCiphertext());
+        this.ciphertext = null;
+        this.legacyEncryptedVote = null;
+    }
+    
+    @JsonIgnore
+    public Long getVoteId() { return voteId; }
+    
+    public String getEncryptedVote() {
+        BigInteger value = voteId != null || ciphertext != null ? getCiphertext() : null;
+        return value != null ? value.toString() : legacyEncryptedVote;
+    }
+    
+    public void setEncryptedVote(String encryptedVote) {
+        this.ciphertext = encryptedVote == null || encryptedVote.isEmpty() ? null : new BigInteger(encryptedVote);
+        this.legacyEncryptedVote = null;
+        this.voteId = null;
+        this.voteCiphertext = null;
+    }
+    
+    @JsonIgnore
+    public BigInteger getCiphertext() {
+        if (voteId != null) {
+            return CiphertextCodec.decode(voteCiphertext);
+        }
+        if (ciphertext != null || legacyEncryptedVote == null || legacyEncryptedVote.isEmpty()) {
+            return ciphertext;
+        }
+        return new BigInteger(legacyEncryptedVote);
+    }
 
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
-}
\ No newline at end of file
+
+    public String getProofDigest() { return proofDigest; }
+    public void setProofDigest(String proofDigest) { this.proofDigest = proofDigest; }
+
+    public String getProofVerdict() { return proofVerdict; }
+    public void setProofVerdict(String proofVerdict) { this.proofVerdict = proofVerdict; }
+
+    public LocalDateTime getProofVerifiedAt() { return proofVerifiedAt; }
+    public void setProofVerifiedAt(LocalDateTime proofVerifiedAt) { this.proofVerifiedAt = proofVerifiedAt; }
+}
@@ -0,0 +1,24 @@
+package com.evoting.evoting_backend.model;
+
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigInteger;
+
+/**
+ * Maps a ciphertext attribute to its fixed-width binary column form
+ */
+@Converter
+public class CiphertextConverter implements AttributeConverter<BigInteger, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(BigInteger attribute) {
+        return CiphertextCodec.encode(attribute);
+    }
+
+    @Override
+    public BigInteger convertToEntityAttribute(byte[] dbData) {
+        return CiphertextCodec.decode(dbData);
+    }
+}
@@ -42,6 +42,14 @@ public class Election {
     @Column(name = "allow_write_in")
     private Boolean allowWriteIn = false;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ballot_encoding")
+    private BallotEncoding ballotEncoding = BallotEncoding.PER_CANDIDATE;
+
+    // Upper bound on ballots cast; sizes the digit slots of packed ballots
+    @Column(name = "expected_voters")
+    private Integer expectedVoters;
+
     // Constructors
     public Election() {
         this.createdAt = LocalDateTime.now();
@@ -88,6 +96,12 @@ public class Election {
     public Boolean getAllowWriteIn() { return allowWriteIn; }
     public void setAllowWriteIn(Boolean allowWriteIn) { this.allowWriteIn = allowWriteIn; }
 
+    public BallotEncoding getBallotEncoding() { return ballotEncoding; }
+    public void setBallotEncoding(BallotEncoding ballotEncoding) { this.ballotEncoding = ballotEncoding; }
+
+    public Integer getExpectedVoters() { return expectedVoters; }
+    public void setExpectedVoters(Integer expectedVoters) { this.expectedVoters = expectedVoters; }
+
     // Helper methods
     public boolean isOpen() { 
         return ElectionState.OPEN.equals(state); 
@@ -101,6 +115,10 @@ public class Election {
         return ElectionState.CREATED.equals(state); 
     }
 
+    public boolean isPackedBallot() {
+        return BallotEncoding.PACKED.equals(ballotEncoding);
+    }
+
     @Override
     public String toString() {
         return "Election{" +
@@ -0,0 +1,52 @@
+package com.evoting.evoting_backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Flushed snapshot of the live turnout counters, one row per election
+ */
+@Entity
+@Table(name = "election_turnout_summary")
+public class ElectionTurnoutSummary {
+    @Id
+    private Long electionId;
+
+    private long tokensIssued;
+    private long tokensSpent;
+    private long votesCast;
+    private long bulletinEntries;
+
+    private LocalDateTime updatedAt;
+
+    // Incremented by each rebuild; flushes only add to the generation they loaded
+    private long generation;
+
+    public ElectionTurnoutSummary() {}
+
+    public ElectionTurnoutSummary(Long electionId) {
+        this.electionId = electionId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getElectionId() { return electionId; }
+    public void setElectionId(Long electionId) { this.electionId = electionId; }
+
+    public long getTokensIssued() { return tokensIssued; }
+    public void setTokensIssued(long tokensIssued) { this.tokensIssued = tokensIssued; }
+
+    public long getTokensSpent() { return tokensSpent; }
+    public void setTokensSpent(long tokensSpent) { this.tokensSpent = tokensSpent; }
+
+    public long getVotesCast() { return votesCast; }
+    public void setVotesCast(long votesCast) { this.votesCast = votesCast; }
+
+    public long getBulletinEntries() { return bulletinEntries; }
+    public void setBulletinEntries(long bulletinEntries) { this.bulletinEntries = bulletinEntries; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getGeneration() { return generation; }
+    public void setGeneration(long generation) { this.generation = generation; }
+}
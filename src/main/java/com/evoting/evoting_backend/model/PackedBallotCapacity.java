@@ -0,0 +1,33 @@
+package com.evoting.evoting_backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Ballot slots of a packed-ballot election: reserved never exceeds capacity
+ * (the election's expectedVoters), which sizes the packed digit slots
+ */
+@Entity
+@Table(name = "packed_ballot_capacity")
+public class PackedBallotCapacity {
+    @Id
+    private Long electionId;
+
+    private long capacity;
+    private long reserved;
+
+    public PackedBallotCapacity() {}
+
+    public PackedBallotCapacity(Long electionId, long capacity) {
+        this.electionId = electionId;
+        this.capacity = capacity;
+    }
+
+    public Long getElectionId() { return electionId; }
+    public void setElectionId(Long electionId) { this.electionId = electionId; }
+
+    public long getCapacity() { return capacity; }
+    public void setCapacity(long capacity) { this.capacity = capacity; }
+
+    public long getReserved() { return reserved; }
+    public void setReserved(long reserved) { this.reserved = reserved; }
+}
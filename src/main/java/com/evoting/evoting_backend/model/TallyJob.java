@@ -0,0 +1,112 @@
+package com.evoting.evoting_backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tally_job")
+public class TallyJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // One tally job per election
+    @Column(unique = true, nullable = false)
+    private Long electionId;
+
+    @Enumerated(EnumType.STRING)
+    private TallyJobStatus status;
+
+    private long totalVotes;
+    private long processedVotes;
+
+    // Checkpoint: votes with id <= lastVoteId are folded into partialCounts
+    private Long lastVoteId;
+
+    @Column(columnDefinition = "TEXT")
+    private String partialCounts;
+
+    @Column(columnDefinition = "TEXT")
+    private String resultJson;
+
+    @Column(columnDefinition = "TEXT")
+    private String resultSignature;
+
+    // Signing key id and its public key, so the signature stays checkable after key rotation
+    private String signingKeyId;
+
+    @Column(columnDefinition = "TEXT")
+    private String signingPublicKey;
+
+    private int attempts;
+
+    // Bumped on every save; a node whose copy is stale loses the job to whoever saved last
+    @Version
+    private long version;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public TallyJob() {}
+
+    public TallyJob(Long electionId) {
+        this.electionId = electionId;
+        this.status = TallyJobStatus.QUEUED;
+        this.lastVoteId = 0L;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getElectionId() { return electionId; }
+    public void setElectionId(Long electionId) { this.electionId = electionId; }
+
+    public TallyJobStatus getStatus() { return status; }
+    public void setStatus(TallyJobStatus status) { this.status = status; }
+
+    public long getTotalVotes() { return totalVotes; }
+    public void setTotalVotes(long totalVotes) { this.totalVotes = totalVotes; }
+
+    public long getProcessedVotes() { return processedVotes; }
+    public void setProcessedVotes(long processedVotes) { this.processedVotes = processedVotes; }
+
+    public Long getLastVoteId() { return lastVoteId; }
+    public void setLastVoteId(Long lastVoteId) { this.lastVoteId = lastVoteId; }
+
+    public String getPartialCounts() { return partialCounts; }
+    public void setPartialCounts(String partialCounts) { this.partialCounts = partialCounts; }
+
+    public long getVersion() { return version; }
+
+    public String getResultJson() { return resultJson; }
+    public void setResultJson(String resultJson) { this.resultJson = resultJson; }
+
+    public String getResultSignature() { return resultSignature; }
+    public void setResultSignature(String resultSignature) { this.resultSignature = resultSignature; }
+
+    public String getSigningKeyId() { return signingKeyId; }
+    public void setSigningKeyId(String signingKeyId) { this.signingKeyId = signingKeyId; }
+
+    public String getSigningPublicKey() { return signingPublicKey; }
+    public void setSigningPublicKey(String signingPublicKey) { this.signingPublicKey = signingPublicKey; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
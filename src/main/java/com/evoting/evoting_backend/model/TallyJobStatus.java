@@ -0,0 +1,8 @@
+package com.evoting.evoting_backend.model;
+
+public enum TallyJobStatus {
+    QUEUED,     // Waiting for the tally executor
+    RUNNING,    // Counting; progress is checkpointed per chunk
+    COMPLETED,  // Signed result stored
+    FAILED      // Stopped with an error; can be re-queued
+}
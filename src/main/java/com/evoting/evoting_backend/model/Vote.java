@@ -1,20 +1,40 @@
 package com.evoting.evoting_backend.model;
 
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vote")
+@Table(name = "vote", indexes = {
+    @Index(name = "idx_vote_election_candidate", columnList = "election_id, candidate_id"),
+    // Unique per election partition (V3__partition_by_election)
+    @Index(name = "uk_vote_tracking_code", columnList = "tracking_code, election_id", unique = true)
+})
 public class Vote {
     
+    public static final String ID_SEQUENCE = "vote_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // Pooled sequence (a table on MySQL): one round trip per 50 ids, and unlike IDENTITY
+    // it lets Hibernate batch vote inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
-    @Column(name = "encrypted_vote", columnDefinition = "TEXT") // ✅ FIXED: Changed to TEXT
-    private String encryptedVote;
+    // Paillier ciphertext as fixed-width big-endian bytes (see CiphertextCodec)
+    @Convert(converter = CiphertextConverter.class)
+    @Column(name = "ciphertext", length = CiphertextCodec.MAX_BYTES)
+    private BigInteger ciphertext;
+    
+    // Decimal TEXT form written before the binary column existed; emptied by CiphertextMigrationService
+    @Column(name = "encrypted_vote", columnDefinition = "TEXT")
+    private String legacyEncryptedVote;
     
-    @Column(name = "election_id")
+    // Partitioning key, part of the primary key in the database
+    @Column(name = "election_id", nullable = false)
     private Long electionId;
     
     @Column(name = "candidate_id")
@@ -26,6 +46,10 @@ public class Vote {
     @Column(name = "timestamp")
     private LocalDateTime timestamp;
     
+    // Encoded PaillierMembershipProof that the ciphertext holds an allowed plaintext
+    @Column(name = "validity_proof", columnDefinition = "TEXT")
+    private String validityProof;
+    
     // Constructors
     public Vote() {
         this.timestamp = LocalDateTime.now();
@@ -34,7 +58,7 @@ public class Vote {
     
     public Vote(String encryptedVote, Long electionId, Long candidateId) {
         this();
-        this.encryptedVote = encryptedVote;
+        setEncryptedVote(encryptedVote);
         this.electionId = electionId;
         this.candidateId = candidateId;
     }
@@ -48,8 +72,38 @@ public class Vote {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     
-    public String getEncryptedVote() { return encryptedVote; }
-    public void setEncryptedVote(String encryptedVote) { this.encryptedVote = encryptedVote; }
+    /**
+     * ✅ Decimal form, as clients submit it and as the bulletin board hashes it
+     */
+    public String getEncryptedVote() {
+        return ciphertext != null ? ciphertext.toString() : legacyEncryptedVote;
+    }
+    
+    public void setEncryptedVote(String encryptedVote) {
+        this.ciphertext = encryptedVote == null || encryptedVote.isEmpty() ? null : new BigInteger(encryptedVote);
+        this.legacyEncryptedVote = null;
+    }
+    
+    /**
+     * Parsed ciphertext; rows not yet migrated are parsed from the legacy column
+     * (NumberFormatException for malformed legacy data)
+     */
+    @JsonIgnore
+    public BigInteger getCiphertext() {
+        if (ciphertext != null || legacyEncryptedVote == null || legacyEncryptedVote.isEmpty()) {
+            return ciphertext;
+        }
+        return new BigInteger(legacyEncryptedVote);
+    }
+    
+    public void setCiphertext(BigInteger ciphertext) {
+        this.ciphertext = ciphertext;
+        this.legacyEncryptedVote = null;
+    }
+    
+    public boolean hasCiphertext() {
+        return ciphertext != null || (legacyEncryptedVote != null && !legacyEncryptedVote.isEmpty());
+    }
     
     public Long getElectionId() { return electionId; }
     public void setElectionId(Long electionId) { this.electionId = electionId; }
@@ -62,4 +116,7 @@ public class Vote {
     
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+    
+    public String getValidityProof() { return validityProof; }
+    public void setValidityProof(String validityProof) { this.validityProof = validityProof; }
 }
\ No newline at end of file
@@ -31,7 +31,7 @@ public interface AnonymousVotingTokenRepository extends JpaRepository<AnonymousV
     
     @Query("SELECT COUNT(t) FROM AnonymousVotingToken t WHERE t.electionId = :electionId")
     long countTokensByElection(@Param("electionId") Long electionId);
-
+    
     @Query("SELECT t FROM AnonymousVotingToken t WHERE t.expiresAt < :now AND t.active = true")
     List<AnonymousVotingToken> findExpiredTokens(@Param("now") LocalDateTime now);
     
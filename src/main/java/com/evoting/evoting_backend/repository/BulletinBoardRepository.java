@@ -1,8 +1,11 @@
 package com.evoting.evoting_backend.repository;
 
 import com.evoting.evoting_backend.model.BulletinBoardEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +15,8 @@ public interface BulletinBoardRepository extends JpaRepository<BulletinBoardEntr
     
     List<BulletinBoardEntry> findByElectionIdOrderByTimestampAsc(Long electionId);
     
+    List<BulletinBoardEntry> findByElectionIdAndTrackingCodeIn(Long electionId, Collection<String> trackingCodes);
+    
     List<BulletinBoardEntry> findAllByOrderByTimestampAsc();
     
     Optional<BulletinBoardEntry> findTopByElectionIdOrderByTimestampDesc(Long electionId);
@@ -20,4 +25,19 @@ public interface BulletinBoardRepository extends JpaRepository<BulletinBoardEntr
     
     @Query("SELECT COUNT(b) FROM BulletinBoardEntry b WHERE b.electionId = ?1")
     long countByElectionId(Long electionId);
+    
+    // Keyset page on (election_id, id): cost does not grow with the page number
+    @Query("SELECT b FROM BulletinBoardEntry b WHERE b.electionId = :electionId AND b.id > :afterId ORDER BY b.id")
+    List<BulletinBoardEntry> findPageAfter(@Param("electionId") Long electionId, @Param("afterId") Long afterId,
+                                           Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.trackingCode AS trackingCode FROM BulletinBoardEntry b " +
+           "WHERE b.electionId = :electionId AND b.id > :afterId ORDER BY b.id")
+    List<TrackingCodeRow> findTrackingCodesAfter(@Param("electionId") Long electionId, @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+    
+    interface TrackingCodeRow {
+        Long getId();
+        String getTrackingCode();
+    }
 }
\ No newline at end of file
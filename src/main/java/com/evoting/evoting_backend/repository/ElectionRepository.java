@@ -2,7 +2,9 @@ package com.evoting.evoting_backend.repository;
 
 import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.model.ElectionState;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -25,4 +27,9 @@ public interface ElectionRepository extends JpaRepository<Election, Long> {
     List<Election> findElectionsThatShouldBeClosed();
     
     boolean existsByTitleAndState(String title, ElectionState state);
+    
+    // Shared row lock: concurrent casts proceed together, a close waits for them to commit
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT e FROM Election e WHERE e.id = :id")
+    Optional<Election> findByIdForShare(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.evoting.evoting_backend.repository;
+
+import com.evoting.evoting_backend.model.ElectionTurnoutSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ElectionTurnoutSummaryRepository extends JpaRepository<ElectionTurnoutSummary, Long> {
+    
+    // Taken by every counted write and held to its commit; a rebuild waits for those writes
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM ElectionTurnoutSummary s WHERE s.electionId = :electionId")
+    Optional<ElectionTurnoutSummary> findByIdForShare(@Param("electionId") Long electionId);
+    
+    // Held by a rebuild while it recounts, so no counted write commits in between
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ElectionTurnoutSummary s WHERE s.electionId = :electionId")
+    Optional<ElectionTurnoutSummary> findByIdForUpdate(@Param("electionId") Long electionId);
+    
+    // Additive, so several nodes can flush their own deltas into the same row; deltas
+    // counted under an older generation are already in the row's recount and are left out
+    @Modifying
+    @Transactional
+    @Query("UPDATE ElectionTurnoutSummary s SET s.tokensIssued = s.tokensIssued + :tokensIssued, " +
+           "s.tokensSpent = s.tokensSpent + :tokensSpent, s.votesCast = s.votesCast + :votesCast, " +
+           "s.bulletinEntries = s.bulletinEntries + :bulletinEntries, s.updatedAt = :updatedAt " +
+           "WHERE s.electionId = :electionId AND s.generation = :generation")
+    int addDeltas(@Param("electionId") Long electionId,
+                  @Param("tokensIssued") long tokensIssued,
+                  @Param("tokensSpent") long tokensSpent,
+                  @Param("votesCast") long votesCast,
+                  @Param("bulletinEntries") long bulletinEntries,
+                  @Param("updatedAt") LocalDateTime updatedAt,
+                  @Param("generation") long generation);
+}
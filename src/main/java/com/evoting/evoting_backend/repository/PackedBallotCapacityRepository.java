@@ -0,0 +1,17 @@
+package com.evoting.evoting_backend.repository;
+
+import com.evoting.evoting_backend.model.PackedBallotCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PackedBallotCapacityRepository extends JpaRepository<PackedBallotCapacity, Long> {
+    
+    // Guarded increment: returns 0 once every slot is taken, so concurrent casts on
+    // any node cannot overshoot. Joins the caller's transaction (the token spend).
+    @Modifying
+    @Query("UPDATE PackedBallotCapacity c SET c.reserved = c.reserved + 1 " +
+           "WHERE c.electionId = :electionId AND c.reserved < c.capacity")
+    int reserveSlot(@Param("electionId") Long electionId);
+}
@@ -0,0 +1,15 @@
+package com.evoting.evoting_backend.repository;
+
+import com.evoting.evoting_backend.model.TallyJob;
+import com.evoting.evoting_backend.model.TallyJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TallyJobRepository extends JpaRepository<TallyJob, Long> {
+    
+    Optional<TallyJob> findByElectionId(Long electionId);
+    
+    List<TallyJob> findByStatusIn(Collection<TallyJobStatus> statuses);
+}
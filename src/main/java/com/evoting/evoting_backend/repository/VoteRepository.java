@@ -1,11 +1,48 @@
 package com.evoting.evoting_backend.repository;
 
 import com.evoting.evoting_backend.model.Vote;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
     Optional<Vote> findByTrackingCode(String trackingCode);
     List<Vote> findByElectionId(Long electionId);
-}
\ No newline at end of file
+    
+    // Per-candidate counts without loading any vote rows (served by idx_vote_election_candidate)
+    @Query("SELECT v.candidateId AS candidateId, COUNT(v) AS votes FROM Vote v " +
+           "WHERE v.electionId = :electionId GROUP BY v.candidateId")
+    List<CandidateVoteCount> countVotesByCandidate(@Param("electionId") Long electionId);
+    
+    // Same aggregate over one id range, for checkpointed tally jobs
+    @Query("SELECT v.candidateId AS candidateId, COUNT(v) AS votes FROM Vote v " +
+           "WHERE v.electionId = :electionId AND v.id > :afterId AND v.id <= :upToId GROUP BY v.candidateId")
+    List<CandidateVoteCount> countVotesByCandidateInRange(@Param("electionId") Long electionId,
+                                                          @Param("afterId") Long afterId,
+                                                          @Param("upToId") Long upToId);
+    
+    @Query("SELECT v.id FROM Vote v WHERE v.electionId = :electionId AND v.id > :afterId ORDER BY v.id")
+    List<Long> findVoteIdsAfter(@Param("electionId") Long electionId, @Param("afterId") Long afterId,
+                                Pageable pageable);
+    
+    // Ballots of one checkpoint range, for the tally proof pre-pass
+    @Query("SELECT v FROM Vote v WHERE v.electionId = :electionId AND v.id > :afterId AND v.id <= :upToId " +
+           "ORDER BY v.id")
+    List<Vote> findVotesInRange(@Param("electionId") Long electionId, @Param("afterId") Long afterId,
+                                @Param("upToId") Long upToId);
+    
+    @Query("SELECT v FROM Vote v WHERE v.electionId = :electionId AND v.id > :afterId AND v.id <= :upToId " +
+           "AND v.validityProof IS NOT NULL ORDER BY v.id")
+    List<Vote> findProvenVotesInRange(@Param("electionId") Long electionId, @Param("afterId") Long afterId,
+                                      @Param("upToId") Long upToId);
+    
+    long countByElectionId(Long electionId);
+    
+    interface CandidateVoteCount {
+        Long getCandidateId();
+        long getVotes();
+    }
+}
@@ -32,6 +32,9 @@ public class AnonymousTokenService {
     @Autowired
     private MonitoringService monitoringService;
     
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
+    
     // Inner class for blind sign session response
     public static class BlindSignSessionResponse {
         private String sessionId;
@@ -93,6 +96,7 @@ public class AnonymousTokenService {
             
             // Record metrics
             monitoringService.recordTokenIssuance();
+            turnoutCounters.increment(electionId, TurnoutCounterService.Metric.TOKENS_ISSUED);
             
             // Audit without voter identity
             auditService.logEvent("ANONYMOUS_TOKEN_ISSUED", "AnonymousTokenService",
@@ -161,8 +165,9 @@ public class AnonymousTokenService {
      */
     public java.util.Map<String, Object> getTokenStatistics(Long electionId) {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        long totalTokens = tokenRepository.countTokensByElection(electionId);
-        long spentTokens = tokenRepository.countSpentTokensByElection(electionId);
+        // Live counters instead of two COUNT(*) queries per call
+        long totalTokens = turnoutCounters.get(electionId, TurnoutCounterService.Metric.TOKENS_ISSUED);
+        long spentTokens = turnoutCounters.get(electionId, TurnoutCounterService.Metric.TOKENS_SPENT);
         
         stats.put("electionId", electionId);
         stats.put("totalTokens", totalTokens);
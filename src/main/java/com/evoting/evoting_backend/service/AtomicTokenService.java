@@ -1,7 +1,12 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.exception.ElectionException;
 import com.evoting.evoting_backend.model.AnonymousVotingToken;
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.ElectionState;
 import com.evoting.evoting_backend.repository.AnonymousVotingTokenRepository;
+import com.evoting.evoting_backend.repository.ElectionRepository;
+import com.evoting.evoting_backend.repository.PackedBallotCapacityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
@@ -27,6 +32,15 @@ public class AtomicTokenService {
     @Autowired
     private MonitoringService monitoringService;
     
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
+    
+    @Autowired
+    private ElectionRepository electionRepository;
+    
+    @Autowired
+    private PackedBallotCapacityRepository capacityRepository;
+    
     // In-memory lock for distributed coordination (supplements DB locking)
     private final ConcurrentHashMap<String, ReentrantLock> tokenLocks = new ConcurrentHashMap<>();
     
@@ -37,7 +51,8 @@ public class AtomicTokenService {
     @Retryable(value = {PessimisticLockingFailureException.class}, 
                maxAttempts = 3, 
                backoff = @Backoff(delay = 100))
-    @Transactional
+    // Ballot refusals are thrown before the token is touched; committing keeps their audit
+    @Transactional(noRollbackFor = ElectionException.class)
     public boolean consumeTokenSafely(String token, Long electionId, String clientInfo) {
         ReentrantLock inMemoryLock = null;
         boolean tokenConsumed = false;
@@ -46,7 +61,7 @@ public class AtomicTokenService {
             // Layer 1: In-memory lock for quick coordination
             inMemoryLock = tokenLocks.computeIfAbsent(token, k -> new ReentrantLock());
             if (!inMemoryLock.tryLock(2, TimeUnit.SECONDS)) {
-                monitoringService.recordSecurityEvent("token_lock_timeout");
+                monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_LOCK_TIMEOUT);
                 auditService.logEvent("TOKEN_LOCK_TIMEOUT", "AtomicTokenService", 
                     "consumeTokenSafely", "token:" + maskToken(token) + ", client:" + clientInfo);
                 return false;
@@ -58,7 +73,7 @@ public class AtomicTokenService {
                 .orElse(null);
                 
             if (tokenEntity == null) {
-                monitoringService.recordSecurityEvent("token_not_found");
+                monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_NOT_FOUND);
                 auditService.logEvent("TOKEN_NOT_FOUND", "AtomicTokenService",
                     "consumeTokenSafely", "token:" + maskToken(token) + ", election:" + electionId);
                 return false;
@@ -72,7 +87,7 @@ public class AtomicTokenService {
             }
             
             if (tokenEntity.isSpent()) {
-                monitoringService.recordSecurityEvent("token_already_spent");
+                monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_ALREADY_SPENT);
                 auditService.logEvent("TOKEN_ALREADY_SPENT", "AtomicTokenService",
                     "consumeTokenSafely", "token:" + maskToken(token) + ", client:" + clientInfo);
                 return false;
@@ -84,10 +99,14 @@ public class AtomicTokenService {
                 return false;
             }
             
-            // Layer 4: Atomic update
+            // Layer 4: Election still open, ballot slot free; refusals throw before the spend
+            admitBallot(electionId, token);
+            
+            // Layer 5: Atomic update
             tokenEntity.setSpent(true);
             tokenEntity.setSpentAt(LocalDateTime.now());
             tokenRepository.save(tokenEntity);
+            turnoutCounters.increment(electionId, TurnoutCounterService.Metric.TOKENS_SPENT);
             
             tokenConsumed = true;
             
@@ -96,23 +115,25 @@ public class AtomicTokenService {
                 "consumeTokenSafely", "token:" + maskToken(token) + ", election:" + electionId + 
                 ", client:" + clientInfo + ", success:true");
                 
-            monitoringService.recordSecurityEvent("token_consumed_success");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_CONSUMED_SUCCESS);
             
             return true;
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            monitoringService.recordSecurityEvent("token_lock_interrupted");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_LOCK_INTERRUPTED);
             auditService.logEvent("TOKEN_LOCK_INTERRUPTED", "AtomicTokenService",
                 "consumeTokenSafely", "token:" + maskToken(token) + ", error:" + e.getMessage());
             return false;
+        } catch (ElectionException e) {
+            throw e; // Token left unspent; the caller reports why the ballot was refused
         } catch (PessimisticLockingFailureException e) {
-            monitoringService.recordSecurityEvent("database_lock_failure");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.DATABASE_LOCK_FAILURE);
             auditService.logEvent("DATABASE_LOCK_FAILURE", "AtomicTokenService",
                 "consumeTokenSafely", "token:" + maskToken(token) + ", error:" + e.getMessage());
             throw e; // Will be retried
         } catch (Exception e) {
-            monitoringService.recordSecurityEvent("token_consumption_error");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_CONSUMPTION_ERROR);
             auditService.logEvent("TOKEN_CONSUMPTION_ERROR", "AtomicTokenService",
                 "consumeTokenSafely", "token:" + maskToken(token) + ", error:" + e.getMessage());
             return false;
@@ -124,6 +145,26 @@ public class AtomicTokenService {
         }
     }
     
+    /**
+     * The election row is read under a shared lock in the spend's transaction, so a close
+     * on any node either waits for this spend to commit or is seen by it. Packed slots
+     * are sized for expectedVoters; more ballots could carry one candidate's count into
+     * the next slot, so the spend only goes through while a slot is free.
+     */
+    private void admitBallot(Long electionId, String token) {
+        Election election = electionRepository.findByIdForShare(electionId).orElse(null);
+        if (election == null || election.getState() != ElectionState.OPEN) {
+            auditService.logEvent("TOKEN_ELECTION_NOT_OPEN", "AtomicTokenService",
+                "consumeTokenSafely", "token:" + maskToken(token) + ", election:" + electionId);
+            throw new ElectionException("Cannot cast vote, election is not open.");
+        }
+        if (election.isPackedBallot() && capacityRepository.reserveSlot(electionId) == 0) {
+            auditService.logEvent("PACKED_BALLOT_CAPACITY_REACHED", "AtomicTokenService",
+                "consumeTokenSafely", "token:" + maskToken(token) + ", election:" + electionId);
+            throw new ElectionException("Cannot cast vote, election has reached its expected number of voters.");
+        }
+    }
+    
     /**
      * ✅ UPDATED: Emergency token revocation without voter identity
      */
@@ -135,9 +176,13 @@ public class AtomicTokenService {
                 .orElse(null);
                 
             if (tokenEntity != null) {
+                boolean wasSpent = tokenEntity.isSpent();
                 tokenEntity.setActive(false);
                 tokenEntity.setSpent(true);
                 tokenRepository.save(tokenEntity);
+                if (!wasSpent) {
+                    turnoutCounters.increment(electionId, TurnoutCounterService.Metric.TOKENS_SPENT);
+                }
                 
                 // Clean up lock
                 tokenLocks.remove(token);
@@ -23,6 +23,9 @@ public class BlindSignatureService {
     @Autowired
     private ThresholdKeyService thresholdKeyService;
     
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+    
     private BlindSignatureUtil blindSignatureUtil;
     private String hsmKeyId = "blind_signature_key";
     
@@ -33,8 +36,9 @@ public class BlindSignatureService {
             String publicKey = hsmService.generateHSMKeyPair(hsmKeyId);
             System.out.println("HSM Key initialized. Public key: " + publicKey.substring(0, 50) + "...");
             
-            // Initialize with secure keys (using HSM for production)
-            this.blindSignatureUtil = BlindSignatureUtil.generateKeys(2048);
+            // Initialize with secure keys (using HSM for production); p and q come from the shared prime pool
+            BigInteger[] primes = keyMaterialService.generateDistinctPrimePair(1024);
+            this.blindSignatureUtil = BlindSignatureUtil.fromPrimes(primes[0], primes[1]);
             
             // Store private key components in HSM (simulated)
             String privateKeyData = "MODULUS:" + blindSignatureUtil.getModulus() + 
@@ -0,0 +1,100 @@
+package com.evoting.evoting_backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Newline-delimited JSON exports of an election's bulletin board, written row by row
+ * from a forward-only JDBC cursor straight to the response stream. No entity or list
+ * is built, so heap use does not depend on the size of the board.
+ */
+@Service
+public class BulletinBoardExportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final String ENTRY_SQL =
+        "SELECT id, entry_hash, previous_hash, tracking_code, election_id, timestamp " +
+        "FROM bulletin_board_entry WHERE election_id = ? ORDER BY id";
+    private static final String TRACKING_CODE_SQL =
+        "SELECT id, tracking_code FROM bulletin_board_entry WHERE election_id = ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // MySQL Connector/J only streams a result set row by row with Integer.MIN_VALUE
+    @Value("${bulletin.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * ✅ One JSON object per line, fields as in the bulletin board endpoint plus the id cursor
+     */
+    public long exportEntries(Long electionId, OutputStream out, boolean gzip) throws IOException {
+        return export(ENTRY_SQL, electionId, out, gzip, (rs, json) -> {
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeStringField("entryHash", rs.getString("entry_hash"));
+            json.writeStringField("previousHash", rs.getString("previous_hash"));
+            json.writeStringField("trackingCode", rs.getString("tracking_code"));
+            json.writeNumberField("electionId", rs.getLong("election_id"));
+            Timestamp timestamp = rs.getTimestamp("timestamp");
+            json.writeStringField("timestamp", timestamp != null ? timestamp.toLocalDateTime().toString() : null);
+        });
+    }
+
+    public long exportTrackingCodes(Long electionId, OutputStream out, boolean gzip) throws IOException {
+        return export(TRACKING_CODE_SQL, electionId, out, gzip, (rs, json) -> {
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeStringField("trackingCode", rs.getString("tracking_code"));
+        });
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs, JsonGenerator json) throws Exception;
+    }
+
+    private long export(String sql, Long electionId, OutputStream out, boolean gzip, RowWriter rowWriter)
+            throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        AtomicLong rows = new AtomicLong();
+        try (JsonGenerator json = jsonFactory.createGenerator(target, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, electionId);
+                return statement;
+            }, rs -> {
+                try {
+                    json.writeStartObject();
+                    rowWriter.write(rs, json);
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    rows.incrementAndGet();
+                } catch (IOException e) {
+                    // Client disconnected; abort the query
+                    throw new UncheckedIOException(e);
+                } catch (Exception e) {
+                    throw new RuntimeException("Bulletin board export failed: " + e.getMessage(), e);
+                }
+            });
+        }
+        return rows.get();
+    }
+}
@@ -4,17 +4,25 @@ import com.evoting.evoting_backend.model.BulletinBoardEntry;
 import com.evoting.evoting_backend.model.Vote;
 import com.evoting.evoting_backend.repository.BulletinBoardRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class BulletinBoardService {
     
+    // Keeps each IN list well below driver and planner limits
+    private static final int TRACKING_CODE_BATCH = 1000;
+    
     @Autowired
     private BulletinBoardRepository bulletinBoardRepository;
     
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
+    
     /**
      * ✅ Add vote to bulletin board
      */
@@ -29,7 +37,6 @@ public class BulletinBoardService {
         // 2. Check if vote data is valid
         System.out.println("🔍 Vote trackingCode: " + vote.getTrackingCode());
         System.out.println("🔍 Vote electionId: " + vote.getElectionId());
-        System.out.println("🔍 Vote encryptedVote length: " + (vote.getEncryptedVote() != null ? vote.getEncryptedVote().length() : "NULL"));
         
         // 3. Check if entry already exists
         Optional<BulletinBoardEntry> existing = bulletinBoardRepository.findByTrackingCode(vote.getTrackingCode());
@@ -43,7 +50,7 @@ public class BulletinBoardService {
         // 4. Create new entry
         BulletinBoardEntry entry = new BulletinBoardEntry();
         entry.setTrackingCode(vote.getTrackingCode());
-        entry.setEncryptedVote(vote.getEncryptedVote());
+        entry.setVote(vote);
         entry.setElectionId(vote.getElectionId());
         entry.setTimestamp(LocalDateTime.now());
         
@@ -58,7 +65,8 @@ public class BulletinBoardService {
 
         // 6. Try to save
         System.out.println("🔍 Attempting to save to bulletin board...");
-        BulletinBoardEntry savedEntry = bulletinBoardRepository.save(entry);
+        BulletinBoardEntry savedEntry = turnoutCounters.writeCounted(entry.getElectionId(),
+            TurnoutCounterService.Metric.BULLETIN_ENTRIES, () -> bulletinBoardRepository.save(entry));
         
         // 7. Check result
         boolean success = savedEntry != null && savedEntry.getId() != null;
@@ -110,6 +118,40 @@ public class BulletinBoardService {
         return bulletinBoardRepository.findByElectionIdOrderByTimestampAsc(electionId);
     }
     
+    /**
+     * ✅ Entries of an election for the given tracking codes, looked up in IN-list batches
+     */
+    public List<BulletinBoardEntry> getEntriesByTrackingCodes(Long electionId, List<String> trackingCodes) {
+        List<BulletinBoardEntry> entries = new ArrayList<>();
+        for (int from = 0; from < trackingCodes.size(); from += TRACKING_CODE_BATCH) {
+            List<String> batch = trackingCodes.subList(from, Math.min(from + TRACKING_CODE_BATCH, trackingCodes.size()));
+            entries.addAll(bulletinBoardRepository.findByElectionIdAndTrackingCodeIn(electionId, batch));
+        }
+        return entries;
+    }
+    
+    /**
+     * ✅ One keyset page of an election's entries, in id order, after the cursor id
+     */
+    public List<BulletinBoardEntry> getEntriesPage(Long electionId, Long afterId, int limit) {
+        return bulletinBoardRepository.findPageAfter(electionId, afterId != null ? afterId : 0L,
+            PageRequest.of(0, limit));
+    }
+    
+    public List<BulletinBoardRepository.TrackingCodeRow> getTrackingCodesPage(Long electionId, Long afterId, int limit) {
+        return bulletinBoardRepository.findTrackingCodesAfter(electionId, afterId != null ? afterId : 0L,
+            PageRequest.of(0, limit));
+    }
+    
+    /**
+     * ✅ Persist proof verdicts recorded on entries during an audit
+     */
+    public void recordProofVerdicts(List<BulletinBoardEntry> entries) {
+        if (!entries.isEmpty()) {
+            bulletinBoardRepository.saveAll(entries);
+        }
+    }
+    
     /**
      * ✅ Verify board integrity
      */
@@ -0,0 +1,256 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.BulletinSegment;
+import com.evoting.evoting_backend.crypto.MerkleFrontier;
+import com.evoting.evoting_backend.model.BulletinBoardEntry;
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.ElectionState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seals each election's bulletin board into immutable segment files of
+ * bulletin.segments.entries-per-segment entries (see {@link BulletinSegment}), plus a
+ * manifest.json listing them in order. Auditors download the files as static
+ * resources and check them offline with BulletinSegmentVerifier, so audit reads do not
+ * touch the database. A short final segment is written once the election is closed.
+ */
+@Service
+public class BulletinSegmentService {
+
+    public static final String MANIFEST = "manifest.json";
+
+    @Autowired
+    private BulletinBoardService bulletinBoardService;
+
+    @Autowired
+    private ElectionService electionService;
+
+    @Autowired
+    private ImmutableAuditService auditService;
+
+    @Value("${bulletin.segments.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bulletin.segments.dir:./bulletin-segments}")
+    private String segmentsDir;
+
+    @Value("${bulletin.segments.entries-per-segment:10000}")
+    private int entriesPerSegment;
+
+    // A full segment is only sealed once its newest entry is this old, so an entry
+    // whose insert commits late cannot land behind an already sealed id
+    @Value("${bulletin.segments.settle-ms:10000}")
+    private long settleMs;
+
+    private static class ElectionSegments {
+        private long nextIndex;
+        private long lastEntryId;
+        private byte[] lastSegmentHash;
+        private MerkleFrontier frontier = new MerkleFrontier();
+        private boolean complete;
+        private final List<Map<String, Object>> manifest = new ArrayList<>();
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, ElectionSegments> states = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${bulletin.segments.seal-interval-ms:60000}")
+    public void sealPending() {
+        if (!enabled) {
+            return;
+        }
+        for (Election election : electionService.getAllElections()) {
+            if (election.getState() == ElectionState.CREATED) {
+                continue;
+            }
+            try {
+                sealElection(election.getId());
+            } catch (Exception e) {
+                System.err.println("Sealing bulletin board segments failed for election " +
+                    election.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * ✅ Write every segment that is ready; returns how many were written
+     */
+    public synchronized int sealElection(Long electionId) throws IOException {
+        ElectionSegments state = states.computeIfAbsent(electionId, this::loadState);
+        if (state.complete) {
+            return 0;
+        }
+        boolean closed = electionService.getElectionById(electionId).getState() == ElectionState.CLOSED;
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+
+        int written = 0;
+        while (true) {
+            List<BulletinBoardEntry> page =
+                bulletinBoardService.getEntriesPage(electionId, state.lastEntryId, entriesPerSegment);
+            boolean full = page.size() == entriesPerSegment;
+            if (!full && !closed) {
+                break;
+            }
+            if (page.isEmpty()) {
+                state.complete = true;
+                break;
+            }
+            LocalDateTime newest = page.get(page.size() - 1).getTimestamp();
+            if (!closed && newest != null && newest.isAfter(settledBefore)) {
+                break;
+            }
+            writeSegment(electionId, state, page, closed && !full);
+            written++;
+            if (closed && !full) {
+                state.complete = true;
+                break;
+            }
+        }
+
+        if (written > 0 || state.complete) {
+            writeManifest(electionId, state);
+        }
+        if (written > 0) {
+            auditService.logEvent("BULLETIN_SEGMENTS_SEALED", "BulletinSegmentService", "sealElection",
+                "election:" + electionId + ", segments:" + written + ", entries:" + state.frontier.getLeafCount() +
+                ", complete:" + state.complete);
+        }
+        return written;
+    }
+
+    public Path electionDirectory(Long electionId) {
+        return Paths.get(segmentsDir, String.valueOf(electionId));
+    }
+
+    public Map<String, Object> getSegmentStatus(Long electionId) {
+        ElectionSegments state = states.computeIfAbsent(electionId, this::loadState);
+        synchronized (this) {
+            return manifestBody(electionId, state);
+        }
+    }
+
+    private void writeSegment(Long electionId, ElectionSegments state, List<BulletinBoardEntry> page,
+                              boolean isFinal) throws IOException {
+        List<BulletinSegment.Entry> entries = new ArrayList<>(page.size());
+        for (BulletinBoardEntry entry : page) {
+            entries.add(new BulletinSegment.Entry(entry.getId(),
+                entry.getTimestamp() != null ? entry.getTimestamp().toString() : null,
+                entry.getTrackingCode(), entry.getEntryHash(), entry.getPreviousHash(), entry.getEncryptedVote()));
+        }
+
+        // Advance a copy, so a failed write leaves the state untouched
+        MerkleFrontier frontier = state.frontier.copy();
+        long firstSequence = frontier.getLeafCount();
+        byte[] file = BulletinSegment.write(electionId, state.nextIndex, isFinal, state.lastSegmentHash,
+            entries, frontier);
+        String hash = BulletinSegment.contentHash(file);
+
+        Path directory = electionDirectory(electionId);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(BulletinSegment.fileName(hash));
+        Path temp = directory.resolve(BulletinSegment.fileName(hash) + ".tmp");
+        Files.write(temp, file);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        state.manifest.add(manifestEntry(state.nextIndex, hash, firstSequence, entries.size(),
+            page.get(0).getId(), page.get(page.size() - 1).getId(), frontier.root(), isFinal, file.length));
+        state.nextIndex++;
+        state.lastEntryId = page.get(page.size() - 1).getId();
+        state.lastSegmentHash = HexFormat.of().parseHex(hash);
+        state.frontier = frontier;
+        System.out.println("Bulletin board segment " + (state.nextIndex - 1) + " sealed for election " +
+            electionId + ": " + entries.size() + " entries, " + file.length + " bytes");
+    }
+
+    private void writeManifest(Long electionId, ElectionSegments state) throws IOException {
+        Path directory = electionDirectory(electionId);
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifestBody(electionId, state));
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Map<String, Object> manifestBody(Long electionId, ElectionSegments state) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("electionId", electionId);
+        body.put("formatVersion", BulletinSegment.VERSION);
+        body.put("entriesPerSegment", entriesPerSegment);
+        body.put("sealedEntries", state.frontier.getLeafCount());
+        body.put("merkleRoot", HexFormat.of().formatHex(state.frontier.root()));
+        body.put("complete", state.complete);
+        body.put("segments", new ArrayList<>(state.manifest));
+        return body;
+    }
+
+    private Map<String, Object> manifestEntry(long index, String hash, long firstSequence, int entryCount,
+                                              long firstEntryId, long lastEntryId, byte[] root,
+                                              boolean isFinal, long bytes) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("index", index);
+        entry.put("file", BulletinSegment.fileName(hash));
+        entry.put("sha256", hash);
+        entry.put("firstSequence", firstSequence);
+        entry.put("entryCount", entryCount);
+        entry.put("firstEntryId", firstEntryId);
+        entry.put("lastEntryId", lastEntryId);
+        entry.put("merkleRoot", HexFormat.of().formatHex(root));
+        entry.put("final", isFinal);
+        entry.put("bytes", bytes);
+        return entry;
+    }
+
+    /**
+     * Picks up where the segments already on disk end
+     */
+    private ElectionSegments loadState(Long electionId) {
+        ElectionSegments state = new ElectionSegments();
+        Path directory = electionDirectory(electionId);
+        if (!Files.isDirectory(directory)) {
+            return state;
+        }
+
+        TreeMap<Long, Object[]> byIndex = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + BulletinSegment.FILE_SUFFIX)) {
+            for (Path path : files) {
+                byte[] file = Files.readAllBytes(path);
+                BulletinSegment.Header header = BulletinSegment.readHeader(ByteBuffer.wrap(file));
+                byIndex.put(header.segmentIndex, new Object[] { header, BulletinSegment.contentHash(file), (long) file.length });
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Reading bulletin board segments failed: " + e.getMessage(), e);
+        }
+
+        for (Object[] segment : byIndex.values()) {
+            BulletinSegment.Header header = (BulletinSegment.Header) segment[0];
+            String hash = (String) segment[1];
+            if (header.segmentIndex != state.nextIndex) {
+                throw new IllegalStateException("Bulletin board segment " + state.nextIndex +
+                    " is missing for election " + electionId);
+            }
+            state.manifest.add(manifestEntry(header.segmentIndex, hash, header.firstSequence, header.entryCount,
+                header.firstEntryId, header.lastEntryId, header.merkleRoot, header.isFinal(), (long) segment[2]));
+            state.nextIndex++;
+            state.lastEntryId = header.lastEntryId;
+            state.lastSegmentHash = HexFormat.of().parseHex(hash);
+            state.frontier = header.frontier;
+            state.complete = header.isFinal();
+        }
+        return state;
+    }
+}
@@ -22,6 +22,9 @@ public class CandidateService {
     
     @Autowired
     private ImmutableAuditService auditService;
+    
+    @Autowired
+    private ElectionLookupCache lookupCache;
 
     public List<Candidate> getAllCandidates() {
         return candidateRepository.findAll();
@@ -35,7 +38,15 @@ public class CandidateService {
             throw new ElectionException("Cannot add candidates to an election that is already OPEN or CLOSED");
         }
         
+        // Packed ballots reserve exactly maxCandidates digit slots
+        if (election.isPackedBallot() &&
+            candidateRepository.findByElectionId(election.getId()).size() >= election.getMaxCandidates()) {
+            throw new ElectionException("Packed-ballot election already has its maximum of " +
+                election.getMaxCandidates() + " candidates");
+        }
+        
         Candidate savedCandidate = candidateRepository.save(candidate);
+        lookupCache.invalidateCandidates(savedCandidate.getElectionId());
         
         // Audit candidate creation
         auditService.logEvent("CANDIDATE_ADDED", "CandidateService",
@@ -51,8 +62,11 @@ public class CandidateService {
                 .orElseThrow(() -> new ResourceNotFoundException("Candidate not found with id: " + id));
     }
 
+    /**
+     * ✅ Cached, read-only list; candidate changes evict it
+     */
     public List<Candidate> getCandidatesByElection(Long electionId) {
-        return candidateRepository.findByElectionId(electionId);
+        return lookupCache.getCandidates(electionId, () -> candidateRepository.findByElectionId(electionId));
     }
 
     public Candidate updateCandidate(Long id, Candidate candidateDetails) {
@@ -64,11 +78,14 @@ public class CandidateService {
             throw new ElectionException("Cannot modify candidates in an election that is OPEN or CLOSED");
         }
         
+        Long previousElectionId = candidate.getElectionId();
         candidate.setName(candidateDetails.getName());
         candidate.setParty(candidateDetails.getParty());
         candidate.setElectionId(candidateDetails.getElectionId());
         
         Candidate updatedCandidate = candidateRepository.save(candidate);
+        lookupCache.invalidateCandidates(previousElectionId);
+        lookupCache.invalidateCandidates(updatedCandidate.getElectionId());
         
         // Audit candidate update
         auditService.logEvent("CANDIDATE_UPDATED", "CandidateService",
@@ -88,6 +105,7 @@ public class CandidateService {
         }
         
         candidateRepository.deleteById(id);
+        lookupCache.invalidateCandidates(candidate.getElectionId());
         
         // Audit candidate deletion
         auditService.logEvent("CANDIDATE_DELETED", "CandidateService",
@@ -0,0 +1,306 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Online backfill from the decimal TEXT ciphertext columns to the binary ones.
+ *
+ * Votes are rewritten in small keyset batches (ciphertext set, encrypted_vote cleared).
+ * Bulletin entries are then pointed at their vote (vote_id) when the vote holds the same
+ * ciphertext, or given their own binary copy when there is no matching vote. Every
+ * update is guarded on the row still being unmigrated, so it is safe next to live
+ * traffic and on several nodes at once. Once a full pass finds nothing left it stops
+ * scanning until the next restart.
+ */
+@Service
+public class CiphertextMigrationService {
+
+    // Synthetic election for the storage benchmark (TallyService uses -1)
+    private static final long BENCHMARK_ELECTION_ID = -2L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${ciphertext.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ciphertext.migration.batch-size:500}")
+    private int batchSize;
+
+    private long voteCursor;
+    private long entryCursor;
+    private boolean votesComplete;
+    private boolean entriesComplete;
+    private boolean voteWorkThisPass;
+    private boolean entryWorkThisPass;
+
+    private final AtomicLong votesMigrated = new AtomicLong();
+    private final AtomicLong entriesLinked = new AtomicLong();
+    private final AtomicLong entriesInlined = new AtomicLong();
+    private final AtomicLong malformedRows = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${ciphertext.migration.interval-ms:5000}")
+    public void migratePending() {
+        if (!enabled || (votesComplete && entriesComplete)) {
+            return;
+        }
+        try {
+            runBatch();
+        } catch (Exception e) {
+            System.err.println("Ciphertext migration batch failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ One batch of each table; returns the rows touched
+     */
+    public synchronized Map<String, Object> runBatch() {
+        int votes = votesComplete ? 0 : migrateVoteBatch();
+        int entries = entriesComplete ? 0 : migrateEntryBatch();
+        if (votesComplete && entriesComplete) {
+            System.out.println("Ciphertext migration complete: " + votesMigrated.get() + " votes, " +
+                entriesLinked.get() + " linked and " + entriesInlined.get() + " standalone bulletin entries");
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("votesMigrated", votes);
+        result.put("entriesMigrated", entries);
+        result.put("votesComplete", votesComplete);
+        result.put("entriesComplete", entriesComplete);
+        return result;
+    }
+
+    private int migrateVoteBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT id, encrypted_vote FROM vote WHERE id > ? AND ciphertext IS NULL " +
+            "AND encrypted_vote IS NOT NULL ORDER BY id LIMIT ?", voteCursor, batchSize);
+
+        List<Object[]> updates = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            voteCursor = id;
+            BigInteger value = parseLegacy((String) row.get("encrypted_vote"));
+            if (value != null) {
+                updates.add(new Object[] { CiphertextCodec.encode(value), id });
+            }
+        }
+        voteWorkThisPass |= !updates.isEmpty();
+        int migrated = applyUpdates(
+            "UPDATE vote SET ciphertext = ?, encrypted_vote = NULL WHERE id = ? AND ciphertext IS NULL", updates);
+        votesMigrated.addAndGet(migrated);
+        monitoringService.incrementCounter("ciphertext.migration.votes", migrated);
+
+        if (rows.size() < batchSize) {
+            // End of a pass; malformed rows stay behind, so "done" means nothing was left to rewrite
+            votesComplete = !voteWorkThisPass;
+            voteWorkThisPass = false;
+            voteCursor = 0;
+        }
+        return migrated;
+    }
+
+    private int migrateEntryBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT b.id, b.encrypted_vote, v.id AS matched_vote_id, v.ciphertext AS vote_ciphertext, " +
+            "v.encrypted_vote AS vote_legacy FROM bulletin_board_entry b " +
+            "LEFT JOIN vote v ON v.tracking_code = b.tracking_code " +
+            "WHERE b.id > ? AND b.vote_id IS NULL AND b.ciphertext IS NULL AND b.encrypted_vote IS NOT NULL " +
+            "ORDER BY b.id LIMIT ?", entryCursor, batchSize);
+
+        List<Object[]> links = new ArrayList<>();
+        List<Object[]> inlined = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            entryCursor = id;
+            BigInteger value = parseLegacy((String) row.get("encrypted_vote"));
+            if (value == null) {
+                continue;
+            }
+
+            Number voteId = (Number) row.get("matched_vote_id");
+            BigInteger voteValue = CiphertextCodec.decode((byte[]) row.get("vote_ciphertext"));
+            if (voteId != null && voteValue == null && value.toString().equals(row.get("vote_legacy"))) {
+                // Vote not migrated yet; link it on a later pass
+                entryWorkThisPass = true;
+            } else if (voteId != null && value.equals(voteValue)) {
+                links.add(new Object[] { voteId.longValue(), id });
+            } else {
+                inlined.add(new Object[] { CiphertextCodec.encode(value), id });
+            }
+        }
+        entryWorkThisPass |= !links.isEmpty() || !inlined.isEmpty();
+        int linked = applyUpdates("UPDATE bulletin_board_entry SET vote_id = ?, encrypted_vote = NULL " +
+            "WHERE id = ? AND vote_id IS NULL AND ciphertext IS NULL", links);
+        int copied = applyUpdates("UPDATE bulletin_board_entry SET ciphertext = ?, encrypted_vote = NULL " +
+            "WHERE id = ? AND vote_id IS NULL AND ciphertext IS NULL", inlined);
+        entriesLinked.addAndGet(linked);
+        entriesInlined.addAndGet(copied);
+        monitoringService.incrementCounter("ciphertext.migration.entries", linked + copied);
+
+        if (rows.size() < batchSize) {
+            entriesComplete = !entryWorkThisPass;
+            entryWorkThisPass = false;
+            entryCursor = 0;
+        }
+        return linked + copied;
+    }
+
+    private int applyUpdates(String sql, List<Object[]> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        int applied = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, updates)) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            applied += count == 0 ? 0 : 1;
+        }
+        return applied;
+    }
+
+    private BigInteger parseLegacy(String encryptedVote) {
+        try {
+            return encryptedVote.isEmpty() ? null : new BigInteger(encryptedVote);
+        } catch (NumberFormatException e) {
+            // Left in place; the tally skips it exactly as before
+            malformedRows.incrementAndGet();
+            return null;
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("batchSize", batchSize);
+        status.put("votesComplete", votesComplete);
+        status.put("entriesComplete", entriesComplete);
+        status.put("votesMigrated", votesMigrated.get());
+        status.put("entriesLinked", entriesLinked.get());
+        status.put("entriesInlined", entriesInlined.get());
+        status.put("malformedRows", malformedRows.get());
+        status.put("votesRemaining", jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM vote WHERE ciphertext IS NULL AND encrypted_vote IS NOT NULL", Long.class));
+        status.put("entriesRemaining", jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM bulletin_board_entry WHERE vote_id IS NULL AND ciphertext IS NULL " +
+            "AND encrypted_vote IS NOT NULL", Long.class));
+        status.put("voteCiphertextBytes", columnBytes("vote"));
+        status.put("bulletinCiphertextBytes", columnBytes("bulletin_board_entry"));
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    private Map<String, Object> columnBytes(String table) {
+        Map<String, Object> bytes = jdbcTemplate.queryForMap(
+            "SELECT COALESCE(SUM(OCTET_LENGTH(encrypted_vote)), 0) AS text_bytes, " +
+            "COALESCE(SUM(OCTET_LENGTH(ciphertext)), 0) AS binary_bytes FROM " + table);
+        Map<String, Object> result = new HashMap<>();
+        result.put("decimalText", ((Number) bytes.get("text_bytes")).longValue());
+        result.put("binary", ((Number) bytes.get("binary_bytes")).longValue());
+        return result;
+    }
+
+    /**
+     * Decimal TEXT vs fixed-width binary: stored bytes, batched insert throughput and the
+     * read-and-parse time a tally pays per ballot. Rows go into a synthetic election, so
+     * run it against the embedded database (benchmark profile), not production.
+     */
+    public Map<String, Object> benchmarkStorageFormat(int rows) {
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        SecureRandom random = new SecureRandom();
+        // A few distinct full-size ciphertexts cycled over the rows; parse cost does not depend on reuse
+        BigInteger[] samples = new BigInteger[Math.min(rows, 64)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = paillierUtil.encrypt(BigInteger.valueOf(random.nextInt(2)));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("rows", rows);
+        result.put("keyBits", paillierUtil.getN().bitLength());
+        try {
+            Map<String, Object> text = measureFormat(rows, samples, "encrypted_vote", false);
+            Map<String, Object> binary = measureFormat(rows, samples, "ciphertext", true);
+            result.put("decimalText", text);
+            result.put("binary", binary);
+
+            double textBytes = ((Number) text.get("bytesPerRow")).doubleValue();
+            double binaryBytes = ((Number) binary.get("bytesPerRow")).doubleValue();
+            result.put("sizeRatio", binaryBytes == 0 ? 0.0 : textBytes / binaryBytes);
+            // The board used to hold a second decimal copy; now it holds an 8-byte vote id
+            result.put("bulletinBytesPerRowBefore", textBytes);
+            result.put("bulletinBytesPerRowAfter", Long.BYTES);
+            double textParse = ((Number) text.get("parseMs")).doubleValue();
+            double binaryParse = ((Number) binary.get("parseMs")).doubleValue();
+            result.put("parseSpeedup", binaryParse == 0 ? 0.0 : textParse / binaryParse);
+            result.put("resultsMatch", text.remove("checksum").equals(binary.remove("checksum")));
+        } finally {
+            jdbcTemplate.update("DELETE FROM vote WHERE election_id = ?", BENCHMARK_ELECTION_ID);
+        }
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+
+    private Map<String, Object> measureFormat(int rows, BigInteger[] samples, String column, boolean binary) {
+        jdbcTemplate.update("DELETE FROM vote WHERE election_id = ?", BENCHMARK_ELECTION_ID);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO vote (id, " + column + ", election_id, candidate_id, tracking_code, timestamp) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
+
+        long insertNanos = 0;
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 0; i < rows; i++) {
+            BigInteger value = samples[i % samples.length];
+            Object stored = binary ? CiphertextCodec.encode(value) : value.toString();
+            // Below TallyService's benchmark ids, and clear of the vote id sequence
+            long id = -1_000_000_000L - i;
+            batch.add(new Object[] { id, stored, BENCHMARK_ELECTION_ID, 1L, "CTBENCH_" + column + "_" + i, now });
+            if (batch.size() == 1000 || i == rows - 1) {
+                long start = System.nanoTime();
+                jdbcTemplate.batchUpdate(sql, batch);
+                insertNanos += System.nanoTime() - start;
+                batch.clear();
+            }
+        }
+
+        Long bytes = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(OCTET_LENGTH(" + column + ")), 0) " +
+            "FROM vote WHERE election_id = ?", Long.class, BENCHMARK_ELECTION_ID);
+
+        long fetchStart = System.nanoTime();
+        List<Object> stored = jdbcTemplate.queryForList("SELECT " + column + " FROM vote WHERE election_id = ?",
+            Object.class, BENCHMARK_ELECTION_ID);
+        long fetchNanos = System.nanoTime() - fetchStart;
+
+        long parseStart = System.nanoTime();
+        BigInteger checksum = BigInteger.ZERO;
+        for (Object value : stored) {
+            BigInteger parsed = binary ? CiphertextCodec.decode((byte[]) value) : new BigInteger(value.toString());
+            checksum = checksum.add(parsed);
+        }
+        long parseNanos = System.nanoTime() - parseStart;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("bytesPerRow", rows == 0 ? 0.0 : bytes / (double) rows);
+        result.put("insertRowsPerSecond", insertNanos == 0 ? 0.0 : rows * 1_000_000_000.0 / insertNanos);
+        result.put("fetchMs", fetchNanos / 1_000_000.0);
+        result.put("parseMs", parseNanos / 1_000_000.0);
+        result.put("checksum", checksum.toString(16));
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.BarrettReducer;
+import com.evoting.evoting_backend.crypto.FixedBaseWindowTable;
+import com.evoting.evoting_backend.crypto.MultiExponentiation;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Side-by-side timings of plain modPow chains against the crypto package's
+ * multi-exponentiation and fixed-base tables, one entry per caller that uses them.
+ * Each case runs a warm-up pass before the measured pass.
+ */
+@Service
+public class CryptoBenchmarkService {
+
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+
+    @Autowired
+    private ZeroKnowledgeProofService zkpService;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public Map<String, Object> runAll(int iterations) {
+        Map<String, Object> results = new HashMap<>();
+        results.put("paillierEncrypt", benchmarkPaillierEncrypt(iterations));
+        results.put("fixedBaseTable", benchmarkFixedBaseTable(iterations));
+        results.put("thresholdCombine", benchmarkThresholdCombine(iterations, 5));
+        results.put("zkpBatchVerification", zkpService.benchmarkBatchVerification(Math.max(iterations, 2), 2));
+        results.put("iterations", iterations);
+        results.put("timestamp", System.currentTimeMillis());
+        return results;
+    }
+
+    /**
+     * PaillierUtil.encrypt: g^m * r^n with g^m as a modPow vs the 1 + m*n identity
+     */
+    public Map<String, Object> benchmarkPaillierEncrypt(int iterations) {
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        BigInteger n = paillierUtil.getN();
+        BigInteger nsquare = n.multiply(n);
+        BigInteger[] messages = new BigInteger[iterations];
+        BigInteger[] randomizers = new BigInteger[iterations];
+        for (int i = 0; i < iterations; i++) {
+            messages[i] = new BigInteger(n.bitLength() - 1, secureRandom);
+            randomizers[i] = new BigInteger(n.bitLength() - 1, secureRandom);
+        }
+
+        BigInteger[] baseline = new BigInteger[iterations];
+        BigInteger[] optimized = new BigInteger[iterations];
+        long baselineNanos = time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                baseline[i] = paillierUtil.getG().modPow(messages[i], nsquare)
+                    .multiply(randomizers[i].modPow(n, nsquare)).mod(nsquare);
+            }
+            return null;
+        });
+        long optimizedNanos = time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                optimized[i] = paillierUtil.encrypt(messages[i], randomizers[i]);
+            }
+            return null;
+        });
+
+        return comparison(iterations, baselineNanos, optimizedNanos, Arrays.equals(baseline, optimized));
+    }
+
+    /**
+     * Long-lived base (e.g. a key's g when it is not n + 1) raised to full-size exponents
+     */
+    public Map<String, Object> benchmarkFixedBaseTable(int iterations) {
+        BigInteger n = paillierKeyService.getPaillierUtil().getN();
+        BigInteger nsquare = n.multiply(n);
+        BigInteger base = new BigInteger(nsquare.bitLength() - 1, secureRandom);
+        BigInteger[] exponents = new BigInteger[iterations];
+        for (int i = 0; i < iterations; i++) {
+            exponents[i] = new BigInteger(n.bitLength(), secureRandom);
+        }
+
+        long buildStart = System.nanoTime();
+        FixedBaseWindowTable table = new FixedBaseWindowTable(base, nsquare, n.bitLength(), 4);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        BigInteger[] baseline = new BigInteger[iterations];
+        BigInteger[] optimized = new BigInteger[iterations];
+        long baselineNanos = time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                baseline[i] = base.modPow(exponents[i], nsquare);
+            }
+            return null;
+        });
+        long optimizedNanos = time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                optimized[i] = table.pow(exponents[i]);
+            }
+            return null;
+        });
+
+        Map<String, Object> result = comparison(iterations, baselineNanos, optimizedNanos,
+            Arrays.equals(baseline, optimized));
+        result.put("tableBuildMs", buildNanos / 1_000_000.0);
+        return result;
+    }
+
+    /**
+     * EnhancedThresholdPaillierService.combinePartialDecryptions: prod(partial_i^exp_i)
+     * as separate modPows vs one simultaneous exponentiation
+     */
+    public Map<String, Object> benchmarkThresholdCombine(int iterations, int trustees) {
+        BigInteger n = paillierKeyService.getPaillierUtil().getN();
+        BigInteger nsquare = n.multiply(n);
+        BarrettReducer reducer = new BarrettReducer(nsquare);
+        BigInteger[][] bases = new BigInteger[iterations][trustees];
+        BigInteger[] exponents = new BigInteger[trustees];
+        for (int t = 0; t < trustees; t++) {
+            // Lagrange exponents delta * lambda_i are small integers
+            exponents[t] = new BigInteger(32, secureRandom);
+        }
+        for (int i = 0; i < iterations; i++) {
+            for (int t = 0; t < trustees; t++) {
+                bases[i][t] = new BigInteger(nsquare.bitLength() - 1, secureRandom);
+            }
+        }
+
+        BigInteger[] baseline = new BigInteger[iterations];
+        BigInteger[] optimized = new BigInteger[iterations];
+        long baselineNanos = time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                BigInteger product = BigInteger.ONE;
+                for (int t = 0; t < trustees; t++) {
+                    product = product.multiply(bases[i][t].modPow(exponents[t], nsquare)).mod(nsquare);
+                }
+                baseline[i] = product;
+            }
+            return null;
+        });
+        long optimizedNanos = time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                optimized[i] = MultiExponentiation.simultaneous(bases[i], exponents, reducer);
+            }
+            return null;
+        });
+
+        Map<String, Object> result = comparison(iterations, baselineNanos, optimizedNanos,
+            Arrays.equals(baseline, optimized));
+        result.put("trustees", trustees);
+        return result;
+    }
+
+    private long time(Supplier<Void> work) {
+        work.get();
+        long start = System.nanoTime();
+        work.get();
+        return System.nanoTime() - start;
+    }
+
+    private Map<String, Object> comparison(int iterations, long baselineNanos, long optimizedNanos, boolean match) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("iterations", iterations);
+        result.put("baselineMicrosPerOp", baselineNanos / 1_000.0 / iterations);
+        result.put("optimizedMicrosPerOp", optimizedNanos / 1_000.0 / iterations);
+        result.put("speedup", optimizedNanos == 0 ? 0.0 : (double) baselineNanos / optimizedNanos);
+        result.put("resultsMatch", match);
+        return result;
+    }
+}
@@ -0,0 +1,202 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.config.ReplicaRoutingDataSource;
+import com.evoting.evoting_backend.model.Candidate;
+import com.evoting.evoting_backend.model.Election;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of Election rows and per-election candidate lists for the vote
+ * and tally paths. Writers (open/close/delete election, candidate changes) evict
+ * explicitly; evictions are broadcast over Redis pub/sub so other nodes drop their
+ * copies too. A TTL bounds staleness if a broadcast is ever lost.
+ *
+ * Cached entities are shared between callers and must be treated as read-only.
+ */
+@Service
+public class ElectionLookupCache {
+
+    public static final String INVALIDATION_CHANNEL = "evoting:lookup-cache:invalidate";
+
+    private static final String ELECTION = "election";
+    private static final String CANDIDATES = "candidates";
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired(required = false)
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${lookup.cache.enabled:true}")
+    private volatile boolean enabled;
+
+    @Value("${lookup.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${lookup.cache.redis-invalidation.enabled:true}")
+    private boolean redisInvalidation;
+
+    private static class CacheEntry<T> {
+        private final T value;
+        private final long loadedAtNanos;
+
+        private CacheEntry(T value) {
+            this.value = value;
+            this.loadedAtNanos = System.nanoTime();
+        }
+    }
+
+    // Identifies this node's own broadcasts so they are not applied twice
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Long, CacheEntry<Election>> elections = new ConcurrentHashMap<>();
+    private final Map<Long, CacheEntry<List<Candidate>>> candidateLists = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction; a load that raced with one is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong electionHits = new AtomicLong();
+    private final AtomicLong electionMisses = new AtomicLong();
+    private final AtomicLong candidateHits = new AtomicLong();
+    private final AtomicLong candidateMisses = new AtomicLong();
+    private final AtomicLong remoteInvalidations = new AtomicLong();
+
+    public Election getElection(Long electionId, Supplier<Election> loader) {
+        return lookup(elections, electionId, loader, MonitoringService.LookupCache.ELECTION, electionHits, electionMisses);
+    }
+
+    public List<Candidate> getCandidates(Long electionId, Supplier<List<Candidate>> loader) {
+        return lookup(candidateLists, electionId,
+            () -> Collections.unmodifiableList(loader.get()), MonitoringService.LookupCache.CANDIDATES,
+            candidateHits, candidateMisses);
+    }
+
+    /**
+     * ✅ Evict an election on this node and broadcast the eviction to the others
+     */
+    public void invalidateElection(Long electionId) {
+        evict(ELECTION, electionId);
+        publish(ELECTION, electionId);
+    }
+
+    public void invalidateCandidates(Long electionId) {
+        evict(CANDIDATES, electionId);
+        publish(CANDIDATES, electionId);
+    }
+
+    /**
+     * Redis listener callback; message format "nodeId|kind:electionId"
+     */
+    public void onInvalidationMessage(String message) {
+        String[] parts = message.split("\\|", 2);
+        if (parts.length != 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String[] target = parts[1].split(":", 2);
+        if (target.length != 2) {
+            return;
+        }
+        try {
+            evict(target[0], Long.valueOf(target[1]));
+            remoteInvalidations.incrementAndGet();
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring malformed cache invalidation: " + message);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turning the cache off also empties it, so re-enabling never serves old rows
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            generation.incrementAndGet();
+            elections.clear();
+            candidateLists.clear();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("redisInvalidation", redisInvalidation && stringRedisTemplate != null);
+        stats.put("cachedElections", elections.size());
+        stats.put("cachedCandidateLists", candidateLists.size());
+        stats.put("electionHits", electionHits.get());
+        stats.put("electionMisses", electionMisses.get());
+        stats.put("electionHitRate", hitRate(electionHits, electionMisses));
+        stats.put("candidateHits", candidateHits.get());
+        stats.put("candidateMisses", candidateMisses.get());
+        stats.put("candidateHitRate", hitRate(candidateHits, candidateMisses));
+        stats.put("remoteInvalidations", remoteInvalidations.get());
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    private <T> T lookup(Map<Long, CacheEntry<T>> cache, Long electionId, Supplier<T> loader,
+                         MonitoringService.LookupCache kind, AtomicLong hits, AtomicLong misses) {
+        if (!enabled || electionId == null) {
+            return loader.get();
+        }
+        CacheEntry<T> entry = cache.get(electionId);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            hits.incrementAndGet();
+            monitoringService.recordCacheLookup(kind, true);
+            return entry.value;
+        }
+
+        misses.incrementAndGet();
+        monitoringService.recordCacheLookup(kind, false);
+        long loadGeneration = generation.get();
+        // Kept until evicted or expired, so never loaded from a lagging read replica
+        T value = ReplicaRoutingDataSource.onPrimary(loader);
+        if (generation.get() == loadGeneration) {
+            cache.put(electionId, new CacheEntry<>(value));
+        }
+        return value;
+    }
+
+    private void evict(String kind, Long electionId) {
+        generation.incrementAndGet();
+        if (ELECTION.equals(kind)) {
+            elections.remove(electionId);
+        } else if (CANDIDATES.equals(kind)) {
+            candidateLists.remove(electionId);
+        }
+    }
+
+    private void publish(String kind, Long electionId) {
+        if (!redisInvalidation || stringRedisTemplate == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + kind + ":" + electionId);
+        } catch (Exception e) {
+            // Other nodes fall back to the TTL
+            System.err.println("Cache invalidation broadcast failed: " + e.getMessage());
+        }
+    }
+
+    private double hitRate(AtomicLong hits, AtomicLong misses) {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+}
@@ -0,0 +1,407 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import com.evoting.evoting_backend.exception.ElectionException;
+import com.evoting.evoting_backend.exception.ResourceNotFoundException;
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.ElectionState;
+import com.evoting.evoting_backend.model.TallyJob;
+import com.evoting.evoting_backend.model.TallyJobStatus;
+import com.evoting.evoting_backend.repository.ElectionRepository;
+import com.evoting.evoting_backend.repository.TallyJobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Per-election RANGE partitions on election_id for vote, bulletin_board_entry and
+ * anonymous_voting_tokens (see db/migration/mysql/V3__partition_by_election.sql).
+ *
+ * Every election gets a p_e{id} partition split off the empty p_future catch-all, so
+ * queries on one election only touch its partition. A closed, tallied and fully sealed
+ * election can be archived: each of its partitions is exchanged with a plain
+ * {table}_archive_e{id} table (a metadata swap, independent of the row count) and then
+ * dropped, instead of DELETEing its rows. A partition holds every id from the previous
+ * partition's bound up to its own, so one that also holds another election's rows is
+ * never archived. On databases without partitioning (H2) all of this is a no-op.
+ */
+@Service
+public class ElectionPartitionService {
+
+    static final List<String> PARTITIONED_TABLES = List.of("vote", "bulletin_board_entry", "anonymous_voting_tokens");
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String BENCHMARK_PREFIX = "bench_partition_";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private TallyJobRepository tallyJobRepository;
+
+    @Autowired
+    private BulletinSegmentService bulletinSegmentService;
+
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+
+    @Value("${election.partitioning.enabled:true}")
+    private boolean enabled;
+
+    public static String partitionName(Long electionId) {
+        return "p_e" + electionId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureExistingElections() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Long> ids = electionRepository.findAll().stream().map(Election::getId).toList();
+            int added = ensurePartitions(ids);
+            if (added > 0) {
+                System.out.println("✅ Added " + added + " election partitions");
+            }
+        } catch (Exception e) {
+            System.err.println("Creating election partitions failed: " + e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onElectionCreated(ElectionService.ElectionCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ensurePartitions(List.of(event.getElectionId()));
+        } catch (Exception e) {
+            // Its rows land in p_future and end up in the next election's partition, which
+            // then cannot be archived (see archiveElection); no later run splits them off
+            System.err.println("Creating partitions for election " + event.getElectionId() +
+                " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Split p_future for every election above the highest partitioned one; returns the
+     * number of partitions added. Lower ids are either partitioned already or archived.
+     */
+    public synchronized int ensurePartitions(Collection<Long> electionIds) {
+        int added = 0;
+        for (String table : PARTITIONED_TABLES) {
+            List<Map<String, Object>> partitions = partitions(table);
+            if (partitions.isEmpty()) {
+                continue;
+            }
+            long nextFree = 1;
+            for (Map<String, Object> partition : partitions) {
+                Long bound = upperBound(partition);
+                if (bound != null) {
+                    nextFree = Math.max(nextFree, bound);
+                }
+            }
+            long floor = nextFree;
+            List<Long> missing = electionIds.stream()
+                .filter(id -> id != null && id >= floor)
+                .distinct().sorted().toList();
+            if (missing.isEmpty()) {
+                continue;
+            }
+
+            // p_future is empty once every election has its partition, so this moves no rows
+            StringBuilder ddl = new StringBuilder("ALTER TABLE ").append(table)
+                .append(" REORGANIZE PARTITION ").append(FUTURE_PARTITION).append(" INTO (");
+            for (Long id : missing) {
+                ddl.append("PARTITION ").append(partitionName(id))
+                    .append(" VALUES LESS THAN (").append(id + 1).append("), ");
+            }
+            ddl.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+            jdbcTemplate.execute(ddl.toString());
+            added += missing.size();
+        }
+        return added;
+    }
+
+    /**
+     * ✅ Detach a finished election's rows into {table}_archive_e{id} tables
+     */
+    public synchronized Map<String, Object> archiveElection(Long electionId) {
+        Election election = electionRepository.findById(electionId)
+            .orElseThrow(() -> new ResourceNotFoundException("Election not found with id: " + electionId));
+        if (election.getState() != ElectionState.CLOSED) {
+            throw new ElectionException("Only CLOSED elections can be archived. Current state: " + election.getState());
+        }
+        TallyJob job = tallyJobRepository.findByElectionId(electionId).orElse(null);
+        if (job == null || job.getStatus() != TallyJobStatus.COMPLETED) {
+            throw new ElectionException("Election " + electionId + " must be tallied before it is archived");
+        }
+        // The sealed segments stay the public copy of the board once its rows are gone
+        try {
+            bulletinSegmentService.sealElection(electionId);
+        } catch (Exception e) {
+            throw new RuntimeException("Sealing bulletin board before archiving failed: " + e.getMessage());
+        }
+        if (!Boolean.TRUE.equals(bulletinSegmentService.getSegmentStatus(electionId).get("complete"))) {
+            throw new ElectionException("Bulletin board of election " + electionId + " is not fully sealed yet");
+        }
+
+        String partition = partitionName(electionId);
+        Map<String, Long> estimatedRows = new LinkedHashMap<>();
+        for (String table : PARTITIONED_TABLES) {
+            Map<String, Object> row = null;
+            Long lowerBound = null;
+            for (Map<String, Object> candidate : partitions(table)) {
+                if (partition.equals(candidate.get("PARTITION_NAME"))) {
+                    row = candidate;
+                    break;
+                }
+                lowerBound = upperBound(candidate);
+            }
+            if (row == null) {
+                throw new ElectionException("Election " + electionId + " has no " + partition + " partition in " + table);
+            }
+            // Exchanging and dropping the partition takes every row in it, not just this election's
+            if (!electionId.equals(lowerBound)) {
+                Long foreignRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table +
+                    " PARTITION (" + partition + ") WHERE election_id <> ?", Long.class, electionId);
+                if (foreignRows != null && foreignRows > 0) {
+                    throw new ElectionException("Partition " + partition + " of " + table + " also holds " +
+                        foreignRows + " rows of other elections; archiving it would drop them");
+                }
+            }
+            estimatedRows.put(table, ((Number) row.get("TABLE_ROWS")).longValue());
+        }
+
+        Map<String, Object> tables = new LinkedHashMap<>();
+        for (String table : PARTITIONED_TABLES) {
+            String archive = table + "_archive_e" + electionId;
+            jdbcTemplate.execute("CREATE TABLE " + archive + " LIKE " + table);
+            jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+
+            long start = System.nanoTime();
+            jdbcTemplate.execute("ALTER TABLE " + table + " EXCHANGE PARTITION " + partition +
+                " WITH TABLE " + archive);
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + partition);
+
+            Map<String, Object> detail = new HashMap<>();
+            detail.put("archiveTable", archive);
+            detail.put("estimatedRows", estimatedRows.get(table));
+            detail.put("detachMs", (System.nanoTime() - start) / 1_000_000.0);
+            tables.put(table, detail);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("electionId", electionId);
+        result.put("tables", tables);
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> tables = new LinkedHashMap<>();
+        boolean partitioned = false;
+        for (String table : PARTITIONED_TABLES) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Map<String, Object> partition : partitions(table)) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("partition", partition.get("PARTITION_NAME"));
+                row.put("lessThan", partition.get("PARTITION_DESCRIPTION"));
+                row.put("estimatedRows", partition.get("TABLE_ROWS"));
+                rows.add(row);
+            }
+            partitioned |= !rows.isEmpty();
+            tables.put(table, rows);
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("partitioned", partitioned);
+        status.put("tables", tables);
+        status.put("archiveTables", partitioned ? jdbcTemplate.queryForList(
+            "SELECT TABLE_NAME FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() " +
+            "AND TABLE_NAME LIKE '%\\_archive\\_e%' ORDER BY TABLE_NAME", String.class) : List.of());
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    /**
+     * Hot-election query latency and archive cost, per-election partitions vs one plain
+     * table. Loads historicElections closed elections plus one open election into scratch
+     * copies of vote and anonymous_voting_tokens (MySQL only; dropped afterwards).
+     */
+    public Map<String, Object> benchmarkHistoricElections(int historicElections, int rowsPerElection, int repeats) {
+        if (partitions("vote").isEmpty()) {
+            throw new RuntimeException("Partition benchmark needs MySQL with V3__partition_by_election applied");
+        }
+        long hotElection = historicElections + 1L;
+        Map<String, Object> result = new HashMap<>();
+        result.put("historicElections", historicElections);
+        result.put("rowsPerElection", rowsPerElection);
+        result.put("repeats", repeats);
+        try {
+            for (String layout : List.of("flat", "partitioned")) {
+                createScratchTables(layout, hotElection);
+                long loadStart = System.nanoTime();
+                seed(layout, hotElection, rowsPerElection);
+                Map<String, Object> measured = new LinkedHashMap<>();
+                measured.put("loadMs", (System.nanoTime() - loadStart) / 1_000_000.0);
+                measured.putAll(measureQueries(layout, hotElection, repeats));
+
+                long archiveStart = System.nanoTime();
+                if (layout.equals("flat")) {
+                    jdbcTemplate.update("DELETE FROM " + scratch(layout, "vote") + " WHERE election_id < ?", hotElection);
+                    jdbcTemplate.update("DELETE FROM " + scratch(layout, "tokens") + " WHERE election_id < ?", hotElection);
+                } else {
+                    StringJoiner names = new StringJoiner(", ");
+                    for (long id = 1; id < hotElection; id++) {
+                        names.add(partitionName(id));
+                    }
+                    jdbcTemplate.execute("ALTER TABLE " + scratch(layout, "vote") + " DROP PARTITION " + names);
+                    jdbcTemplate.execute("ALTER TABLE " + scratch(layout, "tokens") + " DROP PARTITION " + names);
+                }
+                measured.put("archiveHistoryMs", (System.nanoTime() - archiveStart) / 1_000_000.0);
+                measured.put("afterArchive", measureQueries(layout, hotElection, repeats));
+                result.put(layout, measured);
+            }
+        } finally {
+            dropScratchTables();
+        }
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+
+    private void createScratchTables(String layout, long hotElection) {
+        Map<String, String> sources = Map.of("vote", "vote", "tokens", "anonymous_voting_tokens");
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            String table = scratch(layout, source.getKey());
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+            jdbcTemplate.execute("CREATE TABLE " + table + " LIKE " + source.getValue());
+            jdbcTemplate.execute("ALTER TABLE " + table + " REMOVE PARTITIONING");
+            if (layout.equals("partitioned")) {
+                StringJoiner ddl = new StringJoiner(", ",
+                    "ALTER TABLE " + table + " PARTITION BY RANGE (election_id) (", ")");
+                for (long id = 1; id <= hotElection; id++) {
+                    ddl.add("PARTITION " + partitionName(id) + " VALUES LESS THAN (" + (id + 1) + ")");
+                }
+                ddl.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE");
+                jdbcTemplate.execute(ddl.toString());
+            }
+        }
+    }
+
+    private void seed(String layout, long hotElection, int rowsPerElection) {
+        byte[] ciphertext = CiphertextCodec.encode(paillierKeyService.getPaillierUtil().encrypt(BigInteger.ONE));
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp past = Timestamp.valueOf(now.minusDays(30));
+        Timestamp future = Timestamp.valueOf(now.plusHours(1));
+        String voteSql = "INSERT INTO " + scratch(layout, "vote") +
+            " (id, ciphertext, election_id, candidate_id, tracking_code, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+        String tokenSql = "INSERT INTO " + scratch(layout, "tokens") +
+            " (token, election_id, active, spent, issued_at, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> votes = new ArrayList<>(1000);
+        List<Object[]> tokens = new ArrayList<>(1000);
+        long id = 0;
+        for (long election = 1; election <= hotElection; election++) {
+            boolean historic = election < hotElection;
+            for (int i = 0; i < rowsPerElection; i++, id++) {
+                votes.add(new Object[] { id, ciphertext, election, (long) (i % 5), "PBENCH_" + id,
+                    historic ? past : Timestamp.valueOf(now) });
+                // Historic tokens are spent and long expired; one in ten open-election tokens has expired
+                boolean expired = historic || i % 10 == 0;
+                tokens.add(new Object[] { "PBENCH_" + id, election, !historic, historic,
+                    historic ? past : Timestamp.valueOf(now), expired ? past : future });
+                if (votes.size() == 1000) {
+                    jdbcTemplate.batchUpdate(voteSql, votes);
+                    jdbcTemplate.batchUpdate(tokenSql, tokens);
+                    votes.clear();
+                    tokens.clear();
+                }
+            }
+        }
+        if (!votes.isEmpty()) {
+            jdbcTemplate.batchUpdate(voteSql, votes);
+            jdbcTemplate.batchUpdate(tokenSql, tokens);
+        }
+        jdbcTemplate.execute("ANALYZE TABLE " + scratch(layout, "vote") + ", " + scratch(layout, "tokens"));
+    }
+
+    // The repository queries that filter on one election, plus the election-blind expiry sweep
+    private Map<String, Object> measureQueries(String layout, long hotElection, int repeats) {
+        String votes = scratch(layout, "vote");
+        String tokens = scratch(layout, "tokens");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("votesByElectionMs", medianMs(repeats, () -> jdbcTemplate.queryForList(
+            "SELECT id, ciphertext FROM " + votes + " WHERE election_id = ?", hotElection)));
+        result.put("countTokensByElectionMs", medianMs(repeats, () -> jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + tokens + " WHERE election_id = ?", Long.class, hotElection)));
+        result.put("expiredTokensMs", medianMs(repeats, () -> jdbcTemplate.queryForList(
+            "SELECT token FROM " + tokens + " WHERE expires_at < ? AND active = true", String.class, now)));
+        result.put("votesByElectionPartitions", jdbcTemplate.queryForList(
+            "EXPLAIN SELECT id, ciphertext FROM " + votes + " WHERE election_id = ?", hotElection)
+            .get(0).get("partitions"));
+        return result;
+    }
+
+    private double medianMs(int repeats, Runnable query) {
+        query.run();
+        long[] nanos = new long[Math.max(repeats, 1)];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000.0;
+    }
+
+    private String scratch(String layout, String table) {
+        return BENCHMARK_PREFIX + layout + "_" + table;
+    }
+
+    private void dropScratchTables() {
+        for (String layout : List.of("flat", "partitioned")) {
+            for (String table : List.of("vote", "tokens")) {
+                try {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + scratch(layout, table));
+                } catch (DataAccessException e) {
+                    System.err.println("Dropping " + scratch(layout, table) + " failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Empty when the database has no partitioning (H2) or the table is not partitioned
+    private List<Map<String, Object>> partitions(String table) {
+        try {
+            return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", table);
+        } catch (DataAccessException e) {
+            return List.of();
+        }
+    }
+
+    private Long upperBound(Map<String, Object> partition) {
+        Object description = partition.get("PARTITION_DESCRIPTION");
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description.toString())) {
+            return null;
+        }
+        return Long.parseLong(description.toString().trim());
+    }
+}
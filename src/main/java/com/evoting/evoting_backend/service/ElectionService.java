@@ -1,13 +1,21 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.crypto.PackedBallotCodec;
 import com.evoting.evoting_backend.exception.ElectionException;
 import com.evoting.evoting_backend.exception.ResourceNotFoundException;
+import com.evoting.evoting_backend.model.BallotEncoding;
 import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.model.ElectionState;
+import com.evoting.evoting_backend.model.ElectionTurnoutSummary;
+import com.evoting.evoting_backend.model.PackedBallotCapacity;
 import com.evoting.evoting_backend.repository.ElectionRepository;
+import com.evoting.evoting_backend.repository.ElectionTurnoutSummaryRepository;
+import com.evoting.evoting_backend.repository.PackedBallotCapacityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,6 +27,49 @@ public class ElectionService {
     
     @Autowired
     private ImmutableAuditService auditService;
+    
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ElectionLookupCache lookupCache;
+    
+    @Autowired
+    private PackedBallotCapacityRepository capacityRepository;
+    
+    @Autowired
+    private ElectionTurnoutSummaryRepository turnoutSummaryRepository;
+    
+    /**
+     * Published after an election is closed; the tally job manager listens for it
+     * (an event rather than a direct call, since tallying depends on this service)
+     */
+    public static class ElectionClosedEvent {
+        private final Long electionId;
+        
+        public ElectionClosedEvent(Long electionId) {
+            this.electionId = electionId;
+        }
+        
+        public Long getElectionId() { return electionId; }
+    }
+
+    /**
+     * Published after an election row is created; ElectionPartitionService gives it its own
+     * table partitions before any tokens or votes arrive
+     */
+    public static class ElectionCreatedEvent {
+        private final Long electionId;
+        
+        public ElectionCreatedEvent(Long electionId) {
+            this.electionId = electionId;
+        }
+        
+        public Long getElectionId() { return electionId; }
+    }
 
     public List<Election> getAllElections() {
         return electionRepository.findAll();
@@ -29,23 +80,69 @@ public class ElectionService {
         election.setState(ElectionState.CREATED);
         election.setCreatedAt(LocalDateTime.now());
         
+        if (election.getBallotEncoding() == null) {
+            election.setBallotEncoding(BallotEncoding.PER_CANDIDATE);
+        }
+        if (election.isPackedBallot()) {
+            validatePackedBallotCapacity(election);
+        }
+        
         Election savedElection = electionRepository.save(election);
+        if (savedElection.isPackedBallot()) {
+            capacityRepository.save(new PackedBallotCapacity(savedElection.getId(), savedElection.getExpectedVoters()));
+        }
+        // Counted writes lock this row, so it has to exist before the first one
+        turnoutSummaryRepository.save(new ElectionTurnoutSummary(savedElection.getId()));
+        
+        // Each election gets its own encryption key in the keyring
+        paillierKeyService.generateElectionKey(savedElection.getId());
         
         // Audit the creation
         auditService.logEvent("ELECTION_CREATED", "ElectionService", 
             "createElection", "election:" + savedElection.getId() + 
             ", title:" + savedElection.getTitle());
+        
+        eventPublisher.publishEvent(new ElectionCreatedEvent(savedElection.getId()));
             
         return savedElection;
     }
 
+    /**
+     * Packed ballots must fit maxCandidates slots of the electorate's width inside the
+     * Paillier plaintext space; election keys all share the default key's size.
+     */
+    private void validatePackedBallotCapacity(Election election) {
+        if (election.getMaxCandidates() == null || election.getMaxCandidates() < 1) {
+            throw new ElectionException("Packed ballots require maxCandidates to be set");
+        }
+        if (election.getExpectedVoters() == null || election.getExpectedVoters() < 1) {
+            throw new ElectionException("Packed ballots require expectedVoters to be set");
+        }
+        
+        int slotBits = PackedBallotCodec.slotBits(election.getExpectedVoters());
+        BigInteger modulus = paillierKeyService.getPaillierUtil().getN();
+        if (!PackedBallotCodec.fits(election.getMaxCandidates(), slotBits, modulus)) {
+            throw new ElectionException("Packed ballots need " +
+                PackedBallotCodec.requiredPlaintextBits(election.getMaxCandidates(), slotBits) +
+                " plaintext bits but the election key provides " + (modulus.bitLength() - 1));
+        }
+    }
+
+    /**
+     * ✅ Cached read; state changes below evict it. Treat the result as read-only.
+     */
     public Election getElectionById(Long id) {
+        return lookupCache.getElection(id, () -> loadElection(id));
+    }
+    
+    // Uncached, for callers that modify the row
+    private Election loadElection(Long id) {
         return electionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Election not found with id: " + id));
     }
 
     public Election openElection(Long id) {
-        Election election = getElectionById(id);
+        Election election = loadElection(id);
         
         if (election.getState() != ElectionState.CREATED) {
             throw new ElectionException("Election must be in CREATED state to be opened. Current state: " + election.getState());
@@ -54,6 +151,7 @@ public class ElectionService {
         election.setState(ElectionState.OPEN);
         election.setOpenedAt(LocalDateTime.now());
         Election updatedElection = electionRepository.save(election);
+        lookupCache.invalidateElection(id);
         
         // Audit the opening
         auditService.logEvent("ELECTION_OPENED", "ElectionService",
@@ -64,7 +162,7 @@ public class ElectionService {
     }
 
     public Election closeElection(Long id) {
-        Election election = getElectionById(id);
+        Election election = loadElection(id);
         
         if (election.getState() != ElectionState.OPEN) {
             throw new ElectionException("Election must be in OPEN state to be closed. Current state: " + election.getState());
@@ -73,17 +171,20 @@ public class ElectionService {
         election.setState(ElectionState.CLOSED);
         election.setClosedAt(LocalDateTime.now());
         Election updatedElection = electionRepository.save(election);
+        lookupCache.invalidateElection(id);
         
         // Audit the closing
         auditService.logEvent("ELECTION_CLOSED", "ElectionService",
             "closeElection", "election:" + updatedElection.getId() +
             ", title:" + updatedElection.getTitle());
+        
+        eventPublisher.publishEvent(new ElectionClosedEvent(updatedElection.getId()));
             
         return updatedElection;
     }
 
     public void deleteElection(Long id) {
-        Election election = getElectionById(id);
+        Election election = loadElection(id);
         
         // Only allow deletion of elections in CREATED state
         if (election.getState() != ElectionState.CREATED) {
@@ -91,6 +192,12 @@ public class ElectionService {
         }
         
         electionRepository.delete(election);
+        if (election.isPackedBallot()) {
+            capacityRepository.deleteById(id);
+        }
+        turnoutSummaryRepository.deleteById(id);
+        lookupCache.invalidateElection(id);
+        lookupCache.invalidateCandidates(id);
         
         // Audit the deletion
         auditService.logEvent("ELECTION_DELETED", "ElectionService",
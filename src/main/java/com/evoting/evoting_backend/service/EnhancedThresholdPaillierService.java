@@ -1,5 +1,9 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.crypto.BarrettReducer;
+import com.evoting.evoting_backend.crypto.IntegerSecretSharing;
+import com.evoting.evoting_backend.crypto.MultiExponentiation;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -10,19 +14,49 @@ import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class EnhancedThresholdPaillierService {
-    
+
     @Autowired
     private HSMService hsmService;
     
     @Autowired
     private ImmutableAuditService auditService;
     
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+    
+    private static final int DEFAULT_TRUSTEES = 5;
+    private static final int DEFAULT_THRESHOLD = 3;
+    
     private final SecureRandom secureRandom = new SecureRandom();
-    private final Map<String, BigInteger> trusteeShares = new ConcurrentHashMap<>();
-    private final Map<String, String> trusteePublicKeys = new ConcurrentHashMap<>();
-    private BigInteger publicModulus;
-    private int totalTrustees = 5;
-    private int threshold = 3;
+    
+    /**
+     * One ceremony's key material. A ceremony builds its own and replaces the published one
+     * as a whole, so readers never see one ceremony's modulus with another's shares.
+     */
+    private static final class KeySet {
+        private final BigInteger publicModulus;
+        private final int totalTrustees;
+        private final int threshold;
+        private final Map<String, BigInteger> trusteeShares;
+        private final Map<String, String> trusteePublicKeys;
+        
+        // Integer Lagrange exponents (delta * lambda_i) per trustee set, reused across tallies
+        private final Map<String, BigInteger[]> lagrangeExponentCache = new ConcurrentHashMap<>();
+        
+        private KeySet(BigInteger publicModulus, int totalTrustees, int threshold,
+                       Map<String, BigInteger> trusteeShares, Map<String, String> trusteePublicKeys) {
+            this.publicModulus = publicModulus;
+            this.totalTrustees = totalTrustees;
+            this.threshold = threshold;
+            this.trusteeShares = Collections.unmodifiableMap(trusteeShares);
+            this.trusteePublicKeys = Collections.unmodifiableMap(trusteePublicKeys);
+        }
+    }
+    
+    private volatile KeySet keys;
+    
+    // Ceremonies run on a shared executor; publishing (HSM writes + swap) is one at a time
+    private final Object ceremonyLock = new Object();
     
     // ✅ ADD THIS INNER CLASS
     public static class DecryptionStatus {
@@ -50,39 +84,54 @@ public class EnhancedThresholdPaillierService {
      * ✅ COMPLETE: Generate threshold Paillier key shares
      */
     public Map<String, Object> generateThresholdKeys(int trustees, int threshold) {
+        // Generate large primes for Paillier (in parallel, from the prime pool when warm)
+        BigInteger[] primes = keyMaterialService.generateDistinctPrimePair(1024);
+        return generateThresholdKeys(trustees, threshold, primes[0], primes[1]);
+    }
+    
+    /**
+     * ✅ Share the decryption key of an election's Paillier key, so trustees can
+     * decrypt the ballots that were encrypted under it
+     */
+    public Map<String, Object> generateThresholdKeys(int trustees, int threshold, PaillierUtil electionKey) {
+        return generateThresholdKeys(trustees, threshold, electionKey.getP(), electionKey.getQ());
+    }
+    
+    private Map<String, Object> generateThresholdKeys(int trustees, int threshold, BigInteger p, BigInteger q) {
         try {
-            this.totalTrustees = trustees;
-            this.threshold = threshold;
+            if (threshold < 1 || threshold > trustees) {
+                throw new IllegalArgumentException("Threshold must be between 1 and the number of trustees");
+            }
             
-            // Generate large primes for Paillier
-            BigInteger p = generateLargePrime(1024);
-            BigInteger q = generateLargePrime(1024);
-            this.publicModulus = p.multiply(q);
+            BigInteger publicModulus = p.multiply(q);
             BigInteger lambda = lcm(p.subtract(BigInteger.ONE), q.subtract(BigInteger.ONE));
             
-            // Generate master private key (lambda)
-            BigInteger masterPrivate = lambda;
+            // Shared key d: d = 0 mod lambda and d = 1 mod n, so c^d = 1 + m*n mod n^2
+            // decrypts without a separate lambda^-1 step
+            BigInteger masterPrivate = lambda.multiply(lambda.modInverse(publicModulus));
             
-            // Split using Shamir's Secret Sharing
+            // Split using integer Shamir sharing (see IntegerSecretSharing)
             List<SecretShare> shares = splitSecret(masterPrivate, trustees, threshold);
             
-            // Store shares in HSM and memory
-            Map<String, Object> result = new HashMap<>();
-            Map<String, String> shareReferences = new HashMap<>();
-            
+            Map<String, BigInteger> trusteeShares = new HashMap<>();
+            Map<String, String> trusteePublicKeys = new HashMap<>();
             for (SecretShare share : shares) {
                 String trusteeId = "trustee_" + share.getX();
-                
-                // Store share in HSM
-                String hsmReference = storeShareInHSM(trusteeId, share.getY());
                 trusteeShares.put(trusteeId, share.getY());
-                shareReferences.put(trusteeId, hsmReference);
-                
-                // Generate trustee verification key
-                String verificationKey = generateTrusteeVerificationKey(trusteeId);
-                trusteePublicKeys.put(trusteeId, verificationKey);
+                trusteePublicKeys.put(trusteeId, generateTrusteeVerificationKey(trusteeId));
             }
             
+            // Store shares in HSM and publish; the previous ceremony's shares (including
+            // trustees this one does not have) stop verifying at the swap
+            Map<String, String> shareReferences = new HashMap<>();
+            synchronized (ceremonyLock) {
+                for (Map.Entry<String, BigInteger> share : trusteeShares.entrySet()) {
+                    shareReferences.put(share.getKey(), storeShareInHSM(share.getKey(), share.getValue()));
+                }
+                keys = new KeySet(publicModulus, trustees, threshold, trusteeShares, trusteePublicKeys);
+            }
+            
+            Map<String, Object> result = new HashMap<>();
             result.put("publicModulus", publicModulus.toString());
             result.put("trustees", trustees);
             result.put("threshold", threshold);
@@ -104,55 +153,230 @@ public class EnhancedThresholdPaillierService {
      * ✅ COMPLETE: Perform threshold decryption with multiple trustees
      */
     public BigInteger thresholdDecrypt(BigInteger encryptedTally, Map<String, BigInteger> providedShares) {
+        ThresholdDecryptionSession session = openDecryptionSession(providedShares);
+        try {
+            BigInteger u = session.decrypt(encryptedTally);
+            
+            auditService.logEvent("THRESHOLD_DECRYPTION_COMPLETED", "EnhancedThresholdPaillierService",
+                "thresholdDecrypt", "shares_used:" + providedShares.size() + 
+                ", success:true");
+                
+            return u;
+            
+        } catch (Exception e) {
+            auditService.logEvent("THRESHOLD_DECRYPTION_FAILED", "EnhancedThresholdPaillierService",
+                "thresholdDecrypt", "error:" + e.getMessage());
+            throw new RuntimeException("Threshold decryption failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * ✅ Open a decryption session: verifies every share and interpolates the key once,
+     * so a whole tally can be decrypted without repeating the HSM checks per candidate
+     */
+    public ThresholdDecryptionSession openDecryptionSession(Map<String, BigInteger> providedShares) {
         try {
-            if (providedShares.size() < threshold) {
+            KeySet keys = currentKeys();
+            
+            if (providedShares.size() < keys.threshold) {
                 auditService.logEvent("INSUFFICIENT_SHARES", "EnhancedThresholdPaillierService",
-                    "thresholdDecrypt", "provided:" + providedShares.size() + 
-                    ", required:" + threshold);
+                    "openDecryptionSession", "provided:" + providedShares.size() + 
+                    ", required:" + keys.threshold);
                 throw new RuntimeException("Insufficient shares for decryption");
             }
             
             // Verify all provided shares
             for (Map.Entry<String, BigInteger> entry : providedShares.entrySet()) {
-                if (!verifyTrusteeShare(entry.getKey(), entry.getValue())) {
+                if (!verifyTrusteeShare(keys, entry.getKey(), entry.getValue())) {
                     throw new RuntimeException("Invalid share from trustee: " + entry.getKey());
                 }
             }
             
-            // Convert to secret shares
-            List<SecretShare> shares = new ArrayList<>();
-            for (Map.Entry<String, BigInteger> entry : providedShares.entrySet()) {
-                int x = Integer.parseInt(entry.getKey().replace("trustee_", ""));
-                shares.add(new SecretShare(x, entry.getValue()));
+            List<String> trusteeIds = new ArrayList<>(providedShares.keySet());
+            Collections.sort(trusteeIds);
+            int[] xs = trusteeIndexes(trusteeIds);
+            
+            // Integer Lagrange exponents depend only on the trustee set: key = delta^2 * d
+            BigInteger[] exponents = lagrangeExponents(keys, xs);
+            BigInteger reconstructedKey = BigInteger.ZERO;
+            for (int i = 0; i < xs.length; i++) {
+                reconstructedKey = reconstructedKey.add(exponents[i].multiply(providedShares.get(trusteeIds.get(i))));
+            }
+            
+            return new ThresholdDecryptionSession(keys.publicModulus, reconstructedKey,
+                deltaSquaredInverse(keys), xs.length);
+            
+        } catch (Exception e) {
+            auditService.logEvent("THRESHOLD_DECRYPTION_FAILED", "EnhancedThresholdPaillierService",
+                "openDecryptionSession", "error:" + e.getMessage());
+            throw new RuntimeException("Threshold decryption failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * ✅ Trustee side of partial decryption: raises every ciphertext in the batch to the
+     * trustee's share. The share is used locally and the full key is never assembled.
+     */
+    public <K> Map<K, BigInteger> computePartialDecryptions(String trusteeId, BigInteger share,
+                                                            Map<K, BigInteger> ciphertexts) {
+        try {
+            KeySet keys = currentKeys();
+            
+            if (!verifyTrusteeShare(keys, trusteeId, share)) {
+                throw new RuntimeException("Invalid share from trustee: " + trusteeId);
             }
             
-            // Reconstruct master private key
-            BigInteger reconstructedKey = reconstructSecret(shares);
+            BigInteger nsquare = keys.publicModulus.multiply(keys.publicModulus);
+            Map<K, BigInteger> partials = new ConcurrentHashMap<>();
+            ciphertexts.entrySet().parallelStream()
+                .forEach(entry -> partials.put(entry.getKey(), entry.getValue().modPow(share, nsquare)));
             
-            // Perform Paillier decryption using reconstructed key
-            BigInteger nsquare = publicModulus.multiply(publicModulus);
-            BigInteger u = encryptedTally.modPow(reconstructedKey, nsquare)
-                                      .subtract(BigInteger.ONE)
-                                      .divide(publicModulus);
+            auditService.logEvent("PARTIAL_DECRYPTION_COMPUTED", "EnhancedThresholdPaillierService",
+                "computePartialDecryptions", "trustee:" + trusteeId + 
+                ", ciphertexts:" + ciphertexts.size());
             
-            auditService.logEvent("THRESHOLD_DECRYPTION_COMPLETED", "EnhancedThresholdPaillierService",
-                "thresholdDecrypt", "shares_used:" + providedShares.size() + 
-                ", success:true");
-                
-            return u;
+            return partials;
+            
+        } catch (Exception e) {
+            auditService.logEvent("PARTIAL_DECRYPTION_FAILED", "EnhancedThresholdPaillierService",
+                "computePartialDecryptions", "trustee:" + trusteeId + ", error:" + e.getMessage());
+            throw new RuntimeException("Partial decryption failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * ✅ Server side of partial decryption: combines trustee partials with precomputed
+     * integer Lagrange exponents. Each ciphertext costs one multi-exponentiation with
+     * small exponents, and ciphertexts are combined in parallel.
+     */
+    public <K> Map<K, BigInteger> combinePartialDecryptions(Map<String, Map<K, BigInteger>> partialsByTrustee) {
+        try {
+            KeySet keys = currentKeys();
+            BigInteger publicModulus = keys.publicModulus;
+            
+            if (partialsByTrustee.size() < keys.threshold) {
+                auditService.logEvent("INSUFFICIENT_SHARES", "EnhancedThresholdPaillierService",
+                    "combinePartialDecryptions", "provided:" + partialsByTrustee.size() + 
+                    ", required:" + keys.threshold);
+                throw new RuntimeException("Insufficient partial decryptions for combination");
+            }
+            
+            List<String> trusteeIds = new ArrayList<>(partialsByTrustee.keySet());
+            Collections.sort(trusteeIds);
+            for (String trusteeId : trusteeIds) {
+                if (!keys.trusteeShares.containsKey(trusteeId)) {
+                    throw new RuntimeException("Unknown trustee for the current key: " + trusteeId);
+                }
+            }
+            int[] xs = trusteeIndexes(trusteeIds);
+            
+            BigInteger[] exponents = lagrangeExponents(keys, xs);
+            BigInteger deltaSquaredInverse = deltaSquaredInverse(keys);
+            BarrettReducer reducer = new BarrettReducer(publicModulus.multiply(publicModulus));
+            
+            Set<K> ciphertextKeys = partialsByTrustee.get(trusteeIds.get(0)).keySet();
+            for (String trusteeId : trusteeIds) {
+                if (!partialsByTrustee.get(trusteeId).keySet().equals(ciphertextKeys)) {
+                    throw new RuntimeException("Trustee " + trusteeId + " did not decrypt the same ciphertext batch");
+                }
+            }
+            
+            Map<K, BigInteger> results = new ConcurrentHashMap<>();
+            ciphertextKeys.parallelStream().forEach(key -> {
+                BigInteger[] bases = new BigInteger[trusteeIds.size()];
+                for (int i = 0; i < bases.length; i++) {
+                    bases[i] = partialsByTrustee.get(trusteeIds.get(i)).get(key);
+                }
+                // prod(c^(share_i * delta * lambda_i)) = c^(delta^2 * d)
+                BigInteger combined = MultiExponentiation.simultaneous(bases, exponents, reducer);
+                BigInteger u = combined.subtract(BigInteger.ONE).divide(publicModulus)
+                                       .multiply(deltaSquaredInverse).mod(publicModulus);
+                results.put(key, u);
+            });
+            
+            auditService.logEvent("PARTIAL_DECRYPTIONS_COMBINED", "EnhancedThresholdPaillierService",
+                "combinePartialDecryptions", "trustees:" + trusteeIds.size() + 
+                ", ciphertexts:" + ciphertextKeys.size());
+            
+            return results;
             
         } catch (Exception e) {
             auditService.logEvent("THRESHOLD_DECRYPTION_FAILED", "EnhancedThresholdPaillierService",
-                "thresholdDecrypt", "error:" + e.getMessage());
-            throw new RuntimeException("Threshold decryption failed: " + e.getMessage(), e);
+                "combinePartialDecryptions", "error:" + e.getMessage());
+            throw new RuntimeException("Partial decryption combination failed: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * ✅ Benchmark: reconstruct-and-decrypt session vs. trustee partials + combination,
+     * over synthetic ciphertexts under the current threshold key
+     */
+    public Map<String, Object> benchmarkPartialDecryption(int candidates) {
+        KeySet keys = currentKeys();
+        BigInteger publicModulus = keys.publicModulus;
+        
+        BigInteger nsquare = publicModulus.multiply(publicModulus);
+        BigInteger g = publicModulus.add(BigInteger.ONE);
+        Map<Integer, BigInteger> ciphertexts = new HashMap<>();
+        for (int i = 0; i < candidates; i++) {
+            BigInteger r = new BigInteger(publicModulus.bitLength() - 1, secureRandom);
+            // g = n + 1, so g^i = 1 + i*n mod n^2
+            ciphertexts.put(i, BigInteger.ONE.add(BigInteger.valueOf(i).multiply(publicModulus))
+                                .multiply(r.modPow(publicModulus, nsquare)).mod(nsquare));
+        }
+        
+        List<String> quorum = new ArrayList<>(keys.trusteeShares.keySet());
+        Collections.sort(quorum);
+        quorum = quorum.subList(0, keys.threshold);
+        Map<String, BigInteger> shares = new HashMap<>();
+        for (String trusteeId : quorum) {
+            shares.put(trusteeId, keys.trusteeShares.get(trusteeId));
+        }
+        
+        long start = System.nanoTime();
+        Map<Integer, BigInteger> reconstructed = openDecryptionSession(shares).decryptAll(ciphertexts);
+        long reconstructNanos = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        Map<String, Map<Integer, BigInteger>> partials = new HashMap<>();
+        for (String trusteeId : quorum) {
+            partials.put(trusteeId, computePartialDecryptions(trusteeId, shares.get(trusteeId), ciphertexts));
+        }
+        long partialNanos = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        Map<Integer, BigInteger> combined = combinePartialDecryptions(partials);
+        long combineNanos = System.nanoTime() - start;
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("candidates", candidates);
+        result.put("trusteesUsed", quorum.size());
+        result.put("reconstructAndDecryptMs", reconstructNanos / 1_000_000.0);
+        result.put("trusteePartialsMs", partialNanos / 1_000_000.0);
+        result.put("combineMs", combineNanos / 1_000_000.0);
+        result.put("resultsMatch", reconstructed.equals(combined));
+        result.put("decryptsToPlaintexts", combined.entrySet().stream()
+            .allMatch(entry -> entry.getValue().equals(BigInteger.valueOf(entry.getKey()))));
+        return result;
+    }
+    
     /**
      * ✅ COMPLETE: Verify share without revealing it
      */
     public boolean verifyTrusteeShare(String trusteeId, BigInteger share) {
+        KeySet keys = this.keys;
+        return keys != null && verifyTrusteeShare(keys, trusteeId, share);
+    }
+    
+    private boolean verifyTrusteeShare(KeySet keys, String trusteeId, BigInteger share) {
         try {
+            // Only trustees of the key in use; a newer ceremony's HSM entry must not match either
+            if (!share.equals(keys.trusteeShares.get(trusteeId))) {
+                auditService.logEvent("TRUSTEE_SHARE_INVALID", "EnhancedThresholdPaillierService",
+                    "verifyTrusteeShare", "trustee:" + trusteeId + ", status:invalid");
+                return false;
+            }
+            
             // Get stored share from HSM
             BigInteger storedShare = retrieveShareFromHSM(trusteeId);
             if (storedShare == null) {
@@ -183,87 +407,73 @@ public class EnhancedThresholdPaillierService {
      * ✅ Get decryption status
      */
     public DecryptionStatus getDecryptionStatus() {
+        KeySet keys = this.keys;
+        if (keys == null) {
+            return new DecryptionStatus(DEFAULT_TRUSTEES, DEFAULT_THRESHOLD, 0, false);
+        }
         return new DecryptionStatus(
-            totalTrustees,
-            threshold,
-            trusteeShares.size(),
-            trusteeShares.size() >= threshold
+            keys.totalTrustees,
+            keys.threshold,
+            keys.trusteeShares.size(),
+            keys.trusteeShares.size() >= keys.threshold
         );
     }
     
+    /**
+     * ✅ Whether the current shares decrypt ciphertexts under the given public modulus
+     */
+    public boolean isKeyFor(BigInteger modulus) {
+        KeySet keys = this.keys;
+        return keys != null && keys.publicModulus.equals(modulus);
+    }
+    
     // For backward compatibility with TallyService
     public DecryptionStatus getTallyReadiness(Long electionId) {
         return getDecryptionStatus();
     }
     
-    // Shamir's Secret Sharing implementation
+    // Shamir sharing over the integers; shares are used directly as exponents
     private List<SecretShare> splitSecret(BigInteger secret, int n, int k) {
         if (k > n) {
             throw new IllegalArgumentException("K must be less than or equal to N");
         }
         
-        // Generate random coefficients
-        BigInteger[] coefficients = new BigInteger[k];
-        coefficients[0] = secret;
-        
-        for (int i = 1; i < k; i++) {
-            coefficients[i] = new BigInteger(256, secureRandom);
-        }
-        
-        // Generate shares
         List<SecretShare> shares = new ArrayList<>();
-        for (int x = 1; x <= n; x++) {
-            BigInteger y = evaluatePolynomial(coefficients, BigInteger.valueOf(x));
-            shares.add(new SecretShare(x, y));
-        }
-        
+        IntegerSecretSharing.split(secret, n, k, secureRandom)
+            .forEach((x, y) -> shares.add(new SecretShare(x, y)));
         return shares;
     }
     
-    private BigInteger reconstructSecret(List<SecretShare> shares) {
-        BigInteger secret = BigInteger.ZERO;
-        BigInteger prime = getPrime();
-        
-        for (SecretShare share : shares) {
-            BigInteger numerator = BigInteger.ONE;
-            BigInteger denominator = BigInteger.ONE;
-            
-            for (SecretShare otherShare : shares) {
-                if (share.getX() != otherShare.getX()) {
-                    numerator = numerator.multiply(BigInteger.valueOf(-otherShare.getX())).mod(prime);
-                    denominator = denominator.multiply(BigInteger.valueOf(share.getX() - otherShare.getX())).mod(prime);
-                }
-            }
-            
-            BigInteger lagrangeCoefficient = numerator.multiply(denominator.modInverse(prime)).mod(prime);
-            secret = secret.add(share.getY().multiply(lagrangeCoefficient)).mod(prime);
+    private int[] trusteeIndexes(List<String> trusteeIds) {
+        int[] xs = new int[trusteeIds.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = Integer.parseInt(trusteeIds.get(i).replace("trustee_", ""));
         }
-        
-        return secret;
+        return xs;
     }
     
-    private BigInteger evaluatePolynomial(BigInteger[] coefficients, BigInteger x) {
-        BigInteger result = BigInteger.ZERO;
-        BigInteger prime = getPrime();
-        
-        for (int i = 0; i < coefficients.length; i++) {
-            result = result.add(coefficients[i].multiply(x.pow(i))).mod(prime);
+    private KeySet currentKeys() {
+        KeySet keys = this.keys;
+        if (keys == null) {
+            throw new RuntimeException("Threshold keys have not been generated");
         }
-        
-        return result;
+        return keys;
     }
     
-    // Helper methods
-    private BigInteger generateLargePrime(int bitLength) {
-        return BigInteger.probablePrime(bitLength, secureRandom);
+    // delta * lambda_i(0) with delta = totalTrustees!, cached per trustee set
+    private BigInteger[] lagrangeExponents(KeySet keys, int[] xs) {
+        return keys.lagrangeExponentCache.computeIfAbsent(
+            Arrays.toString(xs), key -> IntegerSecretSharing.lagrangeExponents(xs, keys.totalTrustees));
     }
     
-    private BigInteger lcm(BigInteger a, BigInteger b) {
-        return a.multiply(b).divide(a.gcd(b));
+    // Quorums combine to delta^2 * d; this undoes the delta^2 in the decrypted value
+    private BigInteger deltaSquaredInverse(KeySet keys) {
+        return IntegerSecretSharing.delta(keys.totalTrustees).pow(2).modInverse(keys.publicModulus);
     }
     
-    private BigInteger getPrime() {
-        return new BigInteger("32317006071311007300714876688669951960444102669715484032130345427524655138867890893197201411522913463688717960921898019494119559150490921095088152386448283120630877367300996091750197750389652106796057638384067568276792218642619756161838094338476170470581645852036305042887575891541065808607552399123930385521914333389668342420684974786564569494856176035326322058077805659331026192708460314150258592864177116725943603718461857357598351152301645904403697613233287231227125684710820209725157101726931323469678542580656697935045997268352998638215525166389437335543602135433229604645318478604952148193555853611059596230656");
+    // Helper methods
+    private BigInteger lcm(BigInteger a, BigInteger b) {
+        return a.multiply(b).divide(a.gcd(b));
     }
     
     private String storeShareInHSM(String trusteeId, BigInteger share) {
@@ -290,6 +500,47 @@ public class EnhancedThresholdPaillierService {
         return "vk_" + trusteeId + "_" + UUID.randomUUID().toString().substring(0, 16);
     }
     
+    /**
+     * Decryption context for one trustee quorum. The key (delta^2 * d) and modulus squared
+     * are fixed for the session, so per-ciphertext work is a single modPow and independent
+     * ciphertexts can be decrypted concurrently.
+     */
+    public static class ThresholdDecryptionSession {
+        private final BigInteger modulus;
+        private final BigInteger nsquare;
+        private final BigInteger reconstructedKey;
+        private final BigInteger keyScaleInverse;
+        private final int sharesUsed;
+        
+        public ThresholdDecryptionSession(BigInteger modulus, BigInteger reconstructedKey,
+                                          BigInteger keyScaleInverse, int sharesUsed) {
+            this.modulus = modulus;
+            this.nsquare = modulus.multiply(modulus);
+            this.reconstructedKey = reconstructedKey;
+            this.keyScaleInverse = keyScaleInverse;
+            this.sharesUsed = sharesUsed;
+        }
+        
+        public BigInteger decrypt(BigInteger ciphertext) {
+            return ciphertext.modPow(reconstructedKey, nsquare)
+                             .subtract(BigInteger.ONE)
+                             .divide(modulus)
+                             .multiply(keyScaleInverse)
+                             .mod(modulus);
+        }
+        
+        // Decrypts every ciphertext in parallel, preserving the caller's keys
+        public <K> Map<K, BigInteger> decryptAll(Map<K, BigInteger> ciphertexts) {
+            Map<K, BigInteger> results = new ConcurrentHashMap<>();
+            ciphertexts.entrySet().parallelStream()
+                .forEach(entry -> results.put(entry.getKey(), decrypt(entry.getValue())));
+            return results;
+        }
+        
+        public BigInteger getModulus() { return modulus; }
+        public int getSharesUsed() { return sharesUsed; }
+    }
+    
     public static class SecretShare {
         private final int x;
         private final BigInteger y;
@@ -31,6 +31,9 @@ public class EnhancedTokenService {
     @Autowired
     private MonitoringService monitoringService;
     
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
+    
     /**
      * ✅ NEW: Issue completely anonymous token without voter identity
      */
@@ -58,6 +61,7 @@ public class EnhancedTokenService {
             
             // Record metrics
             monitoringService.recordTokenIssuance();
+            turnoutCounters.increment(electionId, TurnoutCounterService.Metric.TOKENS_ISSUED);
             
             // Audit without voter identity
             auditService.logEvent("ANONYMOUS_TOKEN_ISSUED", "EnhancedTokenService",
@@ -115,8 +119,9 @@ public class EnhancedTokenService {
     
     public java.util.Map<String, Object> getTokenStatistics(Long electionId) {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        long totalTokens = tokenRepository.countTokensByElection(electionId);
-        long spentTokens = tokenRepository.countSpentTokensByElection(electionId);
+        // Live counters instead of two COUNT(*) queries per call
+        long totalTokens = turnoutCounters.get(electionId, TurnoutCounterService.Metric.TOKENS_ISSUED);
+        long spentTokens = turnoutCounters.get(electionId, TurnoutCounterService.Metric.TOKENS_SPENT);
         
         stats.put("electionId", electionId);
         stats.put("totalTokens", totalTokens);
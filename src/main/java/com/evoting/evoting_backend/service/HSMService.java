@@ -1,19 +1,25 @@
 package com.evoting.evoting_backend.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.security.*;
 import java.util.Base64;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import jakarta.annotation.PostConstruct;
 
 @Service
 public class HSMService {
     
-    private final Map<String, KeyPair> keyStore = new HashMap<>();
-    private final Map<String, String> dataStore = new HashMap<>();
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+    
+    private final Map<String, KeyPair> keyStore = new ConcurrentHashMap<>();
+    private final Map<String, String> dataStore = new ConcurrentHashMap<>();
     private final SecureRandom secureRandom = new SecureRandom();
     
     @PostConstruct
@@ -21,17 +27,14 @@ public class HSMService {
         try {
             System.out.println("🔐 Initializing HSM Keys...");
             
-            // Initialize audit_log_key for ImmutableAuditService
-            generateHSMKeyPair("audit_log_key");
-            System.out.println("✅ audit_log_key initialized");
-            
-            // Initialize blind_signature_key for BlindSignatureService
-            generateHSMKeyPair("blind_signature_key");
-            System.out.println("✅ blind_signature_key initialized");
-            
-            // Initialize any other required keys
-            generateHSMKeyPair("hsm_health_key");
-            System.out.println("✅ hsm_health_key initialized");
+            // audit_log_key for ImmutableAuditService, blind_signature_key for BlindSignatureService
+            // and hsm_health_key are independent, so generate them concurrently
+            List<String> defaultKeyIds = List.of("audit_log_key", "blind_signature_key", "hsm_health_key");
+            List<Callable<String>> keyTasks = defaultKeyIds.stream()
+                .map(keyId -> (Callable<String>) () -> generateHSMKeyPair(keyId))
+                .toList();
+            keyMaterialService.runInParallel(keyTasks);
+            defaultKeyIds.forEach(keyId -> System.out.println("✅ " + keyId + " initialized"));
             
             System.out.println("🎉 HSM Keys initialization completed successfully");
             System.out.println("📋 Available keys: " + getKeyIds());
@@ -1,5 +1,6 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.config.ReplicaRoutingDataSource;
 import com.evoting.evoting_backend.crypto.MerkleTree;
 import com.evoting.evoting_backend.model.ImmutableAuditLog;
 import com.evoting.evoting_backend.repository.ImmutableAuditLogRepository;
@@ -20,9 +21,19 @@ public class ImmutableAuditService {
     @Autowired
     private HSMService hsmService;
     
+    @Autowired
+    private VoteLatencyTracer voteTracer;
+    
     private String currentMerkleRoot = MerkleTree.calculateHash("initial_root");
     
     public ImmutableAuditLog logEvent(String eventType, String service, String operation, String eventData) {
+        // Timed as the audit stage when written on the vote path. The chain links to the
+        // newest row, which a lagging read replica may not have yet
+        return voteTracer.stage(VoteLatencyTracer.Stage.AUDIT,
+            () -> ReplicaRoutingDataSource.onPrimary(() -> appendLog(eventType, service, operation, eventData)));
+    }
+    
+    private ImmutableAuditLog appendLog(String eventType, String service, String operation, String eventData) {
         try {
             // Get the previous log entry for chain linking
             ImmutableAuditLog previousLog = auditLogRepository.findTopByOrderByIdDesc()
@@ -0,0 +1,252 @@
+package com.evoting.evoting_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+@Service
+public class KeyMaterialService {
+
+    // Extra Miller-Rabin rounds applied before a prime is handed out or pooled
+    private static final int PRIME_CERTAINTY = 100;
+
+    @Value("${keymaterial.prime.threads:0}")
+    private int primeThreads;
+
+    @Value("${keymaterial.prime.pool.enabled:false}")
+    private boolean poolEnabled;
+
+    @Value("${keymaterial.prime.pool.size:4}")
+    private int poolSize;
+
+    @Value("${keymaterial.prime.pool.bit-lengths:512,1024}")
+    private int[] poolBitLengths;
+
+    @Value("${keymaterial.ceremony.retention-minutes:60}")
+    private long ceremonyRetentionMinutes;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<Integer, BlockingQueue<BigInteger>> primePool = new ConcurrentHashMap<>();
+    private final Map<String, KeyCeremonyJob> ceremonyJobs = new ConcurrentHashMap<>();
+
+    private ExecutorService primeExecutor;
+    private ExecutorService ceremonyExecutor;
+
+    public static class KeyCeremonyJob {
+        private final String jobId;
+        private final String ceremonyType;
+        private final LocalDateTime submittedAt;
+        private volatile String status = "PENDING";
+        private volatile LocalDateTime completedAt;
+        private volatile Map<String, Object> result;
+        private volatile String error;
+
+        public KeyCeremonyJob(String jobId, String ceremonyType) {
+            this.jobId = jobId;
+            this.ceremonyType = ceremonyType;
+            this.submittedAt = LocalDateTime.now();
+        }
+
+        public String getJobId() { return jobId; }
+        public String getCeremonyType() { return ceremonyType; }
+        public LocalDateTime getSubmittedAt() { return submittedAt; }
+        public String getStatus() { return status; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+        public Map<String, Object> getResult() { return result; }
+        public String getError() { return error; }
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = primeThreads > 0 ? primeThreads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.primeExecutor = Executors.newFixedThreadPool(threads, daemonThreads("prime-gen-"));
+        // Ceremonies block on prime futures, so they must not share the prime pool
+        this.ceremonyExecutor = Executors.newFixedThreadPool(2, daemonThreads("key-ceremony-"));
+
+        if (poolEnabled) {
+            for (int bitLength : poolBitLengths) {
+                primePool.put(bitLength, new LinkedBlockingQueue<>(poolSize));
+                for (int i = 0; i < poolSize; i++) {
+                    refill(bitLength);
+                }
+            }
+            System.out.println("🔑 Prime pool warming: " + Arrays.toString(poolBitLengths) +
+                " bits x " + poolSize + " on " + threads + " threads");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        primeExecutor.shutdownNow();
+        ceremonyExecutor.shutdownNow();
+    }
+
+    /**
+     * ✅ Take a vetted prime, from the pre-warmed pool when one is available
+     */
+    public BigInteger takePrime(int bitLength) {
+        BlockingQueue<BigInteger> pooled = primePool.get(bitLength);
+        if (pooled != null) {
+            BigInteger prime = pooled.poll();
+            refill(bitLength);
+            if (prime != null) {
+                return prime;
+            }
+        }
+        return generateVettedPrime(bitLength);
+    }
+
+    /**
+     * ✅ Generate several primes concurrently on the bounded prime pool
+     */
+    public List<BigInteger> generatePrimes(int bitLength, int count) {
+        List<Future<BigInteger>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(primeExecutor.submit(() -> takePrime(bitLength)));
+        }
+
+        List<BigInteger> primes = new ArrayList<>();
+        try {
+            for (Future<BigInteger> future : futures) {
+                primes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Prime generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Prime generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return primes;
+    }
+
+    /**
+     * ✅ Two distinct primes of the same size, generated in parallel (RSA / Paillier p and q)
+     */
+    public BigInteger[] generateDistinctPrimePair(int bitLength) {
+        List<BigInteger> primes = generatePrimes(bitLength, 2);
+        BigInteger p = primes.get(0);
+        BigInteger q = primes.get(1);
+        while (p.equals(q)) {
+            q = takePrime(bitLength);
+        }
+        return new BigInteger[] { p, q };
+    }
+
+    /**
+     * ✅ Run independent key-generation tasks concurrently and wait for all of them.
+     * Tasks run on the prime pool, so they must not themselves wait on generatePrimes.
+     */
+    public <T> List<T> runInParallel(List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : primeExecutor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Key generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Key generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * ✅ Polynomial evaluation with Horner's method: one multiply and add per coefficient
+     */
+    public BigInteger evaluatePolynomial(BigInteger[] coefficients, BigInteger x, BigInteger modulus) {
+        BigInteger result = BigInteger.ZERO;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            result = result.multiply(x).add(coefficients[i]).mod(modulus);
+        }
+        return result;
+    }
+
+    /**
+     * ✅ Submit a key ceremony and return its job handle immediately
+     */
+    public KeyCeremonyJob submitCeremony(String ceremonyType, Supplier<Map<String, Object>> ceremony) {
+        KeyCeremonyJob job = new KeyCeremonyJob(UUID.randomUUID().toString(), ceremonyType);
+        expireFinishedJobs();
+        ceremonyJobs.put(job.getJobId(), job);
+
+        ceremonyExecutor.submit(() -> {
+            job.status = "RUNNING";
+            try {
+                job.result = ceremony.get();
+                job.status = "COMPLETED";
+            } catch (Exception e) {
+                job.error = e.getMessage();
+                job.status = "FAILED";
+                System.err.println("❌ Key ceremony " + ceremonyType + " failed: " + e.getMessage());
+            } finally {
+                job.completedAt = LocalDateTime.now();
+            }
+        });
+
+        return job;
+    }
+
+    public Optional<KeyCeremonyJob> getCeremonyJob(String jobId) {
+        return Optional.ofNullable(ceremonyJobs.get(jobId));
+    }
+
+    // Finished jobs stay pollable for the retention window; running jobs are never dropped
+    private void expireFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ceremonyRetentionMinutes);
+        ceremonyJobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    public Map<String, Object> getPoolStatus() {
+        Map<String, Object> status = new HashMap<>();
+        Map<String, Integer> available = new HashMap<>();
+        primePool.forEach((bits, queue) -> available.put(bits + "_bits", queue.size()));
+
+        status.put("poolEnabled", poolEnabled);
+        status.put("poolSize", poolSize);
+        status.put("availablePrimes", available);
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    private void refill(int bitLength) {
+        BlockingQueue<BigInteger> pooled = primePool.get(bitLength);
+        if (pooled == null || primeExecutor.isShutdown()) {
+            return;
+        }
+        primeExecutor.submit(() -> {
+            if (pooled.remainingCapacity() > 0) {
+                pooled.offer(generateVettedPrime(bitLength));
+            }
+        });
+    }
+
+    private BigInteger generateVettedPrime(int bitLength) {
+        BigInteger prime;
+        do {
+            prime = BigInteger.probablePrime(bitLength, secureRandom);
+        } while (prime.bitLength() != bitLength || !prime.isProbablePrime(PRIME_CERTAINTY));
+        return prime;
+    }
+
+    private ThreadFactory daemonThreads(String prefix) {
+        return new ThreadFactory() {
+            private int counter = 0;
+
+            @Override
+            public synchronized Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, prefix + (++counter));
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
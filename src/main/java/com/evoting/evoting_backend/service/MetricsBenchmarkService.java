@@ -0,0 +1,138 @@
+package com.evoting.evoting_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording cost of MonitoringService's typed meters against the string-named calls they
+ * replaced (names built per call, looked up in the counter map), per operation in time and
+ * allocated bytes, plus how far each style grows a registry fed many election ids.
+ * Everything runs against throwaway MonitoringService instances on a SimpleMeterRegistry,
+ * so the application's registry is untouched. Each case runs a warm-up pass first.
+ */
+@Service
+public class MetricsBenchmarkService {
+
+    private static final int ELECTIONS = 10;
+
+    @Value("${metrics.max-tag-values:100}")
+    private int maxTagValues;
+
+    @Value("${metrics.max-dynamic-meters:200}")
+    private int maxDynamicMeters;
+
+    public Map<String, Object> runAll(int iterations, int distinctElections) {
+        MonitoringService metrics = new MonitoringService(new SimpleMeterRegistry(), maxTagValues, Integer.MAX_VALUE);
+        MonitoringService.SecurityEvent[] events = MonitoringService.SecurityEvent.values();
+        MonitoringService.LookupCache[] caches = MonitoringService.LookupCache.values();
+        Long[] electionIds = new Long[ELECTIONS];
+        for (int i = 0; i < ELECTIONS; i++) {
+            electionIds[i] = 1_000L + i;
+        }
+
+        Map<String, Object> results = new HashMap<>();
+        results.put("securityEvent", compare(iterations,
+            i -> metrics.incrementCounter("security.events." + events[i % events.length].getTag()),
+            i -> metrics.recordSecurityEvent(events[i % events.length])));
+        results.put("cacheLookup", compare(iterations,
+            i -> metrics.incrementCounter("cache." + caches[i % caches.length].getTag() + ((i & 1) == 0 ? ".hits" : ".misses")),
+            i -> metrics.recordCacheLookup(caches[i % caches.length], (i & 1) == 0)));
+        results.put("voteCast", compare(iterations,
+            i -> {
+                // The former recordVoteCast body, under names that do not clash with the typed
+                // meters; both sides record into the same vote timer
+                metrics.incrementCounter("election.votes.cast.total");
+                metrics.incrementCounter("election.votes.cast.election_" + electionIds[i % ELECTIONS]);
+                metrics.setGauge("election.last_vote_timestamp.legacy", System.currentTimeMillis());
+                metrics.getVoteTimer().record(3, TimeUnit.MILLISECONDS);
+            },
+            i -> metrics.recordVoteCast(electionIds[i % ELECTIONS], 3)));
+        results.put("registryGrowth", registryGrowth(distinctElections));
+        results.put("iterations", iterations);
+        results.put("allocationMeasured", allocationSupported());
+        results.put("timestamp", System.currentTimeMillis());
+        return results;
+    }
+
+    /**
+     * Meters created by recording one vote for each of distinctElections ids: per-id names
+     * without a limit (the old behaviour), the same with metrics.max-dynamic-meters, and the
+     * bounded election tag
+     */
+    private Map<String, Object> registryGrowth(int distinctElections) {
+        SimpleMeterRegistry unbounded = new SimpleMeterRegistry();
+        MonitoringService unboundedMetrics = new MonitoringService(unbounded, maxTagValues, Integer.MAX_VALUE);
+        SimpleMeterRegistry guarded = new SimpleMeterRegistry();
+        MonitoringService guardedMetrics = new MonitoringService(guarded, maxTagValues, maxDynamicMeters);
+        SimpleMeterRegistry typed = new SimpleMeterRegistry();
+        MonitoringService typedMetrics = new MonitoringService(typed, maxTagValues, maxDynamicMeters);
+
+        int unboundedBefore = unbounded.getMeters().size();
+        int guardedBefore = guarded.getMeters().size();
+        int typedBefore = typed.getMeters().size();
+        for (long id = 1; id <= distinctElections; id++) {
+            unboundedMetrics.incrementCounter("election.votes.cast.election_" + id);
+            guardedMetrics.incrementCounter("election.votes.cast.election_" + id);
+            typedMetrics.recordVoteCast(id, 1);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("distinctElections", distinctElections);
+        result.put("dynamicNamesMetersAdded", unbounded.getMeters().size() - unboundedBefore);
+        result.put("guardedDynamicNamesMetersAdded", guarded.getMeters().size() - guardedBefore);
+        result.put("boundedTagMetersAdded", typed.getMeters().size() - typedBefore);
+        result.put("maxTagValues", maxTagValues);
+        result.put("maxDynamicMeters", maxDynamicMeters);
+        return result;
+    }
+
+    private interface Recording {
+        void record(int i);
+    }
+
+    private Map<String, Object> compare(int iterations, Recording baseline, Recording optimized) {
+        run(iterations, baseline);
+        run(iterations, optimized);
+        long[] baselineCost = run(iterations, baseline);
+        long[] optimizedCost = run(iterations, optimized);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("baselineNanosPerOp", (double) baselineCost[0] / iterations);
+        result.put("optimizedNanosPerOp", (double) optimizedCost[0] / iterations);
+        result.put("speedup", optimizedCost[0] == 0 ? 0.0 : (double) baselineCost[0] / optimizedCost[0]);
+        if (allocationSupported()) {
+            result.put("baselineBytesPerOp", (double) baselineCost[1] / iterations);
+            result.put("optimizedBytesPerOp", (double) optimizedCost[1] / iterations);
+        }
+        return result;
+    }
+
+    // {elapsed nanos, bytes allocated by this thread}
+    private long[] run(int iterations, Recording recording) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            recording.record(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[] {elapsed, allocatedBytes() - allocatedBefore};
+    }
+
+    private boolean allocationSupported() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads &&
+            threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    private long allocatedBytes() {
+        if (!allocationSupported()) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -2,19 +2,79 @@ package com.evoting.evoting_backend.service;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Application metrics. The typed methods (recordSecurityEvent, recordCacheLookup,
+ * recordVoteCast, ...) record into meters registered once up front, with dimensions taken
+ * from the enums below, and do no lookup or allocation per call. The string-named methods
+ * (incrementCounter, setGauge, recordTimer) remain for fixed operational names; they stop
+ * creating meters after metrics.max-dynamic-meters names so a name built from data cannot
+ * grow the registry without bound.
+ */
 @Service
 public class MonitoringService {
     
+    /**
+     * Security events, counted as security.events{type=...}
+     */
+    public enum SecurityEvent {
+        TOKEN_NOT_FOUND,
+        TOKEN_ALREADY_SPENT,
+        TOKEN_CONSUMED_SUCCESS,
+        TOKEN_CONSUMED_VALIDATION,
+        TOKEN_CONSUMPTION_ERROR,
+        TOKEN_VALIDATION_FAILED,
+        TOKEN_ISSUANCE_FAILED,
+        TOKEN_LOCK_TIMEOUT,
+        TOKEN_LOCK_INTERRUPTED,
+        TOKEN_CLEANUP_ERROR,
+        DATABASE_LOCK_FAILURE,
+        RATE_LIMIT_TRIGGERED,
+        RATE_LIMIT_ERROR;
+        
+        private final String tag = name().toLowerCase(Locale.ROOT);
+        
+        public String getTag() {
+            return tag;
+        }
+    }
+    
+    /**
+     * In-process lookup caches, counted as cache.lookups{cache=..., result=hit|miss}
+     */
+    public enum LookupCache {
+        ELECTION,
+        CANDIDATES;
+        
+        private final String tag = name().toLowerCase(Locale.ROOT);
+        
+        public String getTag() {
+            return tag;
+        }
+    }
+    
+    // Tag value shared by every series past a bounded tag's limit
+    static final String OTHER_TAG_VALUE = "other";
+    
     private final MeterRegistry meterRegistry;
+    private final int maxTagValues;
+    private final int maxDynamicMeters;
     private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, AtomicLong> gauges = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
@@ -23,25 +83,139 @@ public class MonitoringService {
     private final Timer voteTimer;
     private final Timer kycTimer;
     
+    // Typed meter handles
+    private final List<Counter> typedCounters = new CopyOnWriteArrayList<>();
+    private final Counter[] securityEvents;
+    private final Counter[][] cacheLookups;
+    private final BoundedCounter votesCast;
+    private final Counter tokensIssued;
+    private final Counter tokensCleaned;
+    private final Counter kycSuccessful;
+    private final Counter kycFailed;
+    private final Counter zkpSuccessful;
+    private final Counter zkpFailed;
+    private final AtomicLong lastVoteTimestamp = new AtomicLong();
+    private final Counter dynamicMetersRejected;
+    private final AtomicBoolean rejectionLogged = new AtomicBoolean();
+    
     // Track initialized metrics to prevent duplicates
     private final ConcurrentHashMap<String, Boolean> initializedMetrics = new ConcurrentHashMap<>();
     
     @Autowired
-    public MonitoringService(MeterRegistry meterRegistry) {
+    public MonitoringService(MeterRegistry meterRegistry,
+                             @Value("${metrics.max-tag-values:100}") int maxTagValues,
+                             @Value("${metrics.max-dynamic-meters:200}") int maxDynamicMeters) {
         this.meterRegistry = meterRegistry;
+        this.maxTagValues = maxTagValues;
+        this.maxDynamicMeters = maxDynamicMeters;
         
         // Initialize timers first
         this.voteTimer = Timer.builder("performance.vote_processing_time")
             .description("Time taken to process a vote")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
             .register(meterRegistry);
             
         this.kycTimer = Timer.builder("performance.kyc_processing_time")
             .description("Time taken for KYC verification")
             .register(meterRegistry);
+        
+        securityEvents = new Counter[SecurityEvent.values().length];
+        for (SecurityEvent event : SecurityEvent.values()) {
+            securityEvents[event.ordinal()] = typedCounter(Counter.builder("security.events")
+                .description("Security-relevant events by type")
+                .tag("type", event.getTag()));
+        }
+        cacheLookups = new Counter[LookupCache.values().length][2];
+        for (LookupCache cache : LookupCache.values()) {
+            for (int hit = 0; hit < 2; hit++) {
+                cacheLookups[cache.ordinal()][hit] = typedCounter(Counter.builder("cache.lookups")
+                    .description("Lookup cache hits and misses")
+                    .tag("cache", cache.getTag())
+                    .tag("result", hit == 1 ? "hit" : "miss"));
+            }
+        }
+        votesCast = new BoundedCounter("election.votes.cast", "election", "Votes cast per election");
+        tokensIssued = typedCounter(Counter.builder("election.tokens.issued"));
+        tokensCleaned = typedCounter(Counter.builder("security.tokens.cleaned")
+            .description("Expired tokens removed by the cleanup job"));
+        kycSuccessful = typedCounter(Counter.builder("election.kyc.successful"));
+        kycFailed = typedCounter(Counter.builder("election.kyc.failed"));
+        zkpSuccessful = typedCounter(Counter.builder("election.zkp.successful"));
+        zkpFailed = typedCounter(Counter.builder("election.zkp.failed"));
+        dynamicMetersRejected = typedCounter(Counter.builder("metrics.dynamic_meters.rejected")
+            .description("String-named meters refused past metrics.max-dynamic-meters"));
+        Gauge.builder("election.last_vote_timestamp", lastVoteTimestamp, AtomicLong::get)
+            .register(meterRegistry);
             
         initializeCoreMetrics();
     }
     
+    private Counter typedCounter(Counter.Builder builder) {
+        Counter counter = builder.register(meterRegistry);
+        typedCounters.add(counter);
+        return counter;
+    }
+    
+    /**
+     * One counter per tag value for the first metrics.max-tag-values values; later values
+     * are counted under "other" (and in metrics.cardinality.overflow) so an id-valued tag
+     * cannot grow the registry without bound
+     */
+    private final class BoundedCounter {
+        private final String name;
+        private final String tagKey;
+        private final String description;
+        private final Map<Object, Counter> series = new ConcurrentHashMap<>();
+        private final Counter other;
+        private final Counter overflow;
+        
+        BoundedCounter(String name, String tagKey, String description) {
+            this.name = name;
+            this.tagKey = tagKey;
+            this.description = description;
+            this.other = typedCounter(Counter.builder(name).description(description).tag(tagKey, OTHER_TAG_VALUE));
+            this.overflow = typedCounter(Counter.builder("metrics.cardinality.overflow")
+                .description("Recordings folded into a bounded tag's \"other\" series")
+                .tag("metric", name));
+        }
+        
+        Counter forValue(Object value) {
+            if (value == null) {
+                return other;
+            }
+            Counter counter = series.get(value);
+            return counter != null ? counter : admit(value);
+        }
+        
+        private synchronized Counter admit(Object value) {
+            Counter counter = series.get(value);
+            if (counter != null) {
+                return counter;
+            }
+            if (series.size() >= maxTagValues) {
+                overflow.increment();
+                return other;
+            }
+            counter = typedCounter(Counter.builder(name).description(description).tag(tagKey, String.valueOf(value)));
+            series.put(value, counter);
+            return counter;
+        }
+    }
+    
+    // False once metrics.max-dynamic-meters names exist and this would be a new one
+    private boolean admitDynamicMeter(Map<String, ?> meters, String metricName) {
+        if (meters.containsKey(metricName) || meters.size() < maxDynamicMeters) {
+            return true;
+        }
+        dynamicMetersRejected.increment();
+        if (rejectionLogged.compareAndSet(false, true)) {
+            System.err.println("⚠️ Metric '" + metricName + "' rejected: over " + maxDynamicMeters +
+                " string-named meters, use a typed MonitoringService method");
+        }
+        return false;
+    }
+    
     private void initializeCoreMetrics() {
         // ✅ FIXED: Check if metrics are already initialized
         if (initializedMetrics.containsKey("core_metrics")) {
@@ -140,6 +314,9 @@ public class MonitoringService {
     
     public void incrementCounter(String metricName, double amount) {
         try {
+            if (!admitDynamicMeter(counters, metricName)) {
+                return;
+            }
             Counter counter = counters.computeIfAbsent(metricName, 
                 name -> {
                     try {
@@ -159,6 +336,9 @@ public class MonitoringService {
     // ✅ FIXED: Safe gauge setting with duplicate protection
     public void setGauge(String metricName, long value) {
         try {
+            if (!admitDynamicMeter(gauges, metricName)) {
+                return;
+            }
             AtomicLong gauge = gauges.computeIfAbsent(metricName,
                 name -> {
                     try {
@@ -180,6 +360,9 @@ public class MonitoringService {
     
     public void recordTimer(String metricName, long duration, TimeUnit unit) {
         try {
+            if (!admitDynamicMeter(timers, metricName)) {
+                return;
+            }
             Timer timer = timers.computeIfAbsent(metricName,
                 name -> Timer.builder(name).register(meterRegistry));
             timer.record(duration, unit);
@@ -190,10 +373,9 @@ public class MonitoringService {
     
     // Election-specific monitoring methods
     public void recordVoteCast(Long electionId, long processingTimeMs) {
-        incrementCounter("election.votes.cast");
-        incrementCounter("election.votes.cast.election_" + electionId);
-        setGauge("election.last_vote_timestamp", System.currentTimeMillis());
-        recordTimer("performance.vote_processing_time", processingTimeMs, TimeUnit.MILLISECONDS);
+        votesCast.forValue(electionId).increment();
+        lastVoteTimestamp.set(System.currentTimeMillis());
+        voteTimer.record(processingTimeMs, TimeUnit.MILLISECONDS);
         
         // Update the total votes cast gauge
         AtomicLong totalVotes = gauges.get("election.total_votes_cast");
@@ -204,20 +386,20 @@ public class MonitoringService {
     
     public void recordKYCVerification(boolean success, long processingTimeMs) {
         if (success) {
-            incrementCounter("election.kyc.successful");
+            kycSuccessful.increment();
             // Update the KYC verifications gauge
             AtomicLong kycVerifications = gauges.get("election.kyc_verifications");
             if (kycVerifications != null) {
                 kycVerifications.incrementAndGet();
             }
         } else {
-            incrementCounter("election.kyc.failed");
+            kycFailed.increment();
         }
-        recordTimer("performance.kyc_processing_time", processingTimeMs, TimeUnit.MILLISECONDS);
+        kycTimer.record(processingTimeMs, TimeUnit.MILLISECONDS);
     }
     
     public void recordTokenIssuance() {
-        incrementCounter("election.tokens.issued");
+        tokensIssued.increment();
         // Update the tokens issued gauge
         AtomicLong tokensIssued = gauges.get("election.tokens_issued");
         if (tokensIssued != null) {
@@ -227,14 +409,14 @@ public class MonitoringService {
     
     public void recordZKPVerification(boolean success) {
         if (success) {
-            incrementCounter("election.zkp.successful");
+            zkpSuccessful.increment();
             // Update the ZKP verifications gauge
             AtomicLong zkpVerifications = gauges.get("security.zkp_verifications");
             if (zkpVerifications != null) {
                 zkpVerifications.incrementAndGet();
             }
         } else {
-            incrementCounter("election.zkp.failed");
+            zkpFailed.increment();
         }
     }
     
@@ -242,8 +424,16 @@ public class MonitoringService {
         setGauge("security.hsm_operational", operational ? 1 : 0);
     }
     
-    public void recordSecurityEvent(String eventType) {
-        incrementCounter("security.events." + eventType);
+    public void recordSecurityEvent(SecurityEvent event) {
+        securityEvents[event.ordinal()].increment();
+    }
+    
+    public void recordTokensCleaned(int count) {
+        tokensCleaned.increment(count);
+    }
+    
+    public void recordCacheLookup(LookupCache cache, boolean hit) {
+        cacheLookups[cache.ordinal()][hit ? 1 : 0].increment();
     }
     
     // Performance monitoring
@@ -282,6 +472,7 @@ public class MonitoringService {
         // Add counter values
         java.util.Map<String, Double> counterValues = new java.util.HashMap<>();
         counters.forEach((name, counter) -> counterValues.put(name, counter.count()));
+        typedCounters.forEach(counter -> counterValues.put(displayName(counter.getId()), counter.count()));
         snapshot.put("counters", counterValues);
         
         snapshot.put("timestamp", System.currentTimeMillis());
@@ -289,6 +480,22 @@ public class MonitoringService {
         return snapshot;
     }
     
+    // name{key=value,...} for tagged meters
+    private static String displayName(Meter.Id id) {
+        List<Tag> tags = id.getTags();
+        if (tags.isEmpty()) {
+            return id.getName();
+        }
+        StringBuilder name = new StringBuilder(id.getName()).append('{');
+        for (int i = 0; i < tags.size(); i++) {
+            if (i > 0) {
+                name.append(',');
+            }
+            name.append(tags.get(i).getKey()).append('=').append(tags.get(i).getValue());
+        }
+        return name.append('}').toString();
+    }
+    
     // ✅ NEW: Method to check if metric exists
     public boolean isMetricRegistered(String metricName) {
         try {
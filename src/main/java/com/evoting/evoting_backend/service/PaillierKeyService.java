@@ -1,65 +1,203 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.crypto.PaillierKeyring;
 import com.evoting.evoting_backend.crypto.PaillierUtil;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.io.*;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class PaillierKeyService {
 
+    // Keyring slot for the installation-wide key used by elections without their own
+    public static final long DEFAULT_KEY_ID = 0L;
+
     @Value("${paillier.key.file.path}")
     private String keyFilePath;
 
-    private PaillierUtil paillierUtil;
+    @Value("${paillier.keyring.file.path:./paillier_keyring.bin}")
+    private String keyringFilePath;
+
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+
+    private PaillierKeyring keyring;
+    private final Map<Long, PaillierUtil> loadedKeys = new ConcurrentHashMap<>();
+
+    private long coldStartNanos;
+    private final AtomicLong keyLookups = new AtomicLong();
+    private final AtomicLong keyLookupNanos = new AtomicLong();
+    private final AtomicLong keyringDecodes = new AtomicLong();
 
     @PostConstruct
     public void init() {
-        this.paillierUtil = loadKeys();
+        long start = System.nanoTime();
+        try {
+            Path keyringPath = Paths.get(keyringFilePath);
+            if (!Files.exists(keyringPath) && new File(keyFilePath).exists()) {
+                // A failed migration must stop startup: carrying on would generate a new
+                // default key and leave ballots under the legacy key undecryptable
+                this.keyring = migrateLegacyKeyFile(keyringPath);
+            } else {
+                this.keyring = PaillierKeyring.open(keyringPath);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Paillier keyring initialization failed: " + e.getMessage(), e);
+        }
+
+        // Materialise the default key now; per-election keys stay on disk until first use
+        getPaillierUtil();
+        this.coldStartNanos = System.nanoTime() - start;
+        System.out.println("Paillier keyring ready: " + keyring.size() + " key(s) in " +
+            (coldStartNanos / 1_000_000) + " ms");
     }
 
     public PaillierUtil getPaillierUtil() {
-        return paillierUtil;
+        return getPaillierUtil(DEFAULT_KEY_ID);
     }
 
-    private PaillierUtil loadKeys() {
-        File keyFile = new File(keyFilePath);
-        if (keyFile.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(keyFile))) {
-                PaillierUtil loadedUtil = new PaillierUtil();
-                loadedUtil.setN((BigInteger) ois.readObject());
-                loadedUtil.setG((BigInteger) ois.readObject());
-                loadedUtil.setNsquare(loadedUtil.getN().multiply(loadedUtil.getN()));
-                loadedUtil.setLambda((BigInteger) ois.readObject());
-                loadedUtil.setMu((BigInteger) ois.readObject());
-                System.out.println("Paillier keys loaded from file.");
-                return loadedUtil;
-            } catch (IOException | ClassNotFoundException e) {
-                System.err.println("Failed to load Paillier keys. Generating new ones.");
+    /**
+     * ✅ Per-election key, falling back to the default key for elections created
+     * before per-election keys existed
+     */
+    public PaillierUtil getPaillierUtil(Long electionId) {
+        long start = System.nanoTime();
+        try {
+            long keyId = electionId != null ? electionId : DEFAULT_KEY_ID;
+            PaillierUtil key = loadedKeys.computeIfAbsent(keyId, this::loadKey);
+            if (key == null) {
+                key = loadedKeys.computeIfAbsent(DEFAULT_KEY_ID, this::loadKey);
             }
+            return key;
+        } finally {
+            keyLookups.incrementAndGet();
+            keyLookupNanos.addAndGet(System.nanoTime() - start);
         }
-        return generateAndSaveKeys();
     }
 
-    private PaillierUtil generateAndSaveKeys() {
-        PaillierUtil newUtil = new PaillierUtil();
-        newUtil.generateKeys();
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(keyFilePath))) {
-            oos.writeObject(newUtil.getN());
-            oos.writeObject(newUtil.getG());
-            oos.writeObject(newUtil.getLambda());
-            oos.writeObject(newUtil.getMu());
-            System.out.println("New Paillier keys generated and saved to file.");
+    public boolean hasElectionKey(Long electionId) {
+        return electionId != null && keyring.contains(electionId);
+    }
+
+    /**
+     * ✅ Generate and persist a dedicated key for an election (idempotent)
+     */
+    public synchronized PaillierUtil generateElectionKey(Long electionId) {
+        if (hasElectionKey(electionId)) {
+            return getPaillierUtil(electionId);
+        }
+        PaillierUtil newUtil = generateKey();
+        try {
+            keyring.append(electionId, newUtil);
         } catch (IOException e) {
-            System.err.println("Failed to save Paillier keys: " + e.getMessage());
+            throw new RuntimeException("Saving election key failed: " + e.getMessage(), e);
         }
+        loadedKeys.put(electionId, newUtil);
+        System.out.println("New Paillier key generated for election " + electionId);
         return newUtil;
     }
 
     public String getPublicKey() {
-        return Base64.getEncoder().encodeToString(paillierUtil.getN().toByteArray());
+        return getPublicKey(DEFAULT_KEY_ID);
+    }
+
+    public String getPublicKey(Long electionId) {
+        return Base64.getEncoder().encodeToString(getPaillierUtil(electionId).getN().toByteArray());
+    }
+
+    public Map<String, Object> getKeyringStatistics() {
+        long lookups = keyLookups.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("formatVersion", PaillierKeyring.VERSION);
+        stats.put("keyringFile", keyringFilePath);
+        stats.put("keyringBytes", keyring.fileSize());
+        stats.put("storedKeys", keyring.size());
+        stats.put("loadedKeys", loadedKeys.size());
+        stats.put("keyringDecodes", keyringDecodes.get());
+        stats.put("coldStartMs", coldStartNanos / 1_000_000.0);
+        stats.put("keyLookups", lookups);
+        stats.put("avgKeyLookupMicros", lookups == 0 ? 0.0 : keyLookupNanos.get() / 1_000.0 / lookups);
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    private PaillierUtil loadKey(long keyId) {
+        PaillierUtil key = keyring.read(keyId);
+        if (key != null) {
+            keyringDecodes.incrementAndGet();
+            return key;
+        }
+        if (keyId != DEFAULT_KEY_ID) {
+            return null;
+        }
+
+        key = generateKey();
+        try {
+            keyring.append(DEFAULT_KEY_ID, key);
+            System.out.println("New Paillier keys generated and saved to keyring.");
+        } catch (IOException e) {
+            System.err.println("Failed to save Paillier keys: " + e.getMessage());
+        }
+        return key;
+    }
+
+    private PaillierUtil generateKey() {
+        PaillierUtil newUtil = new PaillierUtil();
+        BigInteger[] primes = keyMaterialService.generateDistinctPrimePair(newUtil.getBitLength());
+        newUtil.generateKeys(primes[0], primes[1]);
+        return newUtil;
+    }
+
+    /**
+     * Imports the Java-serialized paillier_keys.dat as the default key. The old
+     * format dropped p and q; they are recovered from n and lambda = (p-1)(q-1).
+     * The keyring only appears once the key is in it, so a failed migration is
+     * retried on the next start.
+     */
+    private PaillierKeyring migrateLegacyKeyFile(Path keyringPath) {
+        File legacyFile = new File(keyFilePath);
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(legacyFile))) {
+            PaillierUtil legacyUtil = new PaillierUtil();
+            legacyUtil.setN((BigInteger) ois.readObject());
+            legacyUtil.setG((BigInteger) ois.readObject());
+            legacyUtil.setNsquare(legacyUtil.getN().multiply(legacyUtil.getN()));
+            legacyUtil.setLambda((BigInteger) ois.readObject());
+            legacyUtil.setMu((BigInteger) ois.readObject());
+            recoverPrimes(legacyUtil);
+
+            PaillierKeyring migrated = PaillierKeyring.create(keyringPath, Map.of(DEFAULT_KEY_ID, legacyUtil));
+            Files.move(legacyFile.toPath(), Paths.get(keyFilePath + ".migrated"),
+                StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Paillier keys migrated from " + keyFilePath + " to keyring.");
+            return migrated;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            throw new RuntimeException("Paillier key migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void recoverPrimes(PaillierUtil util) {
+        BigInteger n = util.getN();
+        // p + q = n - lambda + 1, and p, q are the roots of x^2 - (p+q)x + n
+        BigInteger sum = n.subtract(util.getLambda()).add(BigInteger.ONE);
+        BigInteger root = sum.multiply(sum).subtract(n.shiftLeft(2)).sqrt();
+        BigInteger p = sum.add(root).shiftRight(1);
+        BigInteger q = sum.subtract(root).shiftRight(1);
+        if (!p.multiply(q).equals(n)) {
+            throw new IllegalStateException("Legacy key lambda does not factor n");
+        }
+        util.setP(p);
+        util.setQ(q);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.model.ImmutableAuditLog;
+import com.evoting.evoting_backend.model.Vote;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Entity insert throughput for votes and audit rows, once with JDBC batching off (the
+ * default profile) and once with the high-throughput profile's batch size. Votes use a
+ * pooled sequence and batch; audit rows keep IDENTITY, so Hibernate sends them one
+ * statement at a time in both runs. Rows go into a synthetic election / event type, so
+ * run it against the embedded database (benchmark profile), not production.
+ */
+@Service
+public class PersistenceBenchmarkService {
+
+    private static final long BENCHMARK_ELECTION_ID = -3L;
+    private static final String BENCHMARK_EVENT = "PERSISTENCE_BENCHMARK";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:0}")
+    private int configuredBatchSize;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    public Map<String, Object> benchmarkInserts(int rows) {
+        int batchSize = configuredBatchSize > 1 ? configuredBatchSize : 50;
+        BigInteger ciphertext = paillierKeyService.getPaillierUtil().encrypt(BigInteger.ONE);
+        LocalDateTime now = LocalDateTime.now();
+
+        IntFunction<Object> vote = i -> {
+            Vote v = new Vote();
+            v.setCiphertext(ciphertext);
+            v.setElectionId(BENCHMARK_ELECTION_ID);
+            v.setCandidateId(1L);
+            v.setTimestamp(now);
+            return v;
+        };
+        IntFunction<Object> auditRow = i -> {
+            ImmutableAuditLog log = new ImmutableAuditLog();
+            log.setLogHash("BENCH_" + UUID.randomUUID());
+            log.setEventType(BENCHMARK_EVENT);
+            log.setService("PersistenceBenchmarkService");
+            log.setOperation("benchmarkInserts");
+            log.setEventData("row:" + i);
+            log.setPreviousHash("0");
+            log.setTimestamp(now);
+            return log;
+        };
+
+        Map<String, Object> result = new HashMap<>();
+        try {
+            result.put("votes", compare(rows, batchSize, vote, this::deleteBenchmarkVotes));
+            result.put("auditRows", compare(rows, batchSize, auditRow, this::deleteBenchmarkAuditRows));
+        } finally {
+            deleteBenchmarkVotes();
+            deleteBenchmarkAuditRows();
+        }
+        result.put("rows", rows);
+        result.put("configuredBatchSize", configuredBatchSize);
+        result.put("rewriteBatchedStatements", datasourceUrl.contains("rewriteBatchedStatements=true"));
+        result.put("voteIdGeneration", "pooled sequence (" + Vote.ID_ALLOCATION_SIZE + ")");
+        result.put("auditIdGeneration", "identity");
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+
+    private Map<String, Object> compare(int rows, int batchSize, IntFunction<Object> factory, Runnable cleanup) {
+        // Warm-up so the first measured run does not pay for class loading and pool start-up
+        insert(Math.min(rows, 100), batchSize, batchSize, factory);
+        cleanup.run();
+
+        // Same flush interval in both runs; only the JDBC batch size differs
+        long unbatchedNanos = insert(rows, 1, batchSize, factory);
+        cleanup.run();
+        long batchedNanos = insert(rows, batchSize, batchSize, factory);
+        cleanup.run();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("unbatchedRowsPerSecond", rowsPerSecond(rows, unbatchedNanos));
+        result.put("batchedRowsPerSecond", rowsPerSecond(rows, batchedNanos));
+        result.put("batchSize", batchSize);
+        result.put("speedup", batchedNanos == 0 ? 0.0 : (double) unbatchedNanos / batchedNanos);
+        return result;
+    }
+
+    private long insert(int rows, int jdbcBatchSize, int flushEvery, IntFunction<Object> factory) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        transaction.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(factory.apply(i));
+                if ((i + 1) % flushEvery == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return System.nanoTime() - start;
+    }
+
+    private double rowsPerSecond(int rows, long nanos) {
+        return nanos == 0 ? 0.0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    private void deleteBenchmarkVotes() {
+        jdbcTemplate.update("DELETE FROM vote WHERE election_id = ?", BENCHMARK_ELECTION_ID);
+    }
+
+    private void deleteBenchmarkAuditRows() {
+        jdbcTemplate.update("DELETE FROM immutable_audit_log WHERE event_type = ?", BENCHMARK_EVENT);
+    }
+}
@@ -0,0 +1,150 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.config.RepositoryMetricsAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistence section of /api/monitoring/metrics: the slowest repository methods (by total
+ * time, from RepositoryMetricsAspect's timers), Hibernate statistics and per-pool Hikari
+ * connection wait times.
+ */
+@Service
+public class PersistenceMetricsService {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${repository.metrics.snapshot-top:20}")
+    private int snapshotTop;
+
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("repositories", repositoryTimings());
+        snapshot.put("hibernate", hibernateStatistics());
+        snapshot.put("connectionPools", connectionPools());
+        return snapshot;
+    }
+
+    private List<Map<String, Object>> repositoryTimings() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(RepositoryMetricsAspect.TIMER).tag("outcome", "success").timers()) {
+            if (timer.count() == 0) {
+                continue;
+            }
+            String repository = timer.getId().getTag("repository");
+            String method = timer.getId().getTag("method");
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("call", repository + "." + method);
+            row.put("entity", timer.getId().getTag("entity"));
+            row.put("operation", timer.getId().getTag("operation"));
+            row.put("count", timer.count());
+            row.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+            row.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            row.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                row.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            DistributionSummary rowSummary = meterRegistry.find(RepositoryMetricsAspect.ROWS)
+                .tag("repository", repository).tag("method", method).summary();
+            if (rowSummary != null) {
+                row.put("meanRows", rowSummary.mean());
+                row.put("maxRows", rowSummary.max());
+            }
+            Timer errors = meterRegistry.find(RepositoryMetricsAspect.TIMER)
+                .tag("repository", repository).tag("method", method).tag("outcome", "error").timer();
+            row.put("errors", errors != null ? errors.count() : 0);
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("totalMs")).reversed());
+        return rows.size() > snapshotTop ? new ArrayList<>(rows.subList(0, snapshotTop)) : rows;
+    }
+
+    private Map<String, Object> hibernateStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxMs", statistics.getQueryExecutionMaxTime());
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("preparedStatements", statistics.getPrepareStatementCount());
+        result.put("connectionsObtained", statistics.getConnectCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount());
+        result.put("entityInserts", statistics.getEntityInsertCount());
+        result.put("entityUpdates", statistics.getEntityUpdateCount());
+        result.put("entityDeletes", statistics.getEntityDeleteCount());
+        result.put("collectionFetches", statistics.getCollectionFetchCount());
+        result.put("optimisticFailures", statistics.getOptimisticFailureCount());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+
+        // Per-query totals as Hibernate sees them (HQL / native text, not repository methods)
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics stats = statistics.getQueryStatistics(query);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("query", query);
+            row.put("executions", stats.getExecutionCount());
+            row.put("totalMs", stats.getExecutionTotalTime());
+            row.put("avgMs", stats.getExecutionAvgTime());
+            row.put("maxMs", stats.getExecutionMaxTime());
+            row.put("rows", stats.getExecutionRowCount());
+            queries.add(row);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("totalMs")).reversed());
+        result.put("topQueries", queries.size() > snapshotTop ? new ArrayList<>(queries.subList(0, snapshotTop)) : queries);
+        return result;
+    }
+
+    // Boot binds hikaricp.* meters for every Hikari pool bean, tagged with the pool name
+    private List<Map<String, Object>> connectionPools() {
+        List<Map<String, Object>> pools = new ArrayList<>();
+        for (Timer acquire : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            String pool = acquire.getId().getTag("pool");
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("pool", pool);
+            row.put("acquisitions", acquire.count());
+            row.put("waitMeanMs", acquire.mean(TimeUnit.MILLISECONDS));
+            row.put("waitMaxMs", acquire.max(TimeUnit.MILLISECONDS));
+            row.put("waitTotalMs", acquire.totalTime(TimeUnit.MILLISECONDS));
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+            if (usage != null) {
+                row.put("usageMeanMs", usage.mean(TimeUnit.MILLISECONDS));
+                row.put("usageMaxMs", usage.max(TimeUnit.MILLISECONDS));
+            }
+            for (String gauge : List.of("active", "idle", "pending", "max")) {
+                Gauge value = meterRegistry.find("hikaricp.connections." + gauge).tag("pool", pool).gauge();
+                if (value != null) {
+                    row.put(gauge, value.value());
+                }
+            }
+            Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", pool).counter();
+            row.put("timeouts", timeouts != null ? timeouts.count() : 0);
+            pools.add(row);
+        }
+        return pools;
+    }
+}
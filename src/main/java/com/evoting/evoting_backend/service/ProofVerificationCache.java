@@ -0,0 +1,122 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.PaillierMembershipProof;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded memo of proof verdicts. Keys are the SHA-256 of everything
+ * the verdict depends on (statement, proof, public parameters), so a hit can never
+ * return a verdict for different inputs. Least recently used entries are evicted.
+ */
+@Service
+public class ProofVerificationCache {
+
+    @Value("${verification.cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<String, Boolean> verdicts = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (size() > maxEntries) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Cached verdict, or null when the inputs have not been verified yet
+     */
+    public Boolean getVerdict(String key) {
+        Boolean verdict;
+        synchronized (verdicts) {
+            verdict = verdicts.get(key);
+        }
+        (verdict != null ? hits : misses).incrementAndGet();
+        return verdict;
+    }
+
+    public void putVerdict(String key, boolean verdict) {
+        synchronized (verdicts) {
+            verdicts.put(key, verdict);
+        }
+    }
+
+    public String membershipProofKey(BigInteger n, List<BigInteger> allowed,
+                                     BigInteger ciphertext, PaillierMembershipProof proof) {
+        MessageDigest digest = newDigest("paillier-membership");
+        absorb(digest, n);
+        for (BigInteger message : allowed) {
+            absorb(digest, message);
+        }
+        absorb(digest, ciphertext);
+        absorb(digest, proof.encode().getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        int size;
+        synchronized (verdicts) {
+            size = verdicts.size();
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    private MessageDigest newDigest(String domain) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            absorb(digest, domain.getBytes(StandardCharsets.UTF_8));
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hash computation failed", e);
+        }
+    }
+
+    private void absorb(MessageDigest digest, BigInteger value) {
+        absorb(digest, value.toByteArray());
+    }
+
+    // Length-prefixed so adjacent fields can never run into each other
+    private void absorb(MessageDigest digest, byte[] bytes) {
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private String toHex(byte[] hash) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) hexString.append('0');
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+}
@@ -38,7 +38,7 @@ public class RateLimitService {
             
             if (currentCount >= maxRequests) {
                 // Rate limited
-                monitoringService.recordSecurityEvent("rate_limit_triggered");
+                monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.RATE_LIMIT_TRIGGERED);
                 auditService.logEvent("RATE_LIMIT_TRIGGERED", "RateLimitService", 
                     "isAllowed", "key:" + maskKey(key) + ", count:" + currentCount + ", max:" + maxRequests);
                 return false;
@@ -50,7 +50,7 @@ public class RateLimitService {
             
         } catch (Exception e) {
             // Fail open - allow request if Redis fails
-            monitoringService.recordSecurityEvent("rate_limit_error");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.RATE_LIMIT_ERROR);
             auditService.logEvent("RATE_LIMIT_ERROR", "RateLimitService", 
                 "isAllowed", "key:" + maskKey(key) + ", error:" + e.getMessage());
             return fallbackAllow;
@@ -0,0 +1,154 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.config.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps replica reads from returning stale answers.
+ *
+ * - Lag: the replica's lag is polled; above datasource.replica.max-lag-ms (or when the
+ *   replica is unreachable or its replication has stopped) every read goes to the primary.
+ * - Read-your-writes: keys written on this node (tracking codes of just-cast ballots) are
+ *   read from the primary for datasource.replica.read-your-writes-ms, and a lookup that
+ *   misses on the replica is retried on the primary, which covers writes on other nodes.
+ *
+ * Without a replica (datasource.replica.enabled=false) everything here is a pass-through.
+ */
+@Service
+public class ReplicaStalenessGuard {
+
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private List<HikariDataSource> pools;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${datasource.replica.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${datasource.replica.read-your-writes-ms:10000}")
+    private long readYourWritesMs;
+
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private volatile Long lastLagMs;
+    private volatile String lastLagError;
+
+    public void recordWrite(String key) {
+        if (routing != null && key != null) {
+            recentWrites.put(key, System.currentTimeMillis() + readYourWritesMs);
+        }
+    }
+
+    /**
+     * ✅ Optional lookup that sees this node's recent writes and never reports a row the
+     * replica simply has not received yet as missing
+     */
+    public <T> Optional<T> lookup(String key, Supplier<Optional<T>> query) {
+        if (routing == null) {
+            return query.get();
+        }
+        Long until = recentWrites.get(key);
+        if (until != null && until > System.currentTimeMillis()) {
+            monitoringService.incrementCounter("replica_reads_pinned_primary");
+            return ReplicaRoutingDataSource.onPrimary(query);
+        }
+        Optional<T> result = query.get();
+        if (result.isEmpty() && ReplicaRoutingDataSource.currentScope() == ReplicaRoutingDataSource.Target.REPLICA) {
+            monitoringService.incrementCounter("replica_misses_retried_primary");
+            return ReplicaRoutingDataSource.onPrimary(query);
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:5000}")
+    public void checkReplica() {
+        if (routing == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        recentWrites.values().removeIf(until -> until <= now);
+
+        JdbcTemplate replica = new JdbcTemplate(routing.getReplica());
+        try {
+            Long lag = replicationLagMs(replica);
+            lastLagMs = lag;
+            lastLagError = lag == null ? "replication stopped" : null;
+            routing.setReplicaUsable(lag != null && lag <= maxLagMs);
+            monitoringService.setGauge("replica_lag_ms", lag != null ? lag : -1);
+        } catch (Exception e) {
+            lastLagMs = null;
+            lastLagError = e.getMessage();
+            routing.setReplicaUsable(false);
+            monitoringService.setGauge("replica_lag_ms", -1);
+        }
+        monitoringService.setGauge("replica_usable", routing.isReplicaUsable() ? 1 : 0);
+    }
+
+    // MySQL replica lag in ms (null while replication is stopped); 0 for a database that
+    // is not replicating, such as the local stand-in
+    private Long replicationLagMs(JdbcTemplate replica) {
+        // MySQL 8.0.22+ names, then the older ones
+        String[][] variants = {
+            {"SHOW REPLICA STATUS", "Seconds_Behind_Source"},
+            {"SHOW SLAVE STATUS", "Seconds_Behind_Master"}
+        };
+        for (String[] variant : variants) {
+            List<Map<String, Object>> status;
+            try {
+                status = replica.queryForList(variant[0]);
+            } catch (Exception e) {
+                continue;
+            }
+            if (status.isEmpty()) {
+                return 0L;
+            }
+            Object seconds = status.get(0).get(variant[1]);
+            return seconds == null ? null : ((Number) seconds).longValue() * 1000;
+        }
+        replica.queryForObject("SELECT 1", Integer.class);
+        return 0L;
+    }
+
+    public Map<String, Object> getPoolStatus() {
+        Map<String, Object> result = new HashMap<>();
+        List<Map<String, Object>> poolStats = new ArrayList<>();
+        for (HikariDataSource pool : pools) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("pool", pool.getPoolName());
+            stats.put("maximumPoolSize", pool.getMaximumPoolSize());
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            if (bean != null) {
+                stats.put("active", bean.getActiveConnections());
+                stats.put("idle", bean.getIdleConnections());
+                stats.put("total", bean.getTotalConnections());
+                stats.put("threadsAwaitingConnection", bean.getThreadsAwaitingConnection());
+            }
+            poolStats.add(stats);
+        }
+        result.put("pools", poolStats);
+        result.put("replicaEnabled", routing != null);
+        if (routing != null) {
+            result.put("routing", routing.getRoutingStats());
+            result.put("replicaLagMs", lastLagMs);
+            result.put("replicaLagError", lastLagError);
+            result.put("maxLagMs", maxLagMs);
+            result.put("readYourWritesMs", readYourWritesMs);
+            result.put("recentWrites", recentWrites.size());
+        }
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+}
@@ -0,0 +1,320 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.config.ReplicaRoutingDataSource;
+import com.evoting.evoting_backend.crypto.MerkleTree;
+import com.evoting.evoting_backend.model.BulletinBoardEntry;
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.ElectionState;
+import com.evoting.evoting_backend.model.TallyJob;
+import com.evoting.evoting_backend.model.TallyJobStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serialized response bodies of sealed elections. An election is sealed once it is
+ * CLOSED and its tally job has completed; from then on its results, candidates and
+ * bulletin board no longer change, so each body is built once and served with a
+ * strong ETag (derived from the board's final Merkle root) and an immutable
+ * Cache-Control so browsers and CDNs can absorb repeat traffic.
+ */
+@Service
+public class SealedResultsCache {
+
+    public static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // How long a "not sealed yet" answer is trusted before the election is checked again
+    private static final long RECHECK_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Autowired
+    private ElectionService electionService;
+
+    @Autowired
+    private TallyJobService tallyJobService;
+
+    @Autowired
+    private BulletinBoardService bulletinBoardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sealed.cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    @Value("${sealed.cache.max-elections:1000}")
+    private int maxElections;
+
+    public static class CachedBody {
+        private final byte[] body;
+        private final String etag;
+
+        public CachedBody(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public byte[] getBody() { return body; }
+        public String getEtag() { return etag; }
+    }
+
+    private static class SealedElection {
+        private final String merkleRoot;
+        private final Map<String, CachedBody> bodies = new ConcurrentHashMap<>();
+        // Guarded by the sealed map's lock, like every change to bodies
+        private long bytes;
+
+        private SealedElection(String merkleRoot) {
+            this.merkleRoot = merkleRoot;
+        }
+    }
+
+    // Least recently used elections are dropped, with their bodies, past maxElections
+    private final Map<Long, SealedElection> sealed = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SealedElection> eldest) {
+            if (size() > maxElections) {
+                cachedBytes.addAndGet(-eldest.getValue().bytes);
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<Long, Long> notSealedUntil = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * ✅ Body of one resource of a sealed election, built on first use; null when the
+     * election is not sealed (callers fall back to their uncached path)
+     */
+    public CachedBody getOrBuild(Long electionId, String resource, Supplier<Object> builder) {
+        // Cached for the life of the election, so never built from a lagging read replica
+        return ReplicaRoutingDataSource.onPrimary(() -> getOrBuildOnPrimary(electionId, resource, builder));
+    }
+
+    private CachedBody getOrBuildOnPrimary(Long electionId, String resource, Supplier<Object> builder) {
+        SealedElection election = seal(electionId);
+        if (election == null) {
+            return null;
+        }
+        CachedBody cached = election.bodies.get(resource);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        CachedBody built = build(election.merkleRoot, resource, builder);
+        synchronized (sealed) {
+            if (sealed.get(electionId) != election) {
+                // Evicted while building: serve the body without keeping it
+                return built;
+            }
+            CachedBody existing = election.bodies.get(resource);
+            if (existing != null) {
+                return existing;
+            }
+            // Over budget: still serve with an ETag, just rebuild next time
+            if (cachedBytes.get() + built.getBody().length <= maxBytes) {
+                election.bodies.put(resource, built);
+                election.bytes += built.getBody().length;
+                cachedBytes.addAndGet(built.getBody().length);
+            }
+        }
+        return built;
+    }
+
+    /**
+     * ✅ 304 when If-None-Match already names the body's ETag, otherwise 200 with the body
+     */
+    public ResponseEntity<byte[]> respond(CachedBody cached, String ifNoneMatch) {
+        if (matches(ifNoneMatch, cached.getEtag())) {
+            notModified.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(cached.getEtag())
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(cached.getEtag())
+            .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(cached.getBody());
+    }
+
+    public String getMerkleRoot(Long electionId) {
+        SealedElection election = seal(electionId);
+        return election != null ? election.merkleRoot : null;
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (sealed) {
+            stats.put("sealedElections", sealed.size());
+        }
+        stats.put("maxElections", maxElections);
+        stats.put("evictions", evictions.get());
+        stats.put("cachedBytes", cachedBytes.get());
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("notModified", notModified.get());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Results-night load test, in process: concurrent requests for one resource served by
+     * rebuilding the body each time (no cache), from the cache (200), and as conditional
+     * GETs that revalidate (304). Network and the servlet filter chain are not included.
+     */
+    public Map<String, Object> benchmarkResultsNight(Long electionId, String resource, Supplier<Object> builder,
+                                                     int requests, int concurrency) throws Exception {
+        CachedBody warm = getOrBuild(electionId, resource, builder);
+        if (warm == null) {
+            throw new IllegalStateException("Election " + electionId + " is not sealed (closed and tallied) yet");
+        }
+        String merkleRoot = getMerkleRoot(electionId);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("electionId", electionId);
+        result.put("resource", resource);
+        result.put("requests", requests);
+        result.put("concurrency", concurrency);
+        result.put("bodyBytes", warm.getBody().length);
+        result.put("etag", warm.getEtag());
+        result.put("uncachedRequestsPerSecond",
+            loadTest(requests, concurrency, () -> respond(build(merkleRoot, resource, builder), null)));
+        result.put("cachedRequestsPerSecond",
+            loadTest(requests, concurrency, () -> respond(getOrBuild(electionId, resource, builder), null)));
+        result.put("conditionalRequestsPerSecond",
+            loadTest(requests, concurrency, () -> respond(getOrBuild(electionId, resource, builder), warm.getEtag())));
+        return result;
+    }
+
+    private double loadTest(int requests, int concurrency, Runnable request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            // Warm-up pass so JIT and connection pools are settled before timing
+            runRequests(executor, Math.min(requests, 100), concurrency, request);
+            long start = System.nanoTime();
+            runRequests(executor, requests, concurrency, request);
+            long elapsed = System.nanoTime() - start;
+            return elapsed == 0 ? 0.0 : requests / (elapsed / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runRequests(ExecutorService executor, int requests, int concurrency, Runnable request) throws Exception {
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            int share = requests / concurrency + (w < requests % concurrency ? 1 : 0);
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < share; i++) {
+                    request.run();
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    private SealedElection seal(Long electionId) {
+        SealedElection election;
+        synchronized (sealed) {
+            election = sealed.get(electionId);
+        }
+        if (election != null) {
+            return election;
+        }
+        Long recheckAt = notSealedUntil.get(electionId);
+        if (recheckAt != null && System.nanoTime() < recheckAt) {
+            return null;
+        }
+
+        Election current;
+        try {
+            current = electionService.getElectionById(electionId);
+        } catch (RuntimeException e) {
+            // Unknown election: let the caller's own path produce its usual answer
+            return null;
+        }
+        Optional<TallyJob> job = tallyJobService.getJob(electionId);
+        if (current.getState() != ElectionState.CLOSED || job.isEmpty() ||
+            job.get().getStatus() != TallyJobStatus.COMPLETED) {
+            notSealedUntil.put(electionId, System.nanoTime() + RECHECK_NANOS);
+            return null;
+        }
+
+        List<String> entryHashes = new ArrayList<>();
+        for (BulletinBoardEntry entry : bulletinBoardService.getElectionEntries(electionId)) {
+            entryHashes.add(entry.getEntryHash());
+        }
+        String merkleRoot = MerkleTree.calculateMerkleRoot(entryHashes);
+        notSealedUntil.remove(electionId);
+        synchronized (sealed) {
+            return sealed.computeIfAbsent(electionId, id -> new SealedElection(merkleRoot));
+        }
+    }
+
+    private CachedBody build(String merkleRoot, String resource, Supplier<Object> builder) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(builder.get());
+            return new CachedBody(body, etag(merkleRoot, resource, body));
+        } catch (Exception e) {
+            throw new RuntimeException("Serializing sealed response failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Strong validator: final Merkle root, resource name and the exact body bytes
+    private String etag(String merkleRoot, String resource, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(merkleRoot.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(resource.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(body);
+            return "\"" + merkleRoot.substring(0, 16) + "-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (Exception e) {
+            throw new RuntimeException("Hash computation failed", e);
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
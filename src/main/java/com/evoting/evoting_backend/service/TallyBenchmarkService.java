@@ -0,0 +1,207 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.CiphertextCodec;
+import com.evoting.evoting_backend.crypto.PackedBallotCodec;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import com.evoting.evoting_backend.exception.ElectionException;
+import com.evoting.evoting_backend.model.Vote;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Tally benchmarks. They only exist under the benchmark profile, which runs against
+ * the embedded database, so production nodes never expose them.
+ */
+@Service
+@Profile("benchmark")
+public class TallyBenchmarkService {
+
+    // Plaintext tally benchmarks seed this copy of the vote table, never the vote table itself
+    private static final String SCRATCH_TABLE = "vote_tally_benchmark";
+    private static final long BENCHMARK_ELECTION_ID = 1L;
+
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Above this many votes the row-loading baseline is skipped instead of exhausting the heap
+    @Value("${tally.benchmark.entity-path-max-votes:1000000}")
+    private int benchmarkEntityPathMaxVotes;
+
+    /**
+     * Compares the per-candidate tally (one multiply chain and one decryption per candidate)
+     * with the packed tally (one chain and one decryption in total) on synthetic ballots
+     */
+    public List<Map<String, Object>> benchmarkPackedTally(List<Integer> candidateCounts, int ballots) {
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        Random random = new Random(42);
+        int slotBits = PackedBallotCodec.slotBits(ballots);
+        List<Map<String, Object>> results = new ArrayList<>();
+        
+        for (int candidates : candidateCounts) {
+            if (!PackedBallotCodec.fits(candidates, slotBits, paillierUtil.getN())) {
+                throw new ElectionException("Packed ballots for " + candidates + " candidates and " +
+                    ballots + " voters exceed the plaintext space");
+            }
+            
+            int[] choices = new int[ballots];
+            long[] expected = new long[candidates];
+            BigInteger[] perCandidateBallots = new BigInteger[ballots];
+            BigInteger[] packedBallots = new BigInteger[ballots];
+            for (int i = 0; i < ballots; i++) {
+                choices[i] = random.nextInt(candidates);
+                expected[choices[i]]++;
+                perCandidateBallots[i] = paillierUtil.encrypt(BigInteger.ONE);
+                packedBallots[i] = paillierUtil.encrypt(PackedBallotCodec.encode(choices[i], slotBits));
+            }
+            
+            long start = System.nanoTime();
+            BigInteger[] chains = new BigInteger[candidates];
+            Arrays.fill(chains, BigInteger.ONE);
+            for (int i = 0; i < ballots; i++) {
+                chains[choices[i]] = paillierUtil.add(chains[choices[i]], perCandidateBallots[i]);
+            }
+            long[] perCandidateCounts = new long[candidates];
+            for (int c = 0; c < candidates; c++) {
+                perCandidateCounts[c] = paillierUtil.decrypt(chains[c]).longValue();
+            }
+            long perCandidateNanos = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            BigInteger aggregate = BigInteger.ONE;
+            for (BigInteger ballot : packedBallots) {
+                aggregate = paillierUtil.add(aggregate, ballot);
+            }
+            long[] packedCounts = PackedBallotCodec.unpack(paillierUtil.decrypt(aggregate), candidates, slotBits, ballots);
+            long packedNanos = System.nanoTime() - start;
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("candidates", candidates);
+            result.put("ballots", ballots);
+            result.put("slotBits", slotBits);
+            result.put("plaintextBitsUsed", PackedBallotCodec.requiredPlaintextBits(candidates, slotBits));
+            result.put("perCandidateMs", perCandidateNanos / 1_000_000.0);
+            result.put("perCandidateDecryptions", candidates);
+            result.put("packedMs", packedNanos / 1_000_000.0);
+            result.put("packedDecryptions", 1);
+            result.put("speedup", packedNanos == 0 ? 0.0 : (double) perCandidateNanos / packedNanos);
+            result.put("resultsMatch", Arrays.equals(expected, perCandidateCounts) &&
+                                       Arrays.equals(expected, packedCounts));
+            results.add(result);
+        }
+        return results;
+    }
+    
+    /**
+     * Benchmark the GROUP BY tally against loading every vote row into a Vote and counting
+     * in a HashMap. Rows go into a scratch table with the vote table's columns and tally
+     * index, created for the run and dropped afterwards.
+     */
+    public List<Map<String, Object>> benchmarkPlaintextTally(List<Integer> voteCounts, int candidateCount) {
+        byte[] ciphertext = CiphertextCodec.encode(paillierKeyService.getPaillierUtil().encrypt(BigInteger.ONE));
+        
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + SCRATCH_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + SCRATCH_TABLE + " (id bigint not null, candidate_id bigint, " +
+            "election_id bigint, timestamp timestamp(6), ciphertext varbinary(1024), tracking_code varchar(255), " +
+            "primary key (id))");
+        jdbcTemplate.execute("CREATE INDEX idx_" + SCRATCH_TABLE + "_candidate ON " + SCRATCH_TABLE +
+            " (election_id, candidate_id)");
+        
+        List<Map<String, Object>> results = new ArrayList<>();
+        try {
+            for (int votes : voteCounts) {
+                jdbcTemplate.execute("TRUNCATE TABLE " + SCRATCH_TABLE);
+                
+                long start = System.nanoTime();
+                long[] expected = seedBenchmarkVotes(votes, candidateCount, ciphertext);
+                long seedNanos = System.nanoTime() - start;
+                
+                Map<String, Object> result = new HashMap<>();
+                result.put("votes", votes);
+                result.put("candidates", candidateCount);
+                result.put("seedMs", seedNanos / 1_000_000.0);
+                
+                boolean match = true;
+                long entityNanos = 0;
+                boolean entityPathRun = votes <= benchmarkEntityPathMaxVotes;
+                if (entityPathRun) {
+                    start = System.nanoTime();
+                    Map<Long, Integer> candidateVotes = new HashMap<>();
+                    for (Vote vote : loadBenchmarkVotes()) {
+                        candidateVotes.merge(vote.getCandidateId(), 1, Integer::sum);
+                    }
+                    entityNanos = System.nanoTime() - start;
+                    for (int c = 0; c < candidateCount; c++) {
+                        match &= candidateVotes.getOrDefault((long) (c + 1), 0) == expected[c];
+                    }
+                    result.put("entityPathMs", entityNanos / 1_000_000.0);
+                } else {
+                    result.put("entityPathMs", "skipped (> " + benchmarkEntityPathMaxVotes + " votes)");
+                }
+                
+                start = System.nanoTime();
+                long[] counts = new long[candidateCount];
+                jdbcTemplate.query("SELECT candidate_id, COUNT(*) FROM " + SCRATCH_TABLE +
+                    " WHERE election_id = ? GROUP BY candidate_id",
+                    rs -> { counts[(int) rs.getLong(1) - 1] += rs.getLong(2); }, BENCHMARK_ELECTION_ID);
+                long aggregateNanos = System.nanoTime() - start;
+                match &= Arrays.equals(counts, expected);
+                
+                result.put("groupByMs", aggregateNanos / 1_000_000.0);
+                if (entityPathRun) {
+                    result.put("speedup", aggregateNanos == 0 ? 0.0 : (double) entityNanos / aggregateNanos);
+                }
+                result.put("resultsMatch", match);
+                results.add(result);
+            }
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + SCRATCH_TABLE);
+        }
+        return results;
+    }
+    
+    // Every column the Vote entity maps from the seeded rows, as a findByElectionId load would
+    private List<Vote> loadBenchmarkVotes() {
+        return jdbcTemplate.query("SELECT id, ciphertext, election_id, candidate_id, tracking_code, timestamp FROM " +
+            SCRATCH_TABLE + " WHERE election_id = ?", (rs, row) -> {
+                Vote vote = new Vote();
+                vote.setId(rs.getLong("id"));
+                vote.setCiphertext(CiphertextCodec.decode(rs.getBytes("ciphertext")));
+                vote.setElectionId(rs.getLong("election_id"));
+                vote.setCandidateId(rs.getLong("candidate_id"));
+                vote.setTrackingCode(rs.getString("tracking_code"));
+                vote.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+                return vote;
+            }, BENCHMARK_ELECTION_ID);
+    }
+    
+    private long[] seedBenchmarkVotes(int votes, int candidateCount, byte[] ciphertext) {
+        final int batchSize = 10_000;
+        Random random = new Random(42);
+        long[] expected = new long[candidateCount];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < votes; i++) {
+            int choice = random.nextInt(candidateCount);
+            expected[choice]++;
+            batch.add(new Object[] { i + 1L, ciphertext, BENCHMARK_ELECTION_ID, (long) (choice + 1), "BENCH_" + i, now });
+            if (batch.size() == batchSize || i == votes - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO " + SCRATCH_TABLE + " (id, ciphertext, election_id, candidate_id, " +
+                    "tracking_code, timestamp) VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return expected;
+    }
+}
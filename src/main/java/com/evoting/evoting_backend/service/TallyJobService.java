@@ -0,0 +1,453 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.exception.ElectionException;
+import com.evoting.evoting_backend.model.Candidate;
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.ElectionState;
+import com.evoting.evoting_backend.model.TallyJob;
+import com.evoting.evoting_backend.model.TallyJobStatus;
+import com.evoting.evoting_backend.model.Vote;
+import com.evoting.evoting_backend.repository.TallyJobRepository;
+import com.evoting.evoting_backend.repository.VoteRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs each closed election's tally once, in the background. Votes are counted in
+ * id-ordered chunks and the running counts are checkpointed after every chunk, so a
+ * job interrupted by a restart resumes where it stopped. Each chunk's ballots go through
+ * the proof pre-pass as they are counted, and the rejections are checkpointed with the
+ * counts. Packed-ballot elections carry no candidate id per vote; their chunks are
+ * multiplied into one checkpointed ciphertext that is decrypted once at the end. The
+ * result is signed with an HSM key and stored; tally endpoints serve it from there.
+ *
+ * Jobs are versioned: a node runs a job only if it is unchanged since the node queued
+ * it, and a node whose job was taken over stops at its next checkpoint.
+ */
+@Service
+public class TallyJobService {
+
+    public static final String SIGNING_KEY_ID = "tally_result_key";
+
+    // Checkpoint key for votes that carry no candidate id
+    private static final long NO_CANDIDATE = 0L;
+
+    /**
+     * Stored in TallyJob.partialCounts after every chunk: per-candidate counts net of
+     * rejected ballots, or for packed elections the aggregate ciphertext and the number
+     * of ballots in it
+     */
+    public static class Checkpoint {
+        private Map<Long, Long> counts = new HashMap<>();
+        private long rejected;
+        private String packedTally = BigInteger.ONE.toString();
+        private long packedBallots;
+
+        public Map<Long, Long> getCounts() { return counts; }
+        public void setCounts(Map<Long, Long> counts) { this.counts = counts; }
+
+        public long getRejected() { return rejected; }
+        public void setRejected(long rejected) { this.rejected = rejected; }
+
+        public String getPackedTally() { return packedTally; }
+        public void setPackedTally(String packedTally) { this.packedTally = packedTally; }
+
+        public long getPackedBallots() { return packedBallots; }
+        public void setPackedBallots(long packedBallots) { this.packedBallots = packedBallots; }
+    }
+
+    @Autowired
+    private TallyJobRepository tallyJobRepository;
+
+    @Autowired
+    private ElectionService electionService;
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private TallyService tallyService;
+
+    @Autowired
+    private HSMService hsmService;
+
+    @Autowired
+    private ImmutableAuditService auditService;
+
+    @Value("${tally.job.chunk-size:50000}")
+    private int chunkSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Elections with a job on the executor right now, so a job never runs twice at once
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    // Per-run progress baseline for the ETA: {startNanos, processedVotesAtStart}
+    private final Map<Long, long[]> runProgress = new ConcurrentHashMap<>();
+    private ExecutorService tallyExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        this.tallyExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tally-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tallyExecutor.shutdownNow();
+    }
+
+    /**
+     * ✅ Pick up jobs that were queued or mid-count when the application stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<TallyJob> pending = tallyJobRepository.findByStatusIn(
+            List.of(TallyJobStatus.QUEUED, TallyJobStatus.RUNNING));
+        for (TallyJob job : pending) {
+            System.out.println("Resuming tally job for election " + job.getElectionId() +
+                " from vote id " + job.getLastVoteId());
+            schedule(job.getElectionId(), job.getVersion());
+        }
+    }
+
+    @EventListener
+    public void onElectionClosed(ElectionService.ElectionClosedEvent event) {
+        try {
+            submitTally(event.getElectionId());
+        } catch (Exception e) {
+            // Closing must still succeed; the tally can be queued again via /compute
+            System.err.println("❌ Could not queue tally for election " + event.getElectionId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Queue the tally of a closed election (idempotent; a failed job resumes from its checkpoint)
+     */
+    public synchronized TallyJob submitTally(Long electionId) {
+        Election election = electionService.getElectionById(electionId);
+        if (election.getState() != ElectionState.CLOSED) {
+            throw new ElectionException("Cannot tally votes for an election that is not CLOSED.");
+        }
+
+        TallyJob job = tallyJobRepository.findByElectionId(electionId).orElse(null);
+        if (job == null) {
+            job = tallyJobRepository.save(new TallyJob(electionId));
+            auditService.logEvent("TALLY_JOB_QUEUED", "TallyJobService",
+                "submitTally", "election:" + electionId);
+        } else if (job.getStatus() == TallyJobStatus.FAILED) {
+            job.setStatus(TallyJobStatus.QUEUED);
+            job.setError(null);
+            job = tallyJobRepository.save(job);
+        }
+
+        if (job.getStatus() != TallyJobStatus.COMPLETED) {
+            schedule(electionId, job.getVersion());
+        }
+        return job;
+    }
+
+    public Optional<TallyJob> getJob(Long electionId) {
+        return tallyJobRepository.findByElectionId(electionId);
+    }
+
+    /**
+     * ✅ Stored result of a completed job, or null while the tally is still running
+     */
+    public Map<String, Object> getStoredResult(TallyJob job) {
+        if (job.getStatus() != TallyJobStatus.COMPLETED) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(job.getResultJson(), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("Reading stored tally failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * ✅ Stored result with its signature, as /api/tally/{id}/detailed serves it
+     */
+    public Map<String, Object> getDetailedResult(Long electionId) {
+        TallyJob job = getJob(electionId)
+            .orElseThrow(() -> new IllegalStateException("No tally job for election " + electionId));
+        Map<String, Object> results = getStoredResult(job);
+        results.put("resultSignature", job.getResultSignature());
+        results.put("signingKeyId", job.getSigningKeyId());
+        results.put("completedAt", String.valueOf(job.getCompletedAt()));
+        return results;
+    }
+
+    /**
+     * ✅ Check the stored result against its signature and the public key recorded with it
+     */
+    public boolean verifyResultSignature(TallyJob job) {
+        if (job.getResultJson() == null || job.getResultSignature() == null || job.getSigningPublicKey() == null) {
+            return false;
+        }
+        try {
+            PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(
+                new X509EncodedKeySpec(Base64.getDecoder().decode(job.getSigningPublicKey())));
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(publicKey);
+            signature.update(job.getResultJson().getBytes(StandardCharsets.UTF_8));
+            return signature.verify(Base64.getDecoder().decode(job.getResultSignature()));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> getJobStatus(TallyJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("electionId", job.getElectionId());
+        status.put("status", job.getStatus().name());
+        status.put("totalVotes", job.getTotalVotes());
+        status.put("processedVotes", job.getProcessedVotes());
+        status.put("percentComplete", percentComplete(job));
+        status.put("etaSeconds", etaSeconds(job));
+        status.put("attempts", job.getAttempts());
+        status.put("createdAt", String.valueOf(job.getCreatedAt()));
+        status.put("startedAt", String.valueOf(job.getStartedAt()));
+        status.put("completedAt", String.valueOf(job.getCompletedAt()));
+        if (job.getError() != null) {
+            status.put("error", job.getError());
+        }
+        if (job.getStatus() == TallyJobStatus.COMPLETED) {
+            status.put("resultSignature", job.getResultSignature());
+            status.put("signingKeyId", job.getSigningKeyId());
+            status.put("signingPublicKey", job.getSigningPublicKey());
+        }
+        return status;
+    }
+
+    private void schedule(Long electionId, long expectedVersion) {
+        if (scheduled.add(electionId)) {
+            tallyExecutor.submit(() -> {
+                try {
+                    runJob(electionId, expectedVersion);
+                } finally {
+                    scheduled.remove(electionId);
+                    runProgress.remove(electionId);
+                }
+            });
+        }
+    }
+
+    private void runJob(Long electionId, long expectedVersion) {
+        TallyJob job = tallyJobRepository.findByElectionId(electionId).orElse(null);
+        if (job == null || job.getStatus() == TallyJobStatus.COMPLETED) {
+            return;
+        }
+        if (job.getVersion() != expectedVersion) {
+            // Another node claimed or advanced the job since it was queued here
+            System.out.println("Tally job for election " + electionId + " is handled by another node");
+            return;
+        }
+
+        try {
+            // The claim: fails with an optimistic lock error if another node saved first
+            job.setStatus(TallyJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            Checkpoint checkpoint = readCheckpoint(job);
+            job.setTotalVotes(voteService.countVotesByElection(electionId));
+            job = tallyJobRepository.save(job);
+            runProgress.put(electionId, new long[] { System.nanoTime(), job.getProcessedVotes() });
+
+            Election election = electionService.getElectionById(electionId);
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> ids = voteService.getVoteIdsAfter(electionId, job.getLastVoteId(), chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Long upToId = ids.get(ids.size() - 1);
+                if (election.isPackedBallot()) {
+                    addPackedChunk(election, checkpoint, job.getLastVoteId(), upToId);
+                } else {
+                    addCountedChunk(election, checkpoint, job.getLastVoteId(), upToId);
+                }
+
+                job.setLastVoteId(upToId);
+                job.setProcessedVotes(job.getProcessedVotes() + ids.size());
+                job.setPartialCounts(objectMapper.writeValueAsString(checkpoint));
+                job = tallyJobRepository.save(job);
+
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down: stay RUNNING so the next start resumes from the checkpoint
+                return;
+            }
+
+            completeJob(job, election, checkpoint);
+
+        } catch (ObjectOptimisticLockingFailureException e) {
+            System.out.println("Tally job for election " + electionId + " was taken over by another node");
+        } catch (Exception e) {
+            job.setStatus(TallyJobStatus.FAILED);
+            job.setError(e.getMessage());
+            tallyJobRepository.save(job);
+            System.err.println("❌ Tally job failed for election " + electionId + ": " + e.getMessage());
+            auditService.logEvent("TALLY_JOB_FAILED", "TallyJobService",
+                "runJob", "election:" + electionId + ", processed:" + job.getProcessedVotes());
+        }
+    }
+
+    /**
+     * Counts come from the database aggregate; only ballots carrying a proof can fail the
+     * pre-pass, so only those are loaded and verified, and each rejection is taken back
+     * off its candidate's count
+     */
+    private void addCountedChunk(Election election, Checkpoint checkpoint, Long afterId, Long upToId) {
+        Map<Long, Long> counts = checkpoint.getCounts();
+        for (VoteRepository.CandidateVoteCount row :
+                voteService.getVoteCountsByCandidate(election.getId(), afterId, upToId)) {
+            counts.merge(candidateKey(row.getCandidateId()), row.getVotes(), Long::sum);
+        }
+
+        List<Vote> proven = voteService.getVotesInRange(election.getId(), afterId, upToId, true);
+        for (Vote vote : tallyService.rejectedBallots(election, proven)) {
+            counts.merge(candidateKey(vote.getCandidateId()), -1L, Long::sum);
+            checkpoint.setRejected(checkpoint.getRejected() + 1);
+        }
+    }
+
+    // Packed ballots all need the pre-pass (unproven ones are dropped), then join the aggregate
+    private void addPackedChunk(Election election, Checkpoint checkpoint, Long afterId, Long upToId) {
+        List<Vote> votes = voteService.getVotesInRange(election.getId(), afterId, upToId, false);
+        Set<Long> rejectedIds = new HashSet<>();
+        for (Vote vote : tallyService.rejectedBallots(election, votes)) {
+            rejectedIds.add(vote.getId());
+        }
+        List<Vote> accepted = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (!rejectedIds.contains(vote.getId())) {
+                accepted.add(vote);
+            }
+        }
+
+        List<BigInteger> ballots = tallyService.packedCiphertexts(accepted);
+        checkpoint.setPackedTally(tallyService.aggregatePackedBallots(election,
+            new BigInteger(checkpoint.getPackedTally()), ballots).toString());
+        checkpoint.setPackedBallots(checkpoint.getPackedBallots() + ballots.size());
+        checkpoint.setRejected(checkpoint.getRejected() + rejectedIds.size());
+    }
+
+    private void completeJob(TallyJob job, Election election, Checkpoint checkpoint) throws Exception {
+        List<Candidate> candidates = candidateService.getCandidatesByElection(job.getElectionId());
+
+        long[] candidateCounts;
+        if (election.isPackedBallot()) {
+            candidateCounts = tallyService.countPackedBallots(election, candidates,
+                new BigInteger(checkpoint.getPackedTally()), checkpoint.getPackedBallots());
+        } else {
+            Map<Long, Integer> positions = new HashMap<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                positions.put(candidates.get(i).getId(), i);
+            }
+            candidateCounts = new long[candidates.size() + 1];
+            for (Map.Entry<Long, Long> entry : checkpoint.getCounts().entrySet()) {
+                Integer position = positions.get(entry.getKey());
+                candidateCounts[position != null ? position : candidates.size()] += entry.getValue();
+            }
+        }
+
+        Map<String, Object> result = tallyService.buildWinnerResults(election, candidates, candidateCounts);
+        result.put("rejectedBallots", checkpoint.getRejected());
+        String resultJson = objectMapper.writeValueAsString(result);
+        byte[] signature = hsmService.signWithHSM(SIGNING_KEY_ID, resultJson.getBytes(StandardCharsets.UTF_8));
+
+        job.setResultJson(resultJson);
+        job.setResultSignature(Base64.getEncoder().encodeToString(signature));
+        job.setSigningKeyId(SIGNING_KEY_ID);
+        job.setSigningPublicKey(hsmService.getPublicKey(SIGNING_KEY_ID));
+        job.setStatus(TallyJobStatus.COMPLETED);
+        job.setCompletedAt(LocalDateTime.now());
+        tallyJobRepository.save(job);
+
+        System.out.println("✅ Tally job completed for election " + job.getElectionId() +
+            ": " + job.getProcessedVotes() + " votes, winner " + result.get("winner"));
+        auditService.logEvent("TALLY_JOB_COMPLETED", "TallyJobService",
+            "completeJob", "election:" + job.getElectionId() +
+            ", total_votes:" + job.getProcessedVotes() +
+            ", rejected:" + checkpoint.getRejected() +
+            ", attempts:" + job.getAttempts() +
+            ", winner:" + result.get("winner"));
+    }
+
+    private Checkpoint readCheckpoint(TallyJob job) throws Exception {
+        if (job.getPartialCounts() == null || job.getPartialCounts().isEmpty()) {
+            return new Checkpoint();
+        }
+        JsonNode stored = objectMapper.readTree(job.getPartialCounts());
+        if (!stored.has("counts")) {
+            // Bare counts map from before rejections were checkpointed: count again from the start
+            job.setLastVoteId(0L);
+            job.setProcessedVotes(0);
+            return new Checkpoint();
+        }
+        return objectMapper.treeToValue(stored, Checkpoint.class);
+    }
+
+    private static Long candidateKey(Long candidateId) {
+        return candidateId != null ? candidateId : NO_CANDIDATE;
+    }
+
+    private double percentComplete(TallyJob job) {
+        if (job.getStatus() == TallyJobStatus.COMPLETED) {
+            return 100.0;
+        }
+        if (job.getTotalVotes() == 0) {
+            return 0.0;
+        }
+        return Math.min(100.0, job.getProcessedVotes() * 100.0 / job.getTotalVotes());
+    }
+
+    private Long etaSeconds(TallyJob job) {
+        if (job.getStatus() == TallyJobStatus.COMPLETED) {
+            return 0L;
+        }
+        long[] progress = runProgress.get(job.getElectionId());
+        if (progress == null) {
+            return null;
+        }
+        long done = job.getProcessedVotes() - progress[1];
+        long elapsedNanos = System.nanoTime() - progress[0];
+        if (done <= 0 || elapsedNanos <= 0) {
+            return null;
+        }
+        long remaining = Math.max(0, job.getTotalVotes() - job.getProcessedVotes());
+        return (long) Math.ceil(remaining * (elapsedNanos / 1e9) / done);
+    }
+}
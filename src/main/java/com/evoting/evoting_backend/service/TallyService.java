@@ -1,20 +1,33 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.crypto.PackedBallotCodec;
+import com.evoting.evoting_backend.crypto.PaillierMembershipProof;
 import com.evoting.evoting_backend.crypto.PaillierUtil;
 import com.evoting.evoting_backend.exception.ElectionException;
+import com.evoting.evoting_backend.model.BulletinBoardEntry;
 import com.evoting.evoting_backend.model.Candidate;
 import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.model.ElectionState;
 import com.evoting.evoting_backend.model.Vote;
+import com.evoting.evoting_backend.repository.VoteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigInteger;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
 public class TallyService {
 
+    // Key of the single aggregate ciphertext in the encrypted tally of a packed-ballot election
+    static final String PACKED_TALLY_KEY = "__packed__";
+    
+    // Proof verdicts as stored on bulletin board entries
+    static final String PROOF_VALID = "VALID";
+    static final String PROOF_INVALID = "INVALID";
+    
+
     @Autowired 
     private PaillierKeyService paillierKeyService;
     
@@ -32,6 +45,15 @@ public class TallyService {
     
     @Autowired 
     private ImmutableAuditService auditService;
+    
+    @Autowired
+    private ZeroKnowledgeProofService zkpService;
+    
+    @Autowired
+    private ProofVerificationCache verificationCache;
+    
+    @Autowired
+    private BulletinBoardService bulletinBoardService;
 
     public Map<String, Object> tallyVotesWithWinner(Long electionId) {
         System.out.println("=== TALLY WITH WINNER STARTED ===");
@@ -43,40 +65,43 @@ public class TallyService {
         }
         
         List<Candidate> candidates = candidateService.getCandidatesByElection(electionId);
-        List<Vote> votes = voteService.getVotesByElection(electionId);
+        long[] counts = countVotesByCandidate(electionId, candidates);
+        long totalVotes = Arrays.stream(counts).sum();
         
         System.out.println("Election: " + election.getTitle());
         System.out.println("Candidates: " + candidates.size());
-        System.out.println("Total Votes: " + votes.size());
-        
-        // Simple count - just count votes per candidate
-        Map<Long, Integer> candidateVotes = new HashMap<>();
-        for (Candidate candidate : candidates) {
-            candidateVotes.put(candidate.getId(), 0);
-            System.out.println("Candidate: " + candidate.getName() + " (ID: " + candidate.getId() + ")");
+        System.out.println("Total Votes: " + totalVotes);
+        if (counts[candidates.size()] > 0) {
+            System.out.println("✗ Votes for unknown candidates: " + counts[candidates.size()]);
         }
         
-        for (Vote vote : votes) {
-            Long candidateId = vote.getCandidateId();
-            if (candidateVotes.containsKey(candidateId)) {
-                candidateVotes.put(candidateId, candidateVotes.get(candidateId) + 1);
-                System.out.println("✓ Vote counted for candidate ID: " + candidateId);
-            } else {
-                System.out.println("✗ Vote for unknown candidate ID: " + candidateId);
-            }
-        }
+        Map<String, Object> finalResults = buildWinnerResults(election, candidates, counts);
         
-        Map<String, Integer> candidateResults = new HashMap<>();
-        for (Candidate candidate : candidates) {
-            int voteCount = candidateVotes.get(candidate.getId());
-            candidateResults.put(candidate.getName(), voteCount);
-            System.out.println("Result - " + candidate.getName() + ": " + voteCount + " votes");
-        }
+        System.out.println("=== TALLY WITH WINNER COMPLETED ===");
+        System.out.println("Final Results: " + finalResults);
+        
+        auditService.logEvent("ELECTION_TALLIED_WITH_WINNER", "TallyService",
+            "tallyVotesWithWinner", "election:" + electionId + 
+            ", candidates:" + candidates.size() + 
+            ", total_votes:" + totalVotes +
+            ", winner:" + finalResults.get("winner"));
+
+        return finalResults;
+    }
+    
+    /**
+     * ✅ Results with winner(s) from per-candidate counts (candidate positions, plus
+     * the trailing unknown-candidate slot)
+     */
+    public Map<String, Object> buildWinnerResults(Election election, List<Candidate> candidates, long[] counts) {
+        long totalVotes = Arrays.stream(counts).sum();
+        Map<String, Integer> candidateResults = toResultMap(candidates, counts);
+        System.out.println("Results: " + candidateResults);
         
         // Calculate winner
         Map<String, Object> finalResults = new HashMap<>();
         finalResults.put("electionTitle", election.getTitle());
-        finalResults.put("totalVotes", votes.size());
+        finalResults.put("totalVotes", Math.toIntExact(totalVotes));
         finalResults.put("candidateResults", candidateResults);
         
         // Find winner(s) - handle ties
@@ -91,16 +116,6 @@ public class TallyService {
             finalResults.put("winner", "Tie between " + String.join(", ", winners));
             System.out.println("🤝 Tie between: " + String.join(", ", winners));
         }
-        
-        System.out.println("=== TALLY WITH WINNER COMPLETED ===");
-        System.out.println("Final Results: " + finalResults);
-        
-        auditService.logEvent("ELECTION_TALLIED_WITH_WINNER", "TallyService",
-            "tallyVotesWithWinner", "election:" + electionId + 
-            ", candidates:" + candidateResults.size() + 
-            ", total_votes:" + votes.size() +
-            ", winner:" + finalResults.get("winner"));
-
         return finalResults;
     }
 
@@ -129,14 +144,31 @@ public class TallyService {
             throw new ElectionException("Cannot tally votes for an election that is not CLOSED.");
         }
         
-        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil(electionId);
         
         List<Candidate> candidates = candidateService.getCandidatesByElection(electionId);
-        List<Vote> votes = voteService.getVotesByElection(electionId);
+        List<Vote> votes = verifiedBallots(election, paillierUtil, voteService.getVotesByElection(electionId));
         
         System.out.println("Total candidates: " + candidates.size());
         System.out.println("Total votes: " + votes.size());
         
+        if (election.isPackedBallot()) {
+            // One multiplication per ballot and a single decryption for all candidates
+            List<BigInteger> packedBallots = packedCiphertexts(votes);
+            BigInteger packedCount = paillierUtil.decrypt(aggregatePackedBallots(packedBallots, paillierUtil));
+            Map<String, Integer> packedResults = unpackTally(election, candidates, packedCount, packedBallots.size());
+            
+            System.out.println("=== TALLY DEBUG END ===");
+            
+            auditService.logEvent("ELECTION_TALLIED", "TallyService",
+                "tallyVotes", "election:" + electionId + 
+                ", candidates:" + packedResults.size() + 
+                ", total_votes:" + votes.size() +
+                ", encoding:PACKED");
+            
+            return packedResults;
+        }
+        
         Map<Long, BigInteger> encryptedTally = new HashMap<>();
         for (Candidate candidate : candidates) {
             encryptedTally.put(candidate.getId(), 
@@ -145,11 +177,11 @@ public class TallyService {
         }
 
         for (Vote vote : votes) {
-            if (vote.getEncryptedVote() == null || vote.getEncryptedVote().isEmpty()) {
+            if (!vote.hasCiphertext()) {
                 continue;
             }
             try {
-                BigInteger encryptedVoteValue = new BigInteger(vote.getEncryptedVote());
+                BigInteger encryptedVoteValue = vote.getCiphertext();
                 Long candidateId = vote.getCandidateId();
                 
                 if (encryptedTally.containsKey(candidateId)) {
@@ -192,34 +224,42 @@ public class TallyService {
         }
         
         List<Candidate> candidates = candidateService.getCandidatesByElection(electionId);
-        List<Vote> votes = voteService.getVotesByElection(electionId);
-        
-        // Simple count - just count votes per candidate
-        Map<Long, Integer> candidateVotes = new HashMap<>();
-        for (Candidate candidate : candidates) {
-            candidateVotes.put(candidate.getId(), 0);
-        }
-        
-        for (Vote vote : votes) {
-            Long candidateId = vote.getCandidateId();
-            if (candidateVotes.containsKey(candidateId)) {
-                candidateVotes.put(candidateId, candidateVotes.get(candidateId) + 1);
-            }
-        }
-        
-        Map<String, Integer> finalResults = new HashMap<>();
-        for (Candidate candidate : candidates) {
-            int voteCount = candidateVotes.get(candidate.getId());
-            finalResults.put(candidate.getName(), voteCount);
-        }
+        long[] counts = countVotesByCandidate(electionId, candidates);
+        Map<String, Integer> finalResults = toResultMap(candidates, counts);
         
         auditService.logEvent("ELECTION_TALLIED_SIMPLE", "TallyService",
             "simpleTallyVotes", "election:" + electionId + 
             ", candidates:" + finalResults.size() + 
-            ", total_votes:" + votes.size());
+            ", total_votes:" + Arrays.stream(counts).sum());
 
         return finalResults;
     }
+    
+    /**
+     * Plaintext counts from one GROUP BY query, indexed by candidate position. The
+     * extra last slot collects votes whose candidate is not part of the election.
+     */
+    private long[] countVotesByCandidate(Long electionId, List<Candidate> candidates) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            positions.put(candidates.get(i).getId(), i);
+        }
+        
+        long[] counts = new long[candidates.size() + 1];
+        for (VoteRepository.CandidateVoteCount row : voteService.getVoteCountsByCandidate(electionId)) {
+            Integer position = positions.get(row.getCandidateId());
+            counts[position != null ? position : candidates.size()] += row.getVotes();
+        }
+        return counts;
+    }
+    
+    private Map<String, Integer> toResultMap(List<Candidate> candidates, long[] counts) {
+        Map<String, Integer> results = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            results.put(candidates.get(i).getName(), Math.toIntExact(counts[i]));
+        }
+        return results;
+    }
 
     public Map<String, Object> tallyVotesWithThreshold(Long electionId, Map<String, BigInteger> trusteeShares) {
         Election election = electionService.getElectionById(electionId);
@@ -227,20 +267,16 @@ public class TallyService {
         if (election.getState() != ElectionState.CLOSED) {
             throw new ElectionException("Cannot tally votes for an election that is not CLOSED.");
         }
+        requireThresholdKeyFor(electionId);
         
         Map<String, BigInteger> encryptedTally = computeEncryptedTally(electionId);
         
-        Map<String, BigInteger> decryptedResults = new HashMap<>();
-        for (Map.Entry<String, BigInteger> entry : encryptedTally.entrySet()) {
-            BigInteger decryptedCount = thresholdPaillierService.thresholdDecrypt(
-                entry.getValue(), trusteeShares);
-            decryptedResults.put(entry.getKey(), decryptedCount);
-        }
+        // Verify shares and interpolate once, then decrypt all candidates concurrently
+        EnhancedThresholdPaillierService.ThresholdDecryptionSession session =
+            thresholdPaillierService.openDecryptionSession(trusteeShares);
+        Map<String, BigInteger> decryptedResults = session.decryptAll(encryptedTally);
         
-        Map<String, Integer> finalResults = new HashMap<>();
-        for (Map.Entry<String, BigInteger> entry : decryptedResults.entrySet()) {
-            finalResults.put(entry.getKey(), entry.getValue().intValue());
-        }
+        Map<String, Integer> finalResults = toCandidateCounts(election, decryptedResults);
         
         auditService.logEvent("ELECTION_TALLIED_THRESHOLD", "TallyService",
             "tallyVotesWithThreshold", "election:" + electionId + 
@@ -257,13 +293,73 @@ public class TallyService {
         return result;
     }
     
+    /**
+     * Trustee side of a partial-decryption tally: the trustee's share is applied to every
+     * per-candidate encrypted tally of the election in one batch
+     */
+    public Map<String, BigInteger> computeTrusteePartials(Long electionId, String trusteeId, BigInteger share) {
+        Election election = electionService.getElectionById(electionId);
+        
+        if (election.getState() != ElectionState.CLOSED) {
+            throw new ElectionException("Cannot tally votes for an election that is not CLOSED.");
+        }
+        requireThresholdKeyFor(electionId);
+        
+        Map<String, BigInteger> encryptedTally = computeEncryptedTally(electionId);
+        return thresholdPaillierService.computePartialDecryptions(trusteeId, share, encryptedTally);
+    }
+    
+    public Map<String, Object> tallyVotesWithPartials(Long electionId, 
+                                                      Map<String, Map<String, BigInteger>> trusteePartials) {
+        Election election = electionService.getElectionById(electionId);
+        
+        if (election.getState() != ElectionState.CLOSED) {
+            throw new ElectionException("Cannot tally votes for an election that is not CLOSED.");
+        }
+        requireThresholdKeyFor(electionId);
+        
+        Map<String, BigInteger> decryptedResults = thresholdPaillierService.combinePartialDecryptions(trusteePartials);
+        
+        Map<String, Integer> finalResults = toCandidateCounts(election, decryptedResults);
+        
+        auditService.logEvent("ELECTION_TALLIED_PARTIAL_DECRYPTION", "TallyService",
+            "tallyVotesWithPartials", "election:" + electionId + 
+            ", trustees:" + trusteePartials.size() + 
+            ", candidates:" + finalResults.size());
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("electionId", electionId);
+        result.put("results", finalResults);
+        result.put("thresholdUsed", true);
+        result.put("partialDecryption", true);
+        result.put("trusteesCount", trusteePartials.size());
+        result.put("timestamp", java.time.LocalDateTime.now());
+        
+        return result;
+    }
+    
+    // Trustee shares only decrypt ballots encrypted under the modulus they were split from
+    private void requireThresholdKeyFor(Long electionId) {
+        BigInteger electionModulus = paillierKeyService.getPaillierUtil(electionId).getN();
+        if (!thresholdPaillierService.isKeyFor(electionModulus)) {
+            throw new ElectionException("Threshold keys do not match the key of election " + electionId +
+                "; run the key ceremony for this election before a threshold tally.");
+        }
+    }
+    
     private Map<String, BigInteger> computeEncryptedTally(Long electionId) {
-        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil(electionId);
         List<Candidate> candidates = candidateService.getCandidatesByElection(electionId);
-        List<Vote> votes = voteService.getVotesByElection(electionId);
+        Election election = electionService.getElectionById(electionId);
+        List<Vote> votes = verifiedBallots(election, paillierUtil, voteService.getVotesByElection(electionId));
         
         Map<String, BigInteger> encryptedTally = new HashMap<>();
         
+        if (election.isPackedBallot()) {
+            encryptedTally.put(PACKED_TALLY_KEY, aggregatePackedBallots(packedCiphertexts(votes), paillierUtil));
+            return encryptedTally;
+        }
+        
         for (Candidate candidate : candidates) {
             encryptedTally.put(candidate.getName(), 
                 paillierUtil.getG().modPow(BigInteger.ZERO, 
@@ -271,11 +367,11 @@ public class TallyService {
         }
 
         for (Vote vote : votes) {
-            if (vote.getEncryptedVote() == null || vote.getEncryptedVote().isEmpty()) {
+            if (!vote.hasCiphertext()) {
                 continue;
             }
             try {
-                BigInteger encryptedVoteValue = new BigInteger(vote.getEncryptedVote());
+                BigInteger encryptedVoteValue = vote.getCiphertext();
                 Candidate candidate = candidateService.getCandidateById(vote.getCandidateId());
                 
                 if (candidate != null && encryptedTally.containsKey(candidate.getName())) {
@@ -291,6 +387,259 @@ public class TallyService {
         return encryptedTally;
     }
     
+    /**
+     * ✅ Batch-verify the validity proofs of an election's ballots without tallying
+     */
+    public Map<String, Object> verifyBallotProofs(Long electionId) {
+        Election election = electionService.getElectionById(electionId);
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil(electionId);
+        List<Vote> votes = voteService.getVotesByElection(electionId);
+        
+        List<Vote> proven = new ArrayList<>();
+        ZeroKnowledgeProofService.BatchVerificationResult verification =
+            verifyProofs(election, paillierUtil, votes, proven);
+        
+        List<String> rejectedTrackingCodes = new ArrayList<>();
+        for (int index : verification.getInvalidIndexes()) {
+            rejectedTrackingCodes.add(proven.get(index).getTrackingCode());
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("electionId", electionId);
+        result.put("totalBallots", votes.size());
+        result.put("ballotsWithProof", proven.size());
+        result.put("validProofs", verification.getValidProofs());
+        result.put("rejectedTrackingCodes", rejectedTrackingCodes);
+        result.put("cachedVerdicts", verification.getCacheHits());
+        result.put("batchChecks", verification.getBatchChecks());
+        result.put("verificationMs", verification.getElapsedMs());
+        result.put("proofsPerSecond", verification.getProofsPerSecond());
+        return result;
+    }
+    
+    /**
+     * Tally pre-pass: ballots carrying a validity proof are batch-verified and dropped
+     * when the proof fails. Per-candidate ballots from clients that send no proof are
+     * kept; packed ballots without one are dropped.
+     */
+    private List<Vote> verifiedBallots(Election election, PaillierUtil paillierUtil, List<Vote> votes) {
+        Set<Vote> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        rejected.addAll(rejectedBallots(election, paillierUtil, votes));
+        if (rejected.isEmpty()) {
+            return votes;
+        }
+        List<Vote> accepted = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (!rejected.contains(vote)) {
+                accepted.add(vote);
+            }
+        }
+        return accepted;
+    }
+    
+    /**
+     * ✅ Ballots of one tally chunk that the pre-pass drops (see verifiedBallots)
+     */
+    public List<Vote> rejectedBallots(Election election, List<Vote> votes) {
+        return rejectedBallots(election, paillierKeyService.getPaillierUtil(election.getId()), votes);
+    }
+    
+    private List<Vote> rejectedBallots(Election election, PaillierUtil paillierUtil, List<Vote> votes) {
+        List<Vote> rejected = new ArrayList<>();
+        if (election.isPackedBallot()) {
+            // Unproven packed ballots could shift counts between slots; casts refuse them
+            for (Vote vote : votes) {
+                if (vote.hasCiphertext() && !hasValidityProof(vote)) {
+                    rejected.add(vote);
+                }
+            }
+        }
+        
+        List<Vote> proven = new ArrayList<>();
+        ZeroKnowledgeProofService.BatchVerificationResult verification =
+            verifyProofs(election, paillierUtil, votes, proven);
+        if (proven.isEmpty()) {
+            return rejected;
+        }
+        
+        for (int index : verification.getInvalidIndexes()) {
+            rejected.add(proven.get(index));
+        }
+        
+        auditService.logEvent("BALLOT_PROOFS_VERIFIED", "TallyService",
+            "verifiedBallots", "election:" + election.getId() +
+            ", proofs:" + proven.size() +
+            ", rejected:" + rejected.size() +
+            ", cached:" + verification.getCacheHits() +
+            ", batch_checks:" + verification.getBatchChecks());
+        return rejected;
+    }
+    
+    private ZeroKnowledgeProofService.BatchVerificationResult verifyProofs(Election election, PaillierUtil paillierUtil,
+                                                                           List<Vote> votes, List<Vote> proven) {
+        List<BigInteger> ciphertexts = new ArrayList<>();
+        List<PaillierMembershipProof> proofs = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (!vote.hasCiphertext() || !hasValidityProof(vote)) {
+                continue;
+            }
+            proven.add(vote);
+            try {
+                ciphertexts.add(vote.getCiphertext());
+                proofs.add(PaillierMembershipProof.decode(vote.getValidityProof()));
+            } catch (IllegalArgumentException e) {
+                // Unparseable ballots stay in the batch as failing entries
+                ciphertexts.add(BigInteger.ZERO);
+                proofs.add(null);
+            }
+        }
+        
+        // Verdicts persisted by an earlier audit are cache hits for unchanged ballots
+        List<String> trackingCodes = new ArrayList<>();
+        for (Vote vote : proven) {
+            trackingCodes.add(vote.getTrackingCode());
+        }
+        Map<String, BulletinBoardEntry> entries = new HashMap<>();
+        for (BulletinBoardEntry entry : bulletinBoardService.getEntriesByTrackingCodes(election.getId(), trackingCodes)) {
+            entries.put(entry.getTrackingCode(), entry);
+            if (entry.getProofDigest() != null && entry.getProofVerdict() != null) {
+                verificationCache.putVerdict(entry.getProofDigest(), PROOF_VALID.equals(entry.getProofVerdict()));
+            }
+        }
+        
+        ZeroKnowledgeProofService.BatchVerificationResult verification =
+            zkpService.batchVerifyVoteValidityProofs(paillierUtil.getN(),
+                zkpService.allowedPlaintexts(election), ciphertexts, proofs);
+        
+        List<BulletinBoardEntry> updated = new ArrayList<>();
+        LocalDateTime verifiedAt = LocalDateTime.now();
+        for (int i = 0; i < proven.size(); i++) {
+            BulletinBoardEntry entry = entries.get(proven.get(i).getTrackingCode());
+            String digest = verification.getDigest(i);
+            if (entry == null || digest == null || digest.equals(entry.getProofDigest())) {
+                continue;
+            }
+            entry.setProofDigest(digest);
+            entry.setProofVerdict(verification.isValid(i) ? PROOF_VALID : PROOF_INVALID);
+            entry.setProofVerifiedAt(verifiedAt);
+            updated.add(entry);
+        }
+        bulletinBoardService.recordProofVerdicts(updated);
+        
+        return verification;
+    }
+    
+    private boolean hasValidityProof(Vote vote) {
+        return vote.getValidityProof() != null && !vote.getValidityProof().isEmpty();
+    }
+    
+    private Map<String, Integer> toCandidateCounts(Election election, Map<String, BigInteger> decryptedResults) {
+        if (election.isPackedBallot()) {
+            PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil(election.getId());
+            int ballots = packedCiphertexts(verifiedBallots(election, paillierUtil,
+                voteService.getVotesByElection(election.getId()))).size();
+            return unpackTally(election, candidateService.getCandidatesByElection(election.getId()),
+                decryptedResults.get(PACKED_TALLY_KEY), ballots);
+        }
+        
+        Map<String, Integer> finalResults = new HashMap<>();
+        for (Map.Entry<String, BigInteger> entry : decryptedResults.entrySet()) {
+            finalResults.put(entry.getKey(), entry.getValue().intValue());
+        }
+        return finalResults;
+    }
+    
+    /**
+     * Ciphertexts of the ballots that go into a packed tally; their number is the total
+     * the unpacked counts must add up to
+     */
+    public List<BigInteger> packedCiphertexts(List<Vote> votes) {
+        List<BigInteger> ciphertexts = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (!vote.hasCiphertext()) {
+                continue;
+            }
+            try {
+                ciphertexts.add(vote.getCiphertext());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid vote data skipped: " + e.getMessage());
+            }
+        }
+        return ciphertexts;
+    }
+    
+    private BigInteger aggregatePackedBallots(List<BigInteger> ciphertexts, PaillierUtil paillierUtil) {
+        // 1 is a valid encryption of zero, so it seeds the product
+        BigInteger aggregate = BigInteger.ONE;
+        for (BigInteger ciphertext : ciphertexts) {
+            aggregate = paillierUtil.add(aggregate, ciphertext);
+        }
+        return aggregate;
+    }
+    
+    /**
+     * ✅ Multiply one chunk of packed ballots into a running aggregate (BigInteger.ONE to start)
+     */
+    public BigInteger aggregatePackedBallots(Election election, BigInteger aggregate, List<BigInteger> ciphertexts) {
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil(election.getId());
+        return paillierUtil.add(aggregate, aggregatePackedBallots(ciphertexts, paillierUtil));
+    }
+    
+    /**
+     * ✅ Counts of a packed-ballot election in the order of candidates, plus the trailing
+     * unknown-candidate slot (always zero here): the aggregate of the proof-checked
+     * ballots is decrypted once and unpacked
+     */
+    public long[] countPackedBallots(Election election, List<Candidate> candidates, BigInteger aggregate,
+                                     long ballots) {
+        BigInteger packedCount = paillierKeyService.getPaillierUtil(election.getId()).decrypt(aggregate);
+        
+        List<Candidate> slotOrder = new ArrayList<>(candidates);
+        slotOrder.sort(Comparator.comparing(Candidate::getId));
+        long[] slots = unpackSlots(election, slotOrder.size(), packedCount, ballots);
+        Map<Long, Long> byCandidate = new HashMap<>();
+        for (int i = 0; i < slotOrder.size(); i++) {
+            byCandidate.put(slotOrder.get(i).getId(), slots[i]);
+        }
+        
+        long[] counts = new long[candidates.size() + 1];
+        for (int i = 0; i < candidates.size(); i++) {
+            counts[i] = byCandidate.get(candidates.get(i).getId());
+        }
+        return counts;
+    }
+    
+    /**
+     * Candidates own packed digit slots in ascending id order
+     */
+    private Map<String, Integer> unpackTally(Election election, List<Candidate> candidates, BigInteger packedCount,
+                                             long ballots) {
+        List<Candidate> slotOrder = new ArrayList<>(candidates);
+        slotOrder.sort(Comparator.comparing(Candidate::getId));
+        long[] counts = unpackSlots(election, slotOrder.size(), packedCount, ballots);
+        
+        Map<String, Integer> finalResults = new HashMap<>();
+        for (int i = 0; i < slotOrder.size(); i++) {
+            finalResults.put(slotOrder.get(i).getName(), (int) counts[i]);
+        }
+        return finalResults;
+    }
+    
+    /**
+     * A tally whose slots overflowed is refused instead of being reported with carried counts
+     */
+    private long[] unpackSlots(Election election, int slots, BigInteger packedCount, long ballots) {
+        int slotBits = PackedBallotCodec.slotBits(election.getExpectedVoters());
+        try {
+            return PackedBallotCodec.unpack(packedCount, slots, slotBits, ballots);
+        } catch (IllegalStateException e) {
+            auditService.logEvent("PACKED_TALLY_OVERFLOW", "TallyService",
+                "unpackSlots", "election:" + election.getId() + ", ballots:" + ballots +
+                ", slot_bits:" + slotBits);
+            throw new ElectionException("Tally failed: " + e.getMessage());
+        }
+    }
+    
     public EnhancedThresholdPaillierService.DecryptionStatus getTallyReadiness(Long electionId) {
         return thresholdPaillierService.getTallyReadiness(electionId);
     }
@@ -1,5 +1,6 @@
 package com.evoting.evoting_backend.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigInteger;
@@ -9,6 +10,9 @@ import java.util.*;
 @Service
 public class ThresholdKeyService {
     
+    @Autowired
+    private KeyMaterialService keyMaterialService;
+    
     private final SecureRandom secureRandom = new SecureRandom();
     
     // Shamir's Secret Sharing implementation for threshold cryptography
@@ -42,7 +46,7 @@ public class ThresholdKeyService {
         // Generate shares
         List<SecretShare> shares = new ArrayList<>();
         for (int x = 1; x <= n; x++) {
-            BigInteger y = evaluatePolynomial(coefficients, BigInteger.valueOf(x));
+            BigInteger y = keyMaterialService.evaluatePolynomial(coefficients, BigInteger.valueOf(x), getPrime());
             shares.add(new SecretShare(x, y));
         }
         
@@ -75,14 +79,6 @@ public class ThresholdKeyService {
         return secret.mod(getPrime());
     }
     
-    private BigInteger evaluatePolynomial(BigInteger[] coefficients, BigInteger x) {
-        BigInteger result = BigInteger.ZERO;
-        for (int i = 0; i < coefficients.length; i++) {
-            result = result.add(coefficients[i].multiply(x.pow(i)));
-        }
-        return result.mod(getPrime());
-    }
-    
     // Use a large prime for the finite field
     private BigInteger getPrime() {
         return new BigInteger("32317006071311007300714876688669951960444102669715484032130345427524655138867890893197201411522913463688717960921898019494119559150490921095088152386448283120630877367300996091750197750389652106796057638384067568276792218642619756161838094338476170470581645852036305042887575891541065808607552399123930385521914333389668342420684974786564569494856176035326322058077805659331026192708460314150258592864177116725943603718461857357598351152301645904403697613233287231227125684710820209725157101726931323469678542580656697935045997268352998638215525166389437335543602135433229604645318478604952148193555853611059596230656");
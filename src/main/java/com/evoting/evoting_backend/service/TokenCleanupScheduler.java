@@ -21,10 +21,10 @@ public class TokenCleanupScheduler {
         try {
             int cleanedCount = atomicTokenService.cleanupExpiredTokens();
             if (cleanedCount > 0) {
-                monitoringService.recordSecurityEvent("tokens_cleaned_" + cleanedCount);
+                monitoringService.recordTokensCleaned(cleanedCount);
             }
         } catch (Exception e) {
-            monitoringService.recordSecurityEvent("token_cleanup_error");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_CLEANUP_ERROR);
         }
     }
 }
\ No newline at end of file
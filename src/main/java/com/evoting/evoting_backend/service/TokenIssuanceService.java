@@ -23,6 +23,9 @@ public class TokenIssuanceService {
     
     @Autowired
     private ImmutableAuditService auditService;
+    
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
 
     /**
      * ✅ UPDATED: Legacy method for backward compatibility
@@ -51,7 +54,8 @@ public class TokenIssuanceService {
             // Generate blind signature (simplified - implement proper crypto in production)
             token.setBlindSignature(generateBlindSignature(token.getToken()));
             
-            AnonymousVotingToken savedToken = tokenRepository.save(token);
+            AnonymousVotingToken savedToken = turnoutCounters.writeCounted(electionId,
+                TurnoutCounterService.Metric.TOKENS_ISSUED, () -> tokenRepository.save(token));
             
             // Record metrics
             monitoringService.recordTokenIssuance();
@@ -64,7 +68,7 @@ public class TokenIssuanceService {
             return savedToken;
             
         } catch (Exception e) {
-            monitoringService.recordSecurityEvent("token_issuance_failed");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_ISSUANCE_FAILED);
             auditService.logEvent("TOKEN_ISSUANCE_FAILED_LEGACY", "TokenIssuanceService",
                 "issueVotingToken", "session:" + sessionId +
                 ", error:" + e.getMessage());
@@ -81,9 +85,9 @@ public class TokenIssuanceService {
         boolean consumed = atomicTokenService.consumeTokenSafely(token, electionId, clientInfo);
         
         if (consumed) {
-            monitoringService.recordSecurityEvent("token_consumed_validation");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_CONSUMED_VALIDATION);
         } else {
-            monitoringService.recordSecurityEvent("token_validation_failed");
+            monitoringService.recordSecurityEvent(MonitoringService.SecurityEvent.TOKEN_VALIDATION_FAILED);
         }
         
         return consumed;
@@ -101,9 +105,8 @@ public class TokenIssuanceService {
     }
     
     public long getTokenStatistics(Long electionId) {
-        long totalTokens = tokenRepository.countTokensByElection(electionId);
-        long spentTokens = tokenRepository.countSpentTokensByElection(electionId);
-        return totalTokens - spentTokens;
+        return turnoutCounters.get(electionId, TurnoutCounterService.Metric.TOKENS_ISSUED) -
+               turnoutCounters.get(electionId, TurnoutCounterService.Metric.TOKENS_SPENT);
     }
     
     // Simplified crypto - replace with proper blind signatures in production
@@ -0,0 +1,344 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.model.Election;
+import com.evoting.evoting_backend.model.ElectionTurnoutSummary;
+import com.evoting.evoting_backend.repository.AnonymousVotingTokenRepository;
+import com.evoting.evoting_backend.repository.BulletinBoardRepository;
+import com.evoting.evoting_backend.repository.ElectionRepository;
+import com.evoting.evoting_backend.repository.ElectionTurnoutSummaryRepository;
+import com.evoting.evoting_backend.repository.VoteRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Live per-election turnout counters (tokens issued/spent, votes cast, bulletin board
+ * entries) so dashboards never run COUNT(*) over the token or vote tables.
+ *
+ * Write paths add to striped LongAdders; increments made inside a transaction are
+ * applied only after it commits. A scheduled flush adds each node's pending deltas to
+ * election_turnout_summary and reloads the row totals, which then include other
+ * nodes' flushed writes. At startup the counters and the table are rebuilt from the
+ * source tables.
+ *
+ * A rebuild recounts one election at a time while holding its summary row exclusively,
+ * and bumps the row's generation. Every counted write reads the generation under a shared
+ * lock on the same row, held until the write commits, and its increment is kept under that
+ * generation. So each write either committed before the recount and is part of it, or
+ * commits afterwards under the new generation. Flushes add each generation's deltas only
+ * to a row still at that generation: deltas from before a rebuild are dropped because the
+ * recount already has them, and anything committed after it is carried forward.
+ */
+@Service
+public class TurnoutCounterService {
+
+    public enum Metric { TOKENS_ISSUED, TOKENS_SPENT, VOTES_CAST, BULLETIN_ENTRIES }
+
+    private static final int METRICS = Metric.values().length;
+
+    @Autowired
+    private AnonymousVotingTokenRepository tokenRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private BulletinBoardRepository bulletinBoardRepository;
+
+    @Autowired
+    private ElectionTurnoutSummaryRepository summaryRepository;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static class ElectionCounters {
+        // Totals as of the last rebuild or flush
+        private final AtomicLongArray base = new AtomicLongArray(METRICS);
+        // This node's increments since then, by the summary generation their write saw
+        private final Map<Long, LongAdder[]> pending = new ConcurrentHashMap<>();
+        // Summary row generation the base was loaded from
+        private volatile long generation;
+
+        private LongAdder[] pending(long generation) {
+            return pending.computeIfAbsent(generation, g -> {
+                LongAdder[] adders = new LongAdder[METRICS];
+                for (int i = 0; i < METRICS; i++) {
+                    adders[i] = new LongAdder();
+                }
+                return adders;
+            });
+        }
+
+        private long get(Metric metric) {
+            long total = base.get(metric.ordinal());
+            for (LongAdder[] adders : pending.values()) {
+                total += adders[metric.ordinal()].sum();
+            }
+            return total;
+        }
+    }
+
+    private final Map<Long, ElectionCounters> counters = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime rebuiltAt;
+    private volatile LocalDateTime lastFlushAt;
+    private volatile String lastFlushError;
+
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Counters start from zero; stats report rebuiltAt = null until a rebuild succeeds
+            System.err.println("Turnout counter rebuild failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Count one event for an election, from inside the transaction that writes it; the
+     * increment is applied after commit
+     */
+    public void increment(Long electionId, Metric metric) {
+        if (electionId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Locked until commit, so a rebuild cannot recount between this read and the commit
+            long generation = summaryRepository.findByIdForShare(electionId)
+                .map(ElectionTurnoutSummary::getGeneration)
+                .orElse(0L);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    countersFor(electionId).pending(generation)[metric.ordinal()].increment();
+                }
+            });
+        } else {
+            ElectionCounters electionCounters = countersFor(electionId);
+            electionCounters.pending(electionCounters.generation)[metric.ordinal()].increment();
+        }
+    }
+
+    /**
+     * ✅ Run a single write in its own transaction and count it (for callers without one)
+     */
+    public <T> T writeCounted(Long electionId, Metric metric, Supplier<T> write) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            T result = write.get();
+            increment(electionId, metric);
+            return result;
+        });
+    }
+
+    public long get(Long electionId, Metric metric) {
+        ElectionCounters electionCounters = counters.get(electionId);
+        return electionCounters == null ? 0 : electionCounters.get(metric);
+    }
+
+    public Map<String, Object> getTurnout(Long electionId) {
+        ElectionCounters electionCounters = counters.get(electionId);
+        long[] values = new long[METRICS];
+        if (electionCounters != null) {
+            for (Metric metric : Metric.values()) {
+                values[metric.ordinal()] = electionCounters.get(metric);
+            }
+        }
+        Map<String, Object> turnout = toMap(values);
+        turnout.put("electionId", electionId);
+        return turnout;
+    }
+
+    /**
+     * Totals over all elections (one pass over the in-memory counters)
+     */
+    public Map<String, Object> getTotals() {
+        long[] values = new long[METRICS];
+        counters.forEach((electionId, electionCounters) -> {
+            for (Metric metric : Metric.values()) {
+                values[metric.ordinal()] += electionCounters.get(metric);
+            }
+        });
+        Map<String, Object> totals = toMap(values);
+        totals.put("elections", counters.size());
+        return totals;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = getTotals();
+        stats.put("rebuiltAt", rebuiltAt);
+        stats.put("lastFlushAt", lastFlushAt);
+        stats.put("lastFlushError", lastFlushError);
+        return stats;
+    }
+
+    /**
+     * ✅ Push pending deltas to the summary table, then reload totals from it
+     */
+    @Scheduled(fixedDelayString = "${turnout.counters.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        boolean failed = false;
+
+        for (Map.Entry<Long, ElectionCounters> entry : counters.entrySet()) {
+            ElectionCounters electionCounters = entry.getValue();
+            for (Map.Entry<Long, LongAdder[]> bucket : electionCounters.pending.entrySet()) {
+                LongAdder[] pending = bucket.getValue();
+                long[] delta = new long[METRICS];
+                boolean changed = false;
+                for (int i = 0; i < METRICS; i++) {
+                    delta[i] = pending[i].sumThenReset();
+                    electionCounters.base.addAndGet(i, delta[i]);
+                    changed |= delta[i] != 0;
+                }
+                if (!changed) {
+                    continue;
+                }
+
+                try {
+                    if (!writeDelta(entry.getKey(), bucket.getKey(), delta, now)) {
+                        // Committed before a rebuild's recount, which already counts them
+                        for (int i = 0; i < METRICS; i++) {
+                            electionCounters.base.addAndGet(i, -delta[i]);
+                        }
+                    }
+                } catch (Exception e) {
+                    // Keep the deltas pending for the next flush
+                    for (int i = 0; i < METRICS; i++) {
+                        electionCounters.base.addAndGet(i, -delta[i]);
+                        pending[i].add(delta[i]);
+                    }
+                    failed = true;
+                    lastFlushError = e.getMessage();
+                }
+            }
+        }
+
+        if (failed) {
+            return;
+        }
+        try {
+            for (ElectionTurnoutSummary summary : summaryRepository.findAll()) {
+                setBase(countersFor(summary.getElectionId()), summary);
+            }
+            lastFlushAt = now;
+            lastFlushError = null;
+        } catch (Exception e) {
+            lastFlushError = e.getMessage();
+        }
+    }
+
+    /**
+     * Recount every election from the token, vote and bulletin board tables, each under
+     * its summary row's exclusive lock, and store the counts under a new generation.
+     * Counted writes to an election wait while it is recounted.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> electionIds = new TreeSet<>();
+        for (Election election : electionRepository.findAll()) {
+            electionIds.add(election.getId());
+        }
+        for (ElectionTurnoutSummary existing : summaryRepository.findAll()) {
+            electionIds.add(existing.getElectionId());
+        }
+        // Synthetic benchmark elections use negative ids
+        electionIds.removeIf(electionId -> electionId < 0);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        for (Long electionId : electionIds) {
+            if (!summaryRepository.existsById(electionId)) {
+                try {
+                    summaryRepository.save(new ElectionTurnoutSummary(electionId));
+                } catch (DataIntegrityViolationException e) {
+                    // Created by another node's flush in the meantime
+                }
+            }
+            ElectionTurnoutSummary summary = transaction.execute(status -> recount(electionId, now));
+            setBase(countersFor(electionId), summary);
+        }
+
+        rebuiltAt = now;
+        System.out.println("Turnout counters rebuilt for " + electionIds.size() + " election(s) in " +
+            (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private ElectionTurnoutSummary recount(Long electionId, LocalDateTime now) {
+        ElectionTurnoutSummary summary = summaryRepository.findByIdForUpdate(electionId).orElseThrow();
+        summary.setTokensIssued(tokenRepository.countTokensByElection(electionId));
+        summary.setTokensSpent(tokenRepository.countSpentTokensByElection(electionId));
+        summary.setVotesCast(voteRepository.countByElectionId(electionId));
+        summary.setBulletinEntries(bulletinBoardRepository.countByElectionId(electionId));
+        summary.setUpdatedAt(now);
+        summary.setGeneration(summary.getGeneration() + 1);
+        return summaryRepository.save(summary);
+    }
+
+    /**
+     * False when the row exists under a later generation, i.e. was rebuilt after these
+     * deltas' writes committed
+     */
+    private boolean writeDelta(Long electionId, long generation, long[] delta, LocalDateTime now) {
+        int updated = summaryRepository.addDeltas(electionId,
+            delta[Metric.TOKENS_ISSUED.ordinal()], delta[Metric.TOKENS_SPENT.ordinal()],
+            delta[Metric.VOTES_CAST.ordinal()], delta[Metric.BULLETIN_ENTRIES.ordinal()], now, generation);
+        if (updated > 0) {
+            return true;
+        }
+        if (summaryRepository.existsById(electionId)) {
+            return false;
+        }
+        ElectionTurnoutSummary summary = new ElectionTurnoutSummary(electionId);
+        summary.setTokensIssued(delta[Metric.TOKENS_ISSUED.ordinal()]);
+        summary.setTokensSpent(delta[Metric.TOKENS_SPENT.ordinal()]);
+        summary.setVotesCast(delta[Metric.VOTES_CAST.ordinal()]);
+        summary.setBulletinEntries(delta[Metric.BULLETIN_ENTRIES.ordinal()]);
+        summary.setGeneration(generation);
+        summaryRepository.save(summary);
+        return true;
+    }
+
+    private void setBase(ElectionCounters electionCounters, ElectionTurnoutSummary summary) {
+        electionCounters.base.set(Metric.TOKENS_ISSUED.ordinal(), summary.getTokensIssued());
+        electionCounters.base.set(Metric.TOKENS_SPENT.ordinal(), summary.getTokensSpent());
+        electionCounters.base.set(Metric.VOTES_CAST.ordinal(), summary.getVotesCast());
+        electionCounters.base.set(Metric.BULLETIN_ENTRIES.ordinal(), summary.getBulletinEntries());
+        electionCounters.generation = summary.getGeneration();
+        // Increments from older generations are part of the recount that replaced them
+        electionCounters.pending.keySet().removeIf(generation -> generation < summary.getGeneration());
+    }
+
+    private ElectionCounters countersFor(Long electionId) {
+        return counters.computeIfAbsent(electionId, id -> new ElectionCounters());
+    }
+
+    private Map<String, Object> toMap(long[] values) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("tokensIssued", values[Metric.TOKENS_ISSUED.ordinal()]);
+        map.put("tokensSpent", values[Metric.TOKENS_SPENT.ordinal()]);
+        map.put("votesCast", values[Metric.VOTES_CAST.ordinal()]);
+        map.put("bulletinEntries", values[Metric.BULLETIN_ENTRIES.ordinal()]);
+        map.put("timestamp", System.currentTimeMillis());
+        return map;
+    }
+}
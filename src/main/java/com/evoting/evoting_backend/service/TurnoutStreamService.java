@@ -0,0 +1,255 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.exception.ElectionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Server-sent turnout snapshots per election. Once per tick, each election that has
+ * subscribers gets one snapshot, built from the live turnout counters and serialized
+ * once. Every subscriber holds at most one unsent snapshot. A newer snapshot replaces
+ * an older one that has not gone out yet, so a slow client only misses intermediate
+ * ticks and never queues up a backlog. A client that falls behind for too many ticks
+ * in a row is disconnected, and there is a per-node cap on open streams.
+ */
+@Service
+public class TurnoutStreamService {
+
+    @Autowired
+    private TurnoutCounterService turnoutCounters;
+
+    @Autowired
+    private ElectionService electionService;
+
+    @Value("${turnout.stream.max-connections:1000}")
+    private int maxConnections;
+
+    @Value("${turnout.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${turnout.stream.max-skipped-ticks:30}")
+    private int maxSkippedTicks;
+
+    @Value("${turnout.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private class Subscriber {
+        private final Long electionId;
+        private final SseEmitter emitter;
+        // Latest snapshot not yet written to this client
+        private final AtomicReference<Snapshot> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicInteger skippedTicks = new AtomicInteger();
+
+        private Subscriber(Long electionId, SseEmitter emitter) {
+            this.electionId = electionId;
+            this.emitter = emitter;
+        }
+    }
+
+    private static class Snapshot {
+        private final long sequence;
+        private final String json;
+
+        private Snapshot(long sequence, String json) {
+            this.sequence = sequence;
+            this.json = json;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Per election: {votesCast, nanoTime} at the previous tick, for the ingestion rate
+    private final Map<Long, long[]> previousTick = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLong snapshotsBuilt = new AtomicLong();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong eventsCoalesced = new AtomicLong();
+    private final AtomicLong slowDisconnects = new AtomicLong();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+
+    private ThreadPoolExecutor senderPool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        // Each subscriber has at most one send task queued or running, so the queue is
+        // bounded by the connection cap
+        this.senderPool = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(Math.max(maxConnections, 1)), runnable -> {
+                Thread thread = new Thread(runnable, "turnout-sse-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderPool.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * ✅ Open a stream for one election; the first snapshot goes out on the next tick
+     */
+    public SseEmitter subscribe(Long electionId) {
+        // Unknown election -> ResourceNotFoundException before any slot is taken
+        electionService.getElectionById(electionId);
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejectedConnections.incrementAndGet();
+            throw new ElectionException("Turnout stream limit reached on this node (" + maxConnections + ")");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(electionId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.compute(electionId, (id, list) -> {
+            List<Subscriber> updated = list != null ? list : new CopyOnWriteArrayList<>();
+            updated.add(subscriber);
+            return updated;
+        });
+        return emitter;
+    }
+
+    /**
+     * One snapshot per watched election per tick, fanned out to its subscribers
+     */
+    @Scheduled(fixedRateString = "${turnout.stream.interval-ms:1000}")
+    public void tick() {
+        for (Map.Entry<Long, List<Subscriber>> entry : subscribers.entrySet()) {
+            List<Subscriber> electionSubscribers = entry.getValue();
+            if (electionSubscribers.isEmpty()) {
+                continue;
+            }
+            Snapshot snapshot;
+            try {
+                snapshot = buildSnapshot(entry.getKey());
+            } catch (Exception e) {
+                System.err.println("Turnout snapshot failed for election " + entry.getKey() + ": " + e.getMessage());
+                continue;
+            }
+            for (Subscriber subscriber : electionSubscribers) {
+                offer(subscriber, snapshot);
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<Long, Integer> perElection = new HashMap<>();
+        subscribers.forEach((electionId, list) -> perElection.put(electionId, list.size()));
+        stats.put("connections", connections.get());
+        stats.put("maxConnections", maxConnections);
+        stats.put("subscribersPerElection", perElection);
+        stats.put("snapshotsBuilt", snapshotsBuilt.get());
+        stats.put("eventsSent", eventsSent.get());
+        stats.put("eventsCoalesced", eventsCoalesced.get());
+        stats.put("slowDisconnects", slowDisconnects.get());
+        stats.put("rejectedConnections", rejectedConnections.get());
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    private Snapshot buildSnapshot(Long electionId) throws Exception {
+        Map<String, Object> turnout = turnoutCounters.getTurnout(electionId);
+        long votesCast = (long) turnout.get("votesCast");
+        long now = System.nanoTime();
+        long[] previous = previousTick.put(electionId, new long[] { votesCast, now });
+        double votesPerSecond = 0.0;
+        if (previous != null && now > previous[1]) {
+            votesPerSecond = (votesCast - previous[0]) * 1_000_000_000.0 / (now - previous[1]);
+        }
+        turnout.put("votesPerSecond", votesPerSecond);
+
+        long id = sequence.incrementAndGet();
+        turnout.put("sequence", id);
+        snapshotsBuilt.incrementAndGet();
+        return new Snapshot(id, objectMapper.writeValueAsString(turnout));
+    }
+
+    private void offer(Subscriber subscriber, Snapshot snapshot) {
+        if (subscriber.pending.getAndSet(snapshot) != null) {
+            // Previous tick never reached this client; it is superseded
+            eventsCoalesced.incrementAndGet();
+            if (subscriber.skippedTicks.incrementAndGet() > maxSkippedTicks) {
+                slowDisconnects.incrementAndGet();
+                subscriber.emitter.complete();
+                remove(subscriber);
+                return;
+            }
+        }
+        if (subscriber.sending.compareAndSet(false, true)) {
+            try {
+                senderPool.execute(() -> drain(subscriber));
+            } catch (Exception e) {
+                subscriber.sending.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                Snapshot snapshot;
+                while (!subscriber.closed.get() && (snapshot = subscriber.pending.getAndSet(null)) != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(snapshot.sequence))
+                        .name("turnout")
+                        .data(snapshot.json, MediaType.APPLICATION_JSON));
+                    subscriber.skippedTicks.set(0);
+                    eventsSent.incrementAndGet();
+                }
+            } catch (Exception e) {
+                // Client went away mid-write
+                subscriber.emitter.completeWithError(e);
+                remove(subscriber);
+                return;
+            } finally {
+                subscriber.sending.set(false);
+            }
+            // A snapshot may have landed after the loop's last check
+        } while (!subscriber.closed.get() && subscriber.pending.get() != null &&
+                 subscriber.sending.compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.electionId, (id, list) -> {
+            list.remove(subscriber);
+            if (list.isEmpty()) {
+                previousTick.remove(id);
+                return null;
+            }
+            return list;
+        });
+    }
+}
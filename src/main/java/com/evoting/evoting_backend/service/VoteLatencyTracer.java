@@ -0,0 +1,219 @@
+package com.evoting.evoting_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ✅ Per-stage latency of the vote-cast path.
+ *
+ * VoteController opens a trace per ballot; each stage (decode, token consumption, election
+ * check, vote insert, bulletin board append, audit writes) is timed into a vote.stage timer
+ * with percentile histograms and SLO buckets, and appended to the trace as a span. Stages
+ * can nest (audit writes run inside token consumption), so spans carry their depth and
+ * offset. Finished traces slower than vote.trace.slow-ms go into a ring buffer that
+ * /api/monitoring/vote-traces shows slowest first.
+ *
+ * Outside a trace stage() just runs the work, so shared code (audit logging) is only
+ * measured on the vote path.
+ */
+@Service
+public class VoteLatencyTracer {
+
+    public static final String STAGE_TIMER = "vote.stage";
+
+    public enum Stage {
+        DECODE("decode"),
+        TOKEN_CONSUME("token_consume"),
+        ELECTION_CHECK("election_check"),
+        PROOF_VERIFY("proof_verify"),
+        VOTE_INSERT("vote_insert"),
+        BULLETIN_APPEND("bulletin_append"),
+        AUDIT("audit");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    public record Span(String stage, int depth, double offsetMs, double durationMs, boolean failed) {}
+
+    public record TraceRecord(String traceId, Instant startedAt, Long electionId, String outcome,
+                              double totalMs, List<Span> spans) {}
+
+    private static final class Trace {
+        final String id = UUID.randomUUID().toString().substring(0, 8);
+        final Instant startedAt = Instant.now();
+        final long startNanos = System.nanoTime();
+        final List<Span> spans = new ArrayList<>();
+        int depth;
+    }
+
+    private static final ThreadLocal<Trace> current = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${vote.trace.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vote.trace.slow-ms:100}")
+    private long slowMs;
+
+    @Value("${vote.trace.buffer-size:50}")
+    private int bufferSize;
+
+    @Value("${vote.trace.slo-ms:5,10,25,50,100,250,500,1000}")
+    private long[] sloMs;
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final AtomicLong traced = new AtomicLong();
+    private final AtomicLong sampled = new AtomicLong();
+    private TraceRecord[] slowest;
+    private int next;
+
+    @PostConstruct
+    void init() {
+        Duration[] slos = Arrays.stream(sloMs).mapToObj(Duration::ofMillis).toArray(Duration[]::new);
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of casting a vote")
+                .tag("stage", stage.getTag())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(slos)
+                .register(meterRegistry));
+        }
+        slowest = new TraceRecord[Math.max(1, bufferSize)];
+    }
+
+    /**
+     * Starts a trace for this thread's ballot; false when tracing is off or a trace is
+     * already open
+     */
+    public boolean begin() {
+        if (!enabled || current.get() != null) {
+            return false;
+        }
+        current.set(new Trace());
+        return true;
+    }
+
+    public <T> T stage(Stage stage, Supplier<T> work) {
+        Trace trace = current.get();
+        if (trace == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        int depth = trace.depth++;
+        boolean failed = true;
+        try {
+            T result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            trace.depth--;
+            long nanos = System.nanoTime() - start;
+            stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+            trace.spans.add(new Span(stage.getTag(), depth, (start - trace.startNanos) / 1_000_000.0,
+                nanos / 1_000_000.0, failed));
+        }
+    }
+
+    public void stage(Stage stage, Runnable work) {
+        stage(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Closes this thread's trace. Accepted ballots feed performance.vote_processing_time;
+     * every outcome is a candidate for the slow-request buffer.
+     */
+    public void finish(Long electionId, String outcome) {
+        Trace trace = current.get();
+        if (trace == null) {
+            return;
+        }
+        current.remove();
+        long nanos = System.nanoTime() - trace.startNanos;
+        traced.incrementAndGet();
+        if ("success".equals(outcome)) {
+            monitoringService.recordVoteCast(electionId, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+        double totalMs = nanos / 1_000_000.0;
+        if (totalMs >= slowMs) {
+            // Spans are added as stages end; list them in start order
+            List<Span> spans = new ArrayList<>(trace.spans);
+            spans.sort(Comparator.comparingDouble(Span::offsetMs));
+            record(new TraceRecord(trace.id, trace.startedAt, electionId, outcome, totalMs, List.copyOf(spans)));
+        }
+    }
+
+    private synchronized void record(TraceRecord trace) {
+        slowest[next] = trace;
+        next = (next + 1) % slowest.length;
+        sampled.incrementAndGet();
+    }
+
+    private synchronized List<TraceRecord> bufferedTraces() {
+        List<TraceRecord> traces = new ArrayList<>();
+        for (TraceRecord trace : slowest) {
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public Map<String, Object> getSnapshot() {
+        List<Map<String, Object>> stages = new ArrayList<>();
+        for (Map.Entry<Stage, Timer> entry : stageTimers.entrySet()) {
+            Timer timer = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("stage", entry.getKey().getTag());
+            row.put("count", timer.count());
+            row.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            row.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                row.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            stages.add(row);
+        }
+
+        List<TraceRecord> traces = bufferedTraces();
+        traces.sort(Comparator.comparingDouble(TraceRecord::totalMs).reversed());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", enabled);
+        result.put("stages", stages);
+        result.put("slowestTraces", traces);
+        result.put("slowThresholdMs", slowMs);
+        result.put("bufferSize", slowest.length);
+        result.put("tracedRequests", traced.get());
+        result.put("sampledRequests", sampled.get());
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+}
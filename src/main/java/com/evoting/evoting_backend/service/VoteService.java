@@ -1,13 +1,24 @@
 package com.evoting.evoting_backend.service;
 
+import com.evoting.evoting_backend.crypto.PaillierMembershipProof;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import com.evoting.evoting_backend.dto.BallotRequest;
 import com.evoting.evoting_backend.exception.ElectionException;
 import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.model.ElectionState;
 import com.evoting.evoting_backend.model.Vote;
 import com.evoting.evoting_backend.repository.VoteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.time.LocalDateTime;
@@ -16,14 +27,32 @@ import java.time.LocalDateTime;
 public class VoteService {
     @Autowired private VoteRepository voteRepository;
     @Autowired private ElectionService electionService;
+    @Autowired private ElectionLookupCache lookupCache;
+    @Autowired private TurnoutCounterService turnoutCounters;
+    @Autowired private PaillierKeyService paillierKeyService;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private VoteLatencyTracer voteTracer;
+    @Autowired private ZeroKnowledgeProofService zkpService;
 
-    public Vote saveVote(Vote vote) {
-        // Ensure the election is open before allowing a vote
-        Election election = electionService.getElectionById(vote.getElectionId());
-        if (election.getState() != ElectionState.OPEN) {
-            throw new ElectionException("Cannot cast vote, election is not open.");
+    /**
+     * ✅ Checks a ballot against its election before the voter's token is spent:
+     * the election must be open, only packed ballots may omit the candidate, and a
+     * packed ballot must prove it encodes exactly one vote for one slot
+     */
+    public void checkBallot(Vote vote) {
+        Election election = voteTracer.stage(VoteLatencyTracer.Stage.ELECTION_CHECK, () -> {
+            Election open = requireOpenElection(vote.getElectionId());
+            if (vote.getCandidateId() == null && !open.isPackedBallot()) {
+                throw new ElectionException("Cannot cast vote, a candidate is required.");
+            }
+            return open;
+        });
+        if (election.isPackedBallot()) {
+            voteTracer.stage(VoteLatencyTracer.Stage.PROOF_VERIFY, () -> requirePackedBallotProof(election, vote));
         }
+    }
 
+    public Vote saveVote(Vote vote) {
         // Generate UUID with debugging
         String trackingCode = UUID.randomUUID().toString();
         
@@ -37,7 +66,9 @@ public class VoteService {
         vote.setTrackingCode(trackingCode);
         vote.setTimestamp(LocalDateTime.now());
         
-        Vote savedVote = voteRepository.save(vote);
+        Vote savedVote = voteTracer.stage(VoteLatencyTracer.Stage.VOTE_INSERT,
+            () -> turnoutCounters.writeCounted(vote.getElectionId(), TurnoutCounterService.Metric.VOTES_CAST,
+                () -> voteRepository.save(vote)));
         
         // ✅ ADDED: Verify saved UUID
         System.out.println("Saved vote tracking code: " + savedVote.getTrackingCode());
@@ -52,4 +83,165 @@ public class VoteService {
     public List<Vote> getVotesByElection(Long electionId) {
         return voteRepository.findByElectionId(electionId);
     }
+    
+    /**
+     * ✅ Per-candidate vote counts aggregated in the database
+     */
+    public List<VoteRepository.CandidateVoteCount> getVoteCountsByCandidate(Long electionId) {
+        return voteRepository.countVotesByCandidate(electionId);
+    }
+    
+    public List<VoteRepository.CandidateVoteCount> getVoteCountsByCandidate(Long electionId, Long afterId, Long upToId) {
+        return voteRepository.countVotesByCandidateInRange(electionId, afterId, upToId);
+    }
+    
+    /**
+     * ✅ Next chunk of vote ids (ascending) after a checkpoint
+     */
+    public List<Long> getVoteIdsAfter(Long electionId, Long afterId, int limit) {
+        return voteRepository.findVoteIdsAfter(electionId, afterId, PageRequest.of(0, limit));
+    }
+    
+    /**
+     * ✅ Votes with id in (afterId, upToId]; provenOnly keeps those carrying a validity proof
+     */
+    public List<Vote> getVotesInRange(Long electionId, Long afterId, Long upToId, boolean provenOnly) {
+        return provenOnly
+            ? voteRepository.findProvenVotesInRange(electionId, afterId, upToId)
+            : voteRepository.findVotesInRange(electionId, afterId, upToId);
+    }
+    
+    public long countVotesByElection(Long electionId) {
+        return voteRepository.countByElectionId(electionId);
+    }
+    
+    /**
+     * Latency of the election lookup on the vote-cast path with the lookup cache on
+     * and off. Only the read side is measured: no token is consumed and no vote is
+     * stored. The cache is switched off for the whole node while the uncached pass
+     * runs, then restored.
+     */
+    public Map<String, Object> benchmarkCastLookup(Long electionId, int iterations) {
+        boolean wasEnabled = lookupCache.isEnabled();
+        Map<String, Object> results = new HashMap<>();
+        try {
+            lookupCache.setEnabled(false);
+            results.put("uncached", measureCastLookup(electionId, iterations));
+            lookupCache.setEnabled(true);
+            results.put("cached", measureCastLookup(electionId, iterations));
+        } finally {
+            lookupCache.setEnabled(wasEnabled);
+        }
+        results.put("electionId", electionId);
+        results.put("iterations", iterations);
+        results.put("timestamp", System.currentTimeMillis());
+        return results;
+    }
+    
+    private Map<String, Object> measureCastLookup(Long electionId, int iterations) {
+        // Warm-up pass (also fills the cache when it is on)
+        for (int i = 0; i < Math.min(iterations, 100); i++) {
+            requireOpenElection(electionId);
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            requireOpenElection(electionId);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("p50Micros", percentile(samples, 0.50) / 1_000.0);
+        result.put("p99Micros", percentile(samples, 0.99) / 1_000.0);
+        result.put("maxMicros", samples[iterations - 1] / 1_000.0);
+        return result;
+    }
+    
+    /**
+     * ✅ Request decoding cost and payload size of one realistic ballot (full-size
+     * ciphertext and validity proof): the old Map-based JSON parse, the typed JSON DTO
+     * and the binary octet-stream form. Decoding includes recovering the ciphertext.
+     */
+    public Map<String, Object> benchmarkBallotDecoding(int iterations) throws IOException {
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        BigInteger n = paillierUtil.getN();
+        SecureRandom random = new SecureRandom();
+        BigInteger r = new BigInteger(n.bitLength() - 1, random);
+        BigInteger ciphertext = paillierUtil.encrypt(BigInteger.ONE, r);
+        PaillierMembershipProof proof = PaillierMembershipProof.prove(n, ciphertext, r,
+            List.of(BigInteger.ZERO, BigInteger.ONE), 1, random);
+        
+        BallotRequest ballot = new BallotRequest();
+        ballot.setAnonymousToken(UUID.randomUUID().toString());
+        ballot.setElectionId(1L);
+        ballot.setCandidateId(1L);
+        ballot.setEncryptedVote(ciphertext.toString());
+        ballot.setValidityProof(proof.encode());
+        byte[] json = objectMapper.writeValueAsBytes(ballot);
+        byte[] binary = ballot.toBinary();
+        
+        long mapNanos = timeDecoding(iterations, () -> {
+            Map<?, ?> request = objectMapper.readValue(json, Map.class);
+            Long.valueOf(request.get("electionId").toString());
+            Long.valueOf(request.get("candidateId").toString());
+            return new BigInteger((String) request.get("encryptedVote"));
+        });
+        long typedNanos = timeDecoding(iterations, () -> objectMapper.readValue(json, BallotRequest.class).getCiphertext());
+        long binaryNanos = timeDecoding(iterations, () -> BallotRequest.fromBinary(binary).getCiphertext());
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("iterations", iterations);
+        result.put("ciphertextBits", ciphertext.bitLength());
+        result.put("jsonBytes", json.length);
+        result.put("binaryBytes", binary.length);
+        result.put("jsonMapMicrosPerRequest", mapNanos / 1_000.0 / iterations);
+        result.put("jsonTypedMicrosPerRequest", typedNanos / 1_000.0 / iterations);
+        result.put("binaryMicrosPerRequest", binaryNanos / 1_000.0 / iterations);
+        result.put("speedupVsMap", binaryNanos == 0 ? 0.0 : (double) mapNanos / binaryNanos);
+        result.put("resultsMatch", ciphertext.equals(BallotRequest.fromBinary(binary).getCiphertext()) &&
+            ciphertext.equals(objectMapper.readValue(json, BallotRequest.class).getCiphertext()));
+        return result;
+    }
+    
+    private interface BallotDecoder {
+        BigInteger decode() throws IOException;
+    }
+    
+    // Warm-up pass, then the measured pass
+    private long timeDecoding(int iterations, BallotDecoder decoder) throws IOException {
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode();
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    // Without the proof a packed ballot could add k to one slot and take k from another
+    private void requirePackedBallotProof(Election election, Vote vote) {
+        String proof = vote.getValidityProof();
+        if (proof == null || proof.isEmpty()) {
+            throw new ElectionException("Cannot cast vote, packed ballots require a validity proof.");
+        }
+        if (!zkpService.verifyBallotProof(election, vote.getCiphertext().toString(), proof)) {
+            throw new ElectionException("Cannot cast vote, the ballot validity proof does not verify.");
+        }
+    }
+    
+    // Cached, so only an early reject: the token spend re-reads the state under a row lock
+    private Election requireOpenElection(Long electionId) {
+        Election election = electionService.getElectionById(electionId);
+        if (election.getState() != ElectionState.OPEN) {
+            throw new ElectionException("Cannot cast vote, election is not open.");
+        }
+        return election;
+    }
 }
\ No newline at end of file
@@ -1,19 +1,305 @@
 package com.evoting.evoting_backend.service;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.evoting.evoting_backend.crypto.BarrettReducer;
+import com.evoting.evoting_backend.crypto.MultiExponentiation;
+import com.evoting.evoting_backend.crypto.PackedBallotCodec;
+import com.evoting.evoting_backend.crypto.PaillierMembershipProof;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import com.evoting.evoting_backend.model.Election;
 import com.evoting.evoting_backend.service.ImmutableAuditService;
 import org.springframework.stereotype.Service;
 import java.math.BigInteger;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
 @Service
 public class ZeroKnowledgeProofService {
     
+    // Random weights of the small-exponents batch test; a bad batch slips through with
+    // probability about 2^-64 (the non-residue part of Z*_{n^2} has only order p and q)
+    private static final int BATCH_WEIGHT_BITS = 64;
+    
     private final SecureRandom secureRandom = new SecureRandom();
     
+    @Autowired
+    private PaillierKeyService paillierKeyService;
+    
+    @Autowired
+    private ProofVerificationCache verificationCache;
+    
+    public static class BatchVerificationResult {
+        private final boolean[] valid;
+        private final String[] digests;
+        private final int cacheHits;
+        private final int batchChecks;
+        private final long elapsedNanos;
+        
+        public BatchVerificationResult(boolean[] valid, String[] digests, int cacheHits,
+                                       int batchChecks, long elapsedNanos) {
+            this.valid = valid;
+            this.digests = digests;
+            this.cacheHits = cacheHits;
+            this.batchChecks = batchChecks;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        public boolean isValid(int index) { return valid[index]; }
+        // Verdict cache key of a proof, null for entries that could not be parsed
+        public String getDigest(int index) { return digests[index]; }
+        public int getTotalProofs() { return valid.length; }
+        public int getCacheHits() { return cacheHits; }
+        public int getBatchChecks() { return batchChecks; }
+        public double getElapsedMs() { return elapsedNanos / 1_000_000.0; }
+        
+        public int getValidProofs() {
+            int count = 0;
+            for (boolean v : valid) {
+                if (v) count++;
+            }
+            return count;
+        }
+        
+        public List<Integer> getInvalidIndexes() {
+            List<Integer> invalid = new ArrayList<>();
+            for (int i = 0; i < valid.length; i++) {
+                if (!valid[i]) invalid.add(i);
+            }
+            return invalid;
+        }
+        
+        public double getProofsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : valid.length * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+    
+    /**
+     * Plaintexts a ballot of this election may encrypt: a one-hot slot for packed
+     * ballots, otherwise 0 or 1 for the ballot's candidate
+     */
+    public List<BigInteger> allowedPlaintexts(Election election) {
+        List<BigInteger> allowed = new ArrayList<>();
+        if (election.isPackedBallot()) {
+            int slotBits = PackedBallotCodec.slotBits(election.getExpectedVoters());
+            for (int slot = 0; slot < election.getMaxCandidates(); slot++) {
+                allowed.add(PackedBallotCodec.encode(slot, slotBits));
+            }
+        } else {
+            allowed.add(BigInteger.ZERO);
+            allowed.add(BigInteger.ONE);
+        }
+        return allowed;
+    }
+    
+    /**
+     * ✅ Verify many ballots' membership proofs together. All branch equations are
+     * folded with random weights into one multi-exponentiation per side; when the
+     * combined check fails the batch is bisected until the bad proofs are isolated.
+     */
+    public BatchVerificationResult batchVerifyVoteValidityProofs(BigInteger n, List<BigInteger> allowed,
+                                                                 List<BigInteger> ciphertexts,
+                                                                 List<PaillierMembershipProof> proofs) {
+        return batchVerifyVoteValidityProofs(n, allowed, ciphertexts, proofs, true);
+    }
+    
+    private BatchVerificationResult batchVerifyVoteValidityProofs(BigInteger n, List<BigInteger> allowed,
+                                                                  List<BigInteger> ciphertexts,
+                                                                  List<PaillierMembershipProof> proofs,
+                                                                  boolean useCache) {
+        if (ciphertexts.size() != proofs.size()) {
+            throw new IllegalArgumentException("Each ciphertext needs exactly one proof");
+        }
+        
+        long start = System.nanoTime();
+        boolean[] valid = new boolean[proofs.size()];
+        String[] digests = new String[proofs.size()];
+        int cacheHits = 0;
+        List<Integer> uncached = new ArrayList<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < proofs.size(); i++) {
+            PaillierMembershipProof proof = proofs.get(i);
+            if (proof == null) {
+                continue;
+            }
+            if (useCache) {
+                digests[i] = verificationCache.membershipProofKey(n, allowed, ciphertexts.get(i), proof);
+                Boolean verdict = verificationCache.getVerdict(digests[i]);
+                if (verdict != null) {
+                    valid[i] = verdict;
+                    cacheHits++;
+                    continue;
+                }
+            }
+            uncached.add(i);
+            if (proof.checkChallenges(n, ciphertexts.get(i), allowed)) {
+                candidates.add(i);
+            }
+        }
+        
+        int[] batchChecks = new int[1];
+        bisect(n, allowed, ciphertexts, proofs, candidates, valid, batchChecks);
+        
+        if (useCache) {
+            for (int index : uncached) {
+                verificationCache.putVerdict(digests[index], valid[index]);
+            }
+        }
+        
+        return new BatchVerificationResult(valid, digests, cacheHits, batchChecks[0], System.nanoTime() - start);
+    }
+    
+    /**
+     * ✅ Single ballot proof check through the verdict cache (cast, self-verification)
+     */
+    public boolean verifyBallotProof(Election election, String encryptedVote, String validityProof) {
+        try {
+            BigInteger n = paillierKeyService.getPaillierUtil(election.getId()).getN();
+            BigInteger ciphertext = new BigInteger(encryptedVote);
+            PaillierMembershipProof proof = PaillierMembershipProof.decode(validityProof);
+            List<BigInteger> allowed = allowedPlaintexts(election);
+            
+            String key = verificationCache.membershipProofKey(n, allowed, ciphertext, proof);
+            Boolean cached = verificationCache.getVerdict(key);
+            if (cached != null) {
+                return cached;
+            }
+            boolean verdict = proof.verify(n, ciphertext, allowed);
+            verificationCache.putVerdict(key, verdict);
+            return verdict;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    private void bisect(BigInteger n, List<BigInteger> allowed, List<BigInteger> ciphertexts,
+                        List<PaillierMembershipProof> proofs, List<Integer> indexes,
+                        boolean[] valid, int[] batchChecks) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (indexes.size() == 1) {
+            int index = indexes.get(0);
+            valid[index] = proofs.get(index).verify(n, ciphertexts.get(index), allowed);
+            return;
+        }
+        
+        batchChecks[0]++;
+        if (batchEquationHolds(n, allowed, ciphertexts, proofs, indexes)) {
+            for (int index : indexes) {
+                valid[index] = true;
+            }
+            return;
+        }
+        
+        int mid = indexes.size() / 2;
+        bisect(n, allowed, ciphertexts, proofs, indexes.subList(0, mid), valid, batchChecks);
+        bisect(n, allowed, ciphertexts, proofs, indexes.subList(mid, indexes.size()), valid, batchChecks);
+    }
+    
+    /**
+     * Checks prod(z_ij^w_ij)^n == prod(a_ij^w_ij) * prod(c_i^(sum_j e_ij*w_ij)) * g^(-sum m_j*e_ij*w_ij).
+     * The g term costs nothing because g^x = 1 + x*n mod n^2.
+     */
+    private boolean batchEquationHolds(BigInteger n, List<BigInteger> allowed, List<BigInteger> ciphertexts,
+                                       List<PaillierMembershipProof> proofs, List<Integer> indexes) {
+        BigInteger nsquare = n.multiply(n);
+        int branches = allowed.size();
+        int terms = indexes.size() * branches;
+        
+        BigInteger[] responseBases = new BigInteger[terms];
+        BigInteger[] commitmentBases = new BigInteger[terms + indexes.size()];
+        BigInteger[] weights = new BigInteger[terms];
+        BigInteger[] rightExponents = new BigInteger[terms + indexes.size()];
+        BigInteger messageSum = BigInteger.ZERO;
+        
+        int t = 0;
+        for (int k = 0; k < indexes.size(); k++) {
+            PaillierMembershipProof proof = proofs.get(indexes.get(k));
+            BigInteger ciphertextExponent = BigInteger.ZERO;
+            for (int j = 0; j < branches; j++) {
+                BigInteger weight = new BigInteger(BATCH_WEIGHT_BITS, secureRandom).add(BigInteger.ONE);
+                BigInteger weightedChallenge = proof.getChallenges()[j].multiply(weight);
+                
+                responseBases[t] = proof.getResponses()[j];
+                weights[t] = weight;
+                commitmentBases[t] = proof.getCommitments()[j];
+                rightExponents[t] = weight;
+                ciphertextExponent = ciphertextExponent.add(weightedChallenge);
+                messageSum = messageSum.add(allowed.get(j).multiply(weightedChallenge));
+                t++;
+            }
+            commitmentBases[terms + k] = ciphertexts.get(indexes.get(k));
+            rightExponents[terms + k] = ciphertextExponent;
+        }
+        
+        BarrettReducer reducer = new BarrettReducer(nsquare);
+        BigInteger left = MultiExponentiation.simultaneous(responseBases, weights, reducer).modPow(n, nsquare);
+        BigInteger gTerm = BigInteger.ONE.subtract(messageSum.mod(n).multiply(n)).mod(nsquare);
+        BigInteger right = reducer.multiply(
+            MultiExponentiation.simultaneous(commitmentBases, rightExponents, reducer), gTerm);
+        return left.equals(right);
+    }
+    
+    /**
+     * Proofs/sec for one-by-one vs batched verification on synthetic ballots under the
+     * default key, plus a second batched run with one corrupted proof to exercise bisection
+     */
+    public Map<String, Object> benchmarkBatchVerification(int ballots, int branches) {
+        PaillierUtil paillierUtil = paillierKeyService.getPaillierUtil();
+        BigInteger n = paillierUtil.getN();
+        
+        List<BigInteger> allowed = new ArrayList<>();
+        for (int j = 0; j < branches; j++) {
+            allowed.add(BigInteger.valueOf(j));
+        }
+        
+        List<BigInteger> ciphertexts = new ArrayList<>();
+        List<PaillierMembershipProof> proofs = new ArrayList<>();
+        for (int i = 0; i < ballots; i++) {
+            int choice = secureRandom.nextInt(branches);
+            BigInteger r = new BigInteger(n.bitLength() - 1, secureRandom);
+            BigInteger ciphertext = paillierUtil.encrypt(allowed.get(choice), r);
+            ciphertexts.add(ciphertext);
+            proofs.add(PaillierMembershipProof.prove(n, ciphertext, r, allowed, choice, secureRandom));
+        }
+        
+        long start = System.nanoTime();
+        int individuallyValid = 0;
+        for (int i = 0; i < ballots; i++) {
+            if (proofs.get(i).verify(n, ciphertexts.get(i), allowed)) {
+                individuallyValid++;
+            }
+        }
+        long individualNanos = System.nanoTime() - start;
+        
+        BatchVerificationResult batch = batchVerifyVoteValidityProofs(n, allowed, ciphertexts, proofs, false);
+        
+        // Swap in a ciphertext the proof was not made for
+        int corrupted = ballots / 2;
+        List<BigInteger> tampered = new ArrayList<>(ciphertexts);
+        tampered.set(corrupted, paillierUtil.add(tampered.get(corrupted), paillierUtil.encrypt(BigInteger.ONE)));
+        BatchVerificationResult withFailure = batchVerifyVoteValidityProofs(n, allowed, tampered, proofs, false);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("ballots", ballots);
+        result.put("branches", branches);
+        result.put("individualValid", individuallyValid);
+        result.put("individualMs", individualNanos / 1_000_000.0);
+        result.put("individualProofsPerSecond", individualNanos == 0 ? 0.0 : ballots * 1_000_000_000.0 / individualNanos);
+        result.put("batchValid", batch.getValidProofs());
+        result.put("batchMs", batch.getElapsedMs());
+        result.put("batchProofsPerSecond", batch.getProofsPerSecond());
+        result.put("bisectionInvalidIndexes", withFailure.getInvalidIndexes());
+        result.put("bisectionBatchChecks", withFailure.getBatchChecks());
+        result.put("bisectionMs", withFailure.getElapsedMs());
+        result.put("bisectionFoundCorrupted", withFailure.getInvalidIndexes().equals(List.of(corrupted)));
+        return result;
+    }
+    
     // ZKP for proving vote is for a valid candidate without revealing which one
     public Map<String, Object> generateVoteValidityProof(BigInteger encryptedVote, Long[] validCandidateIds, BigInteger publicKey) {
         try {
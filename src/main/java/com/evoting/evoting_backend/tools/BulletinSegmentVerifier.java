@@ -0,0 +1,209 @@
+package com.evoting.evoting_backend.tools;
+
+import com.evoting.evoting_backend.crypto.BulletinSegment;
+import com.evoting.evoting_backend.crypto.MerkleFrontier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Offline auditor for one election's bulletin board segments, as published under
+ * /bulletin-segments/{electionId}/. Needs no database or running server:
+ *
+ *   java -cp target/classes com.evoting.evoting_backend.tools.BulletinSegmentVerifier <dir> [threads]
+ *
+ * Files are memory-mapped. The cross-segment checks run first: each file name must be
+ * the SHA-256 of its bytes, and the segments must form a hash chain with contiguous
+ * sequence numbers. Each segment is then re-derived on its own, in parallel, starting
+ * from the previous header's frontier: entry hashes, previousHash links, and the
+ * Merkle frontier and root at its end. Exits 0 only if everything checks out.
+ */
+public class BulletinSegmentVerifier {
+
+    private static class Segment {
+        private final Path path;
+        private final ByteBuffer file;
+        private final BulletinSegment.Header header;
+        private final String hash;
+
+        private Segment(Path path, ByteBuffer file, BulletinSegment.Header header, String hash) {
+            this.path = path;
+            this.file = file;
+            this.header = header;
+            this.hash = hash;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: BulletinSegmentVerifier <segment-directory> [threads]");
+            System.exit(2);
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        List<String> failures = verify(Paths.get(args[0]), threads, System.out);
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Returns the list of failures (empty when the segments verify)
+     */
+    public static List<String> verify(Path directory, int threads, java.io.PrintStream out)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        List<String> failures = new ArrayList<>();
+        List<Segment> segments = new ArrayList<>();
+        long totalBytes = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + BulletinSegment.FILE_SUFFIX)) {
+            for (Path path : files) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    totalBytes += channel.size();
+                    String hash = BulletinSegment.contentHash(file);
+                    if (!path.getFileName().toString().equals(BulletinSegment.fileName(hash))) {
+                        failures.add(path.getFileName() + ": content hash is " + hash);
+                    }
+                    segments.add(new Segment(path, file, BulletinSegment.readHeader(file), hash));
+                } catch (RuntimeException e) {
+                    failures.add(path.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            failures.add("No segment files in " + directory);
+            report(out, failures, 0, 0, null, start);
+            return failures;
+        }
+        segments.sort(Comparator.comparingLong(segment -> segment.header.segmentIndex));
+
+        // Chain checks across segments
+        Segment previous = null;
+        for (Segment segment : segments) {
+            BulletinSegment.Header header = segment.header;
+            String name = "segment " + header.segmentIndex;
+            long expectedIndex = previous == null ? 0 : previous.header.segmentIndex + 1;
+            long expectedSequence = previous == null ? 0 : previous.header.firstSequence + previous.header.entryCount;
+            byte[] expectedPrevious = previous == null ? new byte[32] : HexFormat.of().parseHex(previous.hash);
+            if (header.segmentIndex != expectedIndex) {
+                failures.add(name + ": expected segment index " + expectedIndex);
+            }
+            if (header.firstSequence != expectedSequence) {
+                failures.add(name + ": starts at entry " + header.firstSequence + ", expected " + expectedSequence);
+            }
+            if (!Arrays.equals(header.previousSegmentHash, expectedPrevious)) {
+                failures.add(name + ": previous segment hash does not match");
+            }
+            if (previous != null && header.electionId != previous.header.electionId) {
+                failures.add(name + ": belongs to election " + header.electionId);
+            }
+            if (previous != null && previous.header.isFinal()) {
+                failures.add(name + ": follows the final segment");
+            }
+            previous = segment;
+        }
+
+        // Content checks, one task per segment
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                Segment before = i > 0 ? segments.get(i - 1) : null;
+                results.add(executor.submit(() -> verifySegment(segment, before)));
+            }
+            for (Future<List<String>> result : results) {
+                try {
+                    failures.addAll(result.get());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failures.add(e.getCause().toString());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Segment last = segments.get(segments.size() - 1);
+        long entries = last.header.firstSequence + last.header.entryCount;
+        report(out, failures, entries, totalBytes, last, start);
+        return failures;
+    }
+
+    private static List<String> verifySegment(Segment segment, Segment previous) {
+        List<String> failures = new ArrayList<>();
+        BulletinSegment.Header header = segment.header;
+        String name = "segment " + header.segmentIndex;
+        try {
+            MerkleFrontier frontier = previous != null ? previous.header.frontier.copy() : new MerkleFrontier();
+            String previousHash = previous != null ? previous.header.lastEntryHash : "0";
+            long previousId = previous != null ? previous.header.lastEntryId : Long.MIN_VALUE;
+
+            ByteBuffer body = BulletinSegment.readBody(segment.file, header);
+            int count = 0;
+            BulletinSegment.Entry entry = null;
+            while (body.hasRemaining()) {
+                int recordStart = body.position();
+                entry = BulletinSegment.readRecord(body);
+                ByteBuffer record = body.duplicate();
+                record.position(recordStart).limit(body.position());
+                frontier.appendData(record);
+
+                if (entry.id <= previousId) {
+                    failures.add(name + ": entry " + entry.id + " is out of order");
+                }
+                // BulletinBoardService's entry hash: hashCode of trackingCode + ciphertext + electionId
+                String recomputed = String.valueOf((entry.trackingCode + entry.encryptedVote + header.electionId).hashCode());
+                if (!recomputed.equals(entry.entryHash)) {
+                    failures.add(name + ": entry " + entry.id + " hash mismatch");
+                }
+                if (!Objects.equals(previousHash, entry.previousHash)) {
+                    failures.add(name + ": entry " + entry.id + " does not link to the previous entry");
+                }
+                previousHash = entry.entryHash;
+                previousId = entry.id;
+                count++;
+            }
+
+            if (count != header.entryCount) {
+                failures.add(name + ": holds " + count + " entries, header says " + header.entryCount);
+            }
+            if (entry != null && (entry.id != header.lastEntryId || !Objects.equals(entry.entryHash, header.lastEntryHash))) {
+                failures.add(name + ": last entry does not match the header");
+            }
+            if (!frontier.sameAs(header.frontier)) {
+                failures.add(name + ": Merkle frontier mismatch");
+            }
+            if (!Arrays.equals(frontier.root(), header.merkleRoot)) {
+                failures.add(name + ": Merkle root mismatch");
+            }
+        } catch (RuntimeException e) {
+            failures.add(name + ": " + e.getMessage());
+        }
+        return failures;
+    }
+
+    private static void report(java.io.PrintStream out, List<String> failures, long entries, long bytes,
+                               Segment last, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        for (String failure : failures) {
+            out.println("FAIL " + failure);
+        }
+        if (last != null) {
+            out.println("Election " + last.header.electionId + ": " + (last.header.segmentIndex + 1) + " segment(s), " +
+                entries + " entries, final=" + last.header.isFinal());
+            out.println("Merkle root " + HexFormat.of().formatHex(last.header.merkleRoot));
+        }
+        out.printf("%d bytes in %.3f s (%.1f MB/s)%n", bytes, seconds, seconds > 0 ? bytes / seconds / 1_000_000 : 0.0);
+        out.println(failures.isEmpty() ? "VERIFIED" : "FAILED (" + failures.size() + ")");
+    }
+}
@@ -0,0 +1,208 @@
+-- Baseline for the embedded database (benchmark profile and repository tests).
+-- Same tables as mysql/V1__baseline_schema.sql in H2 types.
+
+create sequence vote_seq start with 1 increment by 50;
+
+create table anonymous_voting_tokens (
+    active boolean not null,
+    spent boolean not null,
+    election_id bigint not null,
+    expires_at timestamp(6) not null,
+    issued_at timestamp(6) not null,
+    spent_at timestamp(6),
+    blind_signature TEXT,
+    blinding_factor_hash varchar(255),
+    session_id varchar(255),
+    token varchar(255) not null,
+    primary key (token)
+);
+
+create table blind_sign_sessions (
+    used boolean,
+    created_at timestamp(6),
+    election_id bigint not null,
+    expires_at timestamp(6) not null,
+    voter_identity_id bigint not null,
+    blinding_factor TEXT not null,
+    session_id varchar(255) not null,
+    primary key (session_id)
+);
+
+create table bulletin_board_entry (
+    election_id bigint,
+    id bigint generated by default as identity,
+    proof_verified_at timestamp(6),
+    timestamp timestamp(6),
+    vote_id bigint,
+    proof_verdict varchar(16),
+    proof_digest varchar(64),
+    ciphertext varbinary(1024),
+    encrypted_vote TEXT,
+    entry_hash varchar(255),
+    previous_hash varchar(255),
+    tracking_code varchar(255),
+    primary key (id)
+);
+
+create table candidates (
+    election_id bigint not null,
+    id bigint generated by default as identity,
+    candidate_code varchar(255),
+    description TEXT,
+    name varchar(255) not null,
+    party varchar(255),
+    primary key (id)
+);
+
+create table death_registry_cache (
+    is_alive boolean not null,
+    checked_at timestamp(6),
+    expires_at timestamp(6) not null,
+    government_id_hash varchar(255) not null,
+    primary key (government_id_hash)
+);
+
+create table election_turnout_summary (
+    bulletin_entries bigint not null,
+    election_id bigint not null,
+    tokens_issued bigint not null,
+    tokens_spent bigint not null,
+    updated_at timestamp(6),
+    votes_cast bigint not null,
+    primary key (election_id)
+);
+
+create table elections (
+    allow_write_in boolean,
+    expected_voters integer,
+    max_candidates integer,
+    closed_at timestamp(6),
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    opened_at timestamp(6),
+    voting_end timestamp(6),
+    voting_start timestamp(6),
+    ballot_encoding varchar(255) check (ballot_encoding in ('PER_CANDIDATE','PACKED')),
+    description TEXT,
+    state varchar(255) not null check (state in ('CREATED','OPEN','CLOSED')),
+    title varchar(255) not null,
+    primary key (id)
+);
+
+create table eligibility_token (
+    spent boolean not null,
+    election_id bigint,
+    expires_at timestamp(6),
+    issued_at timestamp(6),
+    voter_id bigint,
+    token varchar(255) not null,
+    primary key (token)
+);
+
+create table immutable_audit_log (
+    id bigint generated by default as identity,
+    timestamp timestamp(6),
+    event_data TEXT,
+    event_type varchar(255),
+    log_hash varchar(255) unique,
+    merkle_root TEXT,
+    operation varchar(255),
+    previous_hash varchar(255),
+    service varchar(255),
+    signature TEXT,
+    primary key (id)
+);
+
+create table kyc_verification (
+    death_registry_checked boolean,
+    is_alive boolean,
+    is_duplicate boolean,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    verified_at timestamp(6),
+    email varchar(255),
+    full_name varchar(255) not null,
+    government_id_hash varchar(255) not null unique,
+    phone varchar(255),
+    status varchar(255) check (status in ('PENDING','VERIFIED','REJECTED','EXPIRED')),
+    primary key (id)
+);
+
+create table tally_job (
+    attempts integer not null,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    election_id bigint not null unique,
+    id bigint generated by default as identity,
+    last_vote_id bigint,
+    processed_votes bigint not null,
+    started_at timestamp(6),
+    total_votes bigint not null,
+    error TEXT,
+    partial_counts TEXT,
+    result_json TEXT,
+    result_signature TEXT,
+    signing_key_id varchar(255),
+    signing_public_key TEXT,
+    status varchar(255) check (status in ('QUEUED','RUNNING','COMPLETED','FAILED')),
+    primary key (id)
+);
+
+create table user (
+    id bigint generated by default as identity,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('ADMIN','ELECTION_OFFICER','VOTER')),
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+create table vote (
+    candidate_id bigint,
+    election_id bigint,
+    id bigint not null,
+    timestamp timestamp(6),
+    ciphertext varbinary(1024),
+    encrypted_vote TEXT,
+    tracking_code varchar(255),
+    validity_proof TEXT,
+    primary key (id)
+);
+
+create table voter (
+    election_id bigint,
+    id bigint generated by default as identity,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+create table voter_identity (
+    is_alive boolean not null,
+    is_duplicate boolean not null,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    verified_at timestamp(6),
+    email varchar(255),
+    government_id_hash varchar(255) not null unique,
+    name varchar(255),
+    phone varchar(255),
+    status varchar(255) check (status in ('PENDING','VERIFIED','REJECTED','EXPIRED')),
+    primary key (id)
+);
+
+create index idx_bulletin_election_id 
+   on bulletin_board_entry (election_id, id);
+
+create index idx_vote_election_candidate 
+   on vote (election_id, candidate_id);
+
+create index idx_vote_tracking_code 
+   on vote (tracking_code);
+
+alter table if exists voter 
+   add constraint FK7bfrig3814qjtp3lgtfmmi9al 
+   foreign key (election_id) 
+   references elections;
@@ -0,0 +1,17 @@
+-- H2 has no table partitioning; keep the key changes from the MySQL version so both
+-- schemas (and the query plans RepositoryQueryPlanTest checks) stay the same shape.
+
+alter table vote alter column election_id set not null;
+alter table vote drop primary key;
+alter table vote add primary key (id, election_id);
+drop index uk_vote_tracking_code;
+create unique index uk_vote_tracking_code on vote (tracking_code, election_id);
+
+alter table bulletin_board_entry alter column election_id set not null;
+alter table bulletin_board_entry drop primary key;
+alter table bulletin_board_entry add primary key (id, election_id);
+drop index uk_bulletin_tracking_code;
+create unique index uk_bulletin_tracking_code on bulletin_board_entry (tracking_code, election_id);
+
+alter table anonymous_voting_tokens drop primary key;
+alter table anonymous_voting_tokens add primary key (token, election_id);
@@ -0,0 +1,13 @@
+-- One row per packed-ballot election: casts reserve a slot with a guarded increment in
+-- the token-spend transaction, so no more than capacity ballots are ever accepted
+create table packed_ballot_capacity (
+    election_id bigint not null,
+    capacity bigint not null,
+    reserved bigint not null,
+    primary key (election_id)
+);
+
+insert into packed_ballot_capacity (election_id, capacity, reserved)
+select e.id, e.expected_voters, (select count(*) from vote v where v.election_id = e.id)
+from elections e
+where e.ballot_encoding = 'PACKED' and e.expected_voters is not null;
@@ -0,0 +1,228 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced before migrations existed.
+-- Databases created that way are baselined at this version and skip it
+-- (spring.flyway.baseline-on-migrate), so it only runs on empty databases.
+
+create table anonymous_voting_tokens (
+    active bit not null,
+    spent bit not null,
+    election_id bigint not null,
+    expires_at datetime(6) not null,
+    issued_at datetime(6) not null,
+    spent_at datetime(6),
+    blind_signature TEXT,
+    blinding_factor_hash varchar(255),
+    session_id varchar(255),
+    token varchar(255) not null,
+    primary key (token)
+) engine=InnoDB;
+
+create table blind_sign_sessions (
+    used bit,
+    created_at datetime(6),
+    election_id bigint not null,
+    expires_at datetime(6) not null,
+    voter_identity_id bigint not null,
+    blinding_factor TEXT not null,
+    session_id varchar(255) not null,
+    primary key (session_id)
+) engine=InnoDB;
+
+create table bulletin_board_entry (
+    election_id bigint,
+    id bigint not null auto_increment,
+    proof_verified_at datetime(6),
+    timestamp datetime(6),
+    vote_id bigint,
+    proof_verdict varchar(16),
+    proof_digest varchar(64),
+    ciphertext varbinary(1024),
+    encrypted_vote TEXT,
+    entry_hash varchar(255),
+    previous_hash varchar(255),
+    tracking_code varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table candidates (
+    election_id bigint not null,
+    id bigint not null auto_increment,
+    candidate_code varchar(255),
+    description TEXT,
+    name varchar(255) not null,
+    party varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table death_registry_cache (
+    is_alive bit not null,
+    checked_at datetime(6),
+    expires_at datetime(6) not null,
+    government_id_hash varchar(255) not null,
+    primary key (government_id_hash)
+) engine=InnoDB;
+
+create table election_turnout_summary (
+    bulletin_entries bigint not null,
+    election_id bigint not null,
+    tokens_issued bigint not null,
+    tokens_spent bigint not null,
+    updated_at datetime(6),
+    votes_cast bigint not null,
+    primary key (election_id)
+) engine=InnoDB;
+
+create table elections (
+    allow_write_in bit,
+    expected_voters integer,
+    max_candidates integer,
+    closed_at datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    opened_at datetime(6),
+    voting_end datetime(6),
+    voting_start datetime(6),
+    description TEXT,
+    title varchar(255) not null,
+    ballot_encoding enum ('PER_CANDIDATE','PACKED'),
+    state enum ('CREATED','OPEN','CLOSED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table eligibility_token (
+    spent bit not null,
+    election_id bigint,
+    expires_at datetime(6),
+    issued_at datetime(6),
+    voter_id bigint,
+    token varchar(255) not null,
+    primary key (token)
+) engine=InnoDB;
+
+create table immutable_audit_log (
+    id bigint not null auto_increment,
+    timestamp datetime(6),
+    event_data TEXT,
+    event_type varchar(255),
+    log_hash varchar(255),
+    merkle_root TEXT,
+    operation varchar(255),
+    previous_hash varchar(255),
+    service varchar(255),
+    signature TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table kyc_verification (
+    death_registry_checked bit,
+    is_alive bit,
+    is_duplicate bit,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    verified_at datetime(6),
+    email varchar(255),
+    full_name varchar(255) not null,
+    government_id_hash varchar(255) not null,
+    phone varchar(255),
+    status enum ('PENDING','VERIFIED','REJECTED','EXPIRED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table tally_job (
+    attempts integer not null,
+    completed_at datetime(6),
+    created_at datetime(6),
+    election_id bigint not null,
+    id bigint not null auto_increment,
+    last_vote_id bigint,
+    processed_votes bigint not null,
+    started_at datetime(6),
+    total_votes bigint not null,
+    error TEXT,
+    partial_counts TEXT,
+    result_json TEXT,
+    result_signature TEXT,
+    signing_key_id varchar(255),
+    signing_public_key TEXT,
+    status enum ('QUEUED','RUNNING','COMPLETED','FAILED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    username varchar(255) not null,
+    role enum ('ADMIN','ELECTION_OFFICER','VOTER'),
+    primary key (id)
+) engine=InnoDB;
+
+create table vote (
+    candidate_id bigint,
+    election_id bigint,
+    id bigint not null,
+    timestamp datetime(6),
+    ciphertext varbinary(1024),
+    encrypted_vote TEXT,
+    tracking_code varchar(255),
+    validity_proof TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table vote_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into vote_seq values ( 1 );
+
+create table voter (
+    election_id bigint,
+    id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table voter_identity (
+    is_alive bit not null,
+    is_duplicate bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    verified_at datetime(6),
+    email varchar(255),
+    government_id_hash varchar(255) not null,
+    name varchar(255),
+    phone varchar(255),
+    status enum ('PENDING','VERIFIED','REJECTED','EXPIRED'),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_bulletin_election_id 
+   on bulletin_board_entry (election_id, id);
+
+alter table immutable_audit_log 
+   add constraint UK_1vxxru6fmmbhjstyhg86b8p89 unique (log_hash);
+
+alter table kyc_verification 
+   add constraint UK_cls21c8drd4qtckotv821e1oj unique (government_id_hash);
+
+alter table tally_job 
+   add constraint UK_4uda7yqhdd5gjyoju7nxmwigo unique (election_id);
+
+alter table user 
+   add constraint UK_sb8bbouer5wak8vyiiy4pf2bx unique (username);
+
+create index idx_vote_election_candidate 
+   on vote (election_id, candidate_id);
+
+create index idx_vote_tracking_code 
+   on vote (tracking_code);
+
+alter table voter_identity 
+   add constraint UK_i7t1ck6e6f7yfal53m38hc2o9 unique (government_id_hash);
+
+alter table voter 
+   add constraint FK7bfrig3814qjtp3lgtfmmi9al 
+   foreign key (election_id) 
+   references elections (id);
@@ -0,0 +1,44 @@
+-- Indexes for every repository lookup; RepositoryQueryPlanTest fails when a query
+-- method falls back to a full table scan. Primary keys already serve
+-- anonymous_voting_tokens.token, blind_sign_sessions.session_id and
+-- death_registry_cache.government_id_hash.
+
+-- Tokens: cast-time lookups by session, per-election stats, expiry sweeps
+create index idx_avt_session_election on anonymous_voting_tokens (session_id, election_id);
+create index idx_avt_election_spent on anonymous_voting_tokens (election_id, spent, active);
+create index idx_avt_expires_at on anonymous_voting_tokens (expires_at, active);
+
+create index idx_bss_voter_election on blind_sign_sessions (voter_identity_id, election_id, used);
+create index idx_bss_expires_at on blind_sign_sessions (expires_at, used);
+
+-- Tracking codes are UUIDs; a duplicate would already break findByTrackingCode
+create unique index uk_bulletin_tracking_code on bulletin_board_entry (tracking_code);
+create index idx_bulletin_election_timestamp on bulletin_board_entry (election_id, timestamp);
+create index idx_bulletin_timestamp on bulletin_board_entry (timestamp);
+
+create index idx_candidates_election on candidates (election_id);
+
+create index idx_drc_expires_at on death_registry_cache (expires_at);
+create index idx_drc_alive on death_registry_cache (is_alive);
+
+create index idx_elections_state_end on elections (state, voting_end);
+create index idx_elections_title_state on elections (title, state);
+
+create index idx_eligibility_voter_election on eligibility_token (voter_id, election_id, spent);
+create index idx_eligibility_election_spent on eligibility_token (election_id, spent);
+create index idx_eligibility_spent on eligibility_token (spent);
+
+create index idx_audit_event_type on immutable_audit_log (event_type);
+create index idx_audit_service_timestamp on immutable_audit_log (service, timestamp);
+create index idx_audit_timestamp on immutable_audit_log (timestamp);
+
+create index idx_kyc_status_alive on kyc_verification (status, is_alive);
+
+create index idx_tally_job_status on tally_job (status);
+
+create index idx_voter_email on voter (email);
+
+create index idx_voter_identity_status on voter_identity (status);
+
+create unique index uk_vote_tracking_code on vote (tracking_code);
+drop index idx_vote_tracking_code on vote;
@@ -0,0 +1,39 @@
+-- Per-election RANGE partitions for the three tables that grow with every election.
+-- p_benchmark holds the synthetic negative election ids the benchmarks use; every real
+-- election lands in p_future until ElectionPartitionService splits a p_e<id> partition
+-- off for it (at startup and when the election is created). Closed elections are
+-- archived by exchanging their partition with a plain table, a metadata-only swap.
+--
+-- MySQL wants the partitioning column in every unique key, so the primary keys and
+-- tracking-code keys gain election_id. Tracking codes are random UUIDs; the lookup by
+-- tracking code still uses the key prefix.
+
+alter table vote modify election_id bigint not null;
+alter table vote
+    drop primary key,
+    add primary key (id, election_id),
+    drop index uk_vote_tracking_code,
+    add unique index uk_vote_tracking_code (tracking_code, election_id);
+alter table vote partition by range (election_id) (
+    partition p_benchmark values less than (1),
+    partition p_future values less than maxvalue
+);
+
+alter table bulletin_board_entry modify election_id bigint not null;
+alter table bulletin_board_entry
+    drop primary key,
+    add primary key (id, election_id),
+    drop index uk_bulletin_tracking_code,
+    add unique index uk_bulletin_tracking_code (tracking_code, election_id);
+alter table bulletin_board_entry partition by range (election_id) (
+    partition p_benchmark values less than (1),
+    partition p_future values less than maxvalue
+);
+
+alter table anonymous_voting_tokens
+    drop primary key,
+    add primary key (token, election_id);
+alter table anonymous_voting_tokens partition by range (election_id) (
+    partition p_benchmark values less than (1),
+    partition p_future values less than maxvalue
+);
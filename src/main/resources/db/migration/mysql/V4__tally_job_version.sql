@@ -0,0 +1,3 @@
+-- Optimistic lock on tally jobs: with several nodes, only one can claim a job left
+-- queued or running, and a node that lost its claim cannot overwrite the checkpoint
+alter table tally_job add column version bigint not null default 0;
@@ -0,0 +1,3 @@
+-- Bumped by every turnout rebuild: a node whose unflushed deltas predate the rebuild
+-- sees a different generation and drops them instead of adding them to the recount
+alter table election_turnout_summary add column generation bigint not null default 0;
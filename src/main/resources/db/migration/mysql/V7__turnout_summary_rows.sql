@@ -0,0 +1,7 @@
+-- Every election gets its turnout summary row when it is created: counted writes take a
+-- shared lock on it, so a rebuild can tell which of them its recount includes. Rows for
+-- older elections start at zero; the startup rebuild recounts them.
+insert into election_turnout_summary (election_id, tokens_issued, tokens_spent, votes_cast, bulletin_entries, updated_at, generation)
+select e.id, 0, 0, 0, 0, current_timestamp, 0
+from elections e
+where not exists (select 1 from election_turnout_summary s where s.election_id = e.id);
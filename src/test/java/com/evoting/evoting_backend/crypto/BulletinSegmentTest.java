@@ -0,0 +1,145 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulletinSegmentTest {
+
+    @Test
+    void headerAndRecordsRoundTrip() {
+        List<BulletinSegment.Entry> entries = entries(10, 5);
+        MerkleFrontier frontier = new MerkleFrontier();
+        byte[] previous = new byte[32];
+        Arrays.fill(previous, (byte) 7);
+
+        byte[] file = BulletinSegment.write(42, 3, true, previous, entries, frontier);
+        BulletinSegment.Header header = BulletinSegment.readHeader(ByteBuffer.wrap(file));
+
+        assertEquals(42, header.electionId);
+        assertEquals(3, header.segmentIndex);
+        assertTrue(header.isFinal());
+        assertEquals(0, header.firstSequence);
+        assertEquals(5, header.entryCount);
+        assertEquals(10, header.firstEntryId);
+        assertEquals(14, header.lastEntryId);
+        assertArrayEquals(previous, header.previousSegmentHash);
+        assertEquals(entries.get(4).entryHash, header.lastEntryHash);
+        assertTrue(header.frontier.sameAs(frontier));
+        assertArrayEquals(frontier.root(), header.merkleRoot);
+
+        ByteBuffer body = BulletinSegment.readBody(ByteBuffer.wrap(file), header);
+        MerkleFrontier leaves = new MerkleFrontier();
+        for (BulletinSegment.Entry expected : entries) {
+            int start = body.position();
+            BulletinSegment.Entry actual = BulletinSegment.readRecord(body);
+            assertEquals(expected.id, actual.id);
+            assertEquals(expected.timestamp, actual.timestamp);
+            assertEquals(expected.trackingCode, actual.trackingCode);
+            assertEquals(expected.entryHash, actual.entryHash);
+            assertEquals(expected.previousHash, actual.previousHash);
+            assertEquals(expected.encryptedVote, actual.encryptedVote);
+            leaves.appendData(body.duplicate().position(start).limit(body.position()));
+        }
+        assertFalse(body.hasRemaining());
+        assertTrue(leaves.sameAs(frontier));
+    }
+
+    @Test
+    void nullFieldsSurviveEncoding() {
+        BulletinSegment.Entry entry = new BulletinSegment.Entry(1, null, "t", null, "0", "");
+        BulletinSegment.Entry decoded = BulletinSegment.readRecord(ByteBuffer.wrap(BulletinSegment.encodeRecord(entry)));
+        assertNull(decoded.timestamp);
+        assertNull(decoded.entryHash);
+        assertEquals("", decoded.encryptedVote);
+    }
+
+    @Test
+    void consecutiveSegmentsContinueTheFrontier() {
+        List<BulletinSegment.Entry> all = entries(1, 9);
+        MerkleFrontier whole = new MerkleFrontier();
+        for (BulletinSegment.Entry entry : all) {
+            whole.appendData(BulletinSegment.encodeRecord(entry));
+        }
+
+        MerkleFrontier frontier = new MerkleFrontier();
+        byte[] first = BulletinSegment.write(1, 0, false, null, all.subList(0, 4), frontier);
+        byte[] second = BulletinSegment.write(1, 1, true,
+            HexFormat.of().parseHex(BulletinSegment.contentHash(first)), all.subList(4, 9), frontier);
+
+        BulletinSegment.Header firstHeader = BulletinSegment.readHeader(ByteBuffer.wrap(first));
+        BulletinSegment.Header secondHeader = BulletinSegment.readHeader(ByteBuffer.wrap(second));
+        assertArrayEquals(new byte[32], firstHeader.previousSegmentHash);
+        assertFalse(firstHeader.isFinal());
+        assertEquals(4, secondHeader.firstSequence);
+        assertEquals(9, secondHeader.frontier.getLeafCount());
+        assertArrayEquals(whole.root(), secondHeader.merkleRoot);
+    }
+
+    @Test
+    void contentHashNamesTheFile() {
+        byte[] file = BulletinSegment.write(1, 0, false, null, entries(1, 2), new MerkleFrontier());
+        String hash = BulletinSegment.contentHash(file);
+        assertEquals(64, hash.length());
+        assertEquals(hash, BulletinSegment.contentHash(ByteBuffer.wrap(file)));
+        assertEquals(hash + BulletinSegment.FILE_SUFFIX, BulletinSegment.fileName(hash));
+    }
+
+    @Test
+    void rejectsEmptySegment() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BulletinSegment.write(1, 0, false, null, new ArrayList<>(), new MerkleFrontier()));
+    }
+
+    @Test
+    void rejectsCorruptOrTruncatedFiles() {
+        byte[] file = BulletinSegment.write(1, 0, false, null, entries(1, 3), new MerkleFrontier());
+
+        byte[] badMagic = file.clone();
+        badMagic[0] = 'X';
+        assertThrows(IllegalStateException.class, () -> BulletinSegment.readHeader(ByteBuffer.wrap(badMagic)));
+
+        byte[] badVersion = file.clone();
+        badVersion[5] = 9;
+        assertThrows(IllegalStateException.class, () -> BulletinSegment.readHeader(ByteBuffer.wrap(badVersion)));
+
+        for (int length : new int[] {10, 60, file.length - 1}) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(file, length));
+            assertThrows(IllegalStateException.class, () -> BulletinSegment.readHeader(truncated));
+        }
+
+        byte[] padded = Arrays.copyOf(file, file.length + 1);
+        assertThrows(IllegalStateException.class, () -> BulletinSegment.readHeader(ByteBuffer.wrap(padded)));
+
+        // A flipped byte in the compressed body leaves the header readable but not the body
+        BulletinSegment.Header header = BulletinSegment.readHeader(ByteBuffer.wrap(file));
+        byte[] badBody = file.clone();
+        badBody[header.bodyOffset + 2] ^= (byte) 0xFF;
+        assertThrows(IllegalStateException.class,
+            () -> BulletinSegment.readBody(ByteBuffer.wrap(badBody), BulletinSegment.readHeader(ByteBuffer.wrap(badBody))));
+    }
+
+    private static List<BulletinSegment.Entry> entries(long firstId, int count) {
+        List<BulletinSegment.Entry> entries = new ArrayList<>();
+        String previousHash = "0";
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            String hash = "hash-" + id;
+            entries.add(new BulletinSegment.Entry(id, "2026-01-01T00:00:" + i, "track-" + id, hash,
+                previousHash, "ciphertext-" + id));
+            previousHash = hash;
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,71 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CiphertextCodecTest {
+
+    @Test
+    void padsToWholeWords() {
+        assertEquals(64, CiphertextCodec.encode(BigInteger.ZERO).length);
+        assertEquals(64, CiphertextCodec.encode(BigInteger.ONE).length);
+        // 512 bits fill one word exactly; toByteArray's sign byte must not add another
+        assertEquals(64, CiphertextCodec.encode(BigInteger.ONE.shiftLeft(512).subtract(BigInteger.ONE)).length);
+        assertEquals(128, CiphertextCodec.encode(BigInteger.ONE.shiftLeft(512)).length);
+        assertEquals(64, CiphertextCodec.width(0));
+        assertEquals(128, CiphertextCodec.width(65));
+    }
+
+    @Test
+    void roundTripsAtWordBoundaries() {
+        for (int bits : new int[] {1, 7, 8, 9, 511, 512, 513, 4095, 4096, 8191, 8192}) {
+            for (BigInteger value : new BigInteger[] {
+                    BigInteger.ONE.shiftLeft(bits - 1),
+                    BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE)}) {
+                byte[] encoded = CiphertextCodec.encode(value);
+                assertEquals(CiphertextCodec.width((bits + 7) / 8), encoded.length, bits + " bits");
+                assertEquals(value, CiphertextCodec.decode(encoded));
+            }
+        }
+        assertEquals(BigInteger.ZERO, CiphertextCodec.decode(CiphertextCodec.encode(BigInteger.ZERO)));
+    }
+
+    @Test
+    void encodingIsUnsignedBigEndian() {
+        byte[] encoded = CiphertextCodec.encode(BigInteger.valueOf(0x80FF));
+        byte[] expected = new byte[64];
+        expected[62] = (byte) 0x80;
+        expected[63] = (byte) 0xFF;
+        assertArrayEquals(expected, encoded);
+    }
+
+    @Test
+    void rejectsValuesOutsideTheColumn() {
+        BigInteger largest = BigInteger.ONE.shiftLeft(CiphertextCodec.MAX_BYTES * 8).subtract(BigInteger.ONE);
+        BigInteger tooWide = largest.add(BigInteger.ONE);
+        BigInteger negative = BigInteger.ONE.negate();
+
+        assertDoesNotThrow(() -> CiphertextCodec.checkEncodable(largest));
+        assertEquals(CiphertextCodec.MAX_BYTES, CiphertextCodec.encode(largest).length);
+
+        assertThrows(IllegalArgumentException.class, () -> CiphertextCodec.checkEncodable(tooWide));
+        assertThrows(IllegalArgumentException.class, () -> CiphertextCodec.encode(tooWide));
+        assertThrows(IllegalArgumentException.class, () -> CiphertextCodec.checkEncodable(negative));
+        assertThrows(IllegalArgumentException.class, () -> CiphertextCodec.encode(negative));
+    }
+
+    @Test
+    void nullAndEmptyMeanNoCiphertext() {
+        assertDoesNotThrow(() -> CiphertextCodec.checkEncodable(null));
+        assertNull(CiphertextCodec.encode(null));
+        assertNull(CiphertextCodec.decode(null));
+        assertNull(CiphertextCodec.decode(new byte[0]));
+    }
+}
@@ -0,0 +1,90 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntegerSecretSharingTest {
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    void everyQuorumCombinesToDeltaSquaredTimesSecret() {
+        BigInteger secret = new BigInteger(2048, random);
+        Map<Integer, BigInteger> shares = IntegerSecretSharing.split(secret, 5, 3, random);
+        BigInteger expected = IntegerSecretSharing.delta(5).pow(2).multiply(secret);
+
+        for (int a = 1; a <= 5; a++) {
+            for (int b = a + 1; b <= 5; b++) {
+                for (int c = b + 1; c <= 5; c++) {
+                    int[] xs = {a, b, c};
+                    BigInteger[] ys = {shares.get(a), shares.get(b), shares.get(c)};
+                    assertEquals(expected, IntegerSecretSharing.combine(xs, ys, 5));
+                }
+            }
+        }
+
+        int[] larger = {1, 2, 4, 5};
+        BigInteger[] largerShares = {shares.get(1), shares.get(2), shares.get(4), shares.get(5)};
+        assertEquals(expected, IntegerSecretSharing.combine(larger, largerShares, 5));
+    }
+
+    @Test
+    void coefficientsAreWiderThanTheScaledSecretByTheSecurityMargin() {
+        BigInteger secret = BigInteger.ONE.shiftLeft(4095);
+        int bits = IntegerSecretSharing.coefficientBits(secret, 5, 3);
+        int scaledSecretBits = IntegerSecretSharing.delta(5).pow(2).multiply(secret).bitLength();
+        assertTrue(bits >= scaledSecretBits + IntegerSecretSharing.STATISTICAL_SECURITY_BITS);
+
+        Map<Integer, BigInteger> shares = IntegerSecretSharing.split(secret, 5, 3, random);
+        // Each share is dominated by the random terms, not the secret
+        for (BigInteger share : shares.values()) {
+            assertTrue(share.bitLength() > scaledSecretBits + 64);
+        }
+    }
+
+    @Test
+    void quorumDecryptsPaillierCiphertextWithoutReassemblingTheKey() {
+        BigInteger p = BigInteger.probablePrime(512, random);
+        BigInteger q = BigInteger.probablePrime(512, random);
+        BigInteger n = p.multiply(q);
+        BigInteger nsquare = n.multiply(n);
+        BigInteger lambda = p.subtract(BigInteger.ONE).multiply(q.subtract(BigInteger.ONE))
+            .divide(p.subtract(BigInteger.ONE).gcd(q.subtract(BigInteger.ONE)));
+        BigInteger d = lambda.multiply(lambda.modInverse(n));
+
+        Map<Integer, BigInteger> shares = IntegerSecretSharing.split(d, 5, 3, random);
+
+        BigInteger m = BigInteger.valueOf(4242);
+        BigInteger r = new BigInteger(n.bitLength() - 1, random);
+        BigInteger ciphertext = BigInteger.ONE.add(m.multiply(n)).multiply(r.modPow(n, nsquare)).mod(nsquare);
+
+        int[] xs = {2, 3, 5};
+        BigInteger[] partials = new BigInteger[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            partials[i] = ciphertext.modPow(shares.get(xs[i]), nsquare);
+        }
+        BigInteger combined = MultiExponentiation.simultaneous(partials,
+            IntegerSecretSharing.lagrangeExponents(xs, 5), nsquare);
+        BigInteger decrypted = combined.subtract(BigInteger.ONE).divide(n)
+            .multiply(IntegerSecretSharing.delta(5).pow(2).modInverse(n)).mod(n);
+
+        assertEquals(m, decrypted);
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class,
+            () -> IntegerSecretSharing.split(BigInteger.TEN, 3, 4, random));
+        assertThrows(IllegalArgumentException.class,
+            () -> IntegerSecretSharing.split(BigInteger.TEN.negate(), 5, 3, random));
+        assertThrows(IllegalArgumentException.class,
+            () -> IntegerSecretSharing.lagrangeExponents(new int[] {1, 1, 2}, 5));
+    }
+}
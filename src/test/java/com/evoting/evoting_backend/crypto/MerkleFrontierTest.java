@@ -0,0 +1,148 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MerkleFrontierTest {
+
+    @Test
+    void rootMatchesTreeBuiltFromAllLeaves() throws Exception {
+        for (int leaves = 0; leaves <= 40; leaves++) {
+            MerkleFrontier frontier = new MerkleFrontier();
+            List<byte[]> hashes = new ArrayList<>();
+            for (int i = 0; i < leaves; i++) {
+                byte[] data = leaf(i);
+                frontier.appendData(data);
+                hashes.add(MerkleFrontier.leafHash(data));
+            }
+            assertEquals(leaves, frontier.getLeafCount());
+            assertArrayEquals(referenceRoot(hashes), frontier.root(), leaves + " leaves");
+        }
+    }
+
+    @Test
+    void leavesAndNodesAreDomainSeparated() throws Exception {
+        byte[] data = leaf(7);
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        assertArrayEquals(sha256.digest(new byte[0]), new MerkleFrontier().root());
+        assertFalse(Arrays.equals(sha256.digest(data), MerkleFrontier.leafHash(data)));
+
+        MerkleFrontier single = new MerkleFrontier();
+        single.appendData(data);
+        assertArrayEquals(MerkleFrontier.leafHash(data), single.root());
+    }
+
+    @Test
+    void byteArrayBufferAndLeafHashAppendsAgree() {
+        MerkleFrontier fromArray = new MerkleFrontier();
+        MerkleFrontier fromBuffer = new MerkleFrontier();
+        MerkleFrontier fromHash = new MerkleFrontier();
+        for (int i = 0; i < 13; i++) {
+            byte[] data = leaf(i);
+            fromArray.appendData(data);
+            // A slice of a larger buffer, as the verifier reads records out of a segment body
+            ByteBuffer padded = ByteBuffer.allocate(data.length + 8).put(new byte[4]).put(data).put(new byte[4]);
+            fromBuffer.appendData(padded.position(4).limit(4 + data.length));
+            fromHash.append(MerkleFrontier.leafHash(data));
+        }
+        assertTrue(fromArray.sameAs(fromBuffer));
+        assertTrue(fromArray.sameAs(fromHash));
+        assertArrayEquals(fromArray.root(), fromHash.root());
+    }
+
+    @Test
+    void decodedFrontierContinuesTheSameTree() {
+        for (int split = 0; split <= 20; split++) {
+            MerkleFrontier whole = new MerkleFrontier();
+            MerkleFrontier first = new MerkleFrontier();
+            for (int i = 0; i < split; i++) {
+                whole.appendData(leaf(i));
+                first.appendData(leaf(i));
+            }
+            byte[] peaks = first.encodePeaks();
+            assertEquals(Long.bitCount(split) * MerkleFrontier.HASH_LENGTH, peaks.length);
+
+            MerkleFrontier resumed = MerkleFrontier.decode(split, peaks);
+            assertTrue(resumed.sameAs(first));
+            for (int i = split; i < 20; i++) {
+                whole.appendData(leaf(i));
+                resumed.appendData(leaf(i));
+            }
+            assertTrue(resumed.sameAs(whole), "split at " + split);
+            assertArrayEquals(whole.root(), resumed.root());
+        }
+    }
+
+    @Test
+    void copyIsIndependentOfTheOriginal() {
+        MerkleFrontier original = new MerkleFrontier();
+        for (int i = 0; i < 5; i++) {
+            original.appendData(leaf(i));
+        }
+        byte[] root = original.root();
+        MerkleFrontier copy = original.copy();
+        copy.appendData(leaf(5));
+
+        assertEquals(5, original.getLeafCount());
+        assertArrayEquals(root, original.root());
+        assertFalse(copy.sameAs(original));
+    }
+
+    @Test
+    void decodeRejectsWrongPeakCount() {
+        assertThrows(IllegalArgumentException.class, () -> MerkleFrontier.decode(3, new byte[32]));
+        assertThrows(IllegalArgumentException.class, () -> MerkleFrontier.decode(4, new byte[64]));
+        assertThrows(IllegalArgumentException.class, () -> MerkleFrontier.decode(0, new byte[32]));
+    }
+
+    private static byte[] leaf(int i) {
+        return ("entry-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Perfect subtrees of descending size from the left, folded from the smallest upwards
+    private static byte[] referenceRoot(List<byte[]> leafHashes) throws Exception {
+        if (leafHashes.isEmpty()) {
+            return MessageDigest.getInstance("SHA-256").digest(new byte[0]);
+        }
+        List<byte[]> peaks = new ArrayList<>();
+        int offset = 0;
+        for (int size = Integer.highestOneBit(leafHashes.size()); size > 0; size >>= 1) {
+            if ((leafHashes.size() & size) != 0) {
+                peaks.add(perfectRoot(leafHashes.subList(offset, offset + size)));
+                offset += size;
+            }
+        }
+        byte[] accumulator = peaks.get(peaks.size() - 1);
+        for (int i = peaks.size() - 2; i >= 0; i--) {
+            accumulator = node(peaks.get(i), accumulator);
+        }
+        return accumulator;
+    }
+
+    private static byte[] perfectRoot(List<byte[]> leafHashes) throws Exception {
+        if (leafHashes.size() == 1) {
+            return leafHashes.get(0);
+        }
+        int half = leafHashes.size() / 2;
+        return node(perfectRoot(leafHashes.subList(0, half)), perfectRoot(leafHashes.subList(half, leafHashes.size())));
+    }
+
+    private static byte[] node(byte[] left, byte[] right) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update((byte) 0x01);
+        digest.update(left);
+        return digest.digest(right);
+    }
+}
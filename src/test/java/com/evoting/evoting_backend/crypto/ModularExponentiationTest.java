@@ -0,0 +1,153 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MultiExponentiation, BarrettReducer and FixedBaseWindowTable against BigInteger.modPow
+ */
+class ModularExponentiationTest {
+
+    private final SecureRandom random = new SecureRandom();
+
+    private BigInteger paillierModulusSquared() {
+        BigInteger n = BigInteger.probablePrime(256, random).multiply(BigInteger.probablePrime(256, random));
+        return n.multiply(n);
+    }
+
+    private BigInteger naiveProduct(BigInteger[] bases, BigInteger[] exponents, BigInteger modulus) {
+        BigInteger result = BigInteger.ONE.mod(modulus);
+        for (int i = 0; i < bases.length; i++) {
+            result = result.multiply(bases[i].modPow(exponents[i], modulus)).mod(modulus);
+        }
+        return result;
+    }
+
+    @Test
+    void barrettMatchesModAcrossTheInputRange() {
+        for (BigInteger modulus : new BigInteger[] {
+                BigInteger.ONE, BigInteger.TWO, BigInteger.valueOf(3), BigInteger.ONE.shiftLeft(64),
+                BigInteger.ONE.shiftLeft(61).subtract(BigInteger.ONE), paillierModulusSquared()}) {
+            BarrettReducer reducer = new BarrettReducer(modulus);
+            BigInteger max = modulus.subtract(BigInteger.ONE);
+            assertEquals(max.multiply(max).mod(modulus), reducer.multiply(max, max));
+            assertEquals(BigInteger.ZERO, reducer.reduce(BigInteger.ZERO));
+            assertEquals(BigInteger.ZERO, reducer.reduce(modulus.multiply(max)));
+            for (int i = 0; i < 200; i++) {
+                BigInteger a = new BigInteger(modulus.bitLength() + 8, random).mod(modulus);
+                BigInteger b = new BigInteger(modulus.bitLength() + 8, random).mod(modulus);
+                assertEquals(a.multiply(b).mod(modulus), reducer.multiply(a, b));
+                assertEquals(a.multiply(a).mod(modulus), reducer.square(a));
+            }
+        }
+    }
+
+    @Test
+    void barrettRejectsNonPositiveModulus() {
+        assertThrows(IllegalArgumentException.class, () -> new BarrettReducer(BigInteger.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new BarrettReducer(BigInteger.TEN.negate()));
+    }
+
+    @Test
+    void multiExponentiationMatchesModPowForManyBases() {
+        BigInteger modulus = paillierModulusSquared();
+        // 15 bases spans three subset-table groups
+        BigInteger[] bases = new BigInteger[15];
+        BigInteger[] exponents = new BigInteger[15];
+        for (int i = 0; i < bases.length; i++) {
+            bases[i] = new BigInteger(modulus.bitLength() - 1, random);
+            exponents[i] = new BigInteger(64 + 40 * i, random);
+        }
+        assertEquals(naiveProduct(bases, exponents, modulus), MultiExponentiation.simultaneous(bases, exponents, modulus));
+    }
+
+    @Test
+    void multiExponentiationEdgeCases() {
+        BigInteger modulus = paillierModulusSquared();
+        BigInteger base = new BigInteger(modulus.bitLength() - 1, random);
+
+        // Single base
+        BigInteger exponent = new BigInteger(300, random);
+        assertEquals(base.modPow(exponent, modulus),
+            MultiExponentiation.simultaneous(new BigInteger[] {base}, new BigInteger[] {exponent}, modulus));
+
+        // Zero exponents everywhere
+        assertEquals(BigInteger.ONE, MultiExponentiation.simultaneous(
+            new BigInteger[] {base, base.add(BigInteger.ONE)}, new BigInteger[] {BigInteger.ZERO, BigInteger.ZERO}, modulus));
+
+        // No bases at all
+        assertEquals(BigInteger.ONE, MultiExponentiation.simultaneous(new BigInteger[0], new BigInteger[0], modulus));
+
+        // Exponent at least as large as the modulus, and a base outside [0, modulus)
+        BigInteger large = modulus.multiply(BigInteger.valueOf(3)).add(BigInteger.valueOf(17));
+        BigInteger unreduced = base.add(modulus.multiply(BigInteger.TWO));
+        assertEquals(base.modPow(large, modulus).multiply(base.modPow(BigInteger.TEN, modulus)).mod(modulus),
+            MultiExponentiation.simultaneous(new BigInteger[] {base, unreduced}, new BigInteger[] {large, BigInteger.TEN}, modulus));
+
+        // Negative exponent inverts the base
+        BigInteger negative = BigInteger.valueOf(-12345);
+        assertEquals(base.modPow(negative, modulus),
+            MultiExponentiation.simultaneous(new BigInteger[] {base}, new BigInteger[] {negative}, modulus));
+
+        // Modulus 1
+        assertEquals(BigInteger.ZERO, MultiExponentiation.simultaneous(
+            new BigInteger[] {BigInteger.TEN}, new BigInteger[] {BigInteger.TWO}, BigInteger.ONE));
+
+        assertThrows(IllegalArgumentException.class, () -> MultiExponentiation.simultaneous(
+            new BigInteger[] {base}, new BigInteger[0], modulus));
+    }
+
+    @Test
+    void sharedReducerGivesSameResult() {
+        BigInteger modulus = paillierModulusSquared();
+        BarrettReducer reducer = new BarrettReducer(modulus);
+        BigInteger[] bases = {new BigInteger(500, random), new BigInteger(900, random)};
+        BigInteger[] exponents = {new BigInteger(128, random), new BigInteger(64, random)};
+        assertEquals(naiveProduct(bases, exponents, modulus), MultiExponentiation.simultaneous(bases, exponents, reducer));
+        assertEquals(naiveProduct(bases, exponents, modulus), MultiExponentiation.simultaneous(bases, exponents, reducer));
+    }
+
+    @Test
+    void windowTableMatchesModPow() {
+        BigInteger modulus = paillierModulusSquared();
+        BigInteger base = new BigInteger(modulus.bitLength() - 1, random);
+        for (int windowBits : new int[] {1, 3, 4, 8}) {
+            FixedBaseWindowTable table = new FixedBaseWindowTable(base, modulus, 512, windowBits);
+            for (int i = 0; i < 20; i++) {
+                BigInteger exponent = new BigInteger(1 + random.nextInt(512), random);
+                assertEquals(base.modPow(exponent, modulus), table.pow(exponent));
+            }
+            // All-ones exponent uses the top digit of every window
+            BigInteger ones = BigInteger.ONE.shiftLeft(512).subtract(BigInteger.ONE);
+            assertEquals(base.modPow(ones, modulus), table.pow(ones));
+        }
+    }
+
+    @Test
+    void windowTableEdgeCases() {
+        BigInteger modulus = paillierModulusSquared();
+        BigInteger base = new BigInteger(modulus.bitLength() - 1, random);
+        FixedBaseWindowTable table = new FixedBaseWindowTable(base, modulus, 256, 4);
+
+        assertEquals(BigInteger.ONE, table.pow(BigInteger.ZERO));
+        assertEquals(base, table.pow(BigInteger.ONE));
+        // Wider than the table: falls back to modPow
+        BigInteger wide = modulus.add(BigInteger.valueOf(5));
+        assertEquals(base.modPow(wide, modulus), table.pow(wide));
+        BigInteger negative = new BigInteger(200, random).negate();
+        assertEquals(base.modPow(negative, modulus), table.pow(negative));
+
+        // Base given unreduced
+        FixedBaseWindowTable unreduced = new FixedBaseWindowTable(base.add(modulus), modulus, 64, 4);
+        assertEquals(base, unreduced.getBase());
+        assertEquals(base.modPow(BigInteger.valueOf(1_000_003), modulus), unreduced.pow(BigInteger.valueOf(1_000_003)));
+
+        assertEquals(BigInteger.ZERO, new FixedBaseWindowTable(BigInteger.TWO, BigInteger.ONE, 8, 2).pow(BigInteger.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FixedBaseWindowTable(base, modulus, 64, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FixedBaseWindowTable(base, modulus, 64, 17));
+    }
+}
@@ -0,0 +1,74 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedBallotCodecTest {
+
+    @Test
+    void slotBaseExceedsElectorate() {
+        assertEquals(1, PackedBallotCodec.slotBits(1));
+        assertEquals(2, PackedBallotCodec.slotBits(3));
+        assertEquals(3, PackedBallotCodec.slotBits(4));
+        assertEquals(10, PackedBallotCodec.slotBits(1000));
+        assertThrows(IllegalArgumentException.class, () -> PackedBallotCodec.slotBits(0));
+    }
+
+    @Test
+    void packedBallotsSumToPerCandidateCounts() {
+        int slotBits = PackedBallotCodec.slotBits(20);
+        int[] choices = {0, 2, 2, 4, 1, 2, 0, 4, 4, 4, 3, 2};
+        long[] expected = new long[5];
+        BigInteger sum = BigInteger.ZERO;
+        for (int choice : choices) {
+            expected[choice]++;
+            sum = sum.add(PackedBallotCodec.encode(choice, slotBits));
+        }
+
+        assertArrayEquals(expected, PackedBallotCodec.unpack(sum, 5, slotBits));
+        assertArrayEquals(expected, PackedBallotCodec.unpack(sum, 5, slotBits, choices.length));
+    }
+
+    @Test
+    void fullSlotsUseTheWholeWidth() {
+        // 7 ballots in 3-bit slots: a unanimous slot holds 0b111 without carrying
+        int slotBits = PackedBallotCodec.slotBits(7);
+        BigInteger sum = PackedBallotCodec.encode(1, slotBits).multiply(BigInteger.valueOf(7));
+        assertArrayEquals(new long[] {0, 7, 0}, PackedBallotCodec.unpack(sum, 3, slotBits, 7));
+    }
+
+    @Test
+    void carryIntoNextSlotIsRejected() {
+        // 8 ballots for candidate 0 in 3-bit slots reads as one vote for candidate 1
+        int slotBits = PackedBallotCodec.slotBits(7);
+        BigInteger sum = PackedBallotCodec.encode(0, slotBits).multiply(BigInteger.valueOf(8));
+        assertArrayEquals(new long[] {0, 1, 0}, PackedBallotCodec.unpack(sum, 3, slotBits));
+        assertThrows(IllegalStateException.class, () -> PackedBallotCodec.unpack(sum, 3, slotBits, 8));
+    }
+
+    @Test
+    void carryOutOfTopSlotIsRejected() {
+        int slotBits = 2;
+        BigInteger sum = PackedBallotCodec.encode(2, slotBits).multiply(BigInteger.valueOf(4));
+        assertThrows(IllegalStateException.class, () -> PackedBallotCodec.unpack(sum, 3, slotBits, 3));
+    }
+
+    @Test
+    void countsThatDoNotMatchBallotsAreRejected() {
+        int slotBits = PackedBallotCodec.slotBits(10);
+        BigInteger sum = PackedBallotCodec.encode(0, slotBits).add(PackedBallotCodec.encode(1, slotBits));
+        assertThrows(IllegalStateException.class, () -> PackedBallotCodec.unpack(sum, 2, slotBits, 3));
+    }
+
+    @Test
+    void capacityFollowsModulusWidth() {
+        BigInteger modulus = BigInteger.ONE.shiftLeft(1023).add(BigInteger.ONE);
+        int slotBits = PackedBallotCodec.slotBits(1_000_000);
+        assertEquals(20, slotBits);
+        assertTrue(PackedBallotCodec.fits(51, slotBits, modulus));
+        assertFalse(PackedBallotCodec.fits(52, slotBits, modulus));
+    }
+}
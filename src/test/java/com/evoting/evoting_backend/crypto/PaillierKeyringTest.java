@@ -0,0 +1,124 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaillierKeyringTest {
+
+    @TempDir
+    Path dir;
+
+    private static PaillierUtil newKey() {
+        PaillierUtil key = new PaillierUtil();
+        key.generateKeys();
+        return key;
+    }
+
+    private static void assertSameKey(PaillierUtil expected, PaillierUtil actual) {
+        assertEquals(expected.getP(), actual.getP());
+        assertEquals(expected.getQ(), actual.getQ());
+        assertEquals(expected.getN(), actual.getN());
+        assertEquals(expected.getG(), actual.getG());
+        assertEquals(expected.getLambda(), actual.getLambda());
+        assertEquals(expected.getMu(), actual.getMu());
+    }
+
+    @Test
+    void appendedKeysSurviveReopening() throws IOException {
+        Path path = dir.resolve("keyring.bin");
+        PaillierUtil first = newKey();
+        PaillierUtil second = newKey();
+
+        PaillierKeyring keyring = PaillierKeyring.open(path);
+        assertEquals(0, keyring.size());
+        keyring.append(0L, first);
+        keyring.append(42L, second);
+
+        PaillierKeyring reopened = PaillierKeyring.open(path);
+        assertEquals(2, reopened.size());
+        assertTrue(reopened.contains(42L));
+        assertNull(reopened.read(7L));
+        assertSameKey(first, reopened.read(0L));
+        PaillierUtil decoded = reopened.read(42L);
+        assertSameKey(second, decoded);
+        assertEquals(BigInteger.valueOf(99), decoded.decrypt(second.encrypt(BigInteger.valueOf(99))));
+    }
+
+    @Test
+    void rejectsDuplicateElection() throws IOException {
+        PaillierKeyring keyring = PaillierKeyring.open(dir.resolve("keyring.bin"));
+        keyring.append(5L, newKey());
+        assertThrows(IllegalArgumentException.class, () -> keyring.append(5L, newKey()));
+    }
+
+    @Test
+    void tornAppendIsIgnoredAndOverwritten() throws IOException {
+        Path path = dir.resolve("keyring.bin");
+        PaillierKeyring keyring = PaillierKeyring.open(path);
+        keyring.append(1L, newKey());
+        long committed = Files.size(path);
+
+        // Bytes past the last counted entry, as left by a crash before the count was bumped
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7}));
+        }
+        PaillierKeyring reopened = PaillierKeyring.open(path);
+        assertEquals(1, reopened.size());
+        assertEquals(committed, reopened.fileSize());
+
+        PaillierUtil next = newKey();
+        reopened.append(2L, next);
+        assertSameKey(next, PaillierKeyring.open(path).read(2L));
+    }
+
+    @Test
+    void corruptedBodyFailsChecksum() throws IOException {
+        Path path = dir.resolve("keyring.bin");
+        PaillierKeyring.open(path).append(3L, newKey());
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(path, bytes);
+
+        PaillierKeyring reopened = PaillierKeyring.open(path);
+        assertThrows(IllegalStateException.class, () -> reopened.read(3L));
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        Path path = dir.resolve("keyring.bin");
+        Files.write(path, "not a keyring".getBytes());
+        assertThrows(IllegalStateException.class, () -> PaillierKeyring.open(path));
+    }
+
+    @Test
+    void createMovesCompleteKeyringIntoPlace() throws IOException {
+        Path path = dir.resolve("keyring.bin");
+        PaillierUtil key = newKey();
+
+        PaillierKeyring created = PaillierKeyring.create(path, Map.of(0L, key));
+        assertEquals(1, created.size());
+        assertSameKey(key, PaillierKeyring.open(path).read(0L));
+        assertFalse(Files.exists(dir.resolve("keyring.bin.tmp")));
+    }
+
+    @Test
+    void failedCreateLeavesNoKeyring() {
+        Path path = dir.resolve("keyring.bin");
+        PaillierUtil incomplete = new PaillierUtil();
+        incomplete.setN(BigInteger.TEN);
+
+        assertThrows(IllegalArgumentException.class, () -> PaillierKeyring.create(path, Map.of(0L, incomplete)));
+        assertFalse(Files.exists(path));
+        assertFalse(Files.exists(dir.resolve("keyring.bin.tmp")));
+    }
+}
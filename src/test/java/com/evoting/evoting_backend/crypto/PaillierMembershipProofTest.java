@@ -0,0 +1,100 @@
+package com.evoting.evoting_backend.crypto;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaillierMembershipProofTest {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final List<BigInteger> ALLOWED = List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(256));
+
+    private static PaillierUtil key;
+
+    @BeforeAll
+    static void generateKey() {
+        key = new PaillierUtil();
+        key.generateKeys();
+    }
+
+    private static BigInteger randomness() {
+        return new BigInteger(key.getN().bitLength() - 1, random);
+    }
+
+    @Test
+    void proofForEveryAllowedPlaintextVerifies() {
+        for (int index = 0; index < ALLOWED.size(); index++) {
+            BigInteger r = randomness();
+            BigInteger ciphertext = key.encrypt(ALLOWED.get(index), r);
+            PaillierMembershipProof proof = PaillierMembershipProof.prove(key.getN(), ciphertext, r, ALLOWED, index, random);
+
+            assertEquals(ALLOWED.size(), proof.branches());
+            assertTrue(proof.checkChallenges(key.getN(), ciphertext, ALLOWED));
+            assertTrue(proof.verify(key.getN(), ciphertext, ALLOWED));
+        }
+    }
+
+    @Test
+    void plaintextOutsideTheListCannotBeProven() {
+        BigInteger r = randomness();
+        BigInteger ciphertext = key.encrypt(BigInteger.TWO, r);
+        PaillierMembershipProof proof = PaillierMembershipProof.prove(key.getN(), ciphertext, r, ALLOWED, 1, random);
+
+        // The challenges still add up; the branch equation is what fails
+        assertTrue(proof.checkChallenges(key.getN(), ciphertext, ALLOWED));
+        assertFalse(proof.verify(key.getN(), ciphertext, ALLOWED));
+    }
+
+    @Test
+    void proofIsBoundToCiphertextAndStatement() {
+        BigInteger r = randomness();
+        BigInteger ciphertext = key.encrypt(BigInteger.ONE, r);
+        PaillierMembershipProof proof = PaillierMembershipProof.prove(key.getN(), ciphertext, r, ALLOWED, 1, random);
+
+        assertFalse(proof.verify(key.getN(), key.encrypt(BigInteger.ONE), ALLOWED));
+        assertFalse(proof.verify(key.getN(), ciphertext, List.of(BigInteger.ONE, BigInteger.ZERO, BigInteger.valueOf(256))));
+        assertFalse(proof.verify(key.getN(), ciphertext, ALLOWED.subList(0, 2)));
+        assertFalse(proof.verify(key.getN(), BigInteger.ZERO, ALLOWED));
+    }
+
+    @Test
+    void tamperedChallengeIsRejected() {
+        BigInteger r = randomness();
+        BigInteger ciphertext = key.encrypt(BigInteger.ZERO, r);
+        PaillierMembershipProof proof = PaillierMembershipProof.prove(key.getN(), ciphertext, r, ALLOWED, 0, random);
+
+        BigInteger[] challenges = proof.getChallenges().clone();
+        challenges[0] = challenges[0].add(BigInteger.ONE);
+        challenges[1] = challenges[1].subtract(BigInteger.ONE);
+        PaillierMembershipProof tampered = new PaillierMembershipProof(proof.getCommitments(), challenges, proof.getResponses());
+        assertFalse(tampered.verify(key.getN(), ciphertext, ALLOWED));
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        BigInteger r = randomness();
+        BigInteger ciphertext = key.encrypt(BigInteger.valueOf(256), r);
+        PaillierMembershipProof proof = PaillierMembershipProof.prove(key.getN(), ciphertext, r, ALLOWED, 2, random);
+
+        PaillierMembershipProof decoded = PaillierMembershipProof.decode(proof.encode());
+        assertArrayEquals(proof.getCommitments(), decoded.getCommitments());
+        assertArrayEquals(proof.getChallenges(), decoded.getChallenges());
+        assertArrayEquals(proof.getResponses(), decoded.getResponses());
+        assertTrue(decoded.verify(key.getN(), ciphertext, ALLOWED));
+    }
+
+    @Test
+    void decodeRejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> PaillierMembershipProof.decode("1:2"));
+        assertThrows(IllegalArgumentException.class, () -> PaillierMembershipProof.decode("1:2:3:4"));
+        assertThrows(IllegalArgumentException.class, () -> PaillierMembershipProof.decode("1:2:3;xyz:1:1"));
+        assertThrows(IllegalArgumentException.class, () -> PaillierMembershipProof.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> new PaillierMembershipProof(
+            new BigInteger[] {BigInteger.ONE}, new BigInteger[0], new BigInteger[] {BigInteger.ONE}));
+    }
+}
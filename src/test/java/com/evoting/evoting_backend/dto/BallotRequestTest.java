@@ -0,0 +1,141 @@
+package com.evoting.evoting_backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BallotRequestTest {
+
+    @Test
+    void roundTripsBinaryForm() {
+        BallotRequest request = ballot(11L, "proof-data");
+        BallotRequest decoded = BallotRequest.fromBinary(request.toBinary());
+
+        assertEquals(request.getElectionId(), decoded.getElectionId());
+        assertEquals(11L, decoded.getCandidateId());
+        assertEquals(request.getAnonymousToken(), decoded.getAnonymousToken());
+        assertEquals(request.getCiphertext(), decoded.getCiphertext());
+        assertEquals("proof-data", decoded.getValidityProof());
+
+        // Packed ballots: no candidateId, and an empty proof reads back as none
+        BallotRequest packed = BallotRequest.fromBinary(ballot(null, null).toBinary());
+        assertNull(packed.getCandidateId());
+        assertNull(packed.getValidityProof());
+    }
+
+    @Test
+    void rejectsEmptyBodyAndUnknownVersion() {
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(new byte[0]));
+
+        byte[] body = ballot(11L, "p").toBinary();
+        body[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(body));
+    }
+
+    @Test
+    void rejectsEveryTruncation() {
+        byte[] body = ballot(11L, "proof-data").toBinary();
+        for (int length = 0; length < body.length; length++) {
+            byte[] truncated = Arrays.copyOf(body, length);
+            assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(truncated),
+                "truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        byte[] body = ballot(11L, "p").toBinary();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> BallotRequest.fromBinary(Arrays.copyOf(body, body.length + 3)));
+        assertTrue(e.getMessage().contains("3 trailing bytes"));
+    }
+
+    @Test
+    void rejectsCandidateFlagWithoutCandidate() {
+        // Flag says a candidateId follows, so the token length is read from the wrong place
+        byte[] body = ballot(null, "p").toBinary();
+        body[1] = 1;
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(body));
+    }
+
+    @Test
+    void rejectsOutOfRangeCiphertextLength() {
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(body(4, 0, 4)));
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(body(4, 1025, 4)));
+        assertEquals(1024, (BallotRequest.fromBinary(body(4, 1024, 4)).getCiphertext().bitLength() + 7) / 8);
+    }
+
+    @Test
+    void rejectsOutOfRangeFieldLengths() {
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(body(4097, 8, 0)));
+
+        // Declared lengths larger than what follows, or negative
+        ByteBuffer tokenTooLong = ByteBuffer.wrap(body(4, 8, 0));
+        tokenTooLong.putShort(10, (short) 200);
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(tokenTooLong.array()));
+
+        byte[] negativeProof = body(4, 8, 0);
+        ByteBuffer.wrap(negativeProof).putInt(negativeProof.length - 4, Integer.MIN_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(negativeProof));
+
+        byte[] proofTooLong = body(4, 8, 0);
+        ByteBuffer.wrap(proofTooLong).putInt(proofTooLong.length - 4, 1 << 21);
+        assertThrows(IllegalArgumentException.class, () -> BallotRequest.fromBinary(proofTooLong));
+    }
+
+    @Test
+    void randomBytesOnlyEverFailWithIllegalArgument() {
+        Random random = new Random(42);
+        byte[] valid = ballot(11L, "proof-data").toBinary();
+        for (int i = 0; i < 2000; i++) {
+            byte[] body = i % 2 == 0 ? new byte[random.nextInt(64)] : valid.clone();
+            if (i % 2 == 0) {
+                random.nextBytes(body);
+            } else {
+                body[random.nextInt(body.length)] ^= (byte) (1 + random.nextInt(255));
+            }
+            try {
+                BallotRequest.fromBinary(body);
+            } catch (IllegalArgumentException expected) {
+                // Malformed input is reported as IllegalArgumentException and nothing else
+            }
+        }
+    }
+
+    @Test
+    void toBinaryRejectsIncompleteBallot() {
+        BallotRequest missingCiphertext = new BallotRequest();
+        missingCiphertext.setElectionId(1L);
+        assertThrows(IllegalArgumentException.class, missingCiphertext::toBinary);
+    }
+
+    private static BallotRequest ballot(Long candidateId, String proof) {
+        BallotRequest request = new BallotRequest();
+        request.setElectionId(5L);
+        request.setCandidateId(candidateId);
+        request.setAnonymousToken("token-abc");
+        request.setCiphertext(new BigInteger("123456789012345678901234567890"));
+        request.setValidityProof(proof);
+        return request;
+    }
+
+    // Version 1 ballot without a candidate; the lengths are written as given, contents are filler
+    private static byte[] body(int tokenLength, int ciphertextLength, int proofLength) {
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 8 + 2 + tokenLength + 2 + ciphertextLength + 4 + proofLength);
+        buffer.put((byte) BallotRequest.BINARY_VERSION).put((byte) 0).putLong(5L);
+        buffer.putShort((short) tokenLength).put(new byte[tokenLength]);
+        byte[] ciphertext = new byte[ciphertextLength];
+        Arrays.fill(ciphertext, (byte) 0xFF);
+        buffer.putShort((short) ciphertextLength).put(ciphertext);
+        buffer.putInt(proofLength).put(new byte[proofLength]);
+        return buffer.array();
+    }
+}
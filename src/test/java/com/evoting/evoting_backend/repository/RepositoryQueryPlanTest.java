@@ -0,0 +1,159 @@
+package com.evoting.evoting_backend.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.Repositories;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query method declared in this package against the embedded database with
+ * the Flyway schema, captures the SQL Hibernate sends and fails if H2's EXPLAIN shows a
+ * full table scan for any of them. Add the index to the next db/migration version rather
+ * than to the allow-list below.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.evoting.evoting_backend.repository.RepositoryQueryPlanTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest {
+
+    // Methods that read every row on purpose; anything else scanning a table is a missing index
+    private static final Map<String, String> FULL_SCAN_BY_DESIGN = Map.of(
+        "BulletinBoardRepository.findAllByOrderByTimestampAsc", "full board export",
+        "ImmutableAuditLogRepository.findAllByOrderByIdAsc", "audit chain verification walks every row"
+    );
+
+    // Latest-N reads: MySQL walks the ascending index backwards, H2 only sorts with an index forwards
+    private static final Map<String, String> BACKWARD_INDEX_SCAN = Map.of(
+        "BulletinBoardRepository.findTopByOrderByTimestampDesc", "idx_bulletin_timestamp",
+        "ImmutableAuditLogRepository.findTopByOrderByIdDesc", "primary key",
+        "ImmutableAuditLogRepository.findTop100ByOrderByIdDesc", "primary key"
+    );
+
+    private static final List<String> captured = new CopyOnWriteArrayList<>();
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            captured.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> violations = new ArrayList<>();
+        int checked = 0;
+
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType)
+                .getRepositoryInterface();
+            if (!repositoryInterface.getPackageName().equals(getClass().getPackageName())) {
+                continue;
+            }
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                List<String> statements = invoke(repository, method);
+                assertFalse(statements.isEmpty(), name + " issued no SQL");
+
+                for (String sql : statements) {
+                    String plan = explain(sql);
+                    if (plan.contains("tableScan") && !FULL_SCAN_BY_DESIGN.containsKey(name) &&
+                        !BACKWARD_INDEX_SCAN.containsKey(name)) {
+                        violations.add(name + "\n  " + sql + "\n  " + plan.replace("\n", "\n  "));
+                    }
+                }
+                checked++;
+            }
+        }
+
+        assertTrue(checked > 0, "No repository methods found");
+        assertTrue(violations.isEmpty(), "Full table scans:\n" + String.join("\n\n", violations));
+    }
+
+    private List<String> invoke(Object repository, Method method) throws Exception {
+        Object[] args = Arrays.stream(method.getParameters())
+            .map(p -> argumentFor(p.getType(), p.getParameterizedType()))
+            .toArray();
+        captured.clear();
+        try {
+            method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw new AssertionError(method + " failed on the empty schema", e.getCause());
+        }
+        return new ArrayList<>(captured);
+    }
+
+    private Object argumentFor(Class<?> type, Type genericType) {
+        if (type == Long.class || type == long.class) return 1L;
+        if (type == String.class) return "x";
+        if (type == LocalDateTime.class) return LocalDateTime.now();
+        if (type == Pageable.class) return PageRequest.of(0, 10);
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (Collection.class.isAssignableFrom(type) && genericType instanceof ParameterizedType parameterized &&
+            parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            if (element.isEnum()) return List.of(element.getEnumConstants());
+            if (element == String.class) return List.of("x", "y");
+        }
+        throw new IllegalArgumentException("No sample argument for " + genericType);
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
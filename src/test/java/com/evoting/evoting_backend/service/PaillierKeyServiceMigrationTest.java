@@ -0,0 +1,75 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.PaillierKeyring;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaillierKeyServiceMigrationTest {
+
+    @TempDir
+    Path dir;
+
+    private PaillierKeyService service(Path legacy, Path keyring) {
+        PaillierKeyService service = new PaillierKeyService();
+        ReflectionTestUtils.setField(service, "keyFilePath", legacy.toString());
+        ReflectionTestUtils.setField(service, "keyringFilePath", keyring.toString());
+        return service;
+    }
+
+    private static void writeLegacy(Path legacy, Object... values) throws IOException {
+        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(legacy))) {
+            for (Object value : values) {
+                oos.writeObject(value);
+            }
+        }
+    }
+
+    @Test
+    void migratesLegacyKeyAsDefaultKey() throws IOException {
+        Path legacy = dir.resolve("paillier_keys.dat");
+        Path keyring = dir.resolve("paillier_keyring.bin");
+        PaillierUtil key = new PaillierUtil();
+        key.generateKeys();
+        writeLegacy(legacy, key.getN(), key.getG(), key.getLambda(), key.getMu());
+
+        PaillierKeyService service = service(legacy, keyring);
+        service.init();
+
+        PaillierUtil migrated = service.getPaillierUtil();
+        assertEquals(key.getN(), migrated.getN());
+        assertEquals(key.getP().multiply(key.getQ()), migrated.getP().multiply(migrated.getQ()));
+        assertEquals(BigInteger.valueOf(7), migrated.decrypt(key.encrypt(BigInteger.valueOf(7))));
+        assertFalse(Files.exists(legacy));
+        assertTrue(Files.exists(dir.resolve("paillier_keys.dat.migrated")));
+        assertTrue(PaillierKeyring.open(keyring).contains(PaillierKeyService.DEFAULT_KEY_ID));
+    }
+
+    @Test
+    void failedMigrationStopsStartupAndIsRetried() throws IOException {
+        Path legacy = dir.resolve("paillier_keys.dat");
+        Path keyring = dir.resolve("paillier_keyring.bin");
+        PaillierUtil key = new PaillierUtil();
+        key.generateKeys();
+        // lambda that does not factor n
+        writeLegacy(legacy, key.getN(), key.getG(), key.getLambda().add(BigInteger.TWO), key.getMu());
+
+        assertThrows(RuntimeException.class, () -> service(legacy, keyring).init());
+        assertFalse(Files.exists(keyring));
+        assertTrue(Files.exists(legacy));
+
+        writeLegacy(legacy, key.getN(), key.getG(), key.getLambda(), key.getMu());
+        PaillierKeyService retried = service(legacy, keyring);
+        retried.init();
+        assertEquals(key.getN(), retried.getPaillierUtil().getN());
+    }
+}
@@ -0,0 +1,111 @@
+package com.evoting.evoting_backend.service;
+
+import com.evoting.evoting_backend.crypto.PaillierMembershipProof;
+import com.evoting.evoting_backend.crypto.PaillierUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZeroKnowledgeProofServiceBatchTest {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final List<BigInteger> ALLOWED = List.of(BigInteger.ZERO, BigInteger.ONE);
+    private static final int BALLOTS = 12;
+
+    private static PaillierUtil key;
+
+    private ZeroKnowledgeProofService zkpService;
+    private final List<BigInteger> ciphertexts = new ArrayList<>();
+    private final List<PaillierMembershipProof> proofs = new ArrayList<>();
+
+    @BeforeAll
+    static void generateKey() {
+        key = new PaillierUtil();
+        key.generateKeys();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ProofVerificationCache cache = new ProofVerificationCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 1000);
+        zkpService = new ZeroKnowledgeProofService();
+        ReflectionTestUtils.setField(zkpService, "verificationCache", cache);
+
+        for (int i = 0; i < BALLOTS; i++) {
+            int choice = i % 2;
+            BigInteger r = new BigInteger(key.getN().bitLength() - 1, random);
+            BigInteger ciphertext = key.encrypt(ALLOWED.get(choice), r);
+            ciphertexts.add(ciphertext);
+            proofs.add(PaillierMembershipProof.prove(key.getN(), ciphertext, r, ALLOWED, choice, random));
+        }
+    }
+
+    private ZeroKnowledgeProofService.BatchVerificationResult verify() {
+        return zkpService.batchVerifyVoteValidityProofs(key.getN(), ALLOWED, ciphertexts, proofs);
+    }
+
+    @Test
+    void validBatchPassesWithOneCombinedCheck() {
+        ZeroKnowledgeProofService.BatchVerificationResult result = verify();
+        assertEquals(BALLOTS, result.getValidProofs());
+        assertTrue(result.getInvalidIndexes().isEmpty());
+        assertEquals(1, result.getBatchChecks());
+    }
+
+    @Test
+    void invalidBallotsAreIsolated() {
+        // A ballot for 2, with a proof that passes the challenge checks but not the equation
+        BigInteger r = new BigInteger(key.getN().bitLength() - 1, random);
+        BigInteger outOfRange = key.encrypt(BigInteger.TWO, r);
+        ciphertexts.set(3, outOfRange);
+        proofs.set(3, PaillierMembershipProof.prove(key.getN(), outOfRange, r, ALLOWED, 1, random));
+        // A valid proof attached to a different ciphertext
+        ciphertexts.set(8, key.add(ciphertexts.get(8), key.encrypt(BigInteger.ZERO)));
+
+        ZeroKnowledgeProofService.BatchVerificationResult result = verify();
+        assertEquals(List.of(3, 8), result.getInvalidIndexes());
+        assertEquals(BALLOTS - 2, result.getValidProofs());
+    }
+
+    @Test
+    void errorsThatCancelInAnUnweightedProductAreCaught() {
+        // z_a * k and z_b / k leave the product of all responses unchanged, so only the
+        // random weights tell the batch apart from a valid one
+        BigInteger k = BigInteger.valueOf(3);
+        proofs.set(2, withFirstResponse(proofs.get(2), proofs.get(2).getResponses()[0].multiply(k).mod(key.getN())));
+        proofs.set(5, withFirstResponse(proofs.get(5),
+            proofs.get(5).getResponses()[0].multiply(k.modInverse(key.getN())).mod(key.getN())));
+
+        ZeroKnowledgeProofService.BatchVerificationResult result = verify();
+        assertEquals(List.of(2, 5), result.getInvalidIndexes());
+    }
+
+    @Test
+    void verdictsAreCachedAndUnparseableEntriesFail() {
+        verify();
+        proofs.set(0, null);
+        ZeroKnowledgeProofService.BatchVerificationResult result = verify();
+        assertEquals(BALLOTS - 1, result.getCacheHits());
+        assertEquals(List.of(0), result.getInvalidIndexes());
+    }
+
+    @Test
+    void mismatchedListsAreRejected() {
+        proofs.remove(0);
+        assertThrows(IllegalArgumentException.class, this::verify);
+    }
+
+    private static PaillierMembershipProof withFirstResponse(PaillierMembershipProof proof, BigInteger response) {
+        BigInteger[] responses = proof.getResponses().clone();
+        responses[0] = response;
+        return new PaillierMembershipProof(proof.getCommitments(), proof.getChallenges(), responses);
+    }
+}
@@ -0,0 +1,140 @@
+package com.evoting.evoting_backend.tools;
+
+import com.evoting.evoting_backend.crypto.BulletinSegment;
+import com.evoting.evoting_backend.crypto.MerkleFrontier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulletinSegmentVerifierTest {
+
+    private static final long ELECTION_ID = 7;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void acceptsAnIntactChain() throws Exception {
+        List<Path> files = writeChain(entries(12), 5);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        List<String> failures = BulletinSegmentVerifier.verify(directory, 2, new PrintStream(output));
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(3, files.size());
+        assertTrue(output.toString().contains("12 entries, final=true"));
+        assertTrue(output.toString().contains("VERIFIED"));
+    }
+
+    @Test
+    void rejectsAnEmptyDirectory() throws Exception {
+        List<String> failures = verify();
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).startsWith("No segment files"));
+    }
+
+    @Test
+    void rejectsFileWhoseNameIsNotItsHash() throws Exception {
+        List<Path> files = writeChain(entries(6), 3);
+        Files.move(files.get(1), directory.resolve("0".repeat(64) + BulletinSegment.FILE_SUFFIX));
+
+        assertTrue(verify().stream().anyMatch(failure -> failure.contains("content hash is")));
+    }
+
+    @Test
+    void rejectsMissingSegment() throws Exception {
+        List<Path> files = writeChain(entries(9), 3);
+        Files.delete(files.get(1));
+
+        List<String> failures = verify();
+        assertTrue(failures.stream().anyMatch(failure -> failure.contains("expected segment index 1")));
+        assertTrue(failures.stream().anyMatch(failure -> failure.contains("previous segment hash does not match")));
+    }
+
+    @Test
+    void rejectsAlteredCiphertext() throws Exception {
+        // Rewritten consistently (file name, chain and Merkle root all match), but the
+        // entry hash no longer covers the ciphertext
+        List<BulletinSegment.Entry> entries = entries(6);
+        BulletinSegment.Entry original = entries.get(4);
+        entries.set(4, new BulletinSegment.Entry(original.id, original.timestamp, original.trackingCode,
+            original.entryHash, original.previousHash, "tampered"));
+        writeChain(entries, 3);
+
+        List<String> failures = verify();
+        assertEquals(List.of("segment 1: entry 5 hash mismatch"), failures);
+    }
+
+    @Test
+    void rejectsBrokenEntryLink() throws Exception {
+        List<BulletinSegment.Entry> entries = entries(4);
+        BulletinSegment.Entry original = entries.get(2);
+        entries.set(2, new BulletinSegment.Entry(original.id, original.timestamp, original.trackingCode,
+            original.entryHash, "0", original.encryptedVote));
+        writeChain(entries, 4);
+
+        assertEquals(List.of("segment 0: entry 3 does not link to the previous entry"), verify());
+    }
+
+    @Test
+    void rejectsSegmentAfterTheFinalOne() throws Exception {
+        List<BulletinSegment.Entry> entries = entries(4);
+        MerkleFrontier frontier = new MerkleFrontier();
+        byte[] first = BulletinSegment.write(ELECTION_ID, 0, true, null, entries.subList(0, 2), frontier);
+        byte[] second = BulletinSegment.write(ELECTION_ID, 1, true,
+            HexFormat.of().parseHex(BulletinSegment.contentHash(first)), entries.subList(2, 4), frontier);
+        save(first);
+        save(second);
+
+        assertEquals(List.of("segment 1: follows the final segment"), verify());
+    }
+
+    private List<String> verify() throws Exception {
+        return BulletinSegmentVerifier.verify(directory, 2, new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    // Segments of segmentSize entries each, the last one final, as BulletinSegmentService writes them
+    private List<Path> writeChain(List<BulletinSegment.Entry> entries, int segmentSize) throws Exception {
+        List<Path> files = new ArrayList<>();
+        MerkleFrontier frontier = new MerkleFrontier();
+        byte[] previous = null;
+        for (int start = 0, index = 0; start < entries.size(); start += segmentSize, index++) {
+            int end = Math.min(entries.size(), start + segmentSize);
+            byte[] file = BulletinSegment.write(ELECTION_ID, index, end == entries.size(), previous,
+                entries.subList(start, end), frontier);
+            files.add(save(file));
+            previous = HexFormat.of().parseHex(BulletinSegment.contentHash(file));
+        }
+        return files;
+    }
+
+    private Path save(byte[] file) throws Exception {
+        Path path = directory.resolve(BulletinSegment.fileName(BulletinSegment.contentHash(file)));
+        Files.write(path, file);
+        return path;
+    }
+
+    private static List<BulletinSegment.Entry> entries(int count) {
+        List<BulletinSegment.Entry> entries = new ArrayList<>();
+        String previousHash = "0";
+        for (long id = 1; id <= count; id++) {
+            String trackingCode = "track-" + id;
+            String ciphertext = "ciphertext-" + id;
+            String hash = String.valueOf((trackingCode + ciphertext + ELECTION_ID).hashCode());
+            entries.add(new BulletinSegment.Entry(id, "2026-01-01T00:00:0" + (id % 10), trackingCode, hash,
+                previousHash, ciphertext));
+            previousHash = hash;
+        }
+        return entries;
+    }
+}